@@ -16,9 +16,12 @@
 package com.impetus.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -41,6 +44,13 @@ import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 /**
  * The Class DefaultKunderaEntity.
  *
+ * All entities share one entity manager factory, while each thread works with
+ * an entity manager of its own, cleared after every call. Calls from
+ * different threads thus run in parallel, and no thread accumulates entities
+ * in its persistence context. A thread done with entities (e.g. a pooled
+ * thread being retired) should {@link #release()} its entity manager, others
+ * are closed on {@link #unbind()}.
+ *
  * @param <T>
  *            the generic type
  * @param <K>
@@ -50,10 +60,13 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
 {
 
     /** The emf. */
-    private static EntityManagerFactory emf;
+    private static volatile EntityManagerFactory emf;
+
+    /** Entity manager of current thread. */
+    private static final ThreadLocal<EntityManager> threadEm = new ThreadLocal<EntityManager>();
 
-    /** The em. */
-    private static EntityManager em;
+    /** Open entity managers of all threads, closed on unbind. */
+    private static final Set<EntityManager> ems = Collections.synchronizedSet(new HashSet<EntityManager>());
 
     /*
      * (non-Javadoc)
@@ -62,7 +75,70 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     public final T find(K key)
     {
-        return (T) em.find(this.getClass(), key);
+        EntityManager em = getEntityManager();
+        try
+        {
+            return (T) em.find(this.getClass(), key);
+        }
+        finally
+        {
+            em.clear();
+        }
+    }
+
+    /**
+     * Gets entity manager of current thread, creating it on first use.
+     *
+     * @return the entity manager
+     */
+    private static EntityManager getEntityManager()
+    {
+        EntityManager em = threadEm.get();
+        if (em == null || !em.isOpen())
+        {
+            EntityManagerFactory factory = emf;
+            if (factory == null)
+            {
+                throw new KunderaException("No entity is bound, call bind() first.");
+            }
+            if (em != null)
+            {
+                release(em);
+            }
+            em = factory.createEntityManager();
+            threadEm.set(em);
+            ems.add(em);
+        }
+        return em;
+    }
+
+    /**
+     * Closes entity manager of current thread, if any. Next call from this
+     * thread opens a new one.
+     */
+    public static void release()
+    {
+        EntityManager em = threadEm.get();
+        threadEm.remove();
+        if (em != null)
+        {
+            release(em);
+        }
+    }
+
+    /**
+     * Closes given entity manager, if still open, and forgets it.
+     *
+     * @param em
+     *            the entity manager
+     */
+    private static void release(EntityManager em)
+    {
+        ems.remove(em);
+        if (em.isOpen())
+        {
+            em.close();
+        }
     }
 
     /**
@@ -74,7 +150,7 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
     private static void onBind(Class clazz)
     {
 
-        if (((MetamodelImpl) em.getMetamodel()).getEntityMetadataMap().isEmpty())
+        if (((MetamodelImpl) emf.getMetamodel()).getEntityMetadataMap().isEmpty())
         {
 
             EntityMetadata metadata = new EntityMetadata(clazz);
@@ -82,28 +158,25 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
 
             setSchemaAndPU(clazz, metadata);
 
-            new TableProcessor(em.getEntityManagerFactory().getProperties(),
-                    ((EntityManagerFactoryImpl) em.getEntityManagerFactory()).getKunderaMetadataInstance())
-                            .process(clazz, metadata);
+            new TableProcessor(emf.getProperties(), ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance())
+                    .process(clazz, metadata);
 
-            KunderaMetadata kunderaMetadata = ((EntityManagerFactoryImpl) em.getEntityManagerFactory())
-                    .getKunderaMetadataInstance();
+            KunderaMetadata kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
 
             new IndexProcessor(kunderaMetadata).process(clazz, metadata);
 
             ApplicationMetadata appMetadata = kunderaMetadata.getApplicationMetadata();
 
-            ((MetamodelImpl) em.getMetamodel()).addEntityMetadata(clazz, metadata);
-            ((MetamodelImpl) em.getMetamodel()).addEntityNameToClassMapping(clazz.getSimpleName(), clazz);
-            appMetadata.getMetamodelMap().put(getPersistenceUnit(), em.getMetamodel());
+            ((MetamodelImpl) emf.getMetamodel()).addEntityMetadata(clazz, metadata);
+            ((MetamodelImpl) emf.getMetamodel()).addEntityNameToClassMapping(clazz.getSimpleName(), clazz);
+            appMetadata.getMetamodelMap().put(getPersistenceUnit(), emf.getMetamodel());
 
             Map<String, List<String>> clazzToPuMap = new HashMap<String, List<String>>();
             List<String> persistenceUnits = new ArrayList<String>();
             persistenceUnits.add(getPersistenceUnit());
             clazzToPuMap.put(clazz.getName(), persistenceUnits);
             appMetadata.setClazzToPuMap(clazzToPuMap);
-            new SchemaConfiguration(em.getEntityManagerFactory().getProperties(), kunderaMetadata, getPersistenceUnit())
-                    .configure();
+            new SchemaConfiguration(emf.getProperties(), kunderaMetadata, getPersistenceUnit()).configure();
 
         }
 
@@ -125,13 +198,12 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
             metadata.setTableName(!StringUtils.isBlank(table.name()) ? table.name() : clazz.getSimpleName());
             String schemaStr = table.schema();
 
-            MetadataUtils.setSchemaAndPersistenceUnit(metadata, schemaStr,
-                    em.getEntityManagerFactory().getProperties());
+            MetadataUtils.setSchemaAndPersistenceUnit(metadata, schemaStr, emf.getProperties());
         }
         else
         {
             metadata.setTableName(clazz.getSimpleName());
-            metadata.setSchema((String) em.getEntityManagerFactory().getProperties().get("kundera.keyspace"));
+            metadata.setSchema((String) emf.getProperties().get("kundera.keyspace"));
         }
 
         if (metadata.getPersistenceUnit() == null)
@@ -147,7 +219,7 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     private static String getPersistenceUnit()
     {
-        return (String) em.getEntityManagerFactory().getProperties().get(Constants.PERSISTENCE_UNIT_NAME);
+        return (String) emf.getProperties().get(Constants.PERSISTENCE_UNIT_NAME);
     }
 
     /*
@@ -157,7 +229,15 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     public final void save()
     {
-        em.persist(this);
+        EntityManager em = getEntityManager();
+        try
+        {
+            em.persist(this);
+        }
+        finally
+        {
+            em.clear();
+        }
     }
 
     /*
@@ -167,7 +247,15 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     public final void update()
     {
-        em.merge(this);
+        EntityManager em = getEntityManager();
+        try
+        {
+            em.merge(this);
+        }
+        finally
+        {
+            em.clear();
+        }
     }
 
     /*
@@ -177,7 +265,15 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     public final void delete()
     {
-        em.remove(this);
+        EntityManager em = getEntityManager();
+        try
+        {
+            em.remove(this);
+        }
+        finally
+        {
+            em.clear();
+        }
     }
 
     /**
@@ -192,9 +288,9 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     public static synchronized void bind(String propertiesPath, Class clazz) throws BindingException
     {
-        if (em == null)
+        if (emf == null)
         {
-            em = PersistenceService.getEM(emf, propertiesPath, clazz.getName());
+            emf = PersistenceService.getEMF(propertiesPath, clazz.getName());
         }
         onBind(clazz);
     }
@@ -204,17 +300,24 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     public static synchronized void unbind()
     {
-        if (emf != null && emf.isOpen())
+        synchronized (ems)
         {
-            emf.close();
-            emf = null;
-
+            for (EntityManager em : ems)
+            {
+                if (em.isOpen())
+                {
+                    em.close();
+                }
+            }
+            ems.clear();
         }
-        if (em != null && em.isOpen())
+        threadEm.remove();
+
+        if (emf != null && emf.isOpen())
         {
-            em.close();
-            em = null;
+            emf.close();
         }
+        emf = null;
     }
 
     /*
@@ -257,7 +360,15 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     public List<T> query(String query)
     {
-        return em.createQuery(query).getResultList();
+        EntityManager em = getEntityManager();
+        try
+        {
+            return em.createQuery(query).getResultList();
+        }
+        finally
+        {
+            em.clear();
+        }
     }
 
     /*
@@ -290,7 +401,15 @@ public class DefaultKunderaEntity<T, K> implements KunderaEntity<T, K>
      */
     private List<T> nativeQuery(String query)
     {
-        return em.createNativeQuery(query).getResultList();
+        EntityManager em = getEntityManager();
+        try
+        {
+            return em.createNativeQuery(query).getResultList();
+        }
+        finally
+        {
+            em.clear();
+        }
     }
 
 }
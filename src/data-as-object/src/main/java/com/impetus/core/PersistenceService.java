@@ -54,9 +54,29 @@ public class PersistenceService
      *            the clazz name
      * @return the em
      */
-    public static synchronized EntityManager getEM(EntityManagerFactory emf, final String propertiesPath,
-            final String clazzName)
+    public static EntityManager getEM(EntityManagerFactory emf, final String propertiesPath, final String clazzName)
     {
+        if (emf == null)
+        {
+            emf = getEMF(propertiesPath, clazzName);
+        }
+        return emf.createEntityManager();
+    }
+
+    /**
+     * Creates entity manager factory for entities configured in given
+     * properties. Entity managers are to be created from it by each thread.
+     *
+     * @param propertiesPath
+     *            the properties path
+     * @param clazzName
+     *            the clazz name
+     * @return the emf
+     */
+    public static synchronized EntityManagerFactory getEMF(final String propertiesPath, final String clazzName)
+    {
+        EntityManagerFactory emf;
+
         /** The client properties. */
         Map<?, Map<String, String>> clientProperties = new HashMap<>();
 
@@ -66,46 +86,42 @@ public class PersistenceService
 
         loadClientProperties(propertiesPath, clazzName, clientProperties, entityConfigurations);
 
-        if (emf == null)
-        {
-
-            StringBuilder puNames = new StringBuilder();
+        StringBuilder puNames = new StringBuilder();
 
-            for (Entry<String, Map<String, String>> entry : entityConfigurations.entrySet())
-            {
-                if (entry.getValue().get("kundera.pu") != null)
-                {
-                    puNames.append(entry.getValue().get("kundera.pu"));
-                    puNames.append(",");
-                }
-            }
-            if (puNames.length() > 0)
+        for (Entry<String, Map<String, String>> entry : entityConfigurations.entrySet())
+        {
+            if (entry.getValue().get("kundera.pu") != null)
             {
-                puNames.deleteCharAt(puNames.length() - 1);
+                puNames.append(entry.getValue().get("kundera.pu"));
+                puNames.append(",");
             }
+        }
+        if (puNames.length() > 0)
+        {
+            puNames.deleteCharAt(puNames.length() - 1);
+        }
 
-            try
-            {
-
-                if (puNames.toString().isEmpty())
-                {
-                    emf = Persistence.createEntityManagerFactory("testPU", entityConfigurations.get(clazzName));
-                }
-
-                else
-                {
-                    emf = Persistence.createEntityManagerFactory(puNames.toString());
-                }
+        try
+        {
 
+            if (puNames.toString().isEmpty())
+            {
+                emf = Persistence.createEntityManagerFactory("testPU", entityConfigurations.get(clazzName));
             }
-            catch (Exception e)
+
+            else
             {
-                LOGGER.error("Unable to create Entity Manager Factory. Caused By: ", e);
-                throw new KunderaException("Unable to create Entity Manager Factory. Caused By: ", e);
+                emf = Persistence.createEntityManagerFactory(puNames.toString());
             }
+
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("Unable to create Entity Manager Factory. Caused By: ", e);
+            throw new KunderaException("Unable to create Entity Manager Factory. Caused By: ", e);
         }
 
-        return emf.createEntityManager();
+        return emf;
     }
 
     /**
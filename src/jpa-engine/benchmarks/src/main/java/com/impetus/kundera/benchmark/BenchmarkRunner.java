@@ -0,0 +1,52 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks jar. Accepts usual JMH command line options
+ * (benchmark name pattern, -f, -wi, -i, -p shape=FLAT ...) and writes results
+ * as JSON to <code>jmh-result.json</code> unless told otherwise, so that runs
+ * of two revisions can be compared.
+ */
+public final class BenchmarkRunner
+{
+    private BenchmarkRunner()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue())
+        {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmdOptions.getResult().hasValue())
+        {
+            builder.result("jmh-result.json");
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.benchmark.entity.EntityShape;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.utils.DeepEquals;
+import com.impetus.kundera.utils.ObjectUtils;
+
+/**
+ * Snapshot copy and dirty check of entities, as done for every managed
+ * entity by persistence context.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeepCopyBenchmark
+{
+    @Param({ "FLAT", "EMBEDDED", "COLLECTION", "RELATION" })
+    private EntityShape shape;
+
+    private EntityManagerFactory emf;
+
+    private KunderaMetadata kunderaMetadata;
+
+    private Object entity;
+
+    private Object copy;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+        entity = shape.newInstance("1");
+        copy = ObjectUtils.deepCopy(entity, kunderaMetadata);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        emf.close();
+    }
+
+    @Benchmark
+    public Object deepCopy()
+    {
+        return ObjectUtils.deepCopy(entity, kunderaMetadata);
+    }
+
+    @Benchmark
+    public boolean deepEquals()
+    {
+        return DeepEquals.deepEquals(entity, copy);
+    }
+}
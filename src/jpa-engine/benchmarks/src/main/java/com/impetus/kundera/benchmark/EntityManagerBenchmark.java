@@ -0,0 +1,127 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.benchmark.entity.EntityShape;
+
+/**
+ * Entity manager CRUD operations over in memory client, per entity shape.
+ * Covers graph building, flush and cache handling in persistence delegator,
+ * with no datastore round trip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityManagerBenchmark
+{
+    /** Number of entities loaded before measurement, for find and merge. */
+    private static final int PRELOADED = 1000;
+
+    @Param({ "FLAT", "EMBEDDED", "COLLECTION", "RELATION" })
+    private EntityShape shape;
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        em = emf.createEntityManager();
+        for (int i = 0; i < PRELOADED; i++)
+        {
+            em.persist(shape.newInstance(String.valueOf(i)));
+        }
+        em.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Benchmark
+    public Object persist()
+    {
+        Object entity = shape.newInstance("p" + counter++);
+        em.persist(entity);
+        em.clear();
+        return entity;
+    }
+
+    @Benchmark
+    public Object find()
+    {
+        em.clear();
+        return em.find(shape.getEntityClass(), nextId());
+    }
+
+    @Benchmark
+    public Object findCached()
+    {
+        return em.find(shape.getEntityClass(), nextId());
+    }
+
+    @Benchmark
+    public Object merge()
+    {
+        Object merged = em.merge(shape.newInstance(nextId()));
+        em.clear();
+        return merged;
+    }
+
+    @Benchmark
+    public void persistThenRemove()
+    {
+        Object entity = shape.newInstance("r" + counter++);
+        em.persist(entity);
+        em.remove(entity);
+        em.clear();
+    }
+
+    private String nextId()
+    {
+        return String.valueOf(counter++ % PRELOADED);
+    }
+}
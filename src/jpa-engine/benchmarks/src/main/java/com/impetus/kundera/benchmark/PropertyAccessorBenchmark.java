@@ -0,0 +1,176 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EmbeddableType;
+import javax.persistence.metamodel.ManagedType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.benchmark.entity.EntityShape;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.utils.KunderaCoreUtils;
+
+/**
+ * Entity hydration through {@link PropertyAccessorHelper}, the way clients
+ * populate entities out of datastore rows: basic and embedded attributes are
+ * converted from their serialized bytes, collections and associations are set
+ * as is.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessorBenchmark
+{
+    @Param({ "FLAT", "EMBEDDED", "COLLECTION", "RELATION" })
+    private EntityShape shape;
+
+    private EntityManagerFactory emf;
+
+    /** Row values, per attribute of entity. */
+    private List<Column> row;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        KunderaMetadata kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+        MetamodelImpl metamodel = KunderaMetadataManager.getMetamodel(kunderaMetadata, "benchmark");
+        row = toRow(metamodel, metamodel.entity(shape.getEntityClass()), shape.newInstance("1"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        emf.close();
+    }
+
+    @Benchmark
+    public Object hydrate()
+    {
+        return hydrate(shape.getEntityClass(), row);
+    }
+
+    @Benchmark
+    public Object read()
+    {
+        Object entity = hydrate(shape.getEntityClass(), row);
+        Object last = null;
+        for (Column column : row)
+        {
+            last = PropertyAccessorHelper.getObject(entity, column.field);
+        }
+        return last;
+    }
+
+    private static Object hydrate(Class<?> clazz, List<Column> columns)
+    {
+        Object target = KunderaCoreUtils.createNewInstance(clazz);
+        for (Column column : columns)
+        {
+            if (column.embedded != null)
+            {
+                PropertyAccessorHelper.set(target, column.field, hydrate(column.field.getType(), column.embedded));
+            }
+            else if (column.bytes != null)
+            {
+                PropertyAccessorHelper.set(target, column.field, column.bytes);
+            }
+            else
+            {
+                PropertyAccessorHelper.set(target, column.field, column.value);
+            }
+        }
+        return target;
+    }
+
+    private static List<Column> toRow(MetamodelImpl metamodel, ManagedType<?> type, Object from)
+    {
+        List<Column> columns = new ArrayList<Column>();
+        for (Attribute<?, ?> attribute : type.getAttributes())
+        {
+            Field field = (Field) attribute.getJavaMember();
+            Object value = PropertyAccessorHelper.getObject(from, field);
+            if (value == null)
+            {
+                continue;
+            }
+            Column column = new Column(field);
+            if (attribute.getPersistentAttributeType() == PersistentAttributeType.EMBEDDED)
+            {
+                EmbeddableType<?> embeddable = metamodel.embeddable(field.getType());
+                column.embedded = toRow(metamodel, embeddable, value);
+            }
+            else if (attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC)
+            {
+                column.bytes = PropertyAccessorHelper.get(from, field);
+            }
+            else
+            {
+                column.value = value;
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * Value of a single attribute, in form it is read back from datastore.
+     */
+    private static final class Column
+    {
+        private final Field field;
+
+        private byte[] bytes;
+
+        private Object value;
+
+        private List<Column> embedded;
+
+        private Column(Field field)
+        {
+            this.field = field;
+        }
+    }
+}
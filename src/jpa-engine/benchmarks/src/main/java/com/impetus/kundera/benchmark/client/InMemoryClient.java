@@ -0,0 +1,171 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.ClientBase;
+import com.impetus.kundera.db.RelationHolder;
+import com.impetus.kundera.generator.Generator;
+import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.EntityReader;
+import com.impetus.kundera.persistence.context.jointable.JoinTableData;
+import com.impetus.kundera.query.LuceneQuery;
+
+/**
+ * Client keeping entities in memory, per entity class and primary key. No
+ * serialization takes place, so that benchmarks running on top of it measure
+ * engine overhead only.
+ */
+public class InMemoryClient extends ClientBase implements Client<LuceneQuery>
+{
+    /** Stored entities, shared by all clients of a factory. */
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Object, Object>> store;
+
+    /**
+     * Instantiates a new in-memory client.
+     * 
+     * @param indexManager
+     *            the index manager
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param kunderaMetadata
+     *            the kundera metadata
+     * @param store
+     *            the store
+     */
+    InMemoryClient(IndexManager indexManager, String persistenceUnit, final KunderaMetadata kunderaMetadata,
+            ConcurrentMap<Class<?>, ConcurrentMap<Object, Object>> store)
+    {
+        super(kunderaMetadata, null, persistenceUnit);
+        this.indexManager = indexManager;
+        this.store = store;
+    }
+
+    @Override
+    protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
+    {
+        getTable(entityMetadata.getEntityClazz()).put(id, entity);
+    }
+
+    @Override
+    public Object find(Class entityClass, Object key)
+    {
+        return getTable(entityClass).get(key);
+    }
+
+    @Override
+    protected void delete(Object entity, Object pKey)
+    {
+        if (entity != null)
+        {
+            getTable(entity.getClass()).remove(pKey);
+        }
+    }
+
+    @Override
+    public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
+    {
+        List results = new ArrayList();
+        for (Object key : keys)
+        {
+            Object result = find(entityClass, key);
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <E> List<E> find(Class<E> entityClass, Map<String, String> embeddedColumnMap)
+    {
+        return null;
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    @Override
+    public void persistJoinTable(JoinTableData joinTableData)
+    {
+    }
+
+    @Override
+    public <E> List<E> getColumnsById(String schemaName, String tableName, String pKeyColumnName, String columnName,
+            Object pKeyColumnValue, Class columnJavaType)
+    {
+        return null;
+    }
+
+    @Override
+    public Object[] findIdsByColumn(String schemaName, String tableName, String pKeyName, String columnName,
+            Object columnValue, Class entityClazz)
+    {
+        return null;
+    }
+
+    @Override
+    public void deleteByColumn(String schemaName, String tableName, String columnName, Object columnValue)
+    {
+    }
+
+    @Override
+    public List<Object> findByRelation(String colName, Object colValue, Class entityClazz)
+    {
+        return null;
+    }
+
+    @Override
+    public EntityReader getReader()
+    {
+        return new InMemoryEntityReader(kunderaMetadata);
+    }
+
+    @Override
+    public Class<LuceneQuery> getQueryImplementor()
+    {
+        return LuceneQuery.class;
+    }
+
+    @Override
+    public Generator getIdGenerator()
+    {
+        return null;
+    }
+
+    private ConcurrentMap<Object, Object> getTable(Class<?> entityClass)
+    {
+        ConcurrentMap<Object, Object> table = store.get(entityClass);
+        if (table == null)
+        {
+            table = new ConcurrentHashMap<Object, Object>();
+            ConcurrentMap<Object, Object> existing = store.putIfAbsent(entityClass, table);
+            table = existing != null ? existing : table;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+/**
+ * Embeddable used by {@link EmbeddedEntity} and {@link CollectionEntity}.
+ */
+@Embeddable
+public class Address
+{
+    @Column(name = "STREET")
+    private String street;
+
+    @Column(name = "CITY")
+    private String city;
+
+    @Column(name = "ZIP")
+    private int zip;
+
+    public Address()
+    {
+    }
+
+    public Address(String street, String city, int zip)
+    {
+        this.street = street;
+        this.city = city;
+        this.zip = zip;
+    }
+
+    public String getStreet()
+    {
+        return street;
+    }
+
+    public void setStreet(String street)
+    {
+        this.street = street;
+    }
+
+    public String getCity()
+    {
+        return city;
+    }
+
+    public void setCity(String city)
+    {
+        this.city = city;
+    }
+
+    public int getZip()
+    {
+        return zip;
+    }
+
+    public void setZip(int zip)
+    {
+        this.zip = zip;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark.entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Entity with element collections.
+ */
+@Entity
+@Table(name = "COLLECTION_ENTITY", schema = "KunderaBenchmark@benchmark")
+public class CollectionEntity
+{
+    @Id
+    @Column(name = "ID")
+    private String id;
+
+    @ElementCollection
+    @CollectionTable(name = "ADDRESSES")
+    private List<Address> addresses;
+
+    @Column(name = "TAGS")
+    private List<String> tags;
+
+    @Column(name = "ATTRIBUTES")
+    private Map<String, String> attributes;
+
+    public CollectionEntity()
+    {
+    }
+
+    public CollectionEntity(String id)
+    {
+        this.id = id;
+        this.addresses = new ArrayList<Address>();
+        this.tags = new ArrayList<String>();
+        this.attributes = new HashMap<String, String>();
+        for (int i = 0; i < 5; i++)
+        {
+            addresses.add(new Address("street-" + i, "city", 10000 + i));
+            tags.add("tag-" + i);
+            attributes.put("key-" + i, "value-" + i);
+        }
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public void setId(String id)
+    {
+        this.id = id;
+    }
+
+    public List<Address> getAddresses()
+    {
+        return addresses;
+    }
+
+    public void setAddresses(List<Address> addresses)
+    {
+        this.addresses = addresses;
+    }
+
+    public List<String> getTags()
+    {
+        return tags;
+    }
+
+    public void setTags(List<String> tags)
+    {
+        this.tags = tags;
+    }
+
+    public Map<String, String> getAttributes()
+    {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, String> attributes)
+    {
+        this.attributes = attributes;
+    }
+}
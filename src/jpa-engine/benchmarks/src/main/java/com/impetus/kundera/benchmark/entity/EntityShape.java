@@ -0,0 +1,79 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark.entity;
+
+/**
+ * Entity shapes benchmarks are parameterized over.
+ */
+public enum EntityShape
+{
+    FLAT(FlatEntity.class)
+    {
+        @Override
+        public Object newInstance(String id)
+        {
+            return new FlatEntity(id);
+        }
+    },
+    EMBEDDED(EmbeddedEntity.class)
+    {
+        @Override
+        public Object newInstance(String id)
+        {
+            return new EmbeddedEntity(id);
+        }
+    },
+    COLLECTION(CollectionEntity.class)
+    {
+        @Override
+        public Object newInstance(String id)
+        {
+            return new CollectionEntity(id);
+        }
+    },
+    RELATION(RelationEntity.class)
+    {
+        @Override
+        public Object newInstance(String id)
+        {
+            return new RelationEntity(id);
+        }
+    };
+
+    private final Class<?> entityClass;
+
+    private EntityShape(Class<?> entityClass)
+    {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * @return entity class of this shape.
+     */
+    public Class<?> getEntityClass()
+    {
+        return entityClass;
+    }
+
+    /**
+     * Creates a populated entity of this shape.
+     * 
+     * @param id
+     *            primary key
+     * @return entity
+     */
+    public abstract Object newInstance(String id);
+}
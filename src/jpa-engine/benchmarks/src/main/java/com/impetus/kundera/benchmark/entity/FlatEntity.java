@@ -0,0 +1,124 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark.entity;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Entity with basic attributes only.
+ */
+@Entity
+@Table(name = "FLAT_ENTITY", schema = "KunderaBenchmark@benchmark")
+public class FlatEntity
+{
+    @Id
+    @Column(name = "ID")
+    private String id;
+
+    @Column(name = "NAME")
+    private String name;
+
+    @Column(name = "AGE")
+    private int age;
+
+    @Column(name = "SALARY")
+    private double salary;
+
+    @Column(name = "ACTIVE")
+    private boolean active;
+
+    @Column(name = "JOINED")
+    private Date joined;
+
+    public FlatEntity()
+    {
+    }
+
+    public FlatEntity(String id)
+    {
+        this.id = id;
+        this.name = "name-" + id;
+        this.age = 30;
+        this.salary = 1000.5;
+        this.active = true;
+        this.joined = new Date(0);
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public void setId(String id)
+    {
+        this.id = id;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+
+    public int getAge()
+    {
+        return age;
+    }
+
+    public void setAge(int age)
+    {
+        this.age = age;
+    }
+
+    public double getSalary()
+    {
+        return salary;
+    }
+
+    public void setSalary(double salary)
+    {
+        this.salary = salary;
+    }
+
+    public boolean isActive()
+    {
+        return active;
+    }
+
+    public void setActive(boolean active)
+    {
+        this.active = active;
+    }
+
+    public Date getJoined()
+    {
+        return joined;
+    }
+
+    public void setJoined(Date joined)
+    {
+        this.joined = joined;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.benchmark.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.CascadeType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+
+/**
+ * Entity holding a one to many relation, cascaded to children.
+ */
+@Entity
+@Table(name = "RELATION_ENTITY", schema = "KunderaBenchmark@benchmark")
+public class RelationEntity
+{
+    @Id
+    @Column(name = "ID")
+    private String id;
+
+    @Column(name = "NAME")
+    private String name;
+
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @JoinColumn(name = "PARENT_ID")
+    private List<ChildEntity> children;
+
+    public RelationEntity()
+    {
+    }
+
+    public RelationEntity(String id)
+    {
+        this.id = id;
+        this.name = "name-" + id;
+        this.children = new ArrayList<ChildEntity>();
+        for (int i = 0; i < 3; i++)
+        {
+            children.add(new ChildEntity(id + "-" + i));
+        }
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public void setId(String id)
+    {
+        this.id = id;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+
+    public List<ChildEntity> getChildren()
+    {
+        return children;
+    }
+
+    public void setChildren(List<ChildEntity> children)
+    {
+        this.children = children;
+    }
+}
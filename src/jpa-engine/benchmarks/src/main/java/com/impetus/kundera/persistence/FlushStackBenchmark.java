@@ -0,0 +1,101 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.benchmark.entity.EntityShape;
+import com.impetus.kundera.graph.GraphGenerator;
+import com.impetus.kundera.graph.ObjectGraph;
+import com.impetus.kundera.persistence.context.EventLog.EventType;
+import com.impetus.kundera.persistence.context.FlushManager;
+
+/**
+ * Object graph generation and flush stack building for a new entity, the
+ * part of persist that precedes any client call. Lives in persistence package
+ * to reach persistence delegator of entity manager.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlushStackBenchmark
+{
+    @Param({ "FLAT", "EMBEDDED", "COLLECTION", "RELATION" })
+    private EntityShape shape;
+
+    private EntityManagerFactory emf;
+
+    private EntityManagerImpl em;
+
+    private PersistenceDelegator delegator;
+
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        em = (EntityManagerImpl) emf.createEntityManager();
+        delegator = em.getPersistenceDelegator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Benchmark
+    public ObjectGraph generateGraph()
+    {
+        return new GraphGenerator().generateGraph(shape.newInstance("g" + counter++), delegator);
+    }
+
+    @Benchmark
+    public int buildFlushStack()
+    {
+        // nodes are marked traversed once stacked, so each call needs a new
+        // graph.
+        ObjectGraph graph = new GraphGenerator().generateGraph(shape.newInstance("f" + counter++), delegator);
+        FlushManager flushManager = new FlushManager();
+        flushManager.buildFlushStack(graph.getHeadNode(), EventType.INSERT);
+        int size = flushManager.getFlushStack().size();
+        flushManager.clearFlushStack();
+        graph.clear();
+        return size;
+    }
+}
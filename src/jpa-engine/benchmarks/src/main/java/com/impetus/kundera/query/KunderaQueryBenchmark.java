@@ -0,0 +1,84 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.query;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * JPQL parsing into {@link KunderaQuery}, as done by {@link QueryResolver} on
+ * every query creation. Lives in query package to reach post parsing
+ * initialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KunderaQueryBenchmark
+{
+    @Param({ "Select f from FlatEntity f",
+            "Select f from FlatEntity f where f.name = :name and f.age > 20",
+            "Select f from FlatEntity f where f.id IN ('1', '2', '3') or f.salary < 1000.0",
+            "Select f.name, f.age from FlatEntity f where f.age >= 20 and f.age <= 40 order by f.age desc" })
+    private String jpql;
+
+    private EntityManagerFactory emf;
+
+    private KunderaMetadata kunderaMetadata;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        emf.close();
+    }
+
+    @Benchmark
+    public KunderaQuery parse()
+    {
+        KunderaQuery kunderaQuery = new KunderaQuery(jpql, kunderaMetadata);
+        new KunderaQueryParser(kunderaQuery).parse();
+        kunderaQuery.postParsingInit();
+        return kunderaQuery;
+    }
+}
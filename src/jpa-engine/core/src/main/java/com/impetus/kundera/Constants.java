@@ -114,6 +114,9 @@ public interface Constants
     /** The Constant RETRY_DELAY. */
     public final static String RETRY_DELAY = "retry.delay";
 
+    /** The Constant MAX_RETRY_DELAY. */
+    public final static String MAX_RETRY_DELAY = "max.retry.delay";
+
     /** The Constant RETRY. */
     public final static String RETRY = "retry";
 
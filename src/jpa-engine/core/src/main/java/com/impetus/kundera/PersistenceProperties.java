@@ -94,4 +94,70 @@ public interface PersistenceProperties
     public static final String KUNDERA_INDEXER_CLASS = "kundera.indexer.class";
     
     public static final String KUNDERA_AUTO_GENERATOR_CLASS = "kundera.auto.generator.class";
+
+    /** Whether entity index generated at build time is used, true by default. */
+    public static final String KUNDERA_METADATA_INDEX = "kundera.metadata.index";
+
+    /**
+     * Number of persistence units whose client factories are loaded
+     * concurrently, 1 (serial) by default.
+     */
+    public static final String KUNDERA_CLIENT_FACTORY_PARALLELISM = "kundera.client.factory.parallelism";
+
+    /**
+     * Whether entity manager factory returns before its client factories are
+     * loaded, false by default. First use of a persistence unit waits for its
+     * client factory.
+     */
+    public static final String KUNDERA_CLIENT_FACTORY_LAZY = "kundera.client.factory.lazy";
+
+    /**
+     * Whether schema validation of a table is deferred to first use of it,
+     * false by default. Applies to "validate" schema operation only.
+     */
+    public static final String KUNDERA_DDL_VALIDATE_DEFERRED = "kundera.ddl.validate.deferred";
+
+    /**
+     * Number of clients flushed concurrently when a flush spans persistence
+     * units, 1 (serial) by default.
+     */
+    public static final String KUNDERA_FLUSH_PARALLELISM = "kundera.flush.parallelism";
+
+    /**
+     * Whether writes outside of a transaction are held and coalesced per
+     * entity, instead of being flushed immediately, false by default.
+     */
+    public static final String KUNDERA_WRITE_BEHIND = "kundera.write.behind";
+
+    /** Number of entities held in write behind mode before flushing them. */
+    public static final String KUNDERA_WRITE_BEHIND_SIZE = "kundera.write.behind.size";
+
+    /**
+     * Time in milliseconds a write is held in write behind mode before
+     * flushing it. It is only checked on next write, as no background flush
+     * happens: writes of an idle entity manager stay pending past this
+     * interval, until its next write, flush, query, transaction begin or
+     * close.
+     */
+    public static final String KUNDERA_WRITE_BEHIND_INTERVAL = "kundera.write.behind.interval";
+
+    /**
+     * Class name of {@link com.impetus.kundera.metrics.MetricsRecorder} to
+     * record operation timings and gauges with. Metrics are disabled unless
+     * set.
+     */
+    public static final String KUNDERA_METRICS_RECORDER = "kundera.metrics.recorder";
+
+    /**
+     * Duration in milliseconds above which an operation is traced along with
+     * its native statements. Tracing is disabled unless this or
+     * {@link #KUNDERA_TRACE_SAMPLE_RATE} is set.
+     */
+    public static final String KUNDERA_TRACE_THRESHOLD = "kundera.trace.threshold.ms";
+
+    /** Fraction of operations traced regardless of duration, 0 to 1. */
+    public static final String KUNDERA_TRACE_SAMPLE_RATE = "kundera.trace.sample.rate";
+
+    /** Number of most recent traces kept, 1000 by default. */
+    public static final String KUNDERA_TRACE_CAPACITY = "kundera.trace.capacity";
 }
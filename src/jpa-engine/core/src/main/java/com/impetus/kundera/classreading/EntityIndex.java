@@ -0,0 +1,143 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.classreading;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity classes listed at build time by {@link EntityIndexProcessor}, one
+ * index per jar (or class output directory). When present, entities are
+ * loaded from listed classes only, instead of scanning every class file on
+ * classpath. Index lists classes only: their metadata (attributes, relations,
+ * id, indexes) is still built from them at runtime.
+ * 
+ * Each line of an index holds an entity class name, followed by
+ * <code>@persistence unit</code> when entity is bound to one through
+ * {@link javax.persistence.Table#schema()}.
+ */
+public final class EntityIndex
+{
+    /** Location of index within a jar. */
+    public static final String LOCATION = "META-INF/kundera/entity.index";
+
+    /** Entity class names mapped to their persistence unit, if bound. */
+    private final Map<String, String> entities;
+
+    EntityIndex(Map<String, String> entities)
+    {
+        this.entities = entities;
+    }
+
+    /**
+     * Loads all indexes visible to given class loader.
+     * 
+     * @param classLoader
+     *            class loader
+     * @return merged index, or null if there is none.
+     */
+    public static EntityIndex load(ClassLoader classLoader)
+    {
+        try
+        {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            if (!resources.hasMoreElements())
+            {
+                return null;
+            }
+            Map<String, String> entities = new LinkedHashMap<String, String>();
+            while (resources.hasMoreElements())
+            {
+                read(resources.nextElement().openStream(), entities);
+            }
+            return new EntityIndex(entities);
+        }
+        catch (IOException e)
+        {
+            throw new ResourceReadingException("Error while reading entity index, Caused by: .", e);
+        }
+    }
+
+    /**
+     * Returns entity classes which may belong to given persistence unit, that
+     * is ones bound to it and ones not bound to any.
+     * 
+     * @param persistenceUnit
+     *            persistence unit
+     * @return entity class names
+     */
+    public List<String> getEntityClasses(String persistenceUnit)
+    {
+        List<String> classes = new ArrayList<String>();
+        for (Map.Entry<String, String> entity : entities.entrySet())
+        {
+            if (entity.getValue() == null || entity.getValue().equals(persistenceUnit))
+            {
+                classes.add(entity.getKey());
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Parses index lines into given map.
+     */
+    static void read(InputStream in, Map<String, String> entities) throws IOException
+    {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        try
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                {
+                    continue;
+                }
+                int separator = line.indexOf('@');
+                if (separator < 0)
+                {
+                    entities.put(line, null);
+                }
+                else
+                {
+                    entities.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+
+    /**
+     * Formats an index line.
+     */
+    static String toLine(String className, String persistenceUnit)
+    {
+        return persistenceUnit == null ? className : className + '@' + persistenceUnit;
+    }
+}
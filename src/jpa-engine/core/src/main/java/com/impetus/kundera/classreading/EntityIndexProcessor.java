@@ -0,0 +1,177 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.classreading;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor writing {@link EntityIndex} of entities compiled along
+ * with it. Not registered as a service, enable it explicitly, e.g.
+ * 
+ * <pre>
+ * &lt;annotationProcessors&gt;
+ *     &lt;annotationProcessor&gt;com.impetus.kundera.classreading.EntityIndexProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </pre>
+ * 
+ * Once an index is on classpath, entities outside of it (e.g. in jars compiled
+ * without processor) are no longer discovered, unless listed in
+ * persistence.xml or index is switched off through
+ * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_METADATA_INDEX}.
+ */
+@SupportedAnnotationTypes("javax.persistence.Entity")
+public class EntityIndexProcessor extends AbstractProcessor
+{
+    /** Entity class names mapped to their persistence unit, if bound. */
+    private final Map<String, String> entities = new TreeMap<String, String>();
+
+    /** Whether index of a previous compilation has been merged. */
+    private boolean merged;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        if (!merged)
+        {
+            mergePreviousIndex();
+            merged = true;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Entity.class))
+        {
+            if (element.getKind() == ElementKind.CLASS)
+            {
+                TypeElement type = (TypeElement) element;
+                entities.put(processingEnv.getElementUtils().getBinaryName(type).toString(), getPersistenceUnit(type));
+            }
+        }
+
+        if (roundEnv.processingOver() && !entities.isEmpty())
+        {
+            writeIndex();
+        }
+
+        // other processors may be interested in @Entity too.
+        return false;
+    }
+
+    /**
+     * Returns persistence unit entity is bound to, through schema of
+     * <code>keyspace@persistence unit</code> form.
+     */
+    private String getPersistenceUnit(TypeElement type)
+    {
+        Table table = type.getAnnotation(Table.class);
+        if (table != null)
+        {
+            int separator = table.schema().indexOf('@');
+            if (separator >= 0)
+            {
+                return table.schema().substring(separator + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * On incremental compilation only changed sources are processed, so
+     * entries of previous index are kept as long as their class is still an
+     * entity.
+     */
+    private void mergePreviousIndex()
+    {
+        try
+        {
+            FileObject previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    EntityIndex.LOCATION);
+            InputStream in = previous.openInputStream();
+            EntityIndex.read(in, entities);
+        }
+        catch (IOException e)
+        {
+            // no previous index.
+            return;
+        }
+        catch (IllegalArgumentException e)
+        {
+            return;
+        }
+
+        Iterator<Map.Entry<String, String>> it = entities.entrySet().iterator();
+        while (it.hasNext())
+        {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(it.next().getKey().replace('$', '.'));
+            if (type == null || type.getAnnotation(Entity.class) == null)
+            {
+                it.remove();
+            }
+        }
+    }
+
+    private void writeIndex()
+    {
+        try
+        {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    EntityIndex.LOCATION);
+            Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try
+            {
+                writer.write("# Generated by " + EntityIndexProcessor.class.getName() + ", do not edit.\n");
+                for (Map.Entry<String, String> entity : entities.entrySet())
+                {
+                    writer.write(EntityIndex.toLine(entity.getKey(), entity.getValue()));
+                    writer.write('\n');
+                }
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+        catch (IOException e)
+        {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Error while writing " + EntityIndex.LOCATION + ", Caused by: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.configure;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.loader.ClientFactory;
+import com.impetus.kundera.loader.ClientLifeCycleManager;
+import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.utils.KunderaThreadFactory;
+
+/**
+ * Loads client factories of persistence units. By default schema of all
+ * persistence units is exported and then client factories are loaded one by
+ * one, on caller thread. With parallelism greater than one each persistence
+ * unit exports its schema and loads its client factory on a bounded executor,
+ * independently of others.
+ * 
+ * Also acts as readiness future of entity manager factory, which is done once
+ * all client factories are loaded.
+ */
+public final class ClientFactoryBootstrap implements Future<Void>
+{
+    /** The log instance. */
+    private static Logger log = LoggerFactory.getLogger(ClientFactoryBootstrap.class);
+
+    /** Loads submitted to executor, by persistence unit. Empty if serial. */
+    private final Map<String, FutureTask<ClientFactory>> loads = new LinkedHashMap<String, FutureTask<ClientFactory>>();
+
+    private final Map<String, ClientFactory> clientFactories;
+
+    private final SchemaConfiguration schemaConfiguration;
+
+    private final Map externalProperties;
+
+    private final String[] persistenceUnits;
+
+    ClientFactoryBootstrap(Map<String, ClientFactory> clientFactories, SchemaConfiguration schemaConfiguration,
+            Map externalProperties, String... persistenceUnits)
+    {
+        this.clientFactories = clientFactories;
+        this.schemaConfiguration = schemaConfiguration;
+        this.externalProperties = externalProperties;
+        this.persistenceUnits = persistenceUnits;
+    }
+
+    /**
+     * Exports schema and loads client factories.
+     * 
+     * @param parallelism
+     *            maximum number of persistence units loaded concurrently.
+     * @param lazy
+     *            whether to return without waiting for client factories to
+     *            load.
+     */
+    void start(int parallelism, boolean lazy)
+    {
+        if (parallelism <= 1 && !lazy)
+        {
+            // configuring schema before loading client factories because
+            // during initilazation schema nedds to be created.
+            schemaConfiguration.configure();
+
+            List<String> loaded = new ArrayList<String>(persistenceUnits.length);
+            try
+            {
+                for (String pu : persistenceUnits)
+                {
+                    load(pu);
+                    loaded.add(pu);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                destroy(loaded);
+                throw e;
+            }
+            return;
+        }
+
+        schemaConfiguration.buildSchemaMetadata();
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(parallelism, persistenceUnits.length)), new KunderaThreadFactory(
+                        ClientFactoryBootstrap.class.getSimpleName()));
+        for (final String pu : persistenceUnits)
+        {
+            FutureTask<ClientFactory> task = new FutureTask<ClientFactory>(new Callable<ClientFactory>()
+            {
+                @Override
+                public ClientFactory call()
+                {
+                    schemaConfiguration.exportSchema(pu);
+                    return load(pu);
+                }
+            });
+            loads.put(pu, task);
+            executor.execute(task);
+        }
+        executor.shutdown();
+
+        if (!lazy)
+        {
+            try
+            {
+                for (String pu : persistenceUnits)
+                {
+                    await(pu);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                abort();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Cancels loads not yet started, waits for those in progress and destroys
+     * client factories that loaded successfully, so that a failed factory
+     * does not leave connections of other persistence units open.
+     */
+    private void abort()
+    {
+        cancel(false);
+        List<String> loaded = new ArrayList<String>(loads.size());
+        for (Map.Entry<String, FutureTask<ClientFactory>> load : loads.entrySet())
+        {
+            try
+            {
+                load.getValue().get();
+                loaded.add(load.getKey());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            catch (ExecutionException e)
+            {
+                // failed ones have nothing to destroy.
+            }
+            catch (CancellationException e)
+            {
+                // never started.
+            }
+        }
+        destroy(loaded);
+    }
+
+    private void destroy(List<String> loaded)
+    {
+        for (String pu : loaded)
+        {
+            try
+            {
+                ((ClientLifeCycleManager) clientFactories.get(pu)).destroy();
+            }
+            catch (RuntimeException e)
+            {
+                log.warn("Error while destroying client factory of persistence unit {}, Caused by: {}.", pu,
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Waits for client factory of given persistence unit to load.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @throws RuntimeException
+     *             failure of loading client factory, as it is.
+     */
+    public void await(String persistenceUnit)
+    {
+        FutureTask<ClientFactory> load = loads.get(persistenceUnit);
+        if (load == null)
+        {
+            return;
+        }
+        try
+        {
+            load.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new KunderaException("Interrupted while waiting for client factory of persistence unit : "
+                    + persistenceUnit, e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new KunderaException("Error while loading client factory of persistence unit : "
+                    + persistenceUnit, cause);
+        }
+    }
+
+    /**
+     * Returns whether client factory of given persistence unit is loaded
+     * successfully, without waiting for it.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @return true, if loaded.
+     */
+    public boolean isLoaded(String persistenceUnit)
+    {
+        FutureTask<ClientFactory> load = loads.get(persistenceUnit);
+        return load == null || isLoaded(load);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.concurrent.Future#cancel(boolean)
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning)
+    {
+        boolean cancelled = false;
+        for (FutureTask<ClientFactory> load : loads.values())
+        {
+            cancelled |= load.cancel(mayInterruptIfRunning);
+        }
+        return cancelled;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.concurrent.Future#isCancelled()
+     */
+    @Override
+    public boolean isCancelled()
+    {
+        for (FutureTask<ClientFactory> load : loads.values())
+        {
+            if (load.isCancelled())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.concurrent.Future#isDone()
+     */
+    @Override
+    public boolean isDone()
+    {
+        for (FutureTask<ClientFactory> load : loads.values())
+        {
+            if (!load.isDone())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.concurrent.Future#get()
+     */
+    @Override
+    public Void get() throws InterruptedException, ExecutionException
+    {
+        for (FutureTask<ClientFactory> load : loads.values())
+        {
+            load.get();
+        }
+        return null;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.concurrent.Future#get(long,
+     * java.util.concurrent.TimeUnit)
+     */
+    @Override
+    public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (FutureTask<ClientFactory> load : loads.values())
+        {
+            load.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        return null;
+    }
+
+    /**
+     * Loads client factory of given persistence unit.
+     */
+    private ClientFactory load(String pu)
+    {
+        Map<String, Object> puProperty = KunderaCoreUtils.getExternalProperties(pu, externalProperties,
+                persistenceUnits);
+        ClientFactory clientFactory = clientFactories.get(pu);
+        long start = System.currentTimeMillis();
+        clientFactory.load(pu, puProperty);
+        if (log.isDebugEnabled())
+        {
+            log.debug("Client factory for persistence unit {} loaded in {} ms.", pu, System.currentTimeMillis()
+                    - start);
+        }
+        return clientFactory;
+    }
+
+    private static boolean isLoaded(FutureTask<ClientFactory> load)
+    {
+        if (!load.isDone())
+        {
+            return false;
+        }
+        try
+        {
+            load.get();
+            return true;
+        }
+        catch (ExecutionException e)
+        {
+            return false;
+        }
+        catch (CancellationException e)
+        {
+            return false;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.ClientResolver;
 import com.impetus.kundera.loader.ClientFactory;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
@@ -29,7 +30,17 @@ public class ClientMetadataBuilder
         this.schemaConfiguration = new SchemaConfiguration(mapOfPuProperties, kunderaMetadata, persistenceUnits);
     }
 
-    public void buildClientFactoryMetadata(Map<String, ClientFactory> clientFactories,
+    /**
+     * Resolves client factories of all persistence units and starts loading
+     * them.
+     * 
+     * @param clientFactories
+     *            map to hold client factory of each persistence unit.
+     * @param kunderaMetadata
+     *            kundera metadata.
+     * @return bootstrap tracking loading of client factories.
+     */
+    public ClientFactoryBootstrap buildClientFactoryMetadata(Map<String, ClientFactory> clientFactories,
             final KunderaMetadata kunderaMetadata)
     {
         for (String pu : persistenceUnits)
@@ -43,16 +54,27 @@ public class ClientMetadataBuilder
             clientFactories.put(pu, clientFactory);
         }
 
-        // configuring schema before loading client factories because during
-        // initilazation schema nedds to be created.
-        schemaConfiguration.configure();
-
         // load all client factories.
-        for (String pu : persistenceUnits)
+        ClientFactoryBootstrap bootstrap = new ClientFactoryBootstrap(clientFactories, schemaConfiguration,
+                mapExternalProperties, persistenceUnits);
+        String parallelism = getProperty(PersistenceProperties.KUNDERA_CLIENT_FACTORY_PARALLELISM, kunderaMetadata);
+        String lazy = getProperty(PersistenceProperties.KUNDERA_CLIENT_FACTORY_LAZY, kunderaMetadata);
+        bootstrap.start(parallelism != null ? Integer.parseInt(parallelism.trim()) : 1, Boolean.parseBoolean(lazy));
+        return bootstrap;
+    }
+
+    /**
+     * Returns value of given property from external properties, or else from
+     * first persistence unit defining it.
+     */
+    private String getProperty(String name, final KunderaMetadata kunderaMetadata)
+    {
+        Object value = mapExternalProperties != null ? mapExternalProperties.get(name) : null;
+        for (int i = 0; value == null && i < persistenceUnits.length; i++)
         {
-            Map<String, Object> puProperty = KunderaCoreUtils.getExternalProperties(pu, mapExternalProperties,
-                    persistenceUnits);
-            clientFactories.get(pu).load(pu, puProperty);
+            value = kunderaMetadata.getApplicationMetadata().getPersistenceUnitMetadata(persistenceUnits[i])
+                    .getProperty(name);
         }
+        return value != null ? value.toString() : null;
     }
 }
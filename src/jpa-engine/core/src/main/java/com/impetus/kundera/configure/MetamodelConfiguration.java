@@ -25,8 +25,10 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javassist.bytecode.AnnotationsAttribute;
 import javassist.bytecode.ClassFile;
@@ -42,6 +44,7 @@ import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.classreading.ClasspathReader;
+import com.impetus.kundera.classreading.EntityIndex;
 import com.impetus.kundera.classreading.Reader;
 import com.impetus.kundera.classreading.ResourceIterator;
 import com.impetus.kundera.loader.MetamodelLoaderException;
@@ -184,7 +187,12 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
 
         InputStream[] iStreams = null;
         PersistenceUnitMetadata puMetadata = persistentUnitMetadataMap.get(persistenceUnit);
-        if (this.getClass().getClassLoader() instanceof URLClassLoader && !puMetadata.getExcludeUnlistedClasses())
+        EntityIndex index = getEntityIndex(persistenceUnit, puMetadata, classesToScan);
+        if (index != null)
+        {
+            log.info("Loading entities of persistence unit " + persistenceUnit + " from entity index");
+        }
+        else if (this.getClass().getClassLoader() instanceof URLClassLoader && !puMetadata.getExcludeUnlistedClasses())
         {
             URL[] managedClasses = reader.findResources();
             if (managedClasses != null)
@@ -198,7 +206,7 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
             iStreams = reader.findResourcesAsStream();
         }
 
-        if (managedURLs != null)
+        if (index == null && managedURLs != null)
         {
             resources = managedURLs.toArray(new URL[] {});
         }
@@ -217,7 +225,31 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
         Map<String, List<String>> puToClazzMap = new HashMap<String, List<String>>();
         Map<String, IdDiscriptor> entityNameToKeyDiscriptorMap = new HashMap<String, IdDiscriptor>();
         List<Class<?>> classes = new ArrayList<Class<?>>();
-        if (resources != null && resources.length > 0)
+        if (index != null)
+        {
+            Set<String> classNames = new LinkedHashSet<String>(index.getEntityClasses(persistenceUnit));
+            if (classesToScan != null)
+            {
+                classNames.addAll(classesToScan);
+            }
+            for (String className : classNames)
+            {
+                try
+                {
+                    Class<?> clazz = this.getClass().getClassLoader().loadClass(className);
+                    if (clazz.isAnnotationPresent(Entity.class))
+                    {
+                        classes.addAll(putMetadata(clazz, entityMetadataMap, entityNameToClassMap, persistenceUnit,
+                                client, puToClazzMap, entityNameToKeyDiscriptorMap));
+                    }
+                }
+                catch (ClassNotFoundException e)
+                {
+                    log.error("Class " + className + " listed in entity index not found, it won't be loaded as entity");
+                }
+            }
+        }
+        else if (resources != null && resources.length > 0)
         {
             for (URL resource : resources)
             {
@@ -332,53 +364,9 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
                 // check if the current class has one?
                 if (annotations.contains(validAnn))
                 {
-                	
-                	Class<?> clazz = this.getClass().getClassLoader().loadClass(className);
-                    this.factory.validate(clazz);
-
-                    // get the name of entity to be used for entity to class map
-                    // if or not annotated with name
-                    String entityName = getEntityName(clazz);
-
-                    if ((entityNameToClassMap.containsKey(entityName) && !entityNameToClassMap.get(entityName)
-                            .getName().equals(clazz.getName())))
-                    {
-                        throw new MetamodelLoaderException("Name conflict between classes "
-                                + entityNameToClassMap.get(entityName).getName() + " and " + clazz.getName()
-                                + ". Make sure no two entity classes with the same name "
-                                + " are specified for persistence unit " + persistenceUnit);
-                    }
-                    entityNameToClassMap.put(entityName, clazz);
-
-                    EntityMetadata metadata = entityMetadataMap.get(clazz);
-                    if (null == metadata)
-                    {
-                        log.debug("Metadata not found in cache for " + clazz.getName());
-                        // double check locking.
-                        synchronized (clazz)
-                        {
-                            if (null == metadata)
-                            {
-                                MetadataBuilder metadataBuilder = new MetadataBuilder(persistenceUnit, client,
-                                        KunderaCoreUtils.getExternalProperties(persistenceUnit, externalPropertyMap,
-                                                persistenceUnits), kunderaMetadata);
-                                metadata = metadataBuilder.buildEntityMetadata(clazz);
-
-                                // in case entity's pu does not belong to parse
-                                // persistence unit, it will be null.
-                                if (metadata != null)
-                                {
-                                    entityMetadataMap.put(clazz.getName(), metadata);
-                                    mapClazztoPu(clazz, persistenceUnit, clazzToPuMap);
-                                    processGeneratedValueAnnotation(clazz, persistenceUnit, metadata,
-                                            entityNameToKeyDiscriptorMap);
-                                }
-                            }
-                        }
-                    }
-
-                    // TODO :
-                    onValidateClientProperties(classes, clazz, persistenceUnit);
+                    Class<?> clazz = this.getClass().getClassLoader().loadClass(className);
+                    classes.addAll(putMetadata(clazz, entityMetadataMap, entityNameToClassMap, persistenceUnit,
+                            client, clazzToPuMap, entityNameToKeyDiscriptorMap));
                 }
             }
         }
@@ -402,6 +390,97 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
         return classes;
     }
 
+    /**
+     * Validates given entity class and builds its metadata, unless entity
+     * belongs to some other persistence unit.
+     * 
+     * @return entity classes to validate client properties for.
+     */
+    private List<Class<?>> putMetadata(Class<?> clazz, Map<String, EntityMetadata> entityMetadataMap,
+            Map<String, Class<?>> entityNameToClassMap, String persistenceUnit, String client,
+            Map<String, List<String>> clazzToPuMap, Map<String, IdDiscriptor> entityNameToKeyDiscriptorMap)
+    {
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        this.factory.validate(clazz);
+
+        // get the name of entity to be used for entity to class map
+        // if or not annotated with name
+        String entityName = getEntityName(clazz);
+
+        if ((entityNameToClassMap.containsKey(entityName) && !entityNameToClassMap.get(entityName).getName()
+                .equals(clazz.getName())))
+        {
+            throw new MetamodelLoaderException("Name conflict between classes "
+                    + entityNameToClassMap.get(entityName).getName() + " and " + clazz.getName()
+                    + ". Make sure no two entity classes with the same name "
+                    + " are specified for persistence unit " + persistenceUnit);
+        }
+        entityNameToClassMap.put(entityName, clazz);
+
+        EntityMetadata metadata = entityMetadataMap.get(clazz);
+        if (null == metadata)
+        {
+            log.debug("Metadata not found in cache for " + clazz.getName());
+            // double check locking.
+            synchronized (clazz)
+            {
+                if (null == metadata)
+                {
+                    MetadataBuilder metadataBuilder = new MetadataBuilder(persistenceUnit, client,
+                            KunderaCoreUtils.getExternalProperties(persistenceUnit, externalPropertyMap,
+                                    persistenceUnits), kunderaMetadata);
+                    metadata = metadataBuilder.buildEntityMetadata(clazz);
+
+                    // in case entity's pu does not belong to parse
+                    // persistence unit, it will be null.
+                    if (metadata != null)
+                    {
+                        entityMetadataMap.put(clazz.getName(), metadata);
+                        mapClazztoPu(clazz, persistenceUnit, clazzToPuMap);
+                        processGeneratedValueAnnotation(clazz, persistenceUnit, metadata,
+                                entityNameToKeyDiscriptorMap);
+                    }
+                }
+            }
+        }
+
+        // TODO :
+        onValidateClientProperties(classes, clazz, persistenceUnit);
+        return classes;
+    }
+
+    /**
+     * Returns build time entity index to load entities of given persistence
+     * unit from, in place of classpath scanning. Index is not used if it is
+     * switched off, if persistence unit only manages classes listed in
+     * persistence.xml (nothing to scan then) or if it names jar files to scan.
+     * 
+     * @return entity index, or null if classpath is to be scanned.
+     */
+    private EntityIndex getEntityIndex(String persistenceUnit, PersistenceUnitMetadata puMetadata,
+            List<String> classesToScan)
+    {
+        Map<String, Object> externalProperties = KunderaCoreUtils.getExternalProperties(persistenceUnit,
+                externalPropertyMap, persistenceUnits);
+        Object useIndex = externalProperties != null ? externalProperties
+                .get(PersistenceProperties.KUNDERA_METADATA_INDEX) : null;
+        if (useIndex == null)
+        {
+            useIndex = puMetadata.getProperty(PersistenceProperties.KUNDERA_METADATA_INDEX);
+        }
+
+        boolean scansClasspath = !puMetadata.getExcludeUnlistedClasses() || classesToScan == null
+                || classesToScan.isEmpty();
+        if (!scansClasspath || (useIndex != null && !Boolean.parseBoolean(useIndex.toString()))
+                || (puMetadata.getJarFiles() != null && !puMetadata.getJarFiles().isEmpty()))
+        {
+            return null;
+        }
+
+        // same loader listed classes are loaded with.
+        return EntityIndex.load(this.getClass().getClassLoader());
+    }
+
     /**
      * @param clazz
      */
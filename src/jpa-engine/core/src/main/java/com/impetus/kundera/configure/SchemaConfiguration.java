@@ -104,6 +104,21 @@ public class SchemaConfiguration extends AbstractSchemaConfiguration implements
      * 
      */
     public void configure()
+    {
+        buildSchemaMetadata();
+
+        // Need to iterate, as in case of non unary relations
+        for (String persistenceUnit : persistenceUnits)
+        {
+            exportSchema(persistenceUnit);
+        }
+    }
+
+    /**
+     * Creates pu to schema metadata map for each entity in class path, without
+     * exporting it.
+     */
+    void buildSchemaMetadata()
     {
         ApplicationMetadata appMetadata = kunderaMetadata.getApplicationMetadata();
 
@@ -168,28 +183,35 @@ public class SchemaConfiguration extends AbstractSchemaConfiguration implements
             puToSchemaMetadata.put(persistenceUnit, tableInfos);
 
         }
+    }
 
-        // Need to iterate, as in case of non unary relations
-        for (String persistenceUnit : persistenceUnits)
-        {
-            PersistenceUnitMetadata puMetadata = appMetadata.getPersistenceUnitMetadata(persistenceUnit);
+    /**
+     * Exports schema metadata built for given persistence unit, if schema
+     * operation is configured for it.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     */
+    void exportSchema(final String persistenceUnit)
+    {
+        PersistenceUnitMetadata puMetadata = kunderaMetadata.getApplicationMetadata().getPersistenceUnitMetadata(
+                persistenceUnit);
 
-            Map externalPuMap = externalPropertyMap;
+        Map externalPuMap = externalPropertyMap;
 
-            // in case of polyglot.
-            if (persistenceUnits.length > 1 && externalPropertyMap != null)
-            {
-                externalPuMap = (Map) externalPropertyMap.get(persistenceUnit);
-            }
-            if (externalPuMap != null && externalPuMap.get(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE) != null
-                    || puMetadata.getProperty(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE) != null)
-            {
-                SchemaManager schemaManager = getSchemaManagerForPu(persistenceUnit);
+        // in case of polyglot.
+        if (persistenceUnits.length > 1 && externalPropertyMap != null)
+        {
+            externalPuMap = (Map) externalPropertyMap.get(persistenceUnit);
+        }
+        if (externalPuMap != null && externalPuMap.get(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE) != null
+                || puMetadata.getProperty(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE) != null)
+        {
+            SchemaManager schemaManager = getSchemaManagerForPu(persistenceUnit);
 
-                if (schemaManager != null)
-                {
-                    schemaManager.exportSchema(persistenceUnit, puToSchemaMetadata.get(persistenceUnit));
-                }
+            if (schemaManager != null)
+            {
+                schemaManager.exportSchema(persistenceUnit, puToSchemaMetadata.get(persistenceUnit));
             }
         }
     }
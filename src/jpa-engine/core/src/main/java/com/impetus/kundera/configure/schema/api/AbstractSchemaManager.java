@@ -15,8 +15,12 @@
  ******************************************************************************/
 package com.impetus.kundera.configure.schema.api;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.configure.ClientProperties.DataStore;
@@ -75,6 +79,13 @@ public abstract class AbstractSchemaManager
 
     protected final KunderaMetadata kunderaMetadata;
 
+    /** Whether validation of each table is deferred to its first use. */
+    protected boolean deferValidation;
+
+    /** Tables yet to be validated, by persistence unit and table name. */
+    private final ConcurrentMap<List<String>, TableInfo> pendingValidations =
+            new ConcurrentHashMap<List<String>, TableInfo>();
+
     /**
      * Initialise with configured client factory.
      * 
@@ -126,6 +137,7 @@ public abstract class AbstractSchemaManager
         String portName = null;
         String operationType = null;
         String schemaName = null;
+        String deferred = null;
         if (externalProperties != null)
         {
             portName = (String) externalProperties.get(PersistenceProperties.KUNDERA_PORT);
@@ -135,6 +147,7 @@ public abstract class AbstractSchemaManager
             schemaName = (String) externalProperties.get(PersistenceProperties.KUNDERA_KEYSPACE);
             // get type of schema of operation.
             operationType = (String) externalProperties.get(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE);
+            deferred = (String) externalProperties.get(PersistenceProperties.KUNDERA_DDL_VALIDATE_DEFERRED);
             showQuery = KunderaCoreUtils.isShowQueryEnabled(externalProperties, puMetadata.getPersistenceUnitName(), kunderaMetadata);
         }
         if (portName == null)
@@ -150,6 +163,8 @@ public abstract class AbstractSchemaManager
             showQuery = Boolean.parseBoolean(puMetadata.getProperties().getProperty(
                     PersistenceProperties.KUNDERA_SHOW_QUERY));
 */
+        if (deferred == null)
+            deferred = puMetadata.getProperty(PersistenceProperties.KUNDERA_DDL_VALIDATE_DEFERRED);
         if (userName == null)
         {
             userName = puMetadata.getProperty(PersistenceProperties.KUNDERA_USERNAME);
@@ -164,6 +179,39 @@ public abstract class AbstractSchemaManager
         this.port = portName;
         this.databaseName = schemaName;
         this.operation = operationType;
+        this.deferValidation = Boolean.parseBoolean(deferred);
+    }
+
+    /**
+     * Validates given table if its validation was deferred and is still
+     * pending. Failed validation is retried on next use of table.
+     * 
+     * @param persistenceUnit
+     *            persistence unit of table.
+     * @param tableName
+     *            table name.
+     */
+    public void validateOnFirstUse(String persistenceUnit, String tableName)
+    {
+        if (!pendingValidations.isEmpty())
+        {
+            List<String> key = Arrays.asList(persistenceUnit, tableName);
+            TableInfo tableInfo = pendingValidations.remove(key);
+            if (tableInfo != null)
+            {
+                List<TableInfo> tables = new ArrayList<TableInfo>(1);
+                tables.add(tableInfo);
+                try
+                {
+                    validate(tables);
+                }
+                catch (RuntimeException e)
+                {
+                    pendingValidations.put(key, tableInfo);
+                    throw e;
+                }
+            }
+        }
     }
 
     /**
@@ -267,7 +315,18 @@ public abstract class AbstractSchemaManager
             update(tableInfos);
             break;
         case validate:
-            validate(tableInfos);
+            if (deferValidation)
+            {
+                String persistenceUnit = puMetadata.getPersistenceUnitName();
+                for (TableInfo tableInfo : tableInfos)
+                {
+                    pendingValidations.put(Arrays.asList(persistenceUnit, tableInfo.getTableName()), tableInfo);
+                }
+            }
+            else
+            {
+                validate(tableInfos);
+            }
             break;
         }
     }
@@ -79,7 +79,7 @@ public class GraphBuilder
      */
     public final Node buildNode(Object entity, PersistenceDelegator pd, Object entityId, NodeState nodeState)
     {
-        String nodeId = ObjectGraphUtils.getNodeId(entityId, entity.getClass());
+        NodeKey nodeId = ObjectGraphUtils.getNodeId(entityId, entity.getClass());
 
         Node node = this.graph.getNode(nodeId);
 
@@ -321,7 +321,7 @@ public class GraphBuilder
          *            node id.
          * @return node builder instance.
          */
-        private NodeBuilder buildNode(Object entity, PersistenceDelegator pd, Object entityId, String nodeId)
+        private NodeBuilder buildNode(Object entity, PersistenceDelegator pd, Object entityId, NodeKey nodeId)
         {
 
             Node nodeInPersistenceCache = pd.getPersistenceCache().getMainCache().getNodeFromCache(nodeId, pd);
@@ -26,7 +26,6 @@ import javax.persistence.PrePersist;
 import javax.persistence.PreRemove;
 import javax.persistence.PreUpdate;
 
-import org.apache.commons.lang.builder.HashCodeBuilder;
 
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.Client;
@@ -52,7 +51,7 @@ public class Node implements NodeStateContext
 {
 
     // ID of a node into object graph
-    private String nodeId;
+    private NodeKey nodeId;
 
     // Primary key of entity data contained in this node
     private Object entityId;
@@ -98,7 +97,7 @@ public class Node implements NodeStateContext
 
     private EntityEventDispatcher eventDispatcher = new EntityEventDispatcher();
 
-    private Node(String nodeId, Object data, PersistenceCache pc, Object primaryKey, PersistenceDelegator pd)
+    private Node(NodeKey nodeId, Object data, PersistenceCache pc, Object primaryKey, PersistenceDelegator pd)
     {
         initializeNode(nodeId, data, primaryKey, pd);
         setPersistenceCache(pc);
@@ -107,7 +106,7 @@ public class Node implements NodeStateContext
         this.currentNodeState = new TransientState();
     }
 
-    Node(String nodeId, Object data, NodeState initialNodeState, PersistenceCache pc, Object primaryKey, PersistenceDelegator pd)
+    Node(NodeKey nodeId, Object data, NodeState initialNodeState, PersistenceCache pc, Object primaryKey, PersistenceDelegator pd)
     {
         initializeNode(nodeId, data, primaryKey, pd);
         setPersistenceCache(pc);
@@ -123,7 +122,7 @@ public class Node implements NodeStateContext
         }
     }
 
-    public Node(String nodeId, Class<?> nodeDataClass, NodeState initialNodeState, PersistenceCache pc,
+    public Node(NodeKey nodeId, Class<?> nodeDataClass, NodeState initialNodeState, PersistenceCache pc,
             Object primaryKey, PersistenceDelegator pd)
     {
         this.nodeId = nodeId;
@@ -143,7 +142,7 @@ public class Node implements NodeStateContext
         }
     }
 
-    private void initializeNode(String nodeId, Object data, Object primaryKey, PersistenceDelegator pd)
+    private void initializeNode(NodeKey nodeId, Object data, Object primaryKey, PersistenceDelegator pd)
     {
         this.pd = pd;
         this.nodeId = nodeId;
@@ -157,7 +156,7 @@ public class Node implements NodeStateContext
      * @return the nodeId
      */
     @Override
-    public String getNodeId()
+    public NodeKey getNodeId()
     {
         return nodeId;
     }
@@ -167,7 +166,7 @@ public class Node implements NodeStateContext
      *            the nodeId to set
      */
     @Override
-    public void setNodeId(String nodeId)
+    public void setNodeId(NodeKey nodeId)
     {
         this.nodeId = nodeId;
     }
@@ -279,7 +278,7 @@ public class Node implements NodeStateContext
      * Retrieves parent node of this node for a given parent node ID
      */
     @Override
-    public Node getParentNode(String parentNodeId)
+    public Node getParentNode(NodeKey parentNodeId)
     {
         NodeLink link = new NodeLink(parentNodeId, getNodeId());
 
@@ -298,7 +297,7 @@ public class Node implements NodeStateContext
      */
 
     @Override
-    public Node getChildNode(String childNodeId)
+    public Node getChildNode(NodeKey childNodeId)
     {
         NodeLink link = new NodeLink(getNodeId(), childNodeId);
 
@@ -428,7 +427,7 @@ public class Node implements NodeStateContext
     @Override
     public int hashCode()
     {
-        return HashCodeBuilder.reflectionHashCode(this.nodeId);
+        return this.nodeId.hashCode();
     }
 
     // ////////////////////////////////////////
@@ -528,12 +527,41 @@ public class Node implements NodeStateContext
         if (isDirty())
         {
             handlePreEvent();
-            getCurrentNodeState().handleFlush(this);
-            handlePostEvent();
-            this.isProcessed = true;
+            flushToDatastore();
+            onFlushed();
         }
+        updateLinks();
+    }
+
+    /**
+     * Writes this node to datastore as per its current state, without firing
+     * callbacks or updating persistence cache. Completed by
+     * {@link #onFlushed()}, on thread owning persistence context.
+     */
+    public void flushToDatastore()
+    {
+        getCurrentNodeState().handleFlush(this);
+    }
+
+    /**
+     * Completes flush of this node once written to datastore: removed node is
+     * evicted from persistence cache and post callbacks are fired.
+     */
+    public void onFlushed()
+    {
+        if (isInState(RemovedState.class))
+        {
+            getPersistenceCache().getMainCache().removeNodeFromCache(this);
+        }
+        handlePostEvent();
+        this.isProcessed = true;
+    }
 
-        // Update Link value for all nodes attached to this one
+    /**
+     * Updates link value for all nodes attached to this one.
+     */
+    public void updateLinks()
+    {
         Map<NodeLink, Node> parents = this.getParents();
         Map<NodeLink, Node> children = this.getChildren();
 
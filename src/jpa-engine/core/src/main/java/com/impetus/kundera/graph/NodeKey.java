@@ -0,0 +1,99 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.graph;
+
+import java.io.Serializable;
+
+import com.impetus.kundera.Constants;
+
+/**
+ * Identifies a {@link Node} in object graph, persistence cache and second
+ * level cache: entity class plus primary key. Immutable, hash code is computed
+ * once as keys are probed on every find, persist and cache lookup.
+ * 
+ * Primary key is compared using its own equals, so composite (embedded) keys
+ * must implement equals/hashCode consistently, as required by JPA anyway.
+ */
+public final class NodeKey implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /** Entity class. */
+    private final Class<?> entityClass;
+
+    /** Primary key of entity. */
+    private final Object entityId;
+
+    /** Cached hash code. */
+    private final int hash;
+
+    /**
+     * @param entityClass
+     *            entity class
+     * @param entityId
+     *            primary key of entity
+     */
+    public NodeKey(Class<?> entityClass, Object entityId)
+    {
+        this.entityClass = entityClass;
+        this.entityId = entityId;
+        this.hash = 31 * entityClass.hashCode() + (entityId != null ? entityId.hashCode() : 0);
+    }
+
+    /**
+     * @return the entityClass
+     */
+    public Class<?> getEntityClass()
+    {
+        return entityClass;
+    }
+
+    /**
+     * @return the entityId
+     */
+    public Object getEntityId()
+    {
+        return entityId;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (!(obj instanceof NodeKey))
+        {
+            return false;
+        }
+        NodeKey other = (NodeKey) obj;
+        return hash == other.hash && entityClass.equals(other.entityClass)
+                && (entityId == null ? other.entityId == null : entityId.equals(other.entityId));
+    }
+
+    @Override
+    public String toString()
+    {
+        return entityClass.getName() + Constants.NODE_ID_SEPARATOR + entityId;
+    }
+}
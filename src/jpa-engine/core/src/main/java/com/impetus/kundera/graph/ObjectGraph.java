@@ -30,12 +30,12 @@ public class ObjectGraph
 
     // Mapping between Node ID and Node itself
     // Each node contains link to parent/ child nodes it is related to
-    private Map<String, Node> nodeMapping;
+    private Map<NodeKey, Node> nodeMapping;
 
     ObjectGraph()
     {
         clear();
-        nodeMapping = new HashMap<String, Node>();
+        nodeMapping = new HashMap<NodeKey, Node>();
     }
 
     /**
@@ -44,7 +44,7 @@ public class ObjectGraph
      * @param nodeId
      * @param node
      */
-    public void addNode(String nodeId, Node node)
+    public void addNode(NodeKey nodeId, Node node)
     {
         nodeMapping.put(nodeId, node);
     }
@@ -55,7 +55,7 @@ public class ObjectGraph
      * @param nodeId
      * @return
      */
-    Node getNode(String nodeId)
+    Node getNode(NodeKey nodeId)
     {
         return nodeMapping.get(nodeId);
     }
@@ -80,7 +80,7 @@ public class ObjectGraph
     /**
      * @return the nodeMapping
      */
-    public Map<String, Node> getNodeMapping()
+    public Map<NodeKey, Node> getNodeMapping()
     {
         return nodeMapping;
     }
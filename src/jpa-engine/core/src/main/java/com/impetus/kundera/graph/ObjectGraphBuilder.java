@@ -124,7 +124,7 @@ public class ObjectGraphBuilder
 
         // id = PropertyAccessorHelper.getId(entity, entityMetadata);
 
-        String nodeId = ObjectGraphUtils.getNodeId(id, entity.getClass());
+        NodeKey nodeId = ObjectGraphUtils.getNodeId(id, entity.getClass());
         Node node = graph.getNode(nodeId);
 
         // If this node is already there in graph (may happen for bidirectional
@@ -242,7 +242,7 @@ public class ObjectGraphBuilder
     private NodeState getChildNodeState(EntityMetadata metadata, Object childObj)
     {
         Object childId = PropertyAccessorHelper.getId(childObj, metadata);
-        String childNodeId = ObjectGraphUtils.getNodeId(childId, childObj.getClass());
+        NodeKey childNodeId = ObjectGraphUtils.getNodeId(childId, childObj.getClass());
 
         Node childNodeInCache = persistenceCache.getMainCache().getNodeFromCache(childNodeId, pd);
 
@@ -21,7 +21,6 @@ import javax.persistence.GeneratedValue;
 
 import org.apache.commons.lang.StringUtils;
 
-import com.impetus.kundera.Constants;
 import com.impetus.kundera.utils.NumericUtils;
 
 /**
@@ -38,12 +37,9 @@ public class ObjectGraphUtils
      * @param objectClass
      * @return
      */
-    public static String getNodeId(Object pk, Class<?> objectClass)
+    public static NodeKey getNodeId(Object pk, Class<?> objectClass)
     {
-        StringBuffer strBuffer = new StringBuffer(objectClass.getName());
-        strBuffer.append(Constants.NODE_ID_SEPARATOR);
-        strBuffer.append(pk);
-        return strBuffer.toString();
+        return new NodeKey(objectClass, pk);
     }
 
     /**
@@ -51,9 +47,9 @@ public class ObjectGraphUtils
      * @param nodeId
      * @return
      */
-    public static Object getEntityId(String nodeId)
+    public static Object getEntityId(NodeKey nodeId)
     {
-        return nodeId.substring(nodeId.indexOf(Constants.NODE_ID_SEPARATOR) + 1, nodeId.length());
+        return nodeId.getEntityId();
     }
 
     /**
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.index;
+
+/**
+ * {@link Indexer} which may hold index and unindex operations back, to send
+ * them in bulk. Held operations are drained by {@link IndexManager#flush()},
+ * which Kundera invokes on transaction commit and on explicit flush.
+ */
+public interface BufferedIndexer extends Indexer
+{
+    /**
+     * Sends held operations and waits for them to complete.
+     * 
+     * @throws IndexingException
+     *             if any of operations failed.
+     */
+    void flush();
+}
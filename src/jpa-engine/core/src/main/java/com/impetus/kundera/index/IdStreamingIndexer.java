@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.index;
+
+import java.util.Iterator;
+
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.query.KunderaQuery;
+
+/**
+ * {@link Indexer} able to return matching ids lazily, page by page, instead of
+ * collecting them all in a map. Iterators are read by a single thread and are
+ * exhausted or abandoned within the query that requested them.
+ */
+public interface IdStreamingIndexer extends Indexer
+{
+    /**
+     * Returns ids of entities matching given query, in query order.
+     * 
+     * @param kunderaMetadata
+     *            kundera metadata
+     * @param kunderaQuery
+     *            query, not aggregated
+     * @param persistenceDelegator
+     *            persistence delegator
+     * @param m
+     *            entity metadata
+     * @param firstResult
+     *            number of matching ids to skip
+     * @param maxResults
+     *            maximum number of ids, {@link com.impetus.kundera.Constants#INVALID} for all
+     * @return ids, converted to id type of entity
+     */
+    Iterator<Object> searchIds(KunderaMetadata kunderaMetadata, KunderaQuery kunderaQuery,
+            PersistenceDelegator persistenceDelegator, EntityMetadata m, int firstResult, int maxResults);
+
+    /**
+     * Returns ids of entities matching given lucene query.
+     * 
+     * @param clazz
+     *            entity class
+     * @param m
+     *            entity metadata
+     * @param luceneQuery
+     *            lucene query
+     * @param start
+     *            number of matching ids to skip, {@link com.impetus.kundera.Constants#INVALID} for none
+     * @param count
+     *            maximum number of ids, {@link com.impetus.kundera.Constants#INVALID} for all
+     * @return ids, converted to id type of entity
+     */
+    Iterator<Object> searchIds(Class<?> clazz, EntityMetadata m, String luceneQuery, int start, int count);
+}
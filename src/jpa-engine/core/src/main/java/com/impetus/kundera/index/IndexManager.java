@@ -415,13 +415,14 @@ public class IndexManager
     }
 
     /**
-     * Flushes out the indexes, keeping RAM directory open.
+     * Flushes out the indexes, keeping RAM directory open. Drains operations
+     * held by a {@link BufferedIndexer}.
      */
     public void flush() throws IndexingException
     {
-        if (indexer != null)
+        if (indexer instanceof BufferedIndexer)
         {
-            // ((Indexer) indexer).close();
+            ((BufferedIndexer) indexer).flush();
         }
     }
 
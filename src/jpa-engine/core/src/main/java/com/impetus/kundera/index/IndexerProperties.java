@@ -32,6 +32,8 @@ public class IndexerProperties
 
     private List<Node> nodes;
 
+    private Properties properties;
+
     @XmlRootElement
     public static class Node
     {
@@ -58,4 +60,17 @@ public class IndexerProperties
     {
         this.nodes = nodes;
     }
+
+    /**
+     * Indexer wide settings, not bound to a node. May be null.
+     */
+    public Properties getProperties()
+    {
+        return properties;
+    }
+
+    public void setProperties(Properties properties)
+    {
+        this.properties = properties;
+    }
 }
\ No newline at end of file
@@ -26,6 +26,8 @@ import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.lifecycle.NodeStateContext;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -80,7 +82,7 @@ public class ManagedState extends NodeState
         Object entityId = nodeStateContext.getEntityId();
 
         EntityReader reader = client.getReader();
-        EnhanceEntity ee = reader.findById(entityId, entityMetadata, client);
+        EnhanceEntity ee = findById(nodeStateContext, reader, entityId, entityMetadata, client);
 
         if (ee != null && ee.getEntity() != null)
         {
@@ -134,7 +136,7 @@ public class ManagedState extends NodeState
             return;
         }
 
-        EnhanceEntity ee = reader.findById(entityId, entityMetadata, client);
+        EnhanceEntity ee = findById(nodeStateContext, reader, entityId, entityMetadata, client);
         // Recursively retrieve relationship entities (if there are any)
         if (ee != null && ee.getEntity() != null)
         {
@@ -194,7 +196,16 @@ public class ManagedState extends NodeState
 
         // Flush this node to database
         Client client = nodeStateContext.getClient();
-        client.persist((Node) nodeStateContext);
+        KunderaMetrics metrics = nodeStateContext.getPersistenceDelegator().getKunderaMetadata().getMetrics();
+        long start = metrics.start();
+        try
+        {
+            client.persist((Node) nodeStateContext);
+        }
+        finally
+        {
+            metrics.stop(Operation.PERSIST, start, client, nodeStateContext.getDataClass());
+        }
 
         // logNodeEvent("FLUSHED", this, nodeStateContext.getNodeId());
 
@@ -254,4 +265,23 @@ public class ManagedState extends NodeState
     {
     }
 
-}
\ No newline at end of file
+    /**
+     * Reads entity through reader, timing it as a find.
+     */
+    private EnhanceEntity findById(NodeStateContext nodeStateContext, EntityReader reader, Object entityId,
+            EntityMetadata entityMetadata, Client client)
+    {
+        KunderaMetrics metrics = nodeStateContext.getPersistenceDelegator().getKunderaMetadata().getMetrics();
+        long start = metrics.start();
+        EnhanceEntity found = null;
+        try
+        {
+            found = reader.findById(entityId, entityMetadata, client);
+            return found;
+        }
+        finally
+        {
+            metrics.stop(Operation.FIND, start, client, entityMetadata.getEntityClazz(), found != null ? 1 : 0);
+        }
+    }
+}
@@ -20,6 +20,8 @@ import javax.persistence.PersistenceContextType;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.lifecycle.NodeStateContext;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 
 /**
  * @author amresh
@@ -94,13 +96,20 @@ public class RemovedState extends NodeState
 
         Object entityId = node.getEntityId();
 
-        client.remove(node.getData(), entityId);
+        KunderaMetrics metrics = node.getPersistenceDelegator().getKunderaMetadata().getMetrics();
+        long start = metrics.start();
+        try
+        {
+            client.remove(node.getData(), entityId);
+        }
+        finally
+        {
+            metrics.stop(Operation.DELETE, start, client, node.getDataClass());
+        }
 
-        // Since node is flushed, mark it as NOT dirty
+        // Since node is flushed, mark it as NOT dirty, node removes itself
+        // from persistence cache once flushed.
         nodeStateContext.setDirty(false);
-
-        // Remove this node from Persistence Cache
-        nodeStateContext.getPersistenceCache().getMainCache().removeNodeFromCache(node);
     }
 
     @Override
@@ -29,11 +29,14 @@ import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.configure.PropertyReader;
+import com.impetus.kundera.configure.schema.api.AbstractSchemaManager;
 import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.index.IndexManager;
 import com.impetus.kundera.index.Indexer;
 import com.impetus.kundera.index.IndexingConstants;
 import com.impetus.kundera.metadata.model.ClientMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Gauge;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.service.Host;
@@ -359,6 +362,42 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
 
     protected abstract void initializeLoadBalancer(String loadBalancingPolicyName);
 
+    /**
+     * Registers gauges of connection pool(s) of this factory, suffixed by
+     * persistence unit, e.g. <code>pool.active.myPU</code>.
+     * 
+     * @param active
+     *            connections in use.
+     * @param idle
+     *            idle connections.
+     * @param max
+     *            maximum number of connections.
+     */
+    protected void registerPoolGauges(Gauge active, Gauge idle, Gauge max)
+    {
+        KunderaMetrics metrics = kunderaMetadata.getMetrics();
+        metrics.registerGauge(KunderaMetrics.POOL_ACTIVE + "." + persistenceUnit, active);
+        metrics.registerGauge(KunderaMetrics.POOL_IDLE + "." + persistenceUnit, idle);
+        metrics.registerGauge(KunderaMetrics.POOL_MAX + "." + persistenceUnit, max);
+    }
+
+    /**
+     * Validates schema of given table on its first use, if validation of
+     * schema is deferred.
+     * 
+     * @param persistenceUnit
+     *            persistence unit of table.
+     * @param tableName
+     *            table name.
+     */
+    public void validateSchemaOnFirstUse(String persistenceUnit, String tableName)
+    {
+        if (schemaManager instanceof AbstractSchemaManager)
+        {
+            ((AbstractSchemaManager) schemaManager).validateOnFirstUse(persistenceUnit, tableName);
+        }
+    }
+
     public ClientMetadata getClientMetadata()
     {
         return this.clientMetadata;
@@ -366,7 +405,7 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
 
     protected enum LoadBalancer
     {
-        ROUNDROBIN, LEASTACTIVE;
+        ROUNDROBIN, LEASTACTIVE, LATENCYAWARE, TOKENAWARE;
 
         public static LoadBalancer getValue(String loadBalancename)
         {
@@ -378,6 +417,14 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
             {
                 return LEASTACTIVE;
             }
+            else if (loadBalancename != null && loadBalancename.equalsIgnoreCase(LATENCYAWARE.name()))
+            {
+                return LATENCYAWARE;
+            }
+            else if (loadBalancename != null && loadBalancename.equalsIgnoreCase(TOKENAWARE.name()))
+            {
+                return TOKENAWARE;
+            }
             else
             {
                 logger.info("Using default load balancer {} . " + ROUNDROBIN.name());
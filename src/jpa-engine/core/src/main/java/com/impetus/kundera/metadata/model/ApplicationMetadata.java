@@ -30,6 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.metadata.processor.MetaModelBuilder;
+import com.impetus.kundera.query.QueryPlanCache;
 
 /**
  * Application metadata refers to metdata specific to application(e.g. metamodel
@@ -62,6 +63,9 @@ public class ApplicationMetadata
 
     private Map<String, QueryWrapper> namedNativeQueries;
 
+    /** Parsed criteria queries, shared by entity managers of application. */
+    private final QueryPlanCache queryPlanCache = new QueryPlanCache(QueryPlanCache.DEFAULT_CAPACITY);
+
     /**
      * Adds the entity metadata.
      * 
@@ -150,6 +154,16 @@ public class ApplicationMetadata
         return persistenceUnitMetadataMap;
     }
 
+    /**
+     * Gets the query plan cache.
+     * 
+     * @return the queryPlanCache
+     */
+    public QueryPlanCache getQueryPlanCache()
+    {
+        return queryPlanCache;
+    }
+
     /**
      * Sets the clazz to pu map.
      * 
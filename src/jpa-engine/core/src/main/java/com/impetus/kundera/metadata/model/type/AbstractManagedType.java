@@ -889,6 +889,29 @@ public abstract class AbstractManagedType<X> extends AbstractType<X> implements
         return subManagedTypes;
     }
 
+    /**
+     * Gets the sub managed type holding given discriminator value, so that
+     * concrete type of a row read once can be resolved before populating it.
+     * 
+     * @param discriminatorValue
+     *            value of discriminator column
+     * @return the sub managed type, null if none holds value.
+     */
+    public ManagedType<X> getSubManagedType(String discriminatorValue)
+    {
+        if (discriminatorValue != null)
+        {
+            for (ManagedType<X> subManagedType : subManagedTypes)
+            {
+                if (discriminatorValue.equals(((AbstractManagedType<X>) subManagedType).getDiscriminatorValue()))
+                {
+                    return subManagedType;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Gets the declared plural attribute.
      * 
@@ -0,0 +1,415 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.MetricsRecorder.Gauge;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.context.PersistenceCache;
+
+/**
+ * Entry point for instrumentation within Kundera, one per entity manager
+ * factory. Delegates to configured {@link MetricsRecorder} and
+ * {@link OperationTracer}, if any.
+ *
+ * Unless either is configured, {@link #DISABLED} is used: {@link #start()}
+ * does not even read clock and every other method returns right away, so
+ * instrumented code paths cost a field read and a branch.
+ *
+ * <pre>
+ * long start = metrics.start();
+ * try
+ * {
+ *     client.persist(node);
+ * }
+ * finally
+ * {
+ *     metrics.stop(Operation.PERSIST, start, client, node.getDataClass());
+ * }
+ * </pre>
+ */
+public final class KunderaMetrics
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(KunderaMetrics.class);
+
+    /** Instance used unless a recorder is configured. */
+    public static final KunderaMetrics DISABLED = new KunderaMetrics(null, null);
+
+    /** Gauge of number of entities held by open persistence contexts. */
+    public static final String PERSISTENCE_CACHE_SIZE = "persistence.cache.size";
+
+    /** Gauge of L2 cache hit ratio, since factory creation. */
+    public static final String L2_CACHE_HIT_RATIO = "l2.cache.hit.ratio";
+
+    /** Counter of L2 cache hits. */
+    public static final String L2_CACHE_HITS = "l2.cache.hits";
+
+    /** Counter of L2 cache misses. */
+    public static final String L2_CACHE_MISSES = "l2.cache.misses";
+
+    /** Gauge of operations running on Kundera's worker threads. */
+    public static final String ASYNC_IN_FLIGHT = "async.inflight";
+
+    /** Gauge of connections in use, per persistence unit. */
+    public static final String POOL_ACTIVE = "pool.active";
+
+    /** Gauge of idle pooled connections, per persistence unit. */
+    public static final String POOL_IDLE = "pool.idle";
+
+    /** Gauge of maximum number of pooled connections, per persistence unit. */
+    public static final String POOL_MAX = "pool.max";
+
+    private final MetricsRecorder recorder;
+
+    private final OperationTracer tracer;
+
+    /** Persistence caches of open entity managers. */
+    private final Set<PersistenceCache> persistenceCaches = Collections
+            .newSetFromMap(new WeakHashMap<PersistenceCache, Boolean>());
+
+    private final AtomicLong l2Hits = new AtomicLong();
+
+    private final AtomicLong l2Misses = new AtomicLong();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private KunderaMetrics(MetricsRecorder recorder, OperationTracer tracer)
+    {
+        this.recorder = recorder;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Creates metrics for an entity manager factory, from
+     * {@link PersistenceProperties#KUNDERA_METRICS_RECORDER} and tracing
+     * properties given as external properties or in any of persistence
+     * units.
+     *
+     * @param properties
+     *            external properties, may be null
+     * @param kunderaMetadata
+     *            kundera metadata
+     * @param persistenceUnits
+     *            persistence units of factory
+     * @return metrics, {@link #DISABLED} if neither recorder nor tracing is
+     *         configured
+     */
+    public static KunderaMetrics create(Map<String, Object> properties, KunderaMetadata kunderaMetadata,
+            String... persistenceUnits)
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        for (String pu : persistenceUnits)
+        {
+            PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, pu);
+            if (puMetadata != null && puMetadata.getProperties() != null)
+            {
+                for (Map.Entry<Object, Object> entry : puMetadata.getProperties().entrySet())
+                {
+                    props.put(entry.getKey().toString(), entry.getValue());
+                }
+            }
+        }
+        if (properties != null)
+        {
+            props.putAll(properties);
+        }
+
+        MetricsRecorder recorder = null;
+        Object recorderClassName = props.get(PersistenceProperties.KUNDERA_METRICS_RECORDER);
+        if (recorderClassName != null && !recorderClassName.toString().trim().isEmpty())
+        {
+            try
+            {
+                recorder = (MetricsRecorder) Class.forName(recorderClassName.toString().trim()).newInstance();
+            }
+            catch (Exception e)
+            {
+                log.error("Error while instantiating metrics recorder {}, Caused by: .", recorderClassName, e);
+                throw new KunderaException("Could not instantiate metrics recorder " + recorderClassName, e);
+            }
+            recorder.initialize(props);
+        }
+
+        OperationTracer tracer = OperationTracer.create(props, persistenceUnits);
+        if (recorder == null && tracer == null)
+        {
+            return DISABLED;
+        }
+
+        KunderaMetrics metrics = new KunderaMetrics(recorder, tracer);
+        if (recorder != null)
+        {
+            metrics.registerCoreGauges();
+        }
+        return metrics;
+    }
+
+    /**
+     * @return true, if a recorder or tracing is configured.
+     */
+    public boolean isEnabled()
+    {
+        return recorder != null || tracer != null;
+    }
+
+    /**
+     * @return tracer, null unless tracing is configured.
+     */
+    public OperationTracer getTracer()
+    {
+        return tracer;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return start time to pass to stop, zero if disabled.
+     */
+    public long start()
+    {
+        if (tracer != null)
+        {
+            return OperationTracer.start();
+        }
+        return recorder != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records an operation performed by given client.
+     *
+     * @param operation
+     *            operation
+     * @param start
+     *            value returned by {@link #start()}
+     * @param client
+     *            client, may be null
+     * @param entityClass
+     *            entity class, may be null
+     */
+    public void stop(Operation operation, long start, Client client, Class<?> entityClass)
+    {
+        stop(operation, start, client, entityClass, -1);
+    }
+
+    /**
+     * Records an operation performed by given client, along with number of
+     * rows it read or wrote.
+     *
+     * @param operation
+     *            operation
+     * @param start
+     *            value returned by {@link #start()}
+     * @param client
+     *            client, may be null
+     * @param entityClass
+     *            entity class, may be null
+     * @param rows
+     *            number of rows, -1 if unknown
+     */
+    public void stop(Operation operation, long start, Client client, Class<?> entityClass, long rows)
+    {
+        if (recorder != null || tracer != null)
+        {
+            long duration = System.nanoTime() - start;
+            String persistenceUnit = client != null ? client.getPersistenceUnit() : null;
+            String clientType = client != null ? client.getClass().getSimpleName() : null;
+            String entity = entityClass != null ? entityClass.getSimpleName() : null;
+            if (recorder != null)
+            {
+                recorder.recordTime(operation, persistenceUnit, clientType, entity, duration);
+            }
+            if (tracer != null)
+            {
+                tracer.onOperation(operation, persistenceUnit, clientType, entity, start, duration, rows);
+            }
+        }
+    }
+
+    /**
+     * Records an operation, not bound to a single client.
+     *
+     * @param operation
+     *            operation
+     * @param start
+     *            value returned by {@link #start()}
+     */
+    public void stop(Operation operation, long start)
+    {
+        stop(operation, start, null, null);
+    }
+
+    /**
+     * Records outcome of an L2 cache lookup.
+     *
+     * @param hit
+     *            whether entity was found in L2 cache
+     */
+    public void onL2Lookup(boolean hit)
+    {
+        if (recorder != null)
+        {
+            (hit ? l2Hits : l2Misses).incrementAndGet();
+            recorder.increment(hit ? L2_CACHE_HITS : L2_CACHE_MISSES);
+        }
+    }
+
+    /**
+     * Marks start of an operation handed over to a worker thread.
+     */
+    public void onAsyncStart()
+    {
+        if (recorder != null)
+        {
+            inFlight.incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks end of an operation handed over to a worker thread.
+     */
+    public void onAsyncEnd()
+    {
+        if (recorder != null)
+        {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Counts entities of given persistence cache towards
+     * {@link #PERSISTENCE_CACHE_SIZE}, until it is released.
+     *
+     * @param persistenceCache
+     *            persistence cache of an entity manager
+     */
+    public void track(PersistenceCache persistenceCache)
+    {
+        if (recorder != null)
+        {
+            synchronized (persistenceCaches)
+            {
+                persistenceCaches.add(persistenceCache);
+            }
+        }
+    }
+
+    /**
+     * Stops counting entities of given persistence cache.
+     *
+     * @param persistenceCache
+     *            persistence cache of an entity manager
+     */
+    public void release(PersistenceCache persistenceCache)
+    {
+        if (recorder != null)
+        {
+            synchronized (persistenceCaches)
+            {
+                persistenceCaches.remove(persistenceCache);
+            }
+        }
+    }
+
+    /**
+     * Registers a gauge, e.g. connection pool usage of a client factory.
+     *
+     * @param name
+     *            gauge name
+     * @param gauge
+     *            gauge
+     */
+    public void registerGauge(String name, Gauge gauge)
+    {
+        if (recorder != null)
+        {
+            recorder.registerGauge(name, gauge);
+        }
+    }
+
+    /**
+     * Closes recorder and tracer.
+     */
+    public void close()
+    {
+        if (recorder != null)
+        {
+            recorder.close();
+        }
+        if (tracer != null)
+        {
+            tracer.close();
+        }
+    }
+
+    private void registerCoreGauges()
+    {
+        recorder.registerGauge(PERSISTENCE_CACHE_SIZE, new Gauge()
+        {
+            @Override
+            public Number getValue()
+            {
+                List<PersistenceCache> caches;
+                synchronized (persistenceCaches)
+                {
+                    caches = new ArrayList<PersistenceCache>(persistenceCaches);
+                }
+                int size = 0;
+                for (PersistenceCache cache : caches)
+                {
+                    size += cache.getMainCache().size();
+                }
+                return size;
+            }
+        });
+        recorder.registerGauge(L2_CACHE_HIT_RATIO, new Gauge()
+        {
+            @Override
+            public Number getValue()
+            {
+                long hits = l2Hits.get();
+                long lookups = hits + l2Misses.get();
+                return lookups > 0 ? (double) hits / lookups : 0d;
+            }
+        });
+        recorder.registerGauge(ASYNC_IN_FLIGHT, new Gauge()
+        {
+            @Override
+            public Number getValue()
+            {
+                return inFlight.get();
+            }
+        });
+    }
+}
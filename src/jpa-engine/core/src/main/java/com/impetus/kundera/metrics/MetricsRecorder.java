@@ -0,0 +1,101 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics;
+
+import java.util.Map;
+
+/**
+ * SPI to plug a metrics library into Kundera. An implementation is enabled
+ * by setting its class name as
+ * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_METRICS_RECORDER},
+ * and is instantiated once per entity manager factory through its no argument
+ * constructor.
+ *
+ * Durations are recorded around calls made by Kundera into clients, so they
+ * account for client and datastore time, while {@link Operation#FLUSH} and
+ * {@link Operation#QUERY} also include time spent by Kundera itself.
+ *
+ * Implementations must be thread safe. Any of tags may be null, if not
+ * applicable to operation.
+ */
+public interface MetricsRecorder
+{
+    /**
+     * Operations timed by Kundera.
+     */
+    enum Operation
+    {
+        FIND, FIND_ALL, PERSIST, DELETE, QUERY, FLUSH, BATCH, ID_GENERATION;
+    }
+
+    /**
+     * Value sampled whenever metrics are reported.
+     */
+    interface Gauge
+    {
+        Number getValue();
+    }
+
+    /**
+     * Initializes recorder.
+     *
+     * @param properties
+     *            entity manager factory properties, merged with persistence
+     *            unit properties.
+     */
+    void initialize(Map<String, Object> properties);
+
+    /**
+     * Records duration of an operation.
+     *
+     * @param operation
+     *            operation
+     * @param persistenceUnit
+     *            persistence unit
+     * @param clientType
+     *            simple name of client class
+     * @param entity
+     *            simple name of entity class
+     * @param durationNanos
+     *            duration in nanoseconds
+     */
+    void recordTime(Operation operation, String persistenceUnit, String clientType, String entity,
+            long durationNanos);
+
+    /**
+     * Increments a counter.
+     *
+     * @param name
+     *            counter name, e.g. l2.cache.hits
+     */
+    void increment(String name);
+
+    /**
+     * Registers a gauge.
+     *
+     * @param name
+     *            gauge name, e.g. persistence.cache.size
+     * @param gauge
+     *            gauge
+     */
+    void registerGauge(String name, Gauge gauge);
+
+    /**
+     * Releases everything registered by this recorder. Invoked once entity
+     * manager factory is closed.
+     */
+    void close();
+}
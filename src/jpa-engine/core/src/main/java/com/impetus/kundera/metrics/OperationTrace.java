@@ -0,0 +1,172 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A traced operation, with native statements issued by client while it ran.
+ */
+public class OperationTrace
+{
+    private final long timestamp;
+
+    private final String operation;
+
+    private final String persistenceUnit;
+
+    private final String clientType;
+
+    private final String entity;
+
+    private final long durationNanos;
+
+    private final long rows;
+
+    private final long bytes;
+
+    private final String thread;
+
+    private final List<String> statements;
+
+    OperationTrace(long timestamp, String operation, String persistenceUnit, String clientType, String entity,
+            long durationNanos, long rows, long bytes, String thread, List<String> statements)
+    {
+        this.timestamp = timestamp;
+        this.operation = operation;
+        this.persistenceUnit = persistenceUnit;
+        this.clientType = clientType;
+        this.entity = entity;
+        this.durationNanos = durationNanos;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.thread = thread;
+        this.statements = statements;
+    }
+
+    /**
+     * @return time operation completed at, in milliseconds since epoch.
+     */
+    public long getTimestamp()
+    {
+        return timestamp;
+    }
+
+    /**
+     * @return operation, one of {@link MetricsRecorder.Operation}.
+     */
+    public String getOperation()
+    {
+        return operation;
+    }
+
+    /**
+     * @return persistence unit, may be null.
+     */
+    public String getPersistenceUnit()
+    {
+        return persistenceUnit;
+    }
+
+    /**
+     * @return simple name of client class, may be null.
+     */
+    public String getClientType()
+    {
+        return clientType;
+    }
+
+    /**
+     * @return simple name of entity class, may be null.
+     */
+    public String getEntity()
+    {
+        return entity;
+    }
+
+    /**
+     * @return duration in nanoseconds.
+     */
+    public long getDurationNanos()
+    {
+        return durationNanos;
+    }
+
+    /**
+     * @return duration in milliseconds.
+     */
+    public double getDurationMillis()
+    {
+        return durationNanos / 1000000d;
+    }
+
+    /**
+     * @return number of rows read or written, -1 if unknown.
+     */
+    public long getRows()
+    {
+        return rows;
+    }
+
+    /**
+     * @return bytes reported by client, -1 if not reported.
+     */
+    public long getBytes()
+    {
+        return bytes;
+    }
+
+    /**
+     * @return name of thread operation ran on.
+     */
+    public String getThread()
+    {
+        return thread;
+    }
+
+    /**
+     * @return native statements, in order of execution.
+     */
+    public List<String> getStatements()
+    {
+        return statements;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append(new Date(timestamp)).append(' ').append(operation).append(' ')
+                .append(String.format("%.3f", getDurationMillis())).append("ms");
+        builder.append(" pu=").append(persistenceUnit).append(" client=").append(clientType).append(" entity=")
+                .append(entity);
+        if (rows >= 0)
+        {
+            builder.append(" rows=").append(rows);
+        }
+        if (bytes >= 0)
+        {
+            builder.append(" bytes=").append(bytes);
+        }
+        builder.append(" thread=").append(thread);
+        for (String statement : statements)
+        {
+            builder.append("\n  ").append(statement);
+        }
+        return builder.toString();
+    }
+}
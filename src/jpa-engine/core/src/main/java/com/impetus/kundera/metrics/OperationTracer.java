@@ -0,0 +1,463 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
+
+/**
+ * Keeps most recent slow or sampled operations of an entity manager factory in
+ * a ring buffer, along with native statements issued while they ran.
+ *
+ * Clients report native statements through {@link #statement(String)}, which
+ * {@link com.impetus.kundera.utils.KunderaCoreUtils#printQuery(String, boolean)}
+ * already does, so any statement printed with showQuery is captured, and
+ * bytes read or written through {@link #bytes(long)}. Statements are held per
+ * thread, last {@value #MAX_STATEMENTS} only, and attributed to an operation
+ * by time: a trace holds statements issued between its start and end,
+ * including those of nested operations. Bytes are summed per thread apart from
+ * statements, so that per row reports don't evict them, and attributed to an
+ * operation by the sum at its start, see {@link #start()}.
+ *
+ * Traces are exposed through JMX, see {@link OperationTracerMBean}.
+ */
+public class OperationTracer implements OperationTracerMBean
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(OperationTracer.class);
+
+    /** Default number of traces kept. */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /** Number of statements held per thread. */
+    static final int MAX_STATEMENTS = 32;
+
+    /** Number of nested operations whose start is held per thread. */
+    static final int MAX_DEPTH = 16;
+
+    /** Statements longer than this are truncated. */
+    static final int MAX_STATEMENT_LENGTH = 4096;
+
+    /** Number of open tracers, statements are not held unless positive. */
+    private static final AtomicInteger activeTracers = new AtomicInteger();
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private static final ThreadLocal<StatementLog> statementLogs = new ThreadLocal<StatementLog>()
+    {
+        @Override
+        protected StatementLog initialValue()
+        {
+            return new StatementLog();
+        }
+    };
+
+    private volatile long thresholdNanos;
+
+    private volatile double sampleRate;
+
+    /** Ring buffer of traces, next is the slot to write. */
+    private final OperationTrace[] traces;
+
+    private int next;
+
+    private long tracedCount;
+
+    private ObjectName objectName;
+
+    OperationTracer(long thresholdMillis, double sampleRate, int capacity)
+    {
+        setThresholdMillis(thresholdMillis);
+        setSampleRate(sampleRate);
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Trace capacity must be positive, but was " + capacity);
+        }
+        this.traces = new OperationTrace[capacity];
+    }
+
+    /**
+     * Creates tracer from given properties and registers it with platform
+     * MBean server.
+     *
+     * @param properties
+     *            factory properties, merged with persistence unit properties
+     * @param persistenceUnits
+     *            persistence units of factory
+     * @return tracer, or null if tracing is not configured
+     */
+    static OperationTracer create(Map<String, Object> properties, String... persistenceUnits)
+    {
+        Object threshold = properties.get(PersistenceProperties.KUNDERA_TRACE_THRESHOLD);
+        Object sampleRate = properties.get(PersistenceProperties.KUNDERA_TRACE_SAMPLE_RATE);
+        Object capacity = properties.get(PersistenceProperties.KUNDERA_TRACE_CAPACITY);
+        if (isBlank(threshold) && isBlank(sampleRate))
+        {
+            return null;
+        }
+
+        OperationTracer tracer;
+        try
+        {
+            tracer = new OperationTracer(isBlank(threshold) ? -1 : Long.parseLong(threshold.toString().trim()),
+                    isBlank(sampleRate) ? 0d : Double.parseDouble(sampleRate.toString().trim()),
+                    isBlank(capacity) ? DEFAULT_CAPACITY : Integer.parseInt(capacity.toString().trim()));
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new KunderaException("Invalid tracing configuration, Caused by: ", e);
+        }
+        tracer.register(persistenceUnits);
+        activeTracers.incrementAndGet();
+        return tracer;
+    }
+
+    /**
+     * Tells whether any tracer is open, so that clients need not compute
+     * payload sizes for {@link #bytes(long)} otherwise.
+     *
+     * @return true if tracing is enabled.
+     */
+    public static boolean isTracing()
+    {
+        return activeTracers.get() > 0;
+    }
+
+    /**
+     * Starts an operation on current thread, marking bytes reported so far.
+     *
+     * @return start time to pass to {@link #onOperation}.
+     */
+    static long start()
+    {
+        long start = System.nanoTime();
+        statementLogs.get().start(start);
+        return start;
+    }
+
+    /**
+     * Records a native statement issued on current thread, to be attributed
+     * to operation being traced, if any. No-op unless tracing is enabled.
+     *
+     * @param statement
+     *            native statement, e.g. CQL or a mongo query document.
+     */
+    public static void statement(String statement)
+    {
+        if (activeTracers.get() > 0 && statement != null)
+        {
+            statementLogs.get().add(System.nanoTime(), statement);
+        }
+    }
+
+    /**
+     * Records bytes read or written on current thread, to be attributed to
+     * operation being traced, if any. No-op unless tracing is enabled.
+     *
+     * @param bytes
+     *            number of bytes
+     */
+    public static void bytes(long bytes)
+    {
+        if (activeTracers.get() > 0)
+        {
+            statementLogs.get().addBytes(bytes);
+        }
+    }
+
+    /**
+     * Traces an operation if it ran longer than threshold, or if sampled.
+     */
+    void onOperation(Operation operation, String persistenceUnit, String clientType, String entity, long start,
+            long durationNanos, long rows)
+    {
+        // ends operation whether traced or not.
+        StatementLog statementLog = statementLogs.get();
+        long bytes = statementLog.bytesSince(start);
+
+        long threshold = thresholdNanos;
+        boolean slow = threshold >= 0 && durationNanos >= threshold;
+        if (!slow && (sampleRate <= 0d || ThreadLocalRandom.current().nextDouble() >= sampleRate))
+        {
+            return;
+        }
+
+        List<String> statements = new ArrayList<String>();
+        statementLog.collect(start, statements);
+        add(new OperationTrace(System.currentTimeMillis(), operation.name(), persistenceUnit, clientType, entity,
+                durationNanos, rows, bytes, Thread.currentThread().getName(),
+                Collections.unmodifiableList(statements)));
+    }
+
+    private synchronized void add(OperationTrace trace)
+    {
+        traces[next] = trace;
+        next = (next + 1) % traces.length;
+        tracedCount++;
+    }
+
+    /**
+     * Returns kept traces.
+     *
+     * @return traces, most recent first.
+     */
+    public synchronized List<OperationTrace> getOperationTraces()
+    {
+        List<OperationTrace> result = new ArrayList<OperationTrace>(traces.length);
+        for (int i = 1; i <= traces.length; i++)
+        {
+            OperationTrace trace = traces[(next - i + traces.length) % traces.length];
+            if (trace == null)
+            {
+                break;
+            }
+            result.add(trace);
+        }
+        return result;
+    }
+
+    @Override
+    public String[] getTraces()
+    {
+        List<OperationTrace> operationTraces = getOperationTraces();
+        String[] result = new String[operationTraces.size()];
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = operationTraces.get(i).toString();
+        }
+        return result;
+    }
+
+    @Override
+    public long getThresholdMillis()
+    {
+        long threshold = thresholdNanos;
+        return threshold >= 0 ? TimeUnit.NANOSECONDS.toMillis(threshold) : -1;
+    }
+
+    @Override
+    public void setThresholdMillis(long thresholdMillis)
+    {
+        this.thresholdNanos = thresholdMillis >= 0 ? TimeUnit.MILLISECONDS.toNanos(thresholdMillis) : -1;
+    }
+
+    @Override
+    public double getSampleRate()
+    {
+        return sampleRate;
+    }
+
+    @Override
+    public void setSampleRate(double sampleRate)
+    {
+        if (sampleRate < 0d || sampleRate > 1d)
+        {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1, but was " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public int getCapacity()
+    {
+        return traces.length;
+    }
+
+    @Override
+    public synchronized long getTracedCount()
+    {
+        return tracedCount;
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        for (int i = 0; i < traces.length; i++)
+        {
+            traces[i] = null;
+        }
+        next = 0;
+        tracedCount = 0;
+    }
+
+    /**
+     * @return name this tracer is registered with, null if registration
+     *         failed.
+     */
+    public ObjectName getObjectName()
+    {
+        return objectName;
+    }
+
+    /**
+     * Unregisters tracer, it no more holds statements.
+     */
+    void close()
+    {
+        activeTracers.decrementAndGet();
+        if (objectName != null)
+        {
+            try
+            {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            }
+            catch (Exception e)
+            {
+                log.warn("Error while unregistering {}, Caused by: .", objectName, e);
+            }
+        }
+    }
+
+    private void register(String... persistenceUnits)
+    {
+        StringBuilder pus = new StringBuilder();
+        for (String pu : persistenceUnits)
+        {
+            pus.append(pus.length() > 0 ? "," : "").append(pu);
+        }
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.impetus.kundera:type=OperationTracer,persistenceUnits="
+                    + ObjectName.quote(pus.toString()) + ",id=" + sequence.incrementAndGet());
+            server.registerMBean(this, name);
+            objectName = name;
+        }
+        catch (Exception e)
+        {
+            // traces are still available through API.
+            log.warn("Error while registering operation tracer of {}, Caused by: .", pus, e);
+        }
+    }
+
+    private static boolean isBlank(Object value)
+    {
+        return value == null || value.toString().trim().isEmpty();
+    }
+
+    /**
+     * Last statements issued on a thread, along with time issued at, and sum
+     * of bytes reported on it.
+     */
+    private static final class StatementLog
+    {
+        private final long[] times = new long[MAX_STATEMENTS];
+
+        private final String[] statements = new String[MAX_STATEMENTS];
+
+        private int next;
+
+        private int size;
+
+        /** Bytes reported so far. */
+        private long bytes;
+
+        /** Number of reports so far, as none differs from zero bytes. */
+        private long reports;
+
+        /** Start times of running operations, innermost last. */
+        private final long[] starts = new long[MAX_DEPTH];
+
+        /** Bytes and reports so far at each start. */
+        private final long[] startBytes = new long[MAX_DEPTH];
+
+        private final long[] startReports = new long[MAX_DEPTH];
+
+        private int depth;
+
+        void add(long time, String statement)
+        {
+            times[next] = time;
+            statements[next] = statement.length() > MAX_STATEMENT_LENGTH ? statement.substring(0,
+                    MAX_STATEMENT_LENGTH) + "..." : statement;
+            next = (next + 1) % MAX_STATEMENTS;
+            size = Math.min(size + 1, MAX_STATEMENTS);
+        }
+
+        void addBytes(long byteCount)
+        {
+            bytes += byteCount;
+            reports++;
+        }
+
+        void start(long time)
+        {
+            if (depth == MAX_DEPTH)
+            {
+                // outermost one was left running, e.g. stop was skipped.
+                System.arraycopy(starts, 1, starts, 0, MAX_DEPTH - 1);
+                System.arraycopy(startBytes, 1, startBytes, 0, MAX_DEPTH - 1);
+                System.arraycopy(startReports, 1, startReports, 0, MAX_DEPTH - 1);
+                depth--;
+            }
+            starts[depth] = time;
+            startBytes[depth] = bytes;
+            startReports[depth] = reports;
+            depth++;
+        }
+
+        /**
+         * Collects statements issued since given time, in order.
+         */
+        void collect(long since, List<String> result)
+        {
+            for (int i = size; i > 0; i--)
+            {
+                int index = (next - i + MAX_STATEMENTS) % MAX_STATEMENTS;
+                if (times[index] - since >= 0)
+                {
+                    result.add(statements[index]);
+                }
+            }
+        }
+
+        /**
+         * Ends operation started at given time, along with nested ones left
+         * running.
+         *
+         * @return bytes reported since its start, -1 if none or if start is
+         *         unknown.
+         */
+        long bytesSince(long since)
+        {
+            for (int i = depth - 1; i >= 0; i--)
+            {
+                if (starts[i] == since)
+                {
+                    depth = i;
+                    return reports > startReports[i] ? bytes - startBytes[i] : -1;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics;
+
+/**
+ * JMX view of an {@link OperationTracer}, registered as
+ * com.impetus.kundera:type=OperationTracer.
+ */
+public interface OperationTracerMBean
+{
+    /**
+     * @return threshold in milliseconds, -1 if only sampling.
+     */
+    long getThresholdMillis();
+
+    /**
+     * @param thresholdMillis
+     *            threshold in milliseconds, -1 to trace sampled operations
+     *            only.
+     */
+    void setThresholdMillis(long thresholdMillis);
+
+    /**
+     * @return fraction of operations traced regardless of duration.
+     */
+    double getSampleRate();
+
+    /**
+     * @param sampleRate
+     *            fraction of operations traced regardless of duration, 0 to 1.
+     */
+    void setSampleRate(double sampleRate);
+
+    /**
+     * @return number of traces kept.
+     */
+    int getCapacity();
+
+    /**
+     * @return number of operations traced since creation or last clear.
+     */
+    long getTracedCount();
+
+    /**
+     * @return kept traces as text, most recent first.
+     */
+    String[] getTraces();
+
+    /**
+     * Discards kept traces.
+     */
+    void clear();
+}
@@ -36,6 +36,8 @@ import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.Relation.ForeignKey;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.context.PersistenceCacheManager;
 import com.impetus.kundera.property.PropertyAccessException;
@@ -560,7 +562,18 @@ public class AbstractEntityReader
     protected List<EnhanceEntity> onAssociationUsingLucene(EntityMetadata m, Client client, List<EnhanceEntity> ls)
     {
         Set<String> rSet = fetchDataFromLucene(m.getEntityClazz(), client);
-        List resultList = client.findAll(m.getEntityClazz(), null, rSet.toArray(new String[] {}));
+        KunderaMetrics metrics = kunderaMetadata.getMetrics();
+        long start = metrics.start();
+        List resultList = null;
+        try
+        {
+            resultList = client.findAll(m.getEntityClazz(), null, rSet.toArray(new String[] {}));
+        }
+        finally
+        {
+            metrics.stop(Operation.FIND_ALL, start, client, m.getEntityClazz(),
+                    resultList != null ? resultList.size() : -1);
+        }
         return m.getRelationNames() != null && !m.getRelationNames().isEmpty() ? resultList : transform(m, ls,
                 resultList);
     }
@@ -67,7 +67,29 @@ final class CriteriaQueryTranslator
      */
     static <S> String translate(CriteriaQuery criteriaQuery)
     {
-        QueryBuilder builder = new CriteriaQueryTranslator.QueryBuilder();
+        return translate(criteriaQuery, new CriteriaQueryTranslator.QueryBuilder());
+    }
+
+    /**
+     * Method to compile criteriaQuery into a parameterized JPQL. Literal
+     * values of predicates are replaced by positional parameters, so criteria
+     * queries of same shape compile to same JPQL and can share its parsed
+     * form.
+     * 
+     * @param criteriaQuery
+     *            criteria query.
+     * 
+     * @return compiled criteria.
+     */
+    static CompiledCriteria compile(CriteriaQuery criteriaQuery)
+    {
+        List<Object> values = new ArrayList<Object>();
+        String query = translate(criteriaQuery, new CriteriaQueryTranslator.QueryBuilder(values));
+        return new CompiledCriteria(query, values);
+    }
+
+    private static <S> String translate(CriteriaQuery criteriaQuery, QueryBuilder builder)
+    {
 
         // validate if criteria query is valid
 
@@ -151,6 +173,39 @@ final class CriteriaQueryTranslator
 
     }
 
+    /**
+     * Criteria query compiled into JPQL with positional parameters, along with
+     * values to bind to them.
+     */
+    static final class CompiledCriteria
+    {
+        private final String query;
+
+        private final List<Object> values;
+
+        private CompiledCriteria(String query, List<Object> values)
+        {
+            this.query = query;
+            this.values = values;
+        }
+
+        /**
+         * @return JPQL, same for criteria queries of same shape.
+         */
+        String getQuery()
+        {
+            return query;
+        }
+
+        /**
+         * @return values of positional parameters, in order.
+         */
+        List<Object> getValues()
+        {
+            return values;
+        }
+    }
+
     /**
      * @author vivek.mishra QueryBuilder class
      */
@@ -159,11 +214,19 @@ final class CriteriaQueryTranslator
 
         private StringBuilder builder = new StringBuilder();
 
+        /** Values of positional parameters, null if literals are inlined. */
+        private List<Object> values;
+
         QueryBuilder()
         {
 
         }
 
+        QueryBuilder(List<Object> values)
+        {
+            this.values = values;
+        }
+
         QueryBuilder appendAggregate(String aggregation)
         {
             this.builder.append(aggregation);
@@ -369,7 +432,7 @@ final class CriteriaQueryTranslator
             this.builder.append(Constants.SPACE);
             this.builder.append(conditions.get(condition));
             this.builder.append(Constants.SPACE);
-            appendValue(value, isStringLiteral(((AbstractAttribute) path.getAttribute()).getBindableJavaType(), value));
+            appendLiteral(value, ((AbstractAttribute) path.getAttribute()).getBindableJavaType());
             this.builder.append(Constants.SPACE);
         }
 
@@ -387,13 +450,31 @@ final class CriteriaQueryTranslator
             this.builder.append(Constants.SPACE);
             this.builder.append(conditions.get(btw.getCondition()));
             this.builder.append(Constants.SPACE);
-            appendValue(btw.getLower(),
-                    isStringLiteral(((AbstractAttribute) path.getAttribute()).getBindableJavaType(), btw.getLower()));
+            appendLiteral(btw.getLower(), ((AbstractAttribute) path.getAttribute()).getBindableJavaType());
             this.builder.append(Constants.SPACE);
             this.builder.append("AND");
             this.builder.append(Constants.SPACE);
-            appendValue(btw.getUpper(),
-                    isStringLiteral(((AbstractAttribute) path.getAttribute()).getBindableJavaType(), btw.getUpper()));
+            appendLiteral(btw.getUpper(), ((AbstractAttribute) path.getAttribute()).getBindableJavaType());
+        }
+
+        /**
+         * Appends positional parameter in place of value, if compiling, or
+         * else value itself.
+         * 
+         * @param value
+         * @param fieldClazz
+         */
+        private void appendLiteral(Object value, Class fieldClazz)
+        {
+            if (values != null && !(value instanceof Expression))
+            {
+                values.add(value);
+                this.builder.append("?").append(values.size());
+            }
+            else
+            {
+                appendValue(value, isStringLiteral(fieldClazz, value));
+            }
         }
 
         /**
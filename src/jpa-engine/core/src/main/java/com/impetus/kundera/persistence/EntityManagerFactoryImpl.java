@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 
 import javax.persistence.Cache;
 import javax.persistence.EntityGraph;
@@ -48,6 +49,7 @@ import com.impetus.kundera.cache.CacheException;
 import com.impetus.kundera.cache.CacheProvider;
 import com.impetus.kundera.cache.NonOperationalCacheProvider;
 import com.impetus.kundera.client.ClientResolverException;
+import com.impetus.kundera.configure.ClientFactoryBootstrap;
 import com.impetus.kundera.configure.ClientMetadataBuilder;
 import com.impetus.kundera.configure.MetamodelConfiguration;
 import com.impetus.kundera.configure.PersistenceUnitConfiguration;
@@ -60,6 +62,7 @@ import com.impetus.kundera.metadata.model.CoreMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
 /**
@@ -102,6 +105,9 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
     /** ClientFactory map holds one clientfactory for one persistence unit */
     private Map<String, ClientFactory> clientFactories = new ConcurrentHashMap<String, ClientFactory>();
 
+    /** Tracks loading of client factories. */
+    private ClientFactoryBootstrap clientFactoryBootstrap;
+
     /** The Constant INSTANCE holds all application and core metadata. */
     private final KunderaMetadata kunderaMetadata = new KunderaMetadata();
 
@@ -157,6 +163,9 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         // Configure metamodel.
         new MetamodelConfiguration(properties, kunderaMetadata, persistenceUnits).configure();
 
+        // Configure metrics, before client factories may register gauges.
+        kunderaMetadata.setMetrics(KunderaMetrics.create(properties, kunderaMetadata, persistenceUnits));
+
         // configure client factories
         configureClientFactories();
 
@@ -219,8 +228,15 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
 
             for (String pu : persistenceUnits)
             {
-                ((ClientLifeCycleManager) clientFactories.get(pu)).destroy();
+                // Loads still in progress are let to finish, so that their
+                // connections are released.
+                awaitQuietly(pu);
+                if (clientFactoryBootstrap.isLoaded(pu))
+                {
+                    ((ClientLifeCycleManager) clientFactories.get(pu)).destroy();
+                }
             }
+            kunderaMetadata.getMetrics().close();
             this.persistenceUnits = null;
             this.properties = null;
             clientFactories.clear();
@@ -405,7 +421,31 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
     {
         ClientMetadataBuilder builder = new ClientMetadataBuilder(getProperties(), kunderaMetadata,
                 getPersistenceUnits());
-        builder.buildClientFactoryMetadata(clientFactories, kunderaMetadata);
+        this.clientFactoryBootstrap = builder.buildClientFactoryMetadata(clientFactories, kunderaMetadata);
+    }
+
+    /**
+     * Returns future which is done once client factories of all persistence
+     * units are loaded. Unless {@link PersistenceProperties#KUNDERA_CLIENT_FACTORY_LAZY}
+     * is enabled, it is already done by the time factory is created.
+     * 
+     * @return readiness future.
+     */
+    public Future<Void> getReadiness()
+    {
+        return clientFactoryBootstrap;
+    }
+
+    private void awaitQuietly(String pu)
+    {
+        try
+        {
+            clientFactoryBootstrap.await(pu);
+        }
+        catch (RuntimeException e)
+        {
+            logger.warn("Client factory for persistence unit {} failed to load, Caused by: {}.", pu, e.getMessage());
+        }
     }
 
     /**
@@ -477,6 +517,7 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         ClientFactory clientFactory = clientFactories.get(pu);
         if (clientFactory != null)
         {
+            clientFactoryBootstrap.await(pu);
             return clientFactory;
         }
         logger.error("Client Factory Not Configured For Specified Client Type : ");
@@ -507,6 +548,9 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         /** The application metadata. */
         private ApplicationMetadata applicationMetadata;
 
+        /** Metrics of entity manager factory. */
+        private KunderaMetrics metrics = KunderaMetrics.DISABLED;
+
         /**
          * Instantiates a new kundera metadata.
          */
@@ -539,6 +583,27 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
             return coreMetadata;
         }
 
+        /**
+         * Gets the metrics.
+         * 
+         * @return the metrics
+         */
+        public KunderaMetrics getMetrics()
+        {
+            return metrics;
+        }
+
+        /**
+         * Sets the metrics.
+         * 
+         * @param metrics
+         *            the metrics to set
+         */
+        public void setMetrics(KunderaMetrics metrics)
+        {
+            this.metrics = metrics;
+        }
+
         /**
          * Sets the application metadata.
          * 
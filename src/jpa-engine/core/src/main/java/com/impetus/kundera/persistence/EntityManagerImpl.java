@@ -50,7 +50,6 @@ import org.slf4j.LoggerFactory;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.cache.Cache;
-import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientResolverException;
 import com.impetus.kundera.loader.ClientFactory;
 import com.impetus.kundera.persistence.context.PersistenceCache;
@@ -139,7 +138,7 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
 
         for (String pu : ((EntityManagerFactoryImpl) this.factory).getPersistenceUnits())
         {
-            this.persistenceDelegator.loadClient(pu, discoverClient(pu));
+            this.persistenceDelegator.loadClient(pu, discoverClientFactory(pu));
         }
 
         if (logger.isDebugEnabled())
@@ -705,9 +704,10 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
     public <T> TypedQuery<T> createQuery(CriteriaQuery<T> paramCriteriaQuery)
     {
         checkClosed();
+        checkTransactionNeeded();
 
-        return this.createQuery(CriteriaQueryTranslator.translate(paramCriteriaQuery),
-                paramCriteriaQuery.getResultType());
+        Query q = getPersistenceDelegator().createCriteriaQuery(paramCriteriaQuery);
+        return onTypedQuery(paramCriteriaQuery.getResultType(), q);
     }
 
     /*
@@ -970,13 +970,13 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
     }
 
     /**
-     * Gets the client.
+     * Gets the client factory.
      * 
      * @param persistenceUnit
      *            the persistence unit
-     * @return the client
+     * @return the client factory
      */
-    private Client discoverClient(String persistenceUnit)
+    private ClientFactory discoverClientFactory(String persistenceUnit)
     {
         if (logger.isInfoEnabled())
         {
@@ -987,7 +987,7 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
                 .getClientFactory(persistenceUnit);
         if (clientFactory != null)
         {
-            return clientFactory.getClientInstance();
+            return clientFactory;
         }
         throw new ClientResolverException("No client configured for persistence unit " + persistenceUnit + ".");
     }
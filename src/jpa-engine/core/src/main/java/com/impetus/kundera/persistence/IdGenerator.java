@@ -34,6 +34,8 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.IdDiscriptor;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.KunderaCoreUtils;
@@ -55,7 +57,16 @@ public class IdGenerator
     {
         Metamodel metamodel = KunderaMetadataManager.getMetamodel(kunderaMetadata, m.getPersistenceUnit());
         Client<?> client = pd.getClient(m);
-        return generateId(e, m, client, kunderaMetadata);
+        KunderaMetrics metrics = kunderaMetadata.getMetrics();
+        long start = metrics.start();
+        try
+        {
+            return generateId(e, m, client, kunderaMetadata);
+        }
+        finally
+        {
+            metrics.stop(Operation.ID_GENERATION, start, client, m.getEntityClazz());
+        }
     }
 
     private Object generateId(Object e, EntityMetadata m, Client<?> client, final KunderaMetadata kunderaMetadata)
@@ -18,17 +18,27 @@ package com.impetus.kundera.persistence;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.persistence.FlushModeType;
 import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaQuery;
 
+import org.apache.commons.lang.ClassUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,26 +49,38 @@ import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.client.ClientResolverException;
 import com.impetus.kundera.graph.GraphGenerator;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.graph.ObjectGraph;
 import com.impetus.kundera.graph.ObjectGraphUtils;
+import com.impetus.kundera.index.IndexManager;
 import com.impetus.kundera.lifecycle.states.ManagedState;
 import com.impetus.kundera.lifecycle.states.RemovedState;
+import com.impetus.kundera.loader.ClientFactory;
+import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
+import com.impetus.kundera.persistence.CriteriaQueryTranslator.CompiledCriteria;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.persistence.context.EventLog.EventType;
 import com.impetus.kundera.persistence.context.FlushManager;
+import com.impetus.kundera.persistence.context.FlushPlanner;
 import com.impetus.kundera.persistence.context.MainCache;
 import com.impetus.kundera.persistence.context.PersistenceCache;
+import com.impetus.kundera.persistence.context.WriteBehindQueue;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData.OPERATION;
 import com.impetus.kundera.persistence.event.EntityEventDispatcher;
+import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.LazyInitializerFactory;
 import com.impetus.kundera.query.QueryResolver;
+import com.impetus.kundera.utils.KunderaThreadFactory;
 import com.impetus.kundera.utils.ObjectUtils;
 
 /**
@@ -76,6 +98,9 @@ public final class PersistenceDelegator
     /** The client map. */
     private final Map<String, Client> clientMap = new HashMap<String, Client>();
 
+    /** Client factories of owning entity manager factory, per persistence unit. */
+    private final Map<String, ClientFactory> clientFactories = new HashMap<String, ClientFactory>();
+
     /** The event dispatcher. */
     private final EntityEventDispatcher eventDispatcher = new EntityEventDispatcher();
 
@@ -96,6 +121,17 @@ public final class PersistenceDelegator
 
     private final KunderaMetadata kunderaMetadata;
 
+    /** Number of clients flushed concurrently, resolved on first flush. */
+    private Integer flushParallelism;
+
+    /** Executor flushing independent clients, created on first use. */
+    private ExecutorService flushExecutor;
+
+    /** Writes held in write behind mode, null unless enabled. */
+    private WriteBehindQueue writeBehindQueue;
+
+    private boolean writeBehindResolved;
+
     /**
      * Instantiates a new persistence delegator.
      * 
@@ -108,6 +144,7 @@ public final class PersistenceDelegator
     {
         this.persistenceCache = pc;
         this.kunderaMetadata = kunderaMetadata;
+        kunderaMetadata.getMetrics().track(pc);
     }
 
     /***********************************************************************/
@@ -181,6 +218,38 @@ public final class PersistenceDelegator
         return (E) (e);
     }
 
+    /**
+     * Converts given primary key to type of id attribute, so that node key
+     * built out of it matches the one built out of a managed entity (e.g.
+     * find(Entity.class, "1") for an int id).
+     * 
+     * @param entityMetadata
+     *            entity metadata
+     * @param primaryKey
+     *            primary key
+     * @return primary key as id attribute type, or as is if not convertible.
+     */
+    private Object toIdType(EntityMetadata entityMetadata, Object primaryKey)
+    {
+        Class<?> idClass = ClassUtils.primitiveToWrapper(entityMetadata.getIdAttribute().getJavaType());
+        MetamodelImpl metamodel = (MetamodelImpl) getKunderaMetadata().getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        if (idClass.isInstance(primaryKey) || metamodel.isEmbeddable(idClass))
+        {
+            return primaryKey;
+        }
+
+        try
+        {
+            return PropertyAccessorHelper.fromSourceToTargetClass(idClass, primaryKey.getClass(), primaryKey);
+        }
+        catch (RuntimeException e)
+        {
+            log.debug("Primary key {} is not convertible to {}, using it as is.", primaryKey, idClass);
+            return primaryKey;
+        }
+    }
+
     /**
      * Finds an entity from persistence cache, if not there, fetches from
      * database. Nodes are added into persistence cache (if not already there)
@@ -205,7 +274,7 @@ public final class PersistenceDelegator
 
         EntityMetadata entityMetadata = getMetadata(entityClass);
 
-        String nodeId = ObjectGraphUtils.getNodeId(primaryKey, entityClass);
+        NodeKey nodeId = ObjectGraphUtils.getNodeId(toIdType(entityMetadata, primaryKey), entityClass);
 
         // TODO all the scrap should go from here.
         MainCache mainCache = (MainCache) getPersistenceCache().getMainCache();
@@ -361,6 +430,117 @@ public final class PersistenceDelegator
      * 
      */
     private void flush()
+    {
+        if (!enableFlush && applyFlush() && getWriteBehindQueue() != null)
+        {
+            writeBehind();
+        }
+        else
+        {
+            flushStack();
+        }
+    }
+
+    /**
+     * Moves nodes of flush stack to write behind queue, and flushes queue if
+     * it is due.
+     */
+    private void writeBehind()
+    {
+        Deque<Node> fs = flushManager.getFlushStack();
+        List<Node> nodes = new ArrayList<Node>(fs.size());
+        while (!fs.isEmpty())
+        {
+            Node node = fs.pop();
+
+            // Only nodes in Managed and Removed state are flushed, rest
+            // are ignored
+            if (node.isInState(ManagedState.class) || node.isInState(RemovedState.class))
+            {
+                nodes.add(node);
+            }
+        }
+
+        for (Node node : nodes)
+        {
+            if (!writeBehindQueue.offer(node))
+            {
+                flushPendingWrites();
+                writeBehindQueue.offer(node);
+            }
+        }
+
+        if (writeBehindQueue.isDue())
+        {
+            flushPendingWrites();
+        }
+    }
+
+    /**
+     * Flushes writes held in write behind mode, if any. Invoked on explicit
+     * flush, close, transaction begin and before query execution.
+     */
+    public void flushPendingWrites()
+    {
+        if (writeBehindQueue != null && !writeBehindQueue.isEmpty())
+        {
+            try
+            {
+                lock.writeLock().lock();
+
+                List<Node> nodes = writeBehindQueue.drain();
+                if (log.isDebugEnabled())
+                {
+                    log.debug("Flushing {} pending writes.", nodes.size());
+                }
+
+                // flush stack is flushed from top, so push in reverse order.
+                Deque<Node> fs = flushManager.getFlushStack();
+                for (int i = nodes.size() - 1; i >= 0; i--)
+                {
+                    fs.push(nodes.get(i));
+                }
+                flushStack();
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns write behind queue, if enabled by
+     * {@link PersistenceProperties#KUNDERA_WRITE_BEHIND} on any of persistence
+     * units in use, or else null.
+     */
+    private WriteBehindQueue getWriteBehindQueue()
+    {
+        if (!writeBehindResolved)
+        {
+            for (String pu : clientMap.keySet())
+            {
+                PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                        pu);
+                if (Boolean.parseBoolean(puMetadata.getProperty(PersistenceProperties.KUNDERA_WRITE_BEHIND)))
+                {
+                    String size = puMetadata.getProperty(PersistenceProperties.KUNDERA_WRITE_BEHIND_SIZE);
+                    String interval = puMetadata.getProperty(PersistenceProperties.KUNDERA_WRITE_BEHIND_INTERVAL);
+                    writeBehindQueue = new WriteBehindQueue(size != null ? Integer.parseInt(size.trim())
+                            : WriteBehindQueue.DEFAULT_SIZE, interval != null ? Long.parseLong(interval.trim())
+                            : WriteBehindQueue.DEFAULT_INTERVAL);
+                    break;
+                }
+            }
+            writeBehindResolved = true;
+        }
+        return writeBehindQueue;
+    }
+
+    /**
+     * Flushes nodes of flush stack to database(s).
+     */
+    private void flushStack()
     {
         // Get flush stack from Flush Manager
         Deque<Node> fs = flushManager.getFlushStack();
@@ -374,7 +554,14 @@ public final class PersistenceDelegator
         }
         if (fs != null)
         {
+            KunderaMetrics metrics = kunderaMetadata.getMetrics();
+            long start = fs.isEmpty() ? 0L : metrics.start();
+
             boolean isBatch = false;
+            if (!isTransactionInProgress && clientMap.size() > 1 && getFlushParallelism() > 1)
+            {
+                isBatch = flushConcurrently(fs);
+            }
             while (!fs.isEmpty())
             {
                 Node node = fs.pop();
@@ -414,7 +601,199 @@ public final class PersistenceDelegator
                 flushJoinTableData();
                 // performed,
             }
+
+            if (start != 0L)
+            {
+                metrics.stop(Operation.FLUSH, start);
+            }
+        }
+    }
+
+    /**
+     * Flushes nodes of flush stack, grouped by client. Segments of independent
+     * clients are written to their datastores concurrently, and all of them
+     * are joined before returning. Entity callbacks and persistence cache
+     * updates stay on calling thread.
+     * 
+     * @return true, if any node is added to batch.
+     */
+    private boolean flushConcurrently(Deque<Node> fs)
+    {
+        List<Node> nodes = new ArrayList<Node>(fs.size());
+        while (!fs.isEmpty())
+        {
+            Node node = fs.pop();
+
+            // Only nodes in Managed and Removed state are flushed, rest
+            // are ignored
+            if (node.isInState(ManagedState.class) || node.isInState(RemovedState.class))
+            {
+                node.setClient(getClient(getMetadata(node.getDataClass())));
+                nodes.add(node);
+            }
+        }
+
+        boolean isBatch = false;
+        for (Map<Client, List<Node>> stage : FlushPlanner.plan(nodes))
+        {
+            List<Node> written = new ArrayList<Node>();
+            for (List<Node> segment : stage.values())
+            {
+                for (Node node : segment)
+                {
+                    if (!isBatched(node) && node.isDirty())
+                    {
+                        node.handlePreEvent();
+                        written.add(node);
+                    }
+                }
+            }
+
+            if (stage.size() == 1)
+            {
+                isBatch |= flushSegment(stage.values().iterator().next());
+            }
+            else
+            {
+                isBatch |= flushSegments(stage.values());
+            }
+
+            for (Node node : written)
+            {
+                node.onFlushed();
+            }
+        }
+        return isBatch;
+    }
+
+    /**
+     * Flushes given segments concurrently, joining all of them before failing
+     * on first error.
+     * 
+     * @return true, if any node is added to batch.
+     */
+    private boolean flushSegments(Collection<List<Node>> stage)
+    {
+        List<Future<Boolean>> segments = new ArrayList<Future<Boolean>>(stage.size());
+        for (final List<Node> segment : stage)
+        {
+            segments.add(getFlushExecutor().submit(new Callable<Boolean>()
+            {
+                @Override
+                public Boolean call()
+                {
+                    KunderaMetrics metrics = kunderaMetadata.getMetrics();
+                    metrics.onAsyncStart();
+                    try
+                    {
+                        return flushSegment(segment);
+                    }
+                    finally
+                    {
+                        metrics.onAsyncEnd();
+                    }
+                }
+            }));
+        }
+
+        boolean isBatch = false;
+        RuntimeException failure = null;
+        for (Future<Boolean> segment : segments)
+        {
+            try
+            {
+                isBatch |= segment.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                failure = failure != null ? failure : new KunderaException("Interrupted while flushing, Caused by: ", e);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                failure = failure != null ? failure : cause instanceof RuntimeException ? (RuntimeException) cause
+                        : new KunderaException("Error while flushing, Caused by: ", cause);
+            }
         }
+        if (failure != null)
+        {
+            throw failure;
+        }
+        return isBatch;
+    }
+
+    /**
+     * Writes nodes of a single client to datastore, in order. Link values are
+     * updated as each node is written, for later nodes of same segment.
+     * 
+     * @return true, if any node is added to batch.
+     */
+    private boolean flushSegment(List<Node> segment)
+    {
+        boolean isBatch = false;
+        for (Node node : segment)
+        {
+            if (isBatched(node))
+            {
+                isBatch = true;
+                ((Batcher) (node.getClient())).addBatch(node);
+            }
+            else
+            {
+                if (node.isDirty())
+                {
+                    node.flushToDatastore();
+                }
+                node.updateLinks();
+            }
+        }
+        return isBatch;
+    }
+
+    /**
+     * Returns whether node goes to batch of its client, i.e. batch size is
+     * defined.
+     */
+    private boolean isBatched(Node node)
+    {
+        return (node.getClient() instanceof Batcher) && ((Batcher) (node.getClient())).getBatchSize() > 0;
+    }
+
+    /**
+     * Returns number of clients flushed concurrently, as per
+     * {@link PersistenceProperties#KUNDERA_FLUSH_PARALLELISM} of persistence
+     * units in use, 1 if none specifies it.
+     */
+    private int getFlushParallelism()
+    {
+        if (flushParallelism == null)
+        {
+            int parallelism = 1;
+            for (String pu : clientMap.keySet())
+            {
+                String value = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, pu).getProperty(
+                        PersistenceProperties.KUNDERA_FLUSH_PARALLELISM);
+                if (value != null)
+                {
+                    parallelism = Math.max(parallelism, Integer.parseInt(value.trim()));
+                }
+            }
+            flushParallelism = parallelism;
+        }
+        return flushParallelism;
+    }
+
+    private ExecutorService getFlushExecutor()
+    {
+        if (flushExecutor == null)
+        {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(getFlushParallelism(), getFlushParallelism(), 60L,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new KunderaThreadFactory("FlushExecutor"));
+            executor.allowCoreThreadTimeOut(true);
+            flushExecutor = executor;
+        }
+        return flushExecutor;
     }
 
     public <E> E merge(E e)
@@ -485,8 +864,15 @@ public final class PersistenceDelegator
             throw new KunderaException("Entitymatadata should not be null");
         }
         String persistenceUnit = m.getPersistenceUnit();
+        Client client = getClient(persistenceUnit);
 
-        return getClient(persistenceUnit);
+        // validate schema of table, if deferred to its first use.
+        ClientFactory clientFactory = clientFactories.get(persistenceUnit);
+        if (clientFactory instanceof GenericClientFactory)
+        {
+            ((GenericClientFactory) clientFactory).validateSchemaOnFirstUse(persistenceUnit, m.getTableName());
+        }
+        return client;
     }
 
     public Client getClient(final String persistenceUnit)
@@ -521,6 +907,22 @@ public final class PersistenceDelegator
         return getQueryInstance(jpaQuery, false, null);
     }
 
+    /**
+     * Creates query for given criteria query. Criteria query is compiled
+     * straight into parameterized JPQL, whose parsed form is shared by
+     * criteria queries of same shape.
+     * 
+     * @param criteriaQuery
+     *            the criteria query
+     * @return the query
+     */
+    Query createCriteriaQuery(CriteriaQuery criteriaQuery)
+    {
+        CompiledCriteria compiled = CriteriaQueryTranslator.compile(criteriaQuery);
+        return new QueryResolver().getQueryImplementation(compiled.getQuery(), compiled.getValues(), this,
+                kunderaMetadata);
+    }
+
     /**
      * Creates the query.
      * 
@@ -588,8 +990,16 @@ public final class PersistenceDelegator
             }
             clientMap.clear();
         }
+        clientFactories.clear();
+
+        if (flushExecutor != null)
+        {
+            flushExecutor.shutdown();
+            flushExecutor = null;
+        }
 
         onClearProxy();
+        kunderaMetadata.getMetrics().release(persistenceCache);
 
         // TODO: Move all nodes tied to this EM into detached state, need to
         // discuss with Amresh.
@@ -627,6 +1037,8 @@ public final class PersistenceDelegator
 
     void clear()
     {
+        flushPendingWrites();
+
         // Move all nodes tied to this EM into detached state
         flushManager.clearFlushStack();
         getPersistenceCache().clean();
@@ -723,6 +1135,7 @@ public final class PersistenceDelegator
 
     void begin()
     {
+        flushPendingWrites();
         isTransactionInProgress = true;
     }
 
@@ -734,6 +1147,7 @@ public final class PersistenceDelegator
         flushManager.clearFlushStack();
         isTransactionInProgress = false;
         enableFlush = false;
+        flushIndexes();
     }
 
     /**
@@ -741,12 +1155,29 @@ public final class PersistenceDelegator
      */
     void doFlush()
     {
+        flushPendingWrites();
         enableFlush = true;
         flush();
         execute();
         enableFlush = false;
         flushManager.commit();
         flushManager.clearFlushStack();
+        flushIndexes();
+    }
+
+    /**
+     * Drains index operations held back by indexers of loaded clients.
+     */
+    private void flushIndexes()
+    {
+        for (Client client : clientMap.values())
+        {
+            IndexManager indexManager = client.getIndexManager();
+            if (indexManager != null)
+            {
+                indexManager.flush();
+            }
+        }
     }
 
     void rollback()
@@ -792,18 +1223,20 @@ public final class PersistenceDelegator
     }
 
     /**
-     * Pre load client specific to persistence unit.
+     * Pre load client specific to persistence unit, out of client factory of
+     * owning entity manager factory.
      * 
      * @param persistenceUnit
      *            persistence unit.
-     * @param client
+     * @param clientFactory
+     *            client factory of persistence unit.
      */
-
-    void loadClient(String persistenceUnit, Client client)
+    void loadClient(String persistenceUnit, ClientFactory clientFactory)
     {
-        if (!clientMap.containsKey(persistenceUnit) && client != null)
+        if (!clientMap.containsKey(persistenceUnit) && clientFactory != null)
         {
-            clientMap.put(persistenceUnit, client);
+            clientMap.put(persistenceUnit, clientFactory.getClientInstance());
+            clientFactories.put(persistenceUnit, clientFactory);
         }
     }
 
@@ -828,7 +1261,7 @@ public final class PersistenceDelegator
             {
                 // if no batch operation performed{may be running in
                 // transaction?}
-                if (((Batcher) client).getBatchSize() == 0 || ((Batcher) client).executeBatch() > 0)
+                if (((Batcher) client).getBatchSize() == 0 || executeBatch(client) > 0)
                 {
                     flushJoinTableData();
                 }
@@ -836,6 +1269,20 @@ public final class PersistenceDelegator
         }
     }
 
+    private int executeBatch(Client client)
+    {
+        KunderaMetrics metrics = kunderaMetadata.getMetrics();
+        long start = metrics.start();
+        try
+        {
+            return ((Batcher) client).executeBatch();
+        }
+        finally
+        {
+            metrics.stop(Operation.BATCH, start, client, null);
+        }
+    }
+
     /**
      * On flushing join table data
      */
@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.graph.NodeLink;
 import com.impetus.kundera.graph.ObjectGraph;
 import com.impetus.kundera.graph.ObjectGraphUtils;
@@ -45,7 +46,7 @@ public class CacheBase
 {
     private static Logger log = LoggerFactory.getLogger(CacheBase.class);
 
-    private Map<String, Node> nodeMappings;
+    private Map<NodeKey, Node> nodeMappings;
 
     private Set<Node> headNodes;
 
@@ -55,13 +56,13 @@ public class CacheBase
 
     public CacheBase(com.impetus.kundera.cache.Cache l2Cache, PersistenceCache pc)
     {
-        this.headNodes = new HashSet<Node>();
-        this.nodeMappings = new ConcurrentHashMap<String, Node>();
+        this.headNodes = Collections.synchronizedSet(new HashSet<Node>());
+        this.nodeMappings = new ConcurrentHashMap<NodeKey, Node>();
         this.l2Cache = l2Cache;
         this.persistenceCache = pc;
     }
 
-    public Node getNodeFromCache(String nodeId, PersistenceDelegator pd)
+    public Node getNodeFromCache(NodeKey nodeId, PersistenceDelegator pd)
     {
         Node node = nodeMappings.get(nodeId);
         // if not present in first level cache, check from second level cache.
@@ -80,7 +81,7 @@ public class CacheBase
         {
             throw new IllegalArgumentException("Primary key not set into entity");
         }
-        String nodeId = ObjectGraphUtils.getNodeId(primaryKey, entity.getClass());
+        NodeKey nodeId = ObjectGraphUtils.getNodeId(primaryKey, entity.getClass());
         return getNodeFromCache(nodeId, pd);
     }
 
@@ -108,9 +109,9 @@ public class CacheBase
 
     public void processNodeMapping(Node node)
     {
-        if (nodeMappings.containsKey(node.getNodeId()))
+        Node existingNode = nodeMappings.get(node.getNodeId());
+        if (existingNode != null)
         {
-            Node existingNode = nodeMappings.get(node.getNodeId());
 
             if (existingNode.getParents() != null)
             {
@@ -149,15 +150,9 @@ public class CacheBase
 
     public synchronized void removeNodeFromCache(Node node)
     {
-        if (getHeadNodes().contains(node))
-        {
-            getHeadNodes().remove(node);
-        }
+        headNodes.remove(node);
 
-        if (nodeMappings.get(node.getNodeId()) != null)
-        {
-            nodeMappings.remove(node.getNodeId());
-        }
+        nodeMappings.remove(node.getNodeId());
 
         evictFroml2Cache(node);
         logCacheEvent("REMOVED FROM ", node.getNodeId());
@@ -167,9 +162,8 @@ public class CacheBase
     public void addGraphToCache(ObjectGraph graph, PersistenceCache persistenceCache)
     {
         // Add each node in the graph to cache
-        for (String key : graph.getNodeMapping().keySet())
+        for (Node thisNode : graph.getNodeMapping().values())
         {
-            Node thisNode = graph.getNodeMapping().get(key);
             addNodeToCache(thisNode);
 
             // Remove all those head nodes in persistence cache, that are there
@@ -183,7 +177,7 @@ public class CacheBase
         addHeadNode(graph.getHeadNode());
     }
 
-    private void logCacheEvent(String eventType, String nodeId)
+    private void logCacheEvent(String eventType, NodeKey nodeId)
     {
         if (log.isDebugEnabled())
         {
@@ -195,7 +189,7 @@ public class CacheBase
      * @param nodeMappings
      *            the nodeMappings to set
      */
-    public void setNodeMappings(Map<String, Node> nodeMappings)
+    public void setNodeMappings(Map<NodeKey, Node> nodeMappings)
     {
         this.nodeMappings = nodeMappings;
     }
@@ -241,19 +235,23 @@ public class CacheBase
      */
     public Set<Node> getHeadNodes()
     {
-        return Collections.synchronizedSet(headNodes);
+        return headNodes;
     }
 
-    private Node lookupL2Cache(String nodeId, PersistenceDelegator pd)
+    private Node lookupL2Cache(NodeKey nodeId, PersistenceDelegator pd)
     {
         Node node = null;
         if (l2Cache != null)
         {
             Object entity = l2Cache.get(nodeId);
+            if (pd != null)
+            {
+                pd.getKunderaMetadata().getMetrics().onL2Lookup(entity != null);
+            }
             if (entity != null)
             {
                 node = new Node(nodeId, entity.getClass(), new ManagedState(), this.persistenceCache,
-                        nodeId.substring(nodeId.indexOf("$") + 1), pd);
+                        nodeId.getEntityId(), pd);
                 node.setData(entity);
             }
         }
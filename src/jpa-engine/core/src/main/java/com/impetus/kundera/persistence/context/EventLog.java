@@ -16,6 +16,7 @@
 package com.impetus.kundera.persistence.context;
 
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 
 /**
  * Logs CRUD events,
@@ -47,7 +48,7 @@ public class EventLog
     /**
      * @return the entityId
      */
-    Object getEntityId()
+    NodeKey getEntityId()
     {
         return node.getNodeId();
     }
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.persistence.context.EventLog.EventType;
 
 /**
@@ -30,13 +31,13 @@ class EventLogQueue
 {
 
     /** The insert events. */
-    private Map<Object, EventLog> insertEvents;
+    private Map<NodeKey, EventLog> insertEvents;
 
     /** The update events. */
-    private Map<Object, EventLog> updateEvents;
+    private Map<NodeKey, EventLog> updateEvents;
 
     /** The delete events. */
-    private Map<Object, EventLog> deleteEvents;
+    private Map<NodeKey, EventLog> deleteEvents;
 
     /**
      * On event.
@@ -81,7 +82,7 @@ class EventLogQueue
     {
         if (deleteEvents == null)
         {
-            deleteEvents = new ConcurrentHashMap<Object, EventLog>();
+            deleteEvents = new ConcurrentHashMap<NodeKey, EventLog>();
         }
 
         deleteEvents.put(log.getEntityId(), log);
@@ -98,7 +99,7 @@ class EventLogQueue
     {
         if (updateEvents == null)
         {
-            updateEvents = new ConcurrentHashMap<Object, EventLog>();
+            updateEvents = new ConcurrentHashMap<NodeKey, EventLog>();
 
         }
 
@@ -115,7 +116,7 @@ class EventLogQueue
     {
         if (insertEvents == null)
         {
-            insertEvents = new ConcurrentHashMap<Object, EventLog>();
+            insertEvents = new ConcurrentHashMap<NodeKey, EventLog>();
         }
 
         insertEvents.put(log.getEntityId(), log);
@@ -152,7 +153,7 @@ class EventLogQueue
      * 
      * @return the insert events
      */
-    Map<Object, EventLog> getInsertEvents()
+    Map<NodeKey, EventLog> getInsertEvents()
     {
         return insertEvents;
     }
@@ -162,7 +163,7 @@ class EventLogQueue
      * 
      * @return the update events
      */
-    Map<Object, EventLog> getUpdateEvents()
+    Map<NodeKey, EventLog> getUpdateEvents()
     {
         return updateEvents;
     }
@@ -172,7 +173,7 @@ class EventLogQueue
      * 
      * @return the delete events
      */
-    Map<Object, EventLog> getDeleteEvents()
+    Map<NodeKey, EventLog> getDeleteEvents()
     {
         return deleteEvents;
     }
@@ -33,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.graph.NodeLink;
 import com.impetus.kundera.graph.NodeLink.LinkProperty;
 import com.impetus.kundera.lifecycle.states.ManagedState;
@@ -412,7 +413,7 @@ public class FlushManager
     /**
      * @param deleteEvents
      */
-    private void onCommit(Map<Object, EventLog> eventCol)
+    private void onCommit(Map<NodeKey, EventLog> eventCol)
     {
         if (eventCol != null && !eventCol.isEmpty())
         {
@@ -453,7 +454,7 @@ public class FlushManager
      * @param eventCol
      *            the event col
      */
-    private void onRollBack(PersistenceDelegator delegator, Map<Object, EventLog> eventCol)
+    private void onRollBack(PersistenceDelegator delegator, Map<NodeKey, EventLog> eventCol)
     {
         if (eventCol != null && !eventCol.isEmpty())
         {
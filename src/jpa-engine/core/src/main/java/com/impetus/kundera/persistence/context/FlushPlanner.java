@@ -0,0 +1,100 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence.context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.graph.Node;
+
+/**
+ * Partitions nodes popped from flush stack into stages of per client
+ * segments.
+ * 
+ * Nodes of a segment keep their flush stack order. A node linked (as parent
+ * or child) to a node of another client, which comes earlier in flush stack,
+ * starts a new stage, so link values set while flushing earlier node are in
+ * place before the dependent one is flushed. Segments of a stage are therefore
+ * independent of each other and may be flushed concurrently, while stages are
+ * flushed one after another.
+ */
+public final class FlushPlanner
+{
+    private FlushPlanner()
+    {
+    }
+
+    /**
+     * Plans flush of given nodes, each one having its client set.
+     * 
+     * @param nodes
+     *            nodes in flush stack order.
+     * @return stages in flush order, each one holding nodes per client.
+     */
+    public static List<Map<Client, List<Node>>> plan(List<Node> nodes)
+    {
+        List<Map<Client, List<Node>>> stages = new ArrayList<Map<Client, List<Node>>>();
+        Map<Client, List<Node>> stage = new LinkedHashMap<Client, List<Node>>();
+        Map<Node, Client> staged = new HashMap<Node, Client>();
+
+        for (Node node : nodes)
+        {
+            Client client = node.getClient();
+            if (dependsOnOtherClient(node.getParents(), client, staged)
+                    || dependsOnOtherClient(node.getChildren(), client, staged))
+            {
+                stages.add(stage);
+                stage = new LinkedHashMap<Client, List<Node>>();
+                staged.clear();
+            }
+
+            List<Node> segment = stage.get(client);
+            if (segment == null)
+            {
+                segment = new ArrayList<Node>();
+                stage.put(client, segment);
+            }
+            segment.add(node);
+            staged.put(node, client);
+        }
+
+        if (!stage.isEmpty())
+        {
+            stages.add(stage);
+        }
+        return stages;
+    }
+
+    private static boolean dependsOnOtherClient(Map<?, Node> linkedNodes, Client client, Map<Node, Client> staged)
+    {
+        if (linkedNodes != null)
+        {
+            for (Node linkedNode : linkedNodes.values())
+            {
+                Client linkedClient = staged.get(linkedNode);
+                if (linkedClient != null && linkedClient != client)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence.context;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
+import com.impetus.kundera.lifecycle.states.RemovedState;
+
+/**
+ * Holds nodes to be flushed in write behind mode, one per node id, in order
+ * of their first write. Successive writes of same node are coalesced:
+ * <ul>
+ * <li>insert followed by update is an insert of latest state.</li>
+ * <li>update followed by update is an update of latest state.</li>
+ * <li>update followed by delete is a delete.</li>
+ * <li>insert followed by delete is dropped altogether.</li>
+ * </ul>
+ * A write following delete of same node is not coalesced, queue must be
+ * drained before it.
+ * 
+ * Not thread safe, as is the entity manager it belongs to.
+ */
+public class WriteBehindQueue
+{
+    /** Default number of nodes held before queue is due. */
+    public static final int DEFAULT_SIZE = 1000;
+
+    /** Default time in milliseconds a write is held before queue is due. */
+    public static final long DEFAULT_INTERVAL = 1000L;
+
+    /** Pending nodes, by node id. */
+    private final Map<NodeKey, Node> pending = new LinkedHashMap<NodeKey, Node>();
+
+    private final int maxSize;
+
+    private final long interval;
+
+    /** Time of oldest pending write, negative if none. */
+    private long oldest = -1;
+
+    /**
+     * @param maxSize
+     *            number of nodes held before queue is due.
+     * @param interval
+     *            time in milliseconds a write is held before queue is due.
+     */
+    public WriteBehindQueue(int maxSize, long interval)
+    {
+        this.maxSize = maxSize;
+        this.interval = interval;
+    }
+
+    /**
+     * Adds given node, coalescing it with pending write of same node if any.
+     * 
+     * @param node
+     *            node in managed or removed state.
+     * @return false, if node follows a pending delete of it and queue must be
+     *         drained before adding it.
+     */
+    public boolean offer(Node node)
+    {
+        NodeKey nodeId = node.getNodeId();
+        Node queued = pending.get(nodeId);
+        if (queued == null)
+        {
+            if (pending.isEmpty())
+            {
+                oldest = System.currentTimeMillis();
+            }
+            pending.put(nodeId, node);
+            return true;
+        }
+
+        if (queued.isInState(RemovedState.class))
+        {
+            return false;
+        }
+
+        boolean queuedInsert = !queued.isUpdate();
+        if (node.isInState(RemovedState.class))
+        {
+            if (queuedInsert)
+            {
+                // never written, nothing to delete.
+                pending.remove(nodeId);
+                node.setDirty(false);
+                if (node.getPersistenceCache() != null)
+                {
+                    node.getPersistenceCache().getMainCache().removeNodeFromCache(node);
+                }
+                return true;
+            }
+        }
+        else if (queuedInsert)
+        {
+            node.setUpdate(false);
+        }
+
+        // keeps position of first write.
+        pending.put(nodeId, node);
+        return true;
+    }
+
+    /**
+     * Returns whether queue holds enough nodes, or its oldest write is held
+     * long enough, to be drained. Checked by owner on each write only, queue
+     * is never drained by itself.
+     * 
+     * @return true, if due.
+     */
+    public boolean isDue()
+    {
+        return pending.size() >= maxSize
+                || (!pending.isEmpty() && System.currentTimeMillis() - oldest >= interval);
+    }
+
+    /**
+     * @return true, if nothing is pending.
+     */
+    public boolean isEmpty()
+    {
+        return pending.isEmpty();
+    }
+
+    /**
+     * @return number of pending nodes.
+     */
+    public int size()
+    {
+        return pending.size();
+    }
+
+    /**
+     * Removes and returns pending nodes, in order of their first write.
+     * 
+     * @return pending nodes.
+     */
+    public List<Node> drain()
+    {
+        List<Node> nodes = new ArrayList<Node>(pending.values());
+        pending.clear();
+        oldest = -1;
+        return nodes;
+    }
+}
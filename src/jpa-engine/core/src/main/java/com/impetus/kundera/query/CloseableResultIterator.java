@@ -0,0 +1,36 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.query;
+
+import java.io.Closeable;
+
+/**
+ * {@link IResultIterator} holding datastore resources (e.g. cursors,
+ * scanners, worker threads) which are released once iteration is over. A
+ * caller giving up iteration before that must call {@link #close()}.
+ * 
+ * @param <E>
+ *            entity type
+ */
+public interface CloseableResultIterator<E> extends IResultIterator<E>, Closeable
+{
+    /**
+     * Releases resources held by this iterator. Calling it more than once has
+     * no effect.
+     */
+    @Override
+    void close();
+}
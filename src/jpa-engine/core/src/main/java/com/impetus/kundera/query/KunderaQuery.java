@@ -178,6 +178,54 @@ public class KunderaQuery {
         initiateJPQLObject(jpaQuery);
     }
 
+    /**
+     * Instantiates a new kundera query from an already parsed one. Parsed
+     * statement is shared with template and must be treated as read only,
+     * while filter and update clauses are copied, so parameters bound to this
+     * query do not leak into template.
+     * 
+     * @param template
+     *            parsed and initialized query.
+     */
+    KunderaQuery(final KunderaQuery template) {
+        this.kunderaMetadata = template.kunderaMetadata;
+        this.jpaQuery = template.jpaQuery;
+        this.jpqlExpression = template.jpqlExpression;
+        this.expressionFactory = template.expressionFactory;
+        this.selectStatement = template.selectStatement;
+        this.updateStatement = template.updateStatement;
+        this.deleteStatement = template.deleteStatement;
+        this.result = template.result;
+        this.aggregationResult = template.aggregationResult;
+        this.from = template.from;
+        this.filter = template.filter;
+        this.ordering = template.ordering;
+        this.entityName = template.entityName;
+        this.entityAlias = template.entityAlias;
+        this.entityClass = template.entityClass;
+        this.sortOrders = template.sortOrders != null ? new ArrayList<SortOrdering>(template.sortOrders) : null;
+        this.isAggregate = template.isAggregate;
+        this.persistenceUnit = template.persistenceUnit;
+        this.isDeleteUpdate = template.isDeleteUpdate;
+        this.isNativeQuery = template.isNativeQuery;
+
+        for (Object clause : template.filtersQueue) {
+            if (clause instanceof FilterClause) {
+                FilterClause filterClause = new FilterClause((FilterClause) clause);
+                filtersQueue.add(filterClause);
+                onTypedParameter(filterClause);
+            } else {
+                filtersQueue.add(clause);
+            }
+        }
+
+        for (UpdateClause clause : template.updateClauseQueue) {
+            UpdateClause updateClause = new UpdateClause(clause.property, clause.value);
+            updateClauseQueue.add(updateClause);
+            onTypedParameter(updateClause.getValue(), updateClause, updateClause.getProperty().trim());
+        }
+    }
+
     /**
      * Initiate jpql object.
      * 
@@ -985,6 +1033,20 @@ public class KunderaQuery {
             }
         }
 
+        /**
+         * Copies given filter clause.
+         * 
+         * @param clause
+         *            filter clause to copy
+         */
+        private FilterClause(FilterClause clause) {
+            this.property = clause.property;
+            this.condition = clause.condition;
+            this.fieldName = clause.fieldName;
+            this.value = new ArrayList<Object>(clause.value);
+            this.ignoreCase = clause.ignoreCase;
+        }
+
         /**
          * Gets the property.
          * 
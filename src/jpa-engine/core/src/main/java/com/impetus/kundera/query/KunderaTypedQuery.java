@@ -471,6 +471,12 @@ public class KunderaTypedQuery<X> implements TypedQuery<X>, com.impetus.kundera.
         return ((com.impetus.kundera.query.Query)query).iterate();
     }
 
+    @Override
+    public CloseableResultIterator<X> iterate(int parallelism)
+    {
+        return ((com.impetus.kundera.query.Query)query).iterate(parallelism);
+    }
+
     @Override
     public void applyTTL(int ttlInSeconds)
     {
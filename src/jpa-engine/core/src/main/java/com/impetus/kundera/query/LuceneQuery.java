@@ -65,14 +65,14 @@ public class LuceneQuery extends QueryImpl {
         super(kunderaQuery, pd, kunderaMetadata);
     }
 
-    // @see com.impetus.kundera.query.QueryImpl#getResultList()
+    // @see com.impetus.kundera.query.QueryImpl#onGetResultList()
     /*
      * (non-Javadoc)
      * 
-     * @see com.impetus.kundera.query.QueryImpl#getResultList()
+     * @see com.impetus.kundera.query.QueryImpl#onGetResultList()
      */
     @Override
-    public List<?> getResultList() {
+    protected List<?> onGetResultList() {
         if (log.isDebugEnabled())
             log.debug("JPA Query: " + getJPAQuery());
 
@@ -0,0 +1,380 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.query;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.utils.KunderaThreadFactory;
+
+/**
+ * {@link IResultIterator} over a partitioned scan. Each {@link QuerySplit} is
+ * read on a worker thread and its entities are handed over to the consumer
+ * through a bounded queue, so a slow consumer holds back the scanners instead
+ * of letting results pile up in memory. Order of results across splits is
+ * unspecified.
+ *
+ * Failure of any split is rethrown to the consumer on next call to
+ * {@link #hasNext()}, and stops remaining scans. A consumer giving up early
+ * must {@link #close()} the iterator. Failing that, workers waiting on a full
+ * queue give up once consumer took nothing for idle timeout, and a consumer
+ * coming back after that gets an exception.
+ *
+ * @param <E>
+ *            entity type
+ */
+public class ParallelResultIterator<E> implements CloseableResultIterator<E>
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(ParallelResultIterator.class);
+
+    /** Default capacity of hand over queue. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /** Default time workers wait on a consumer taking nothing. */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60000;
+
+    /** Marker posted by a worker once its split is exhausted. */
+    private static final Object END_OF_SPLIT = new Object();
+
+    /** Hand over channel between workers and consumer. */
+    private final Channel channel;
+
+    /** Workers scanning splits. */
+    private final ExecutorService executor;
+
+    /** Number of splits yet to be exhausted. */
+    private int pendingSplits;
+
+    /** Number of results yet to be returned, negative for no limit. */
+    private int remaining;
+
+    /** Prefetched result. */
+    private Object next;
+
+    /**
+     * Starts scanning given splits.
+     *
+     * @param splits
+     *            splits to scan.
+     * @param parallelism
+     *            maximum number of splits scanned concurrently.
+     * @param queueCapacity
+     *            number of results buffered ahead of consumer.
+     * @param maxResults
+     *            maximum number of results to return, zero or negative for
+     *            no limit.
+     */
+    public ParallelResultIterator(List<? extends QuerySplit<E>> splits, int parallelism, int queueCapacity,
+            int maxResults)
+    {
+        this(splits, parallelism, queueCapacity, maxResults, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Starts scanning given splits.
+     *
+     * @param splits
+     *            splits to scan.
+     * @param parallelism
+     *            maximum number of splits scanned concurrently.
+     * @param queueCapacity
+     *            number of results buffered ahead of consumer.
+     * @param maxResults
+     *            maximum number of results to return, zero or negative for
+     *            no limit.
+     * @param idleTimeoutMillis
+     *            time after which scans are stopped if consumer takes nothing
+     *            while queue is full.
+     */
+    public ParallelResultIterator(List<? extends QuerySplit<E>> splits, int parallelism, int queueCapacity,
+            int maxResults, long idleTimeoutMillis)
+    {
+        this.channel = new Channel(queueCapacity, TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis));
+        this.pendingSplits = splits.size();
+        this.remaining = maxResults > 0 ? maxResults : -1;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, splits.size())),
+                new KunderaThreadFactory(ParallelResultIterator.class.getSimpleName()));
+        for (QuerySplit<E> split : splits)
+        {
+            executor.execute(new SplitScan<E>(split, channel));
+        }
+        executor.shutdown();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Iterator#hasNext()
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (next != null)
+        {
+            return true;
+        }
+        while (!channel.closed && remaining != 0 && pendingSplits > 0)
+        {
+            Object result = take();
+            if (result == END_OF_SPLIT)
+            {
+                pendingSplits--;
+            }
+            else if (result instanceof SplitFailure)
+            {
+                close();
+                throw new KunderaException("Error while scanning split, Caused by: ",
+                        ((SplitFailure) result).cause);
+            }
+            else
+            {
+                next = result;
+                return true;
+            }
+        }
+        close();
+        if (channel.timedOut)
+        {
+            throw new KunderaException("Parallel scan was stopped as consumer took nothing for "
+                    + TimeUnit.NANOSECONDS.toMillis(channel.idleTimeout) + " ms, iterator must be closed if given up.");
+        }
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Iterator#next()
+     */
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for parallel scan");
+        }
+        E result = (E) next;
+        next = null;
+        if (remaining > 0)
+        {
+            remaining--;
+        }
+        return result;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.query.IResultIterator#next(int)
+     */
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> results = new ArrayList<E>(chunkSize);
+        while (results.size() < chunkSize && hasNext())
+        {
+            results.add(next());
+        }
+        return results;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Iterator#remove()
+     */
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("remove method is not supported over pagination");
+    }
+
+    /**
+     * Stops all running scans and releases worker threads. Called implicitly
+     * once iterator is exhausted.
+     */
+    @Override
+    public void close()
+    {
+        if (!channel.closed)
+        {
+            channel.closed = true;
+            executor.shutdownNow();
+            channel.queue.clear();
+        }
+    }
+
+    /**
+     * Drains given split into channel, followed by end of split marker.
+     */
+    private static <E> void scan(QuerySplit<E> split, Channel channel)
+    {
+        Iterator<E> results = null;
+        try
+        {
+            results = split.open();
+            while (!channel.closed && results.hasNext())
+            {
+                E result = results.next();
+                if (result != null)
+                {
+                    channel.put(result);
+                }
+            }
+        }
+        catch (Throwable t)
+        {
+            log.error("Error while scanning split {}, Caused by: .", split, t);
+            channel.put(new SplitFailure(t));
+        }
+        finally
+        {
+            closeQuietly(results);
+            channel.put(END_OF_SPLIT);
+        }
+    }
+
+    /**
+     * Closes iterator of a split if it holds a scanner.
+     */
+    private static void closeQuietly(Iterator<?> results)
+    {
+        if (results instanceof Closeable)
+        {
+            try
+            {
+                ((Closeable) results).close();
+            }
+            catch (Exception e)
+            {
+                log.warn("Error while closing split scanner, Caused by: .", e);
+            }
+        }
+    }
+
+    private Object take()
+    {
+        try
+        {
+            Object result = channel.queue.take();
+            channel.lastTake = System.nanoTime();
+            return result;
+        }
+        catch (InterruptedException e)
+        {
+            close();
+            Thread.currentThread().interrupt();
+            throw new KunderaException("Interrupted while waiting for parallel scan, Caused by: ", e);
+        }
+    }
+
+    /**
+     * Scan of a split by a worker.
+     */
+    private static final class SplitScan<E> implements Runnable
+    {
+        private final QuerySplit<E> split;
+
+        private final Channel channel;
+
+        private SplitScan(QuerySplit<E> split, Channel channel)
+        {
+            this.split = split;
+            this.channel = channel;
+        }
+
+        @Override
+        public void run()
+        {
+            scan(split, channel);
+        }
+    }
+
+    /**
+     * Bounded queue shared by workers and consumer, with flag telling workers
+     * to stop.
+     */
+    private static final class Channel
+    {
+        private final BlockingQueue<Object> queue;
+
+        /** Time in nanos workers wait on a consumer taking nothing. */
+        private final long idleTimeout;
+
+        /** Set once iterator is exhausted or closed. */
+        private volatile boolean closed;
+
+        /** Set if workers gave up on consumer. */
+        private volatile boolean timedOut;
+
+        /** Last time consumer took a result. */
+        private volatile long lastTake = System.nanoTime();
+
+        private Channel(int capacity, long idleTimeout)
+        {
+            this.queue = new ArrayBlockingQueue<Object>(Math.max(capacity, 1));
+            this.idleTimeout = idleTimeout;
+        }
+
+        private void put(Object result)
+        {
+            try
+            {
+                while (!closed && !queue.offer(result, 100, TimeUnit.MILLISECONDS))
+                {
+                    // wait for consumer, unless it gave up without closing.
+                    if (System.nanoTime() - lastTake > idleTimeout)
+                    {
+                        log.warn("Stopping parallel scan, consumer took nothing for {} ms.",
+                                TimeUnit.NANOSECONDS.toMillis(idleTimeout));
+                        timedOut = true;
+                        closed = true;
+                    }
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Failure of a split, posted in place of a result.
+     */
+    private static final class SplitFailure
+    {
+        private final Throwable cause;
+
+        private SplitFailure(Throwable cause)
+        {
+            this.cause = cause;
+        }
+    }
+}
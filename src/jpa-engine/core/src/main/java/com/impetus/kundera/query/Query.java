@@ -53,4 +53,24 @@ public interface Query
      */
     <E> Iterator<E> iterate();
 
+    /**
+     * Iterates over result of a full scan, reading up to given number of
+     * partitions (e.g. token ranges, tablets, regions) of underlying table
+     * concurrently. Results are returned in no particular order. Falls back
+     * to {@link #iterate()} if datastore can not split the scan, or if entity
+     * holds relations.
+     * 
+     * Returned iterator holds worker threads and datastore scanners until it
+     * is exhausted, so a caller that may give up earlier must close it, e.g.
+     * in a finally block. Scans of an iterator left open are only stopped
+     * after consumer took nothing for
+     * {@link ParallelResultIterator#DEFAULT_IDLE_TIMEOUT_MILLIS}.
+     * 
+     * @param parallelism
+     *            maximum number of partitions scanned concurrently.
+     * @return iterator to be closed if iteration is given up before it is
+     *         over.
+     */
+    <E> CloseableResultIterator<E> iterate(int parallelism);
+
 }
\ No newline at end of file
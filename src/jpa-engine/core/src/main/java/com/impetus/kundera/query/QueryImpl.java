@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.impetus.kundera.query;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,12 +52,16 @@ import org.slf4j.LoggerFactory;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.index.IdStreamingIndexer;
+import com.impetus.kundera.index.Indexer;
 import com.impetus.kundera.index.IndexingConstants;
 import com.impetus.kundera.metadata.model.ApplicationMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.DefaultEntityType;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
@@ -101,6 +107,9 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
     /** The first result. */
     protected int firstResult = 0;
 
+    /** Number of ids entities are fetched for at a time, unless fetch size is set. */
+    private static final int ID_CHUNK_SIZE = 100;
+
     /** The fetch size. */
     private Integer fetchSize;
 
@@ -156,7 +165,20 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
     @Override
     public int executeUpdate()
     {
-        return onExecuteUpdate();
+        persistenceDelegeator.flushPendingWrites();
+
+        KunderaMetrics metrics = kunderaMetadata.getMetrics();
+        long start = metrics.start();
+        int updated = -1;
+        try
+        {
+            updated = onExecuteUpdate();
+            return updated;
+        }
+        finally
+        {
+            onExecuted(metrics, start, updated);
+        }
     }
 
     /*
@@ -166,6 +188,43 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
      */
     @Override
     public List<?> getResultList()
+    {
+        // query must see writes held in write behind mode.
+        persistenceDelegeator.flushPendingWrites();
+
+        KunderaMetrics metrics = kunderaMetadata.getMetrics();
+        long start = metrics.start();
+        List<?> results = null;
+        try
+        {
+            results = onGetResultList();
+            return results;
+        }
+        finally
+        {
+            onExecuted(metrics, start, results != null ? results.size() : -1);
+        }
+    }
+
+    /**
+     * Records execution of this query, tagged by its entity and client.
+     */
+    private void onExecuted(KunderaMetrics metrics, long start, long rows)
+    {
+        if (metrics.isEnabled())
+        {
+            EntityMetadata m = getEntityMetadata();
+            metrics.stop(Operation.QUERY, start, m != null ? persistenceDelegeator.getClient(m) : null,
+                    m != null ? m.getEntityClazz() : null, rows);
+        }
+    }
+
+    /**
+     * Executes query and returns its results.
+     * 
+     * @return results
+     */
+    protected List<?> onGetResultList()
     {
         if (log.isDebugEnabled())
             log.info("On getResultList() executing query: " + getJPAQuery());
@@ -398,6 +457,72 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         return result;
     }
 
+    /**
+     * Finds entities of ids read from given id stream, a chunk of ids at a
+     * time. Chunks are of fetch size, if set.
+     * 
+     * @param m
+     *            the m
+     * @param client
+     *            the client
+     * @param ids
+     *            ids in query order
+     * @return the list
+     */
+    private List<Object> findUsingIdStream(EntityMetadata m, Client client, Iterator<Object> ids)
+    {
+        // entities with relations and projections need query specific reads.
+        boolean findAll = (m.getRelationNames() == null || m.getRelationNames().isEmpty())
+                && getColumns(kunderaQuery.getResult(), m).length == 0;
+        int chunkSize = getFetchSize() != null && getFetchSize() > 0 ? getFetchSize() : ID_CHUNK_SIZE;
+
+        List<Object> results = new ArrayList<Object>();
+        List<Object> chunk = new ArrayList<Object>(chunkSize);
+        while (ids.hasNext())
+        {
+            chunk.add(ids.next());
+            if (chunk.size() == chunkSize || !ids.hasNext())
+            {
+                results.addAll(findAll ? findAllInOrder(m, client, chunk) : findUsingLucene(m, client,
+                        chunk.toArray()));
+                chunk.clear();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Finds entities of given ids in one call, keeping order of ids.
+     */
+    private List<Object> findAllInOrder(EntityMetadata m, Client client, List<Object> ids)
+    {
+        List<Object> found = client.findAll(m.getEntityClazz(), null, ids.toArray());
+        if (found == null || found.isEmpty())
+        {
+            return new ArrayList<Object>();
+        }
+
+        Map<Object, Object> byId = new HashMap<Object, Object>(found.size());
+        for (Object entity : found)
+        {
+            if (entity != null)
+            {
+                byId.put(PropertyAccessorHelper.getId(KunderaCoreUtils.getEntity(entity), m), entity);
+            }
+        }
+
+        List<Object> results = new ArrayList<Object>(found.size());
+        for (Object id : ids)
+        {
+            Object entity = byId.remove(id);
+            if (entity != null)
+            {
+                results.add(entity);
+            }
+        }
+        return results;
+    }
+
     /**
      * Populate using lucene.
      * 
@@ -460,6 +585,13 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
      */
     private List populateUsingElasticSearch(Client client, EntityMetadata m)
     {
+        Indexer indexer = client.getIndexManager().getIndexer();
+        if (!kunderaQuery.isAggregated() && indexer instanceof IdStreamingIndexer)
+        {
+            return findUsingIdStream(m, client, ((IdStreamingIndexer) indexer).searchIds(kunderaMetadata,
+                    kunderaQuery, persistenceDelegeator, m, this.firstResult, this.maxResult));
+        }
+
         Map<String, Object> searchFilter = client.getIndexManager().search(kunderaMetadata, kunderaQuery,
                 persistenceDelegeator, m, this.firstResult, this.maxResult);
         Object[] primaryKeys = ((Map<String, Object>) searchFilter.get(Constants.PRIMARY_KEYS)).values().toArray(
@@ -1352,6 +1484,48 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
      */
     public abstract <E> Iterator<E> iterate();
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.query.Query#iterate(int)
+     */
+    public <E> CloseableResultIterator<E> iterate(int parallelism)
+    {
+        persistenceDelegeator.flushPendingWrites();
+        EntityMetadata m = getEntityMetadata();
+        List<QuerySplit<E>> splits = null;
+        if (parallelism > 1 && !isRelational(m))
+        {
+            splits = getSplits(m, persistenceDelegeator.getClient(m));
+        }
+
+        if (splits == null || splits.size() < 2)
+        {
+            if (log.isDebugEnabled())
+            {
+                log.debug("Scan of {} can not be split, iterating sequentially.", m.getEntityClazz());
+            }
+            return new SequentialResultIterator<E>(this.<E> iterate());
+        }
+        return new ParallelResultIterator<E>(splits, parallelism, ParallelResultIterator.DEFAULT_QUEUE_CAPACITY,
+                getFetchSize() != null ? getFetchSize() : this.maxResult);
+    }
+
+    /**
+     * Returns splits of a full scan for this query, to be read concurrently.
+     * Datastores which can partition a scan override it, default is null.
+     * 
+     * @param m
+     *            entity metadata
+     * @param client
+     *            client
+     * @return splits, or null if scan can not be split.
+     */
+    protected <E> List<QuerySplit<E>> getSplits(EntityMetadata m, Client client)
+    {
+        return null;
+    }
+
     /**
      * Handle post event callbacks.
      * 
@@ -1445,4 +1619,70 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sequential iterator returned by {@link #iterate(int)} if scan can not be
+     * split, closing wrapped iterator if it holds a cursor.
+     * 
+     * @param <E>
+     *            entity type
+     */
+    private static final class SequentialResultIterator<E> implements CloseableResultIterator<E>
+    {
+        private final Iterator<E> iterator;
+
+        private SequentialResultIterator(Iterator<E> iterator)
+        {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public E next()
+        {
+            return iterator.next();
+        }
+
+        @Override
+        public List<E> next(int chunkSize)
+        {
+            if (iterator instanceof IResultIterator)
+            {
+                return ((IResultIterator<E>) iterator).next(chunkSize);
+            }
+            List<E> results = new ArrayList<E>(chunkSize);
+            while (results.size() < chunkSize && iterator.hasNext())
+            {
+                results.add(iterator.next());
+            }
+            return results;
+        }
+
+        @Override
+        public void remove()
+        {
+            iterator.remove();
+        }
+
+        @Override
+        public void close()
+        {
+            if (iterator instanceof Closeable)
+            {
+                try
+                {
+                    ((Closeable) iterator).close();
+                }
+                catch (IOException e)
+                {
+                    log.warn("Error while closing result iterator, Caused by: .", e);
+                }
+            }
+        }
+    }
+}
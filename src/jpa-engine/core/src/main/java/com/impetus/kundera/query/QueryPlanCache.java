@@ -0,0 +1,83 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of parsed queries keyed by JPQL. Cached
+ * {@link KunderaQuery} instances are templates, never executed or bound
+ * themselves; each query is created as a copy of its template.
+ */
+public class QueryPlanCache
+{
+    /** Default number of cached queries. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** Parsed queries, in access order. */
+    private final Map<String, KunderaQuery> plans;
+
+    /**
+     * Instantiates a new query plan cache.
+     *
+     * @param capacity
+     *            maximum number of cached queries.
+     */
+    public QueryPlanCache(final int capacity)
+    {
+        this.plans = new LinkedHashMap<String, KunderaQuery>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KunderaQuery> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns parsed query for given JPQL, or null.
+     */
+    synchronized KunderaQuery get(String jpaQuery)
+    {
+        return plans.get(jpaQuery);
+    }
+
+    /**
+     * Caches parsed query against given JPQL.
+     */
+    synchronized void put(String jpaQuery, KunderaQuery kunderaQuery)
+    {
+        plans.put(jpaQuery, kunderaQuery);
+    }
+
+    /**
+     * Returns number of cached queries.
+     */
+    public synchronized int size()
+    {
+        return plans.size();
+    }
+
+    /**
+     * Evicts all cached queries.
+     */
+    public synchronized void clear()
+    {
+        plans.clear();
+    }
+}
@@ -18,6 +18,7 @@ package com.impetus.kundera.query;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 import javax.persistence.Query;
 
@@ -132,6 +133,57 @@ public class QueryResolver
         return query;
     }
 
+    /**
+     * Gets the query implementation for a JPQL compiled from criteria query.
+     * Parsed form of JPQL is looked up in {@link QueryPlanCache} of
+     * application, so criteria queries of same shape are parsed only once,
+     * and given values are bound to its positional parameters.
+     * 
+     * @param jpaQuery
+     *            the jpa query, with positional parameters in place of
+     *            literals
+     * @param values
+     *            values of positional parameters
+     * @param persistenceDelegator
+     *            the persistence delegator
+     * @param kunderaMetadata
+     *            the kundera metadata
+     * @return the query implementation
+     */
+    public Query getQueryImplementation(String jpaQuery, List<Object> values,
+            PersistenceDelegator persistenceDelegator, final KunderaMetadata kunderaMetadata)
+    {
+        QueryPlanCache queryPlanCache = kunderaMetadata.getApplicationMetadata().getQueryPlanCache();
+        KunderaQuery template = queryPlanCache.get(jpaQuery);
+        if (template == null)
+        {
+            template = new KunderaQuery(jpaQuery, kunderaMetadata);
+            KunderaQueryParser parser = new KunderaQueryParser(template);
+
+            parser.parse();
+
+            template.postParsingInit();
+            queryPlanCache.put(jpaQuery, template);
+        }
+
+        KunderaQuery kunderaQuery = new KunderaQuery(template);
+        for (int i = 0; i < values.size(); i++)
+        {
+            kunderaQuery.setParameter(i + 1, values.get(i));
+        }
+
+        try
+        {
+            return getQuery(jpaQuery, persistenceDelegator, kunderaQuery.getEntityMetadata(), kunderaQuery,
+                    kunderaMetadata);
+        }
+        catch (Exception e)
+        {
+            log.error(e.getMessage());
+            throw new QueryHandlerException(e);
+        }
+    }
+
     /**
      * Gets the query instance.
      * 
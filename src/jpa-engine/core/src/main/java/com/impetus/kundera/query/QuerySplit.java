@@ -0,0 +1,38 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.query;
+
+import java.util.Iterator;
+
+/**
+ * A disjoint part of a full scan (e.g. token range, tablet, region) which can
+ * be read independently of other parts. Splits are opened by
+ * {@link ParallelResultIterator} on its own worker threads, so an
+ * implementation must not share any non thread safe state (e.g. persistence
+ * context) with the query which created it.
+ * 
+ * @param <E>
+ *            entity type
+ */
+public interface QuerySplit<E>
+{
+    /**
+     * Opens a scan over this split.
+     * 
+     * @return iterator over entities of this split.
+     */
+    Iterator<E> open();
+}
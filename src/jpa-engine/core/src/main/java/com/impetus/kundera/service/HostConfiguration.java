@@ -43,6 +43,9 @@ public abstract class HostConfiguration
     /** Delay time for host retry */
     protected int retryDelay = 100;
 
+    /** Max delay time for host retry, retries back off up to it */
+    protected int maxRetryDelay;
+
     /**
      * Persistence unit metadata.
      */
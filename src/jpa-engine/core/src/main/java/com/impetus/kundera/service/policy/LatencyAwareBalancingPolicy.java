@@ -0,0 +1,205 @@
+/**
+ * Copyright 2017 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.service.policy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Abstract class LatencyAwareBalancingPolicy, returns pool with least load,
+ * load of a pool being exponentially weighted moving average (EWMA) of its
+ * latency times its active connections. Pools with no latency recorded yet
+ * are preferred, so that new and recovered hosts are sampled, and so are
+ * pools whose last sample is older than max sample age, so that a pool left
+ * aside after a latency spike gets probed again. Client factory
+ * records latency of each operation and provides active connections of its
+ * pools.
+ *
+ */
+public abstract class LatencyAwareBalancingPolicy implements LoadBalancingPolicy
+{
+    /** Weight of latest sample in average. */
+    private final double alpha;
+
+    /** Default age after which a pool is sampled again. */
+    public static final long DEFAULT_MAX_SAMPLE_AGE_MILLIS = 10000;
+
+    /** Age in nanos after which a pool is sampled again. */
+    private final long maxSampleAge;
+
+    /** Average latency per pool. */
+    private final ConcurrentMap<Object, Sample> latencies = new ConcurrentHashMap<Object, Sample>();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public LatencyAwareBalancingPolicy()
+    {
+        this(0.25);
+    }
+
+    /**
+     * @param alpha
+     *            weight of latest sample in average, between 0 and 1.
+     */
+    public LatencyAwareBalancingPolicy(double alpha)
+    {
+        this(alpha, DEFAULT_MAX_SAMPLE_AGE_MILLIS);
+    }
+
+    /**
+     * @param alpha
+     *            weight of latest sample in average, between 0 and 1.
+     * @param maxSampleAgeMillis
+     *            age of last sample after which a pool is sampled again.
+     */
+    public LatencyAwareBalancingPolicy(double alpha, long maxSampleAgeMillis)
+    {
+        if (alpha <= 0 || alpha > 1)
+        {
+            throw new IllegalArgumentException("Invalid weight " + alpha + ", must be in (0, 1].");
+        }
+        if (maxSampleAgeMillis <= 0)
+        {
+            throw new IllegalArgumentException("Invalid max sample age " + maxSampleAgeMillis + ", must be positive.");
+        }
+        this.alpha = alpha;
+        this.maxSampleAge = TimeUnit.MILLISECONDS.toNanos(maxSampleAgeMillis);
+    }
+
+    /**
+     * @return pool object with least average latency times active
+     *         connections, ties are broken round robin, unless a pool is not
+     *         sampled or its last sample is too old.
+     */
+    @Override
+    public Object getPool(Collection<Object> pools)
+    {
+        List<Object> vals = Lists.newArrayList(pools);
+        int size = vals.size();
+        int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+        long now = System.nanoTime();
+        Object leastLoaded = null;
+        double leastLoad = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            Object pool = vals.get((start + i) % size);
+            Sample sample = latencies.get(pool);
+            if (sample == null || now - sample.time > maxSampleAge)
+            {
+                return pool;
+            }
+
+            double load = sample.latency * (getActive(pool) + 1);
+            if (load < leastLoad)
+            {
+                leastLoaded = pool;
+                leastLoad = load;
+            }
+        }
+        return leastLoaded;
+    }
+
+    /**
+     * Records latency of an operation served by given pool.
+     *
+     * @param pool
+     *            the pool
+     * @param latencyInNanos
+     *            latency of operation.
+     */
+    public void recordLatency(Object pool, long latencyInNanos)
+    {
+        while (true)
+        {
+            long now = System.nanoTime();
+            Sample sample = latencies.get(pool);
+            if (sample == null)
+            {
+                if (latencies.putIfAbsent(pool, new Sample(latencyInNanos, now)) == null)
+                {
+                    return;
+                }
+            }
+            else
+            {
+                // a too old average is started over.
+                double latency = now - sample.time > maxSampleAge ? latencyInNanos : alpha * latencyInNanos
+                        + (1 - alpha) * sample.latency;
+                if (latencies.replace(pool, sample, new Sample(latency, now)))
+                {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns average latency of given pool.
+     *
+     * @param pool
+     *            the pool
+     * @return average latency in nanos, null if none recorded.
+     */
+    public Double getLatency(Object pool)
+    {
+        Sample sample = latencies.get(pool);
+        return sample != null ? sample.latency : null;
+    }
+
+    /**
+     * Forgets latency of given pool, to be called when its host is marked
+     * down.
+     *
+     * @param pool
+     *            the pool
+     */
+    public void remove(Object pool)
+    {
+        latencies.remove(pool);
+    }
+
+    /**
+     * Returns number of active connections of given pool.
+     *
+     * @param pool
+     *            the pool
+     * @return active connections.
+     */
+    protected abstract int getActive(Object pool);
+
+    /**
+     * Average latency of a pool in nanos, along with time of its last sample.
+     */
+    private static final class Sample
+    {
+        private final double latency;
+
+        private final long time;
+
+        private Sample(double latency, long time)
+        {
+            this.latency = latency;
+            this.time = time;
+        }
+    }
+}
@@ -22,6 +22,10 @@ import java.util.concurrent.ScheduledFuture;
 import com.impetus.kundera.service.Host;
 import com.impetus.kundera.utils.KunderaThreadFactory;
 
+/**
+ * Retries downed hosts. A host is retried with exponential backoff, delay
+ * doubling from retry delay after each failed attempt up to max retry delay.
+ */
 public abstract class RetryService
 {
 
@@ -31,15 +35,48 @@ public abstract class RetryService
 
     protected int retryDelayInSeconds = 100;
 
+    protected int maxRetryDelayInSeconds;
+
     public RetryService(int retryDelay)
+    {
+        this(retryDelay, 0);
+    }
+
+    /**
+     * @param retryDelay
+     *            delay before first retry, in seconds.
+     * @param maxRetryDelay
+     *            max delay between retries, in seconds. Defaults to 16 times
+     *            retry delay if not positive.
+     */
+    public RetryService(int retryDelay, int maxRetryDelay)
     {
         if (retryDelay > 0)
         {
             this.retryDelayInSeconds = retryDelay;
         }
+        this.maxRetryDelayInSeconds = Math.max(maxRetryDelay > 0 ? maxRetryDelay : 16 * retryDelayInSeconds,
+                retryDelayInSeconds);
         this.executor = Executors.newScheduledThreadPool(1, new KunderaThreadFactory(RetryService.class.getName()));
     }
 
+    /**
+     * Returns delay before next retry of a host.
+     * 
+     * @param failedAttempts
+     *            number of failed retries of host so far.
+     * @return delay in seconds.
+     */
+    protected long getRetryDelay(int failedAttempts)
+    {
+        long delay = retryDelayInSeconds;
+        for (int i = 0; i < failedAttempts && delay < maxRetryDelayInSeconds; i++)
+        {
+            delay <<= 1;
+        }
+        return Math.min(delay, maxRetryDelayInSeconds);
+    }
+
     protected abstract boolean verifyConnection(Host host);
 
     public abstract void shutdown();
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2017 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.service.policy;
+
+import java.util.Collection;
+
+/**
+ * LoadBalancing policy which may pick a pool on the basis of the key an
+ * operation is routed by, e.g. the partition key of a row. Client factories
+ * supporting routing pass the key where one is known and fall back to
+ * {@link #getPool(Collection)} otherwise.
+ *
+ */
+public interface RoutingLoadBalancingPolicy extends LoadBalancingPolicy
+{
+
+    /**
+     * Returns pool on the basis of loadbalancing policy and routing key.
+     *
+     * @param pools
+     *            available pools.
+     * @param routingKey
+     *            key operation is routed by, may be null.
+     * @return pool object.
+     */
+    Object getPool(Collection<Object> pools, Object routingKey);
+}
@@ -45,6 +45,7 @@ import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.OperationTracer;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.ProxyHelper;
@@ -545,6 +546,8 @@ public class KunderaCoreUtils
 
     public static void printQuery(String query, boolean showQuery)
     {
+        // captured for slow operation traces, regardless of showQuery.
+        OperationTracer.statement(query);
         if (showQuery)
         {
             System.out.println(query);
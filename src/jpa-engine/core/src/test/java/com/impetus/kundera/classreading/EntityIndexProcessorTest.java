@@ -0,0 +1,136 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.classreading;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link EntityIndexProcessor}.
+ */
+public class EntityIndexProcessorTest
+{
+    private File output;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        output = File.createTempFile("entityindexprocessor", "");
+        output.delete();
+        output.mkdirs();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        delete(output);
+    }
+
+    @Test
+    public void testIndexWritten() throws Exception
+    {
+        compile(source("com.foo.Bound", "@javax.persistence.Entity @javax.persistence.Table(schema = \"ks@pu1\")"),
+                source("com.foo.Unbound", "@javax.persistence.Entity"),
+                source("com.foo.NotAnEntity", "@javax.persistence.Embeddable"));
+
+        Map<String, String> entities = readIndex();
+        Assert.assertEquals(2, entities.size());
+        Assert.assertEquals("pu1", entities.get("com.foo.Bound"));
+        Assert.assertTrue(entities.containsKey("com.foo.Unbound"));
+        Assert.assertNull(entities.get("com.foo.Unbound"));
+    }
+
+    @Test
+    public void testIndexMergedOnIncrementalCompilation() throws Exception
+    {
+        compile(source("com.foo.First", "@javax.persistence.Entity"));
+        compile(source("com.foo.Second", "@javax.persistence.Entity @javax.persistence.Table(schema = \"ks@pu2\")"));
+
+        Map<String, String> entities = readIndex();
+        Assert.assertEquals(Arrays.asList("com.foo.First", "com.foo.Second"), new ArrayList<String>(entities.keySet()));
+        Assert.assertEquals("pu2", entities.get("com.foo.Second"));
+    }
+
+    @Test
+    public void testNoIndexWithoutEntities() throws Exception
+    {
+        compile(source("com.foo.Plain", ""));
+        Assert.assertFalse(new File(output, EntityIndex.LOCATION).exists());
+    }
+
+    private void compile(JavaFileObject... sources)
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> options = Arrays.asList("-d", output.getPath(), "-classpath",
+                System.getProperty("java.class.path") + File.pathSeparator + output.getPath(), "-processor",
+                EntityIndexProcessor.class.getName());
+        Assert.assertTrue(compiler.getTask(null, null, null, options, null, Arrays.asList(sources)).call());
+    }
+
+    private Map<String, String> readIndex() throws IOException
+    {
+        Map<String, String> entities = new LinkedHashMap<String, String>();
+        EntityIndex.read(new FileInputStream(new File(output, EntityIndex.LOCATION)), entities);
+        return entities;
+    }
+
+    private static void delete(File file)
+    {
+        File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
+            {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static JavaFileObject source(String className, String annotations)
+    {
+        int separator = className.lastIndexOf('.');
+        final String content = "package " + className.substring(0, separator) + "; " + annotations + " public class "
+                + className.substring(separator + 1) + " { @javax.persistence.Id private String id; }";
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE)
+        {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors)
+            {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.classreading;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * Test case for {@link EntityIndex}.
+ */
+public class EntityIndexTest
+{
+    private File indexRoot;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        indexRoot = File.createTempFile("entityindex", "");
+        indexRoot.delete();
+        new File(indexRoot, "META-INF/kundera").mkdirs();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        new File(indexRoot, EntityIndex.LOCATION).delete();
+        new File(indexRoot, "META-INF/kundera").delete();
+        new File(indexRoot, "META-INF").delete();
+        indexRoot.delete();
+    }
+
+    @Test
+    public void testNoIndex() throws Exception
+    {
+        Assert.assertNull(EntityIndex.load(new URLClassLoader(new URL[] { indexRoot.toURI().toURL() }, null)));
+    }
+
+    @Test
+    public void testEntityClassesOfPersistenceUnit() throws Exception
+    {
+        writeIndex(indexRoot, "# comment", "com.foo.Unbound", "com.foo.First@pu1", "", "com.foo.Second@pu2");
+
+        EntityIndex index = EntityIndex.load(new URLClassLoader(new URL[] { indexRoot.toURI().toURL() }, null));
+
+        Assert.assertNotNull(index);
+        Assert.assertEquals(Arrays.asList("com.foo.Unbound", "com.foo.First"), index.getEntityClasses("pu1"));
+        Assert.assertEquals(Arrays.asList("com.foo.Unbound", "com.foo.Second"), index.getEntityClasses("pu2"));
+        Assert.assertEquals(Arrays.asList("com.foo.Unbound"), index.getEntityClasses("pu3"));
+    }
+
+    @Test
+    public void testMetamodelLoadedFromIndex() throws Exception
+    {
+        // index is read with class loader entities are loaded with.
+        File classesRoot = new File(IndexedEntity.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        new File(classesRoot, "META-INF/kundera").mkdirs();
+        writeIndex(classesRoot, IndexedEntity.class.getName() + "@entityIndexTest", PersonnelDTO.class.getName()
+                + "@kunderatest");
+
+        EntityManagerFactoryImpl emf = null;
+        try
+        {
+            emf = (EntityManagerFactoryImpl) Persistence.createEntityManagerFactory("entityIndexTest");
+
+            Map<String, EntityMetadata> entities = KunderaMetadataManager.getMetamodel(
+                    emf.getKunderaMetadataInstance(), "entityIndexTest").getEntityMetadataMap();
+            Assert.assertEquals(1, entities.size());
+            EntityMetadata m = entities.get(IndexedEntity.class.getName());
+            Assert.assertNotNull(m);
+            Assert.assertEquals("entityIndexTest", m.getPersistenceUnit());
+            Assert.assertEquals("IndexedEntity", m.getTableName());
+        }
+        finally
+        {
+            new File(classesRoot, EntityIndex.LOCATION).delete();
+            new File(classesRoot, "META-INF/kundera").delete();
+            if (emf != null)
+            {
+                emf.close();
+            }
+        }
+    }
+
+    private static void writeIndex(File root, String... lines) throws IOException
+    {
+        OutputStream out = new FileOutputStream(new File(root, EntityIndex.LOCATION));
+        try
+        {
+            for (String line : lines)
+            {
+                out.write((line + "\n").getBytes("UTF-8"));
+            }
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+}
@@ -29,8 +29,6 @@ import com.impetus.kundera.loader.GenericClientFactory;
 public class CoreTestClientFactory extends GenericClientFactory
 {
 
-    private  SchemaManager schemaManager;
-    
     @Override
     public void destroy()
     {
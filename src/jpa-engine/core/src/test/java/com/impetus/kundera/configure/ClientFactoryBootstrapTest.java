@@ -0,0 +1,176 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.configure;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.CoreTestClientFactory;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * Test case for {@link ClientFactoryBootstrap}.
+ */
+public class ClientFactoryBootstrapTest
+{
+    @Test
+    public void testParallelLoad() throws Exception
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY_PARALLELISM, "2");
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("GeneratedValue,kunderatest", props);
+
+        Assert.assertTrue(((EntityManagerFactoryImpl) emf).getReadiness().isDone());
+        EntityManager em = emf.createEntityManager();
+        Assert.assertNotNull(em.getDelegate());
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testLazyLoad() throws Exception
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY_PARALLELISM, "2");
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY_LAZY, "true");
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("GeneratedValue,kunderatest", props);
+
+        Future<Void> readiness = ((EntityManagerFactoryImpl) emf).getReadiness();
+        readiness.get(10, TimeUnit.SECONDS);
+        Assert.assertTrue(readiness.isDone());
+        Assert.assertFalse(readiness.isCancelled());
+        EntityManager em = emf.createEntityManager();
+        Assert.assertNotNull(em.getDelegate());
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testLazyLoadFailure() throws Exception
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY_LAZY, "true");
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY, FailingClientFactory.class.getName());
+
+        // failure is deferred to first use.
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("kunderatest", props);
+        try
+        {
+            ((EntityManagerFactoryImpl) emf).getReadiness().get();
+            Assert.fail("Should have failed to load client factory");
+        }
+        catch (ExecutionException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof KunderaException);
+        }
+
+        try
+        {
+            emf.createEntityManager();
+            Assert.fail("Should have failed to load client factory");
+        }
+        catch (KunderaException e)
+        {
+            Assert.assertEquals("Connection refused", e.getMessage());
+        }
+        emf.close();
+    }
+
+    @Test
+    public void testEagerLoadFailure()
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY_PARALLELISM, "2");
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY, FailingClientFactory.class.getName());
+        try
+        {
+            Persistence.createEntityManagerFactory("kunderatest", props);
+            Assert.fail("Should have failed to load client factory");
+        }
+        catch (KunderaException e)
+        {
+            Assert.assertEquals("Connection refused", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testEagerLoadFailureDestroysLoaded()
+    {
+        DestroyCountingClientFactory.destroyed.set(0);
+        Map<String, Object> failing = new HashMap<String, Object>();
+        failing.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY, FailingClientFactory.class.getName());
+        Map<String, Object> loading = new HashMap<String, Object>();
+        loading.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY, DestroyCountingClientFactory.class.getName());
+
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY_PARALLELISM, "2");
+        props.put("kunderatest", failing);
+        props.put("GeneratedValue", loading);
+        try
+        {
+            Persistence.createEntityManagerFactory("GeneratedValue,kunderatest", props);
+            Assert.fail("Should have failed to load client factory");
+        }
+        catch (KunderaException e)
+        {
+            Assert.assertEquals("Connection refused", e.getMessage());
+        }
+
+        // factory loaded alongside failed one is not left open.
+        Assert.assertEquals(1, DestroyCountingClientFactory.destroyed.get());
+    }
+
+    /**
+     * Client factory counting its destroy calls.
+     */
+    public static class DestroyCountingClientFactory extends CoreTestClientFactory
+    {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+            super.destroy();
+        }
+    }
+
+    /**
+     * Client factory failing to initialize.
+     */
+    public static class FailingClientFactory extends CoreTestClientFactory
+    {
+        @Override
+        public void initialize(Map<String, Object> puProperties)
+        {
+            throw new KunderaException("Connection refused");
+        }
+    }
+}
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.kundera.configure.schema.api;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +32,8 @@ public class CoreSchemaManager extends AbstractSchemaManager implements SchemaMa
 
     private static String currentAction;
 
+    private static List<String> validatedTables = new ArrayList<String>();
+
     public CoreSchemaManager(String clientFactory, Map<String, Object> externalProperties, final KunderaMetadata kunderaMetadata)
     {
         super(clientFactory, externalProperties, kunderaMetadata);
@@ -64,7 +67,10 @@ public class CoreSchemaManager extends AbstractSchemaManager implements SchemaMa
     @Override
     protected void validate(List<TableInfo> tableInfos)
     {
-
+        for (TableInfo tableInfo : tableInfos)
+        {
+            validatedTables.add(tableInfo.getTableName());
+        }
     }
 
     /*
@@ -126,6 +132,11 @@ public class CoreSchemaManager extends AbstractSchemaManager implements SchemaMa
         return true;
     }
 
+    static List<String> getValidatedTables()
+    {
+        return validatedTables;
+    }
+
     static boolean validateAction(String action)
     {
         if ((action.equals("create-drop") || action.equals("update") || action.equals("create"))
@@ -15,9 +15,11 @@
  */
 package com.impetus.kundera.configure.schema.api;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
 
@@ -28,6 +30,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.entity.PersonnelDTO;
 
 public class SchemaManagerTest
 {
@@ -80,6 +83,39 @@ public class SchemaManagerTest
         Assert.assertFalse(CoreSchemaManager.validateAction("drop"));
     }
 
+    @Test
+    public void testValidate()
+    {
+        CoreSchemaManager.getValidatedTables().clear();
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE, "validate");
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("kunderatest", props);
+        Assert.assertTrue(CoreSchemaManager.getValidatedTables().contains("person"));
+        emf.close();
+    }
+
+    @Test
+    public void testDeferredValidate()
+    {
+        CoreSchemaManager.getValidatedTables().clear();
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE, "validate");
+        props.put(PersistenceProperties.KUNDERA_DDL_VALIDATE_DEFERRED, "true");
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("kunderatest", props);
+        Assert.assertTrue(CoreSchemaManager.getValidatedTables().isEmpty());
+
+        EntityManager em = emf.createEntityManager();
+        em.persist(new PersonnelDTO("1", "Amresh", "Singh"));
+        Assert.assertEquals(1, Collections.frequency(CoreSchemaManager.getValidatedTables(), "person"));
+
+        // validated only once.
+        em.find(PersonnelDTO.class, "1");
+        Assert.assertEquals(1, Collections.frequency(CoreSchemaManager.getValidatedTables(), "person"));
+        Assert.assertEquals(1, CoreSchemaManager.getValidatedTables().size());
+        em.close();
+        emf.close();
+    }
+
     @After
     public void tearDown()
     {
@@ -66,10 +66,10 @@ public class ObjectGraphTest
         BillingCounter b2 = new BillingCounter();
         BillingCounter b3 = new BillingCounter();
 
-        String storeId = ObjectGraphUtils.getNodeId("1", store.getClass());
-        String b1Id = ObjectGraphUtils.getNodeId("A1", b1.getClass());
-        String b2Id = ObjectGraphUtils.getNodeId("A2", b2.getClass());
-        String b3Id = ObjectGraphUtils.getNodeId("A3", b3.getClass());
+        NodeKey storeId = ObjectGraphUtils.getNodeId("1", store.getClass());
+        NodeKey b1Id = ObjectGraphUtils.getNodeId("A1", b1.getClass());
+        NodeKey b2Id = ObjectGraphUtils.getNodeId("A2", b2.getClass());
+        NodeKey b3Id = ObjectGraphUtils.getNodeId("A3", b3.getClass());
 
         Node headNode = new Node(storeId, store, null, pc, "1", null);
 
@@ -31,7 +31,7 @@ public class ObjectGraphUtilsTest
 {
     ObjectGraphUtils utils = new ObjectGraphUtils();
 
-    String nodeId;
+    NodeKey nodeId;
 
     /**
      * @throws java.lang.Exception
@@ -59,19 +59,22 @@ public class ObjectGraphUtilsTest
     public void testGetNodeId()
     {
         nodeId = utils.getNodeId("1", PersonnelDTO.class);
-        Assert.assertEquals("com.impetus.kundera.entity.PersonnelDTO$1", nodeId);
+        Assert.assertEquals("com.impetus.kundera.entity.PersonnelDTO$1", nodeId.toString());
+        Assert.assertEquals(new NodeKey(PersonnelDTO.class, "1"), nodeId);
+        Assert.assertEquals(new NodeKey(PersonnelDTO.class, "1").hashCode(), nodeId.hashCode());
+        Assert.assertFalse(nodeId.equals(utils.getNodeId(1, PersonnelDTO.class)));
     }
 
     /**
      * Test method for
-     * {@link com.impetus.kundera.graph.ObjectGraphUtils#getEntityId(java.lang.String)}
+     * {@link com.impetus.kundera.graph.ObjectGraphUtils#getEntityId(com.impetus.kundera.graph.NodeKey)}
      * .
      */
     @Test
     public void testGetEntityId()
     {
         nodeId = utils.getNodeId("1", PersonnelDTO.class);
-        Object entityId = utils.getEntityId("com.impetus.kundera.entity.PersonnelDTO$1");
+        Object entityId = utils.getEntityId(nodeId);
         Assert.assertEquals("1", entityId.toString());
     }
 
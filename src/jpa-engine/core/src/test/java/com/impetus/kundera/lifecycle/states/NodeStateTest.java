@@ -26,6 +26,7 @@ import org.junit.Test;
 import com.impetus.kundera.entity.PersonnelDTO;
 import com.impetus.kundera.graph.BillingCounter;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.graph.StoreBuilder;
 import com.impetus.kundera.lifecycle.NodeStateContext;
 import com.impetus.kundera.lifecycle.states.NodeState.OPERATION;
@@ -65,7 +66,7 @@ public class NodeStateTest
     public void testMoveNodeToNextState()
     {
         NodeState nodeState = new TransientState();
-        NodeStateContext node = new Node("1", PersonnelDTO.class, nodeState, pc, "1", null);
+        NodeStateContext node = new Node(new NodeKey(PersonnelDTO.class, "1"), PersonnelDTO.class, nodeState, pc, "1", null);
         nodeState.moveNodeToNextState(node, new ManagedState());
         Assert.assertEquals(ManagedState.class, node.getCurrentNodeState().getClass());
     }
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * Test case for {@link KunderaMetrics}.
+ */
+public class KunderaMetricsTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    @After
+    public void tearDown()
+    {
+        if (emf != null && emf.isOpen())
+        {
+            emf.close();
+        }
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        KunderaMetrics metrics = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getMetrics();
+        Assert.assertSame(KunderaMetrics.DISABLED, metrics);
+        Assert.assertFalse(metrics.isEnabled());
+        Assert.assertEquals(0L, metrics.start());
+    }
+
+    @Test
+    public void testOperationsRecorded()
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_METRICS_RECORDER, RecordingMetricsRecorder.class.getName());
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        RecordingMetricsRecorder.instance.operations.clear();
+
+        EntityManager em = emf.createEntityManager();
+        em.persist(new PersonnelDTO("metrics_1", "Amresh", "Singh"));
+        em.clear();
+        Assert.assertNotNull(em.find(PersonnelDTO.class, "metrics_1"));
+        em.createQuery("Select p from PersonnelDTO p").getResultList();
+        em.remove(em.find(PersonnelDTO.class, "metrics_1"));
+
+        List<String> operations = RecordingMetricsRecorder.instance.operations;
+        Assert.assertTrue(operations.contains("PERSIST|kunderatest|CoreTestClient|PersonnelDTO"));
+        Assert.assertTrue(operations.contains("FIND|kunderatest|CoreTestClient|PersonnelDTO"));
+        Assert.assertTrue(operations.contains("QUERY|kunderatest|CoreTestClient|PersonnelDTO"));
+        Assert.assertTrue(operations.contains("DELETE|kunderatest|CoreTestClient|PersonnelDTO"));
+        Assert.assertTrue(operations.contains("FLUSH|null|null|null"));
+
+        Map<String, MetricsRecorder.Gauge> gauges = RecordingMetricsRecorder.instance.gauges;
+        Assert.assertTrue(gauges.containsKey(KunderaMetrics.L2_CACHE_HIT_RATIO));
+        Assert.assertEquals(0, gauges.get(KunderaMetrics.ASYNC_IN_FLIGHT).getValue().intValue());
+        Assert.assertEquals(0, gauges.get(KunderaMetrics.PERSISTENCE_CACHE_SIZE).getValue().intValue());
+        em.persist(new PersonnelDTO("metrics_2", "Vivek", "Mishra"));
+        Assert.assertEquals(1, gauges.get(KunderaMetrics.PERSISTENCE_CACHE_SIZE).getValue().intValue());
+
+        // closed entity manager is no more counted.
+        em.close();
+        Assert.assertEquals(0, gauges.get(KunderaMetrics.PERSISTENCE_CACHE_SIZE).getValue().intValue());
+
+        emf.close();
+        Assert.assertTrue(RecordingMetricsRecorder.instance.closed);
+    }
+
+    /**
+     * Recorder keeping everything recorded in memory.
+     */
+    public static class RecordingMetricsRecorder implements MetricsRecorder
+    {
+        private static RecordingMetricsRecorder instance;
+
+        private final List<String> operations = Collections.synchronizedList(new ArrayList<String>());
+
+        private final Map<String, Gauge> gauges = new HashMap<String, Gauge>();
+
+        private boolean closed;
+
+        public RecordingMetricsRecorder()
+        {
+            instance = this;
+        }
+
+        @Override
+        public void initialize(Map<String, Object> properties)
+        {
+        }
+
+        @Override
+        public void recordTime(Operation operation, String persistenceUnit, String clientType, String entity,
+                long durationNanos)
+        {
+            Assert.assertTrue(durationNanos >= 0);
+            operations.add(operation + "|" + persistenceUnit + "|" + clientType + "|" + entity);
+        }
+
+        @Override
+        public void increment(String name)
+        {
+        }
+
+        @Override
+        public void registerGauge(String name, Gauge gauge)
+        {
+            gauges.put(name, gauge);
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+    }
+}
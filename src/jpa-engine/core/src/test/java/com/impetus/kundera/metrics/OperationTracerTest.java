@@ -0,0 +1,179 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.ObjectName;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.utils.KunderaCoreUtils;
+
+/**
+ * Test case for {@link OperationTracer}.
+ */
+public class OperationTracerTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    @After
+    public void tearDown()
+    {
+        if (emf != null && emf.isOpen())
+        {
+            emf.close();
+        }
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testOperationsTraced() throws Exception
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_TRACE_THRESHOLD, "0");
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        KunderaMetrics metrics = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getMetrics();
+        Assert.assertTrue(metrics.isEnabled());
+        OperationTracer tracer = metrics.getTracer();
+        Assert.assertNotNull(tracer);
+
+        EntityManager em = emf.createEntityManager();
+        em.persist(new PersonnelDTO("trace_1", "Amresh", "Singh"));
+        em.clear();
+        List<?> results = em.createQuery("Select p from PersonnelDTO p").getResultList();
+        em.close();
+
+        List<OperationTrace> traces = tracer.getOperationTraces();
+        Assert.assertFalse(traces.isEmpty());
+        OperationTrace query = traces.get(0);
+        Assert.assertEquals(Operation.QUERY.name(), query.getOperation());
+        Assert.assertEquals(PU, query.getPersistenceUnit());
+        Assert.assertEquals("PersonnelDTO", query.getEntity());
+        Assert.assertEquals(results.size(), query.getRows());
+
+        ObjectName name = tracer.getObjectName();
+        Assert.assertNotNull(name);
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        String[] exported = (String[]) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Traces");
+        Assert.assertEquals(traces.size(), exported.length);
+
+        emf.close();
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test
+    public void testStatementsCapturedAboveThreshold()
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_TRACE_THRESHOLD, "100");
+        props.put(PersistenceProperties.KUNDERA_TRACE_CAPACITY, "2");
+        OperationTracer tracer = OperationTracer.create(props, PU);
+        try
+        {
+            Assert.assertTrue(OperationTracer.isTracing());
+            long start = OperationTracer.start();
+            KunderaCoreUtils.printQuery("db.person.find({})", false);
+            OperationTracer.bytes(128);
+
+            // fast operation is not traced.
+            tracer.onOperation(Operation.QUERY, PU, "MongoDBClient", "Person", OperationTracer.start(), 1000L, 1);
+            Assert.assertTrue(tracer.getOperationTraces().isEmpty());
+
+            tracer.onOperation(Operation.QUERY, PU, "MongoDBClient", "Person", start, 200000000L, 1);
+            OperationTrace trace = tracer.getOperationTraces().get(0);
+            Assert.assertEquals(1, trace.getStatements().size());
+            Assert.assertEquals("db.person.find({})", trace.getStatements().get(0));
+            Assert.assertEquals(128, trace.getBytes());
+
+            // statements issued before start belong to previous operation.
+            tracer.onOperation(Operation.FIND, PU, "MongoDBClient", "Person", OperationTracer.start(), 200000000L,
+                    1);
+            Assert.assertTrue(tracer.getOperationTraces().get(0).getStatements().isEmpty());
+            Assert.assertEquals(-1, tracer.getOperationTraces().get(0).getBytes());
+
+            // ring buffer keeps most recent ones.
+            tracer.onOperation(Operation.PERSIST, PU, "MongoDBClient", "Person", start, 200000000L, -1);
+            List<OperationTrace> traces = tracer.getOperationTraces();
+            Assert.assertEquals(2, traces.size());
+            Assert.assertEquals(Operation.PERSIST.name(), traces.get(0).getOperation());
+            Assert.assertEquals(Operation.FIND.name(), traces.get(1).getOperation());
+            Assert.assertEquals(3, tracer.getTracedCount());
+
+            tracer.clear();
+            Assert.assertTrue(tracer.getOperationTraces().isEmpty());
+        }
+        finally
+        {
+            tracer.close();
+        }
+    }
+
+    @Test
+    public void testBytesDoNotEvictStatements()
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_TRACE_THRESHOLD, "0");
+        OperationTracer tracer = OperationTracer.create(props, PU);
+        try
+        {
+            long start = OperationTracer.start();
+            KunderaCoreUtils.printQuery("SELECT * FROM person", false);
+
+            // a nested operation, reporting bytes per row.
+            long nested = OperationTracer.start();
+            for (int i = 0; i < 2 * OperationTracer.MAX_STATEMENTS; i++)
+            {
+                OperationTracer.bytes(10);
+            }
+            tracer.onOperation(Operation.FIND, PU, "CassandraClient", "Person", nested, 1000L, 1);
+            Assert.assertEquals(20 * OperationTracer.MAX_STATEMENTS, tracer.getOperationTraces().get(0).getBytes());
+            Assert.assertTrue(tracer.getOperationTraces().get(0).getStatements().isEmpty());
+
+            OperationTracer.bytes(5);
+            tracer.onOperation(Operation.QUERY, PU, "CassandraClient", "Person", start, 1000L, 1);
+            OperationTrace trace = tracer.getOperationTraces().get(0);
+            Assert.assertEquals(20 * OperationTracer.MAX_STATEMENTS + 5, trace.getBytes());
+            Assert.assertEquals(1, trace.getStatements().size());
+            Assert.assertEquals("SELECT * FROM person", trace.getStatements().get(0));
+        }
+        finally
+        {
+            tracer.close();
+        }
+    }
+
+    @Test
+    public void testDisabledUnlessConfigured()
+    {
+        Assert.assertNull(OperationTracer.create(new HashMap<String, Object>(), PU));
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence;
+
+import java.util.Properties;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.client.DummySchema;
+import com.impetus.kundera.client.DummyTable;
+import com.impetus.kundera.metadata.entities.AssociationEntity;
+import com.impetus.kundera.persistence.event.PersonEventDispatch;
+import com.impetus.kundera.persistence.event.PersonHandler;
+
+/**
+ * Test case for flushing clients of several persistence units concurrently,
+ * through {@link PersistenceProperties#KUNDERA_FLUSH_PARALLELISM}.
+ */
+public class ConcurrentFlushTest
+{
+    private static final String[] PUS = { "kunderatest", "keyspace" };
+
+    private EntityManagerFactory emf;
+
+    @Before
+    public void setUp()
+    {
+        emf = Persistence.createEntityManagerFactory(PUS[0] + "," + PUS[1]);
+        for (String pu : PUS)
+        {
+            // write behind holds writes of both units for a single flush.
+            Properties puProperties = getPuProperties(pu);
+            puProperties.setProperty(PersistenceProperties.KUNDERA_WRITE_BEHIND, "true");
+            puProperties.setProperty(PersistenceProperties.KUNDERA_FLUSH_PARALLELISM, "2");
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        for (String pu : PUS)
+        {
+            Properties puProperties = getPuProperties(pu);
+            puProperties.remove(PersistenceProperties.KUNDERA_WRITE_BEHIND);
+            puProperties.remove(PersistenceProperties.KUNDERA_FLUSH_PARALLELISM);
+        }
+        emf.close();
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testCallbacksAndCacheOnCallingThread()
+    {
+        PersonHandler.postPersistThread = null;
+        EntityManager em = emf.createEntityManager();
+        PersonEventDispatch person = new PersonEventDispatch("cf_1", null, null);
+        AssociationEntity association = new AssociationEntity();
+        association.setRowKey("cf_2");
+        association.setAddress("Noida");
+        em.persist(person);
+        em.persist(association);
+        Assert.assertNull(getRecord("KunderaTest", "person", "cf_1"));
+
+        em.flush();
+        Assert.assertNotNull(getRecord("KunderaTest", "person", "cf_1"));
+        Assert.assertNotNull(getRecord("testSchema", "asso_table", "cf_2"));
+        Assert.assertSame(Thread.currentThread(), PersonHandler.postPersistThread);
+
+        em.remove(person);
+        em.remove(association);
+        em.flush();
+        Assert.assertNull(getRecord("KunderaTest", "person", "cf_1"));
+        Assert.assertNull(getRecord("testSchema", "asso_table", "cf_2"));
+        Assert.assertFalse(em.contains(person));
+        Assert.assertFalse(em.contains(association));
+        em.close();
+    }
+
+    private Properties getPuProperties(String pu)
+    {
+        return ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getApplicationMetadata()
+                .getPersistenceUnitMetadata(pu).getProperties();
+    }
+
+    private Object getRecord(String schemaName, String tableName, Object pk)
+    {
+        DummySchema schema = DummyDatabase.INSTANCE.getSchema(schemaName);
+        DummyTable table = schema != null ? schema.getTable(tableName) : null;
+        return table != null ? table.getRecord(pk) : null;
+    }
+}
@@ -121,7 +121,7 @@ public class FlushStackManagerTest
 
         PersistenceDelegator pd = new PersistenceDelegator(emfImpl.getKunderaMetadataInstance(), pc);
 
-        Node headNode = pc.getMainCache().getNodeFromCache(ObjectGraphUtils.getNodeId("1", Store.class), pd);
+        Node headNode = pc.getMainCache().getNodeFromCache(ObjectGraphUtils.getNodeId(1, Store.class), pd);
 
         Assert.assertNotNull(headNode);
         Assert.assertNull(headNode.getParents());
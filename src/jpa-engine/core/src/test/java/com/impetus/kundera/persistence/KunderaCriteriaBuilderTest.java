@@ -1,5 +1,7 @@
 package com.impetus.kundera.persistence;
 
+import java.util.Arrays;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
@@ -14,7 +16,11 @@ import junit.framework.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.impetus.kundera.persistence.CriteriaQueryTranslator.CompiledCriteria;
+import com.impetus.kundera.query.KunderaQuery;
+import com.impetus.kundera.query.KunderaQuery.FilterClause;
 import com.impetus.kundera.query.Person;
+import com.impetus.kundera.query.QueryImpl;
 
 /**
  * Junit for {@link CriteriaBuilder}
@@ -315,4 +321,44 @@ public class KunderaCriteriaBuilderTest
         Assert.assertEquals(expected.trim(), actual.trim());
     }
 
+    @Test
+    public void testCompileWithParameters()
+    {
+        String expected = "Select p from Person p where p.personName = ?1 AND p.age BETWEEN ?2 AND ?3";
+        CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
+        CriteriaQuery<Person> personQuery = criteriaBuilder.createQuery(Person.class);
+        Root<Person> from = personQuery.from(Person.class);
+        personQuery.select(from.alias("p"));
+        personQuery.where(criteriaBuilder.and(criteriaBuilder.equal(from.get("personName"), "vivek"),
+                criteriaBuilder.between((Expression) from.get("age"), 10, 20)));
+        CompiledCriteria compiled = CriteriaQueryTranslator.compile(personQuery);
+        Assert.assertEquals(expected.trim(), compiled.getQuery().trim());
+        Assert.assertEquals(Arrays.<Object> asList("vivek", 10, 20), compiled.getValues());
+    }
+
+    @Test
+    public void testSameShapeSharesParsedQuery()
+    {
+        PersistenceDelegator delegator = ((EntityManagerImpl) em).getPersistenceDelegator();
+
+        KunderaQuery first = ((QueryImpl) delegator.createCriteriaQuery(personByName("vivek"))).getKunderaQuery();
+        KunderaQuery second = ((QueryImpl) delegator.createCriteriaQuery(personByName("amresh"))).getKunderaQuery();
+
+        // parsed once, but bound separately.
+        Assert.assertSame(first.getJpqlExpression(), second.getJpqlExpression());
+        Assert.assertEquals("vivek", ((FilterClause) first.getFilterClauseQueue().peek()).getValue().get(0));
+        Assert.assertEquals("amresh", ((FilterClause) second.getFilterClauseQueue().peek()).getValue().get(0));
+        Assert.assertEquals(Person.class, second.getEntityClass());
+    }
+
+    private CriteriaQuery<Person> personByName(String name)
+    {
+        CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
+        CriteriaQuery<Person> personQuery = criteriaBuilder.createQuery(Person.class);
+        Root<Person> from = personQuery.from(Person.class);
+        personQuery.select(from.alias("p"));
+        personQuery.where(criteriaBuilder.equal(from.get("personName"), name));
+        return personQuery;
+    }
+
 }
@@ -27,6 +27,7 @@ import org.junit.Test;
 import com.impetus.kundera.configure.PersistenceUnitConfiguration;
 import com.impetus.kundera.graph.BillingCounter;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.graph.ObjectGraph;
 import com.impetus.kundera.graph.ObjectGraphBuilder;
 import com.impetus.kundera.graph.Store;
@@ -83,7 +84,7 @@ public class ObjectGraphBuilderTest
 
         Assert.assertNotNull(graph);
         Node headNode = graph.getHeadNode();
-        Map<String, Node> nodeMappings = graph.getNodeMapping();
+        Map<NodeKey, Node> nodeMappings = graph.getNodeMapping();
 
         Assert.assertNotNull(headNode);
         Assert.assertNotNull(nodeMappings);
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence;
+
+import java.util.Properties;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.client.DummySchema;
+import com.impetus.kundera.client.DummyTable;
+import com.impetus.kundera.entity.PersonnelDTO;
+
+/**
+ * Test case for write behind mode of {@link PersistenceDelegator}.
+ */
+public class WriteBehindTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    private Properties puProperties;
+
+    @Before
+    public void setUp()
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        puProperties = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getApplicationMetadata()
+                .getPersistenceUnitMetadata(PU).getProperties();
+        puProperties.setProperty(PersistenceProperties.KUNDERA_WRITE_BEHIND, "true");
+    }
+
+    @After
+    public void tearDown()
+    {
+        puProperties.remove(PersistenceProperties.KUNDERA_WRITE_BEHIND);
+        puProperties.remove(PersistenceProperties.KUNDERA_WRITE_BEHIND_SIZE);
+        emf.close();
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testFlushOnExplicitFlush()
+    {
+        EntityManager em = emf.createEntityManager();
+        PersonnelDTO person = new PersonnelDTO("wb_1", "Amresh", "Singh");
+        em.persist(person);
+        person.setFirstName("Vivek");
+        em.merge(person);
+        Assert.assertNull(getRecord("wb_1"));
+
+        em.flush();
+        Assert.assertNotNull(getRecord("wb_1"));
+        Assert.assertEquals("Vivek", ((PersonnelDTO) getRecord("wb_1")).getFirstName());
+        em.close();
+    }
+
+    @Test
+    public void testFlushOnClose()
+    {
+        EntityManager em = emf.createEntityManager();
+        em.persist(new PersonnelDTO("wb_2", "Amresh", "Singh"));
+        Assert.assertNull(getRecord("wb_2"));
+        em.close();
+        Assert.assertNotNull(getRecord("wb_2"));
+    }
+
+    @Test
+    public void testPersistThenRemove()
+    {
+        EntityManager em = emf.createEntityManager();
+        PersonnelDTO person = new PersonnelDTO("wb_3", "Amresh", "Singh");
+        em.persist(person);
+        em.remove(person);
+        em.flush();
+        Assert.assertNull(getRecord("wb_3"));
+        em.close();
+    }
+
+    @Test
+    public void testFlushOnQuery()
+    {
+        EntityManager em = emf.createEntityManager();
+        em.persist(new PersonnelDTO("wb_4", "Amresh", "Singh"));
+        Assert.assertNull(getRecord("wb_4"));
+        em.createQuery("Select p from PersonnelDTO p").getResultList();
+        Assert.assertNotNull(getRecord("wb_4"));
+        em.close();
+    }
+
+    @Test
+    public void testFlushOnSize()
+    {
+        puProperties.setProperty(PersistenceProperties.KUNDERA_WRITE_BEHIND_SIZE, "2");
+        EntityManager em = emf.createEntityManager();
+        em.persist(new PersonnelDTO("wb_5", "Amresh", "Singh"));
+        Assert.assertNull(getRecord("wb_5"));
+        em.persist(new PersonnelDTO("wb_6", "Amresh", "Singh"));
+        Assert.assertNotNull(getRecord("wb_5"));
+        Assert.assertNotNull(getRecord("wb_6"));
+        em.close();
+    }
+
+    private Object getRecord(Object pk)
+    {
+        DummySchema schema = DummyDatabase.INSTANCE.getSchema("KunderaTest");
+        DummyTable table = schema != null ? schema.getTable("person") : null;
+        return table != null ? table.getRecord(pk) : null;
+    }
+}
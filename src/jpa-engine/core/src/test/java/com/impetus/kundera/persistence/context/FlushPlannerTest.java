@@ -0,0 +1,135 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence.context;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
+import com.impetus.kundera.graph.NodeLink;
+
+/**
+ * Test case for {@link FlushPlanner}
+ */
+public class FlushPlannerTest
+{
+    private final PersistenceCache pc = new PersistenceCache();
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private Client cassandra;
+
+    private Client mongo;
+
+    @Before
+    public void setUp()
+    {
+        emf = Persistence.createEntityManagerFactory("GeneratedValue,kunderatest");
+        em = emf.createEntityManager();
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        cassandra = clients.get("GeneratedValue");
+        mongo = clients.get("kunderatest");
+    }
+
+    @After
+    public void tearDown()
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testIndependentClients()
+    {
+        Node a1 = newNode("A1", cassandra);
+        Node b1 = newNode("B1", mongo);
+        Node a2 = newNode("A2", cassandra);
+        Node b2 = newNode("B2", mongo);
+
+        List<Map<Client, List<Node>>> stages = FlushPlanner.plan(Arrays.asList(a1, b1, a2, b2));
+
+        Assert.assertEquals(1, stages.size());
+        Assert.assertEquals(Arrays.asList(a1, a2), stages.get(0).get(cassandra));
+        Assert.assertEquals(Arrays.asList(b1, b2), stages.get(0).get(mongo));
+    }
+
+    @Test
+    public void testDependentClients()
+    {
+        Node a1 = newNode("A1", cassandra);
+        Node a2 = newNode("A2", cassandra);
+        Node b1 = newNode("B1", mongo);
+        Node a3 = newNode("A3", cassandra);
+
+        // B1 refers to A1, so is flushed after it.
+        link(b1, a1);
+
+        List<Map<Client, List<Node>>> stages = FlushPlanner.plan(Arrays.asList(a1, a2, b1, a3));
+
+        Assert.assertEquals(2, stages.size());
+        Assert.assertEquals(Arrays.asList(a1, a2), stages.get(0).get(cassandra));
+        Assert.assertNull(stages.get(0).get(mongo));
+        Assert.assertEquals(Arrays.asList(b1), stages.get(1).get(mongo));
+        Assert.assertEquals(Arrays.asList(a3), stages.get(1).get(cassandra));
+    }
+
+    @Test
+    public void testDependentNodesOfSameClient()
+    {
+        Node a1 = newNode("A1", cassandra);
+        Node a2 = newNode("A2", cassandra);
+        link(a2, a1);
+
+        List<Map<Client, List<Node>>> stages = FlushPlanner.plan(Arrays.asList(a1, a2));
+
+        Assert.assertEquals(1, stages.size());
+        Assert.assertEquals(Arrays.asList(a1, a2), stages.get(0).get(cassandra));
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        Assert.assertTrue(FlushPlanner.plan(Arrays.<Node> asList()).isEmpty());
+    }
+
+    private Node newNode(String id, Client client)
+    {
+        Node node = new Node(new NodeKey(Object.class, id), Object.class, null, pc, id, null);
+        node.setClient(client);
+        return node;
+    }
+
+    private void link(Node child, Node parent)
+    {
+        NodeLink link = new NodeLink(parent.getNodeId(), child.getNodeId());
+        parent.addChildNode(link, child);
+        child.addParentNode(link, parent);
+    }
+}
@@ -23,6 +23,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 
 /**
  * Test case for {@link FlushStack}
@@ -59,10 +60,10 @@ public class FlushStackTest
     public void testFlushStackPush()
     {
         PersistenceCache pc = new PersistenceCache();
-        fs.push(new Node("A", new Object().getClass(), null, pc, "A", null));
-        fs.push(new Node("B", new Object().getClass(), null, pc, "B", null));
-        fs.push(new Node("C", new Object().getClass(), null, pc, "C", null));
-        fs.push(new Node("D", new Object().getClass(), null, pc, "D", null));
+        fs.push(new Node(new NodeKey(Object.class, "A"), new Object().getClass(), null, pc, "A", null));
+        fs.push(new Node(new NodeKey(Object.class, "B"), new Object().getClass(), null, pc, "B", null));
+        fs.push(new Node(new NodeKey(Object.class, "C"), new Object().getClass(), null, pc, "C", null));
+        fs.push(new Node(new NodeKey(Object.class, "D"), new Object().getClass(), null, pc, "D", null));
 
         Assert.assertEquals(4, fs.size());
     }
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence.context;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
+import com.impetus.kundera.lifecycle.states.ManagedState;
+import com.impetus.kundera.lifecycle.states.NodeState;
+import com.impetus.kundera.lifecycle.states.RemovedState;
+
+/**
+ * Test case for {@link WriteBehindQueue}
+ */
+public class WriteBehindQueueTest
+{
+    private final PersistenceCache pc = new PersistenceCache();
+
+    private final WriteBehindQueue queue = new WriteBehindQueue(3, 60000L);
+
+    @Test
+    public void testInsertThenUpdate()
+    {
+        Node insert = newNode("A", new ManagedState(), false);
+        Node update = newNode("A", new ManagedState(), true);
+
+        Assert.assertTrue(queue.offer(insert));
+        Assert.assertTrue(queue.offer(update));
+
+        List<Node> nodes = queue.drain();
+        Assert.assertEquals(1, nodes.size());
+        Assert.assertSame(update, nodes.get(0));
+        Assert.assertFalse(update.isUpdate());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testUpdateThenUpdate()
+    {
+        Node first = newNode("A", new ManagedState(), true);
+        Node second = newNode("A", new ManagedState(), true);
+
+        queue.offer(first);
+        queue.offer(second);
+
+        List<Node> nodes = queue.drain();
+        Assert.assertEquals(Arrays.asList(second), nodes);
+        Assert.assertSame(second, nodes.get(0));
+        Assert.assertTrue(second.isUpdate());
+    }
+
+    @Test
+    public void testInsertThenDelete()
+    {
+        queue.offer(newNode("A", new ManagedState(), false));
+        Node b = newNode("B", new ManagedState(), false);
+        queue.offer(b);
+        queue.offer(newNode("A", new RemovedState(), false));
+
+        Assert.assertEquals(Arrays.asList(b), queue.drain());
+    }
+
+    @Test
+    public void testUpdateThenDelete()
+    {
+        queue.offer(newNode("A", new ManagedState(), true));
+        Node delete = newNode("A", new RemovedState(), false);
+        queue.offer(delete);
+
+        List<Node> nodes = queue.drain();
+        Assert.assertEquals(1, nodes.size());
+        Assert.assertSame(delete, nodes.get(0));
+    }
+
+    @Test
+    public void testWriteAfterDelete()
+    {
+        queue.offer(newNode("A", new RemovedState(), false));
+        Assert.assertFalse(queue.offer(newNode("A", new ManagedState(), false)));
+        Assert.assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testOrderOfFirstWrite()
+    {
+        Node a = newNode("A", new ManagedState(), false);
+        Node b = newNode("B", new ManagedState(), false);
+        Node a2 = newNode("A", new ManagedState(), true);
+        queue.offer(a);
+        queue.offer(b);
+        queue.offer(a2);
+
+        Assert.assertEquals(Arrays.asList(a2, b), queue.drain());
+    }
+
+    @Test
+    public void testDueOnSize()
+    {
+        queue.offer(newNode("A", new ManagedState(), false));
+        queue.offer(newNode("B", new ManagedState(), false));
+        Assert.assertFalse(queue.isDue());
+        queue.offer(newNode("B", new ManagedState(), true));
+        Assert.assertFalse(queue.isDue());
+        queue.offer(newNode("C", new ManagedState(), false));
+        Assert.assertTrue(queue.isDue());
+    }
+
+    @Test
+    public void testDueOnInterval() throws InterruptedException
+    {
+        WriteBehindQueue queue = new WriteBehindQueue(100, 10L);
+        Assert.assertFalse(queue.isDue());
+        queue.offer(newNode("A", new ManagedState(), false));
+        Thread.sleep(20);
+        Assert.assertTrue(queue.isDue());
+        queue.drain();
+        Assert.assertFalse(queue.isDue());
+    }
+
+    private Node newNode(String id, NodeState state, boolean update)
+    {
+        Node node = new Node(new NodeKey(Object.class, id), Object.class, state, pc, id, null);
+        node.setUpdate(update);
+        return node;
+    }
+}
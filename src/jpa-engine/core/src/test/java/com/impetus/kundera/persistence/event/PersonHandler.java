@@ -21,6 +21,8 @@ import javax.persistence.PrePersist;
 
 public class PersonHandler
 {
+    /** Thread last post persist callback ran on. */
+    public static volatile Thread postPersistThread;
 
     @PrePersist
     public void handledPrePersist(PersonEventDispatch user)
@@ -32,6 +34,7 @@ public class PersonHandler
     public void handledPostPersist(PersonEventDispatch user)
     {
         user.setLastName("Singh");
+        postPersistThread = Thread.currentThread();
     }
     
     @PostLoad
@@ -32,6 +32,7 @@ import com.impetus.kundera.entity.PersonnelDTO;
 import com.impetus.kundera.entity.album.AlbumUni_1_M_1_M;
 import com.impetus.kundera.entity.photographer.PhotographerUni_1_M_1_M;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.persistence.context.CacheBase;
 import com.impetus.kundera.property.accessor.StringAccessor;
 import com.impetus.kundera.utils.KunderaCoreUtils;
@@ -338,7 +339,7 @@ public class PropertyAccessorHelperTest
             Assert.assertNotNull(genericClasses);
             Assert.assertFalse(genericClasses.isEmpty());
             Assert.assertEquals(2, genericClasses.size());
-            Assert.assertEquals(String.class, genericClasses.get(0));
+            Assert.assertEquals(NodeKey.class, genericClasses.get(0));
             Assert.assertEquals(Node.class, genericClasses.get(1));
                         
         }
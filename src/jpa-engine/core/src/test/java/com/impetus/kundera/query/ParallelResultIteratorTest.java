@@ -0,0 +1,222 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.query;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.impetus.kundera.KunderaException;
+
+/**
+ * Test case for {@link ParallelResultIterator}.
+ */
+public class ParallelResultIteratorTest
+{
+
+    @Test
+    public void testAllSplitsScanned()
+    {
+        List<QuerySplit<Integer>> splits = new ArrayList<QuerySplit<Integer>>();
+        for (int i = 0; i < 8; i++)
+        {
+            splits.add(new RangeSplit(i * 500, (i + 1) * 500));
+        }
+
+        // queue smaller than a split, so workers have to wait on consumer.
+        ParallelResultIterator<Integer> iterator = new ParallelResultIterator<Integer>(splits, 3, 10, 0);
+        Set<Integer> results = new HashSet<Integer>();
+        while (iterator.hasNext())
+        {
+            Assert.assertTrue(results.add(iterator.next()));
+        }
+        Assert.assertEquals(4000, results.size());
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testMaxResults()
+    {
+        List<QuerySplit<Integer>> splits = new ArrayList<QuerySplit<Integer>>();
+        splits.add(new RangeSplit(0, 1000));
+        splits.add(new RangeSplit(1000, 2000));
+
+        ParallelResultIterator<Integer> iterator = new ParallelResultIterator<Integer>(splits, 2, 10, 25);
+        Assert.assertEquals(20, iterator.next(20).size());
+        Assert.assertEquals(5, iterator.next(20).size());
+        Assert.assertTrue(iterator.next(20).isEmpty());
+    }
+
+    @Test
+    public void testSplitFailure()
+    {
+        List<QuerySplit<Integer>> splits = new ArrayList<QuerySplit<Integer>>();
+        splits.add(new RangeSplit(0, 10));
+        splits.add(new QuerySplit<Integer>()
+        {
+            @Override
+            public Iterator<Integer> open()
+            {
+                throw new IllegalStateException("split unavailable");
+            }
+        });
+
+        ParallelResultIterator<Integer> iterator = new ParallelResultIterator<Integer>(splits, 2, 10, 0);
+        try
+        {
+            while (iterator.hasNext())
+            {
+                iterator.next();
+            }
+            Assert.fail("Should have failed with split failure");
+        }
+        catch (KunderaException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testCloseStopsScans() throws InterruptedException
+    {
+        final CountDownLatch closedScans = new CountDownLatch(2);
+        List<QuerySplit<Integer>> splits = new ArrayList<QuerySplit<Integer>>();
+        for (int i = 0; i < 2; i++)
+        {
+            splits.add(new QuerySplit<Integer>()
+            {
+                @Override
+                public Iterator<Integer> open()
+                {
+                    return new EndlessScan(closedScans);
+                }
+            });
+        }
+
+        CloseableResultIterator<Integer> iterator = new ParallelResultIterator<Integer>(splits, 2, 10, 0);
+        Assert.assertEquals(5, iterator.next(5).size());
+        iterator.close();
+
+        // scanners of both splits are released although neither ran out.
+        Assert.assertTrue(closedScans.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testIdleTimeoutStopsScans() throws InterruptedException
+    {
+        final CountDownLatch closedScans = new CountDownLatch(2);
+        List<QuerySplit<Integer>> splits = new ArrayList<QuerySplit<Integer>>();
+        for (int i = 0; i < 2; i++)
+        {
+            splits.add(new QuerySplit<Integer>()
+            {
+                @Override
+                public Iterator<Integer> open()
+                {
+                    return new EndlessScan(closedScans);
+                }
+            });
+        }
+
+        // consumer gives up without closing iterator.
+        ParallelResultIterator<Integer> iterator = new ParallelResultIterator<Integer>(splits, 2, 10, 0, 200);
+        Assert.assertEquals(5, iterator.next(5).size());
+        Assert.assertTrue(closedScans.await(5, TimeUnit.SECONDS));
+
+        try
+        {
+            iterator.hasNext();
+            Assert.fail("Should have failed on idle timeout");
+        }
+        catch (KunderaException e)
+        {
+            Assert.assertTrue(e.getMessage().contains("200 ms"));
+        }
+    }
+
+    /**
+     * Endless scan recording when it is closed.
+     */
+    private static class EndlessScan implements Iterator<Integer>, Closeable
+    {
+        private final CountDownLatch closedScans;
+
+        private int next;
+
+        EndlessScan(CountDownLatch closedScans)
+        {
+            this.closedScans = closedScans;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return true;
+        }
+
+        @Override
+        public Integer next()
+        {
+            return next++;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close()
+        {
+            closedScans.countDown();
+        }
+    }
+
+    private static class RangeSplit implements QuerySplit<Integer>
+    {
+        private final int from;
+
+        private final int to;
+
+        RangeSplit(int from, int to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<Integer> open()
+        {
+            List<Integer> values = new ArrayList<Integer>(to - from);
+            for (int i = from; i < to; i++)
+            {
+                values.add(i);
+            }
+            return values.iterator();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.service.policy;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link LatencyAwareBalancingPolicy}.
+ */
+public class LatencyAwareBalancingPolicyTest
+{
+    private Map<String, Object> pools;
+
+    private Map<Object, Integer> active;
+
+    private LatencyAwareBalancingPolicy balancingPolicy;
+
+    @Before
+    public void setUp()
+    {
+        pools = new LinkedHashMap<String, Object>();
+        pools.put("first", new Object());
+        pools.put("second", new Object());
+        pools.put("third", new Object());
+
+        active = new HashMap<Object, Integer>();
+        balancingPolicy = new LatencyAwareBalancingPolicy(0.5)
+        {
+            @Override
+            protected int getActive(Object pool)
+            {
+                return active.containsKey(pool) ? active.get(pool) : 0;
+            }
+        };
+    }
+
+    @Test
+    public void testUnsampledPoolIsPreferred()
+    {
+        balancingPolicy.recordLatency(pools.get("first"), 1000);
+        balancingPolicy.recordLatency(pools.get("third"), 1000);
+
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertSame(pools.get("second"), balancingPolicy.getPool(pools.values()));
+        }
+    }
+
+    @Test
+    public void testLeastLoadedPool()
+    {
+        balancingPolicy.recordLatency(pools.get("first"), 1000);
+        balancingPolicy.recordLatency(pools.get("second"), 3000);
+        balancingPolicy.recordLatency(pools.get("third"), 2000);
+
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertSame(pools.get("first"), balancingPolicy.getPool(pools.values()));
+        }
+
+        // first is busier than third now.
+        active.put(pools.get("first"), 3);
+        Assert.assertSame(pools.get("third"), balancingPolicy.getPool(pools.values()));
+
+        // third slows down.
+        balancingPolicy.recordLatency(pools.get("third"), 10000);
+        Assert.assertEquals(6000d, balancingPolicy.getLatency(pools.get("third")));
+        Assert.assertSame(pools.get("second"), balancingPolicy.getPool(pools.values()));
+    }
+
+    @Test
+    public void testRecoveryAfterSpike() throws InterruptedException
+    {
+        balancingPolicy = new LatencyAwareBalancingPolicy(0.5, 100)
+        {
+            @Override
+            protected int getActive(Object pool)
+            {
+                return 0;
+            }
+        };
+        for (Object pool : pools.values())
+        {
+            balancingPolicy.recordLatency(pool, 1000);
+        }
+
+        // first spikes, so it is left aside.
+        balancingPolicy.recordLatency(pools.get("first"), 1000000);
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertNotSame(pools.get("first"), balancingPolicy.getPool(pools.values()));
+        }
+
+        // others keep being sampled, first is probed again once its sample is
+        // too old.
+        Thread.sleep(150);
+        balancingPolicy.recordLatency(pools.get("second"), 1000);
+        balancingPolicy.recordLatency(pools.get("third"), 1000);
+        Assert.assertSame(pools.get("first"), balancingPolicy.getPool(pools.values()));
+
+        // and its average starts over from new sample.
+        balancingPolicy.recordLatency(pools.get("first"), 500);
+        Assert.assertEquals(500d, balancingPolicy.getLatency(pools.get("first")));
+        Assert.assertSame(pools.get("first"), balancingPolicy.getPool(pools.values()));
+    }
+
+    @Test
+    public void testRemovedPoolIsResampled()
+    {
+        for (Object pool : pools.values())
+        {
+            balancingPolicy.recordLatency(pool, 1000);
+        }
+        balancingPolicy.remove(pools.get("third"));
+
+        Assert.assertNull(balancingPolicy.getLatency(pools.get("third")));
+        Assert.assertSame(pools.get("third"), balancingPolicy.getPool(pools.values()));
+    }
+}
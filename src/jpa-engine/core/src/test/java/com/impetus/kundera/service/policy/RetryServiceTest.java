@@ -34,6 +34,18 @@ public class RetryServiceTest
         Assert.assertNotNull(retryService.getExecutorService());
     }
 
+    @Test
+    public void testRetryDelayBacksOff()
+    {
+        TestRetryService retryService = new TestRetryService(10);
+
+        Assert.assertEquals(10, retryService.getRetryDelay(0));
+        Assert.assertEquals(20, retryService.getRetryDelay(1));
+        Assert.assertEquals(80, retryService.getRetryDelay(3));
+        Assert.assertEquals(160, retryService.getRetryDelay(4));
+        Assert.assertEquals(160, retryService.getRetryDelay(100));
+    }
+
     
     class TestRetryService extends RetryService
     {
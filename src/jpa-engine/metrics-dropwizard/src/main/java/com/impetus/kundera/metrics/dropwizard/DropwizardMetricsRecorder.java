@@ -0,0 +1,99 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.metrics.dropwizard;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.impetus.kundera.metrics.MetricsRecorder;
+
+/**
+ * {@link MetricsRecorder} publishing into a shared Dropwizard
+ * {@link MetricRegistry}, named by {@link #REGISTRY_NAME} property (defaults to
+ * "kundera"), so that reporters configured by application pick them up.
+ *
+ * Timers are named kundera.&lt;operation&gt;.&lt;persistence
+ * unit&gt;.&lt;client&gt;.&lt;entity&gt;, e.g.
+ * kundera.persist.mongoTest.MongoDBClient.Person.
+ */
+public class DropwizardMetricsRecorder implements MetricsRecorder
+{
+    /** Property holding name of shared registry. */
+    public static final String REGISTRY_NAME = "kundera.metrics.registry";
+
+    private static final String PREFIX = "kundera";
+
+    private MetricRegistry registry;
+
+    /** Names of metrics registered by this recorder, removed on close. */
+    private final Set<String> names = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    @Override
+    public void initialize(Map<String, Object> properties)
+    {
+        Object registryName = properties.get(REGISTRY_NAME);
+        registry = SharedMetricRegistries.getOrCreate(registryName != null ? registryName.toString() : PREFIX);
+    }
+
+    @Override
+    public void recordTime(Operation operation, String persistenceUnit, String clientType, String entity,
+            long durationNanos)
+    {
+        String name = MetricRegistry.name(PREFIX, operation.name().toLowerCase(), persistenceUnit, clientType,
+                entity);
+        names.add(name);
+        registry.timer(name).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void increment(String name)
+    {
+        String counter = MetricRegistry.name(PREFIX, name);
+        names.add(counter);
+        registry.counter(counter).inc();
+    }
+
+    @Override
+    public void registerGauge(String name, final Gauge gauge)
+    {
+        String gaugeName = MetricRegistry.name(PREFIX, name);
+        registry.remove(gaugeName);
+        registry.register(gaugeName, new com.codahale.metrics.Gauge<Number>()
+        {
+            @Override
+            public Number getValue()
+            {
+                return gauge.getValue();
+            }
+        });
+        names.add(gaugeName);
+    }
+
+    @Override
+    public void close()
+    {
+        for (String name : names)
+        {
+            registry.remove(name);
+        }
+        names.clear();
+    }
+}
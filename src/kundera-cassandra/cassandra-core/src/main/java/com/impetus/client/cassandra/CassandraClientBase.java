@@ -77,6 +77,7 @@ import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.common.CassandraUtilities;
 import com.impetus.client.cassandra.config.CassandraPropertyReader;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
+import com.impetus.client.cassandra.index.InvertedIndexHandlerBase;
 import com.impetus.client.cassandra.schemamanager.CassandraDataTranslator;
 import com.impetus.client.cassandra.schemamanager.CassandraValidationClassMapper;
 import com.impetus.client.cassandra.thrift.CQLTranslator;
@@ -149,6 +150,9 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     /** batch size. */
     private int batchSize;
 
+    /** rows read per multiget call. */
+    private int multiGetChunkSize = CassandraConstants.DEFAULT_MULTIGET_CHUNK_SIZE;
+
     /** The cql client. */
     protected final CQLClient cqlClient;
 
@@ -176,6 +180,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         this.cqlClient = new CQLClient();
         this.generator = generator;
         setBatchSize(persistenceUnit, this.externalProperties);
+        setMultiGetChunkSize(persistenceUnit, this.externalProperties);
         populateCqlVersion(externalProperties);
     }
 
@@ -666,7 +671,8 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
 
             List<ManagedType> subTypes = ((AbstractManagedType) entityType).getSubManagedType();
 
-            if (!subTypes.isEmpty()) {
+            // a row told apart by discriminator is read once, as its sub type.
+            if (!subTypes.isEmpty() && getDataHandler().getDiscriminatorColumn(metadata) == null) {
                 for (ManagedType subEntity : subTypes) {
                     EntityMetadata subEntityMetadata =
                         KunderaMetadataManager.getEntityMetadata(kunderaMetadata, subEntity.getJavaType());
@@ -828,7 +834,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
 
         List<AbstractManagedType> subManagedType = ((AbstractManagedType) entityType).getSubManagedType();
 
-        if (subManagedType.isEmpty()) {
+        if (subManagedType.isEmpty() || dataHandler.getDiscriminatorColumn(entityMetadata) != null) {
             entities.addAll(cqlClient.executeQuery(clazz, relationalField, dataHandler, true, isNative, cqlQuery));
         } else {
             for (AbstractManagedType subEntity : subManagedType) {
@@ -1624,10 +1630,20 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                             mutationMap = prepareMutation(metadata, entity, id, relationHolders, mutationMap);
 
                             recordsExecuted += mutationMap.size();
+                            prepareIndexMutation(metadata, entity, mutationMap);
                             if (!batchMutationMap.containsKey(metadata.getEntityClazz())) {
                                 batchMutationMap.put(metadata.getEntityClazz(), mutationMap);
                             } else {
-                                batchMutationMap.get(metadata.getEntityClazz()).putAll(mutationMap);
+                                // index rows are shared among entities, merge rather than replace them.
+                                Map<ByteBuffer, Map<String, List<Mutation>>> classMutationMap =
+                                    batchMutationMap.get(metadata.getEntityClazz());
+                                for (ByteBuffer rowKey : mutationMap.keySet()) {
+                                    for (Map.Entry<String, List<Mutation>> cfMutations : mutationMap.get(rowKey)
+                                        .entrySet()) {
+                                        InvertedIndexHandlerBase.getMutations(classMutationMap, rowKey,
+                                            cfMutations.getKey()).addAll(cfMutations.getValue());
+                                    }
+                                }
                             }
 
                             indexNode(node, metadata);
@@ -1771,6 +1787,22 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         return mutationMap;
     }
 
+    /**
+     * Adds mutations of inverted index rows of given entity to mutation map, so
+     * that they are written in same batch_mutate as entity. Does nothing
+     * unless overridden by a thrift based client.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param entity
+     *            the entity
+     * @param mutationMap
+     *            the mutation map
+     */
+    protected void prepareIndexMutation(EntityMetadata entityMetadata, Object entity,
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap) {
+    }
+
     /**
      * Check on batch limit.
      */
@@ -1911,6 +1943,51 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         }
     }
 
+    /**
+     * Sets the multiget chunk size.
+     * 
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param puProperties
+     *            the pu properties
+     */
+    private void setMultiGetChunkSize(String persistenceUnit, Map<String, Object> puProperties) {
+        Object chunkSize =
+            puProperties != null ? puProperties.get(CassandraConstants.MULTIGET_CHUNK_SIZE) : null;
+        if (chunkSize == null) {
+            chunkSize = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnit)
+                .getProperty(CassandraConstants.MULTIGET_CHUNK_SIZE);
+        }
+        if (chunkSize != null) {
+            setMultiGetChunkSize(chunkSize.toString());
+        }
+    }
+
+    /**
+     * Sets the multiget chunk size.
+     * 
+     * @param chunkSize
+     *            the new multiget chunk size
+     */
+    void setMultiGetChunkSize(String chunkSize) {
+        if (!StringUtils.isBlank(chunkSize)) {
+            if (!StringUtils.isNumeric(chunkSize.trim()) || Integer.valueOf(chunkSize.trim()) == 0) {
+                throw new IllegalArgumentException(CassandraConstants.MULTIGET_CHUNK_SIZE
+                    + " property must be numeric and > 0.");
+            }
+            multiGetChunkSize = Integer.valueOf(chunkSize.trim());
+        }
+    }
+
+    /**
+     * Gets number of rows read per multiget call.
+     * 
+     * @return the multiget chunk size
+     */
+    public int getMultiGetChunkSize() {
+        return multiGetChunkSize;
+    }
+
     /**
      * Populate cql version.
      * 
@@ -2037,6 +2114,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
 
                 if (result != null && (result.getRows() != null || result.getRowsSize() > 0)) {
                     returnedEntities = new ArrayList<Object>(result.getRowsSize());
+                    String discriminatorColumn = dataHandler.getDiscriminatorColumn(entityMetadata);
                     Iterator<CqlRow> iter = result.getRowsIterator();
                     while (iter.hasNext()) {
                         Object e = null;
@@ -2044,16 +2122,26 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                         CqlRow row = iter.next();
                         Object rowKey = null;
 
+                        // sub type of row, if any, is told by its discriminator.
+                        EntityMetadata rowMetadata =
+                            dataHandler.getSubEntityMetadata(entityMetadata, discriminatorColumn, row.getColumns());
+                        List<String> rowRelationalField =
+                            rowMetadata != entityMetadata && rowMetadata != null ? rowMetadata.getRelationNames()
+                                : relationalField;
+
                         ThriftRow thriftRow = null;
                         thriftRow = new ThriftRow(rowKey, entityMetadata.getTableName(), row.getColumns(),
                             new ArrayList<SuperColumn>(0), new ArrayList<CounterColumn>(0),
                             new ArrayList<CounterSuperColumn>(0));
                         // send cqlmetadata
 
-                        e = dataHandler.populateEntity(thriftRow, entityMetadata, KunderaCoreUtils.getEntity(e),
-                            relationalField, relationalField != null && !relationalField.isEmpty());
+                        if (rowMetadata != null) {
+                            e = dataHandler.populateEntity(thriftRow, rowMetadata, KunderaCoreUtils.getEntity(e),
+                                rowRelationalField, rowRelationalField != null && !rowRelationalField.isEmpty());
 
-                        e = populateSecondaryTableData(relationalField, dataHandler, isCql3Enabled, entityMetadata, e);
+                            e = populateSecondaryTableData(rowRelationalField, dataHandler, isCql3Enabled, rowMetadata,
+                                e);
+                        }
 
                         if (e != null) {
                             returnedEntities.add(e);
@@ -2282,7 +2370,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         List<AbstractManagedType> subManagedType = ((AbstractManagedType) entityType).getSubManagedType();
 
         try {
-            if (!subManagedType.isEmpty()) {
+            if (!subManagedType.isEmpty() && getDataHandler().getDiscriminatorColumn(metadata) == null) {
                 for (AbstractManagedType subEntity : subManagedType) {
                     EntityMetadata subEntityMetadata =
                         KunderaMetadataManager.getEntityMetadata(kunderaMetadata, subEntity.getJavaType());
@@ -96,6 +96,10 @@ class CassandraClientProperties
                     {
                         this.cassandraClientBase.setBatchSize(value.toString());
                     }
+                    else if (key.equals(CassandraConstants.MULTIGET_CHUNK_SIZE))
+                    {
+                        this.cassandraClientBase.setMultiGetChunkSize(value.toString());
+                    }
 
                     // Add more properties as needed
                 }
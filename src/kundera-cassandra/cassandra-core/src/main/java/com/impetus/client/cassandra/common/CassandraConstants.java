@@ -95,4 +95,9 @@ public interface CassandraConstants
     public static final String SOCKET_TIMEOUT = "socket.timeout";
 
     public static final String MAX_WAIT = "max.wait";
+
+    /** Number of rows read per multiget_slice call by Thrift based clients. */
+    public static final String MULTIGET_CHUNK_SIZE = "multiget.chunk.size";
+
+    public static final int DEFAULT_MULTIGET_CHUNK_SIZE = 100;
 }
@@ -18,6 +18,7 @@ package com.impetus.client.cassandra.datahandler;
 import java.util.Collection;
 import java.util.List;
 
+import org.apache.cassandra.thrift.Column;
 import org.apache.cassandra.thrift.ConsistencyLevel;
 import org.apache.cassandra.thrift.SuperColumn;
 
@@ -109,6 +110,40 @@ public interface CassandraDataHandler
      */
     Object populateEntity(ThriftRow tr, EntityMetadata m, Object entity, List<String> relationNames, boolean isWrapReq);
 
+    /**
+     * Gets the discriminator column shared by sub types of entity.
+     *
+     * @param m the m
+     * @return the discriminator column, null if entity has no sub types, they
+     *         are not told apart by one or are not held in a standard column
+     *         family.
+     */
+    String getDiscriminatorColumn(EntityMetadata m);
+
+    /**
+     * Resolves metadata of sub type a row belongs to, out of its discriminator
+     * column.
+     *
+     * @param m the m
+     * @param columns the columns of row
+     * @return m if entity has no discriminator column or row holds no
+     *         discriminator value, metadata of sub type, or null if row holds
+     *         an unknown one.
+     */
+    EntityMetadata getSubEntityMetadata(EntityMetadata m, List<Column> columns);
+
+    /**
+     * Resolves metadata of sub type a row belongs to, out of given
+     * discriminator column, looked up once for all rows of a read.
+     *
+     * @param m the m
+     * @param discriminatorColumn the discriminator column, as given by
+     *            {@link #getDiscriminatorColumn(EntityMetadata)}
+     * @param columns the columns of row
+     * @return as {@link #getSubEntityMetadata(EntityMetadata, List)}
+     */
+    EntityMetadata getSubEntityMetadata(EntityMetadata m, String discriminatorColumn, List<Column> columns);
+
     /**
      * To thrift row.
      *
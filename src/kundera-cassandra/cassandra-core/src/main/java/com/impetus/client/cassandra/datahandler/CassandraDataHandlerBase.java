@@ -16,6 +16,7 @@
 package com.impetus.client.cassandra.datahandler;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -27,10 +28,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import javax.persistence.InheritanceType;
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EmbeddableType;
 import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.PluralAttribute;
 
 import org.apache.cassandra.cql3.FieldIdentifier;
@@ -73,8 +76,10 @@ import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata.Type;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
+import com.impetus.kundera.metrics.OperationTracer;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessor;
@@ -419,7 +424,80 @@ public abstract class CassandraDataHandlerBase
         // timestamp to use in thrift column objects
         long timestamp = generator.getTimestamp();
         // Add super columns to thrift row
-        return onColumnOrSuperColumnThriftRow(/* tr, */m, e, id, timestamp, columnTTLs);
+        Collection<ThriftRow> thriftRows = onColumnOrSuperColumnThriftRow(/* tr, */m, e, id, timestamp, columnTTLs);
+        if (OperationTracer.isTracing())
+        {
+            long bytes = 0;
+            for (ThriftRow tr : thriftRows)
+            {
+                bytes += sizeOf(tr);
+            }
+            OperationTracer.bytes(bytes);
+        }
+        return thriftRows;
+    }
+
+    /**
+     * Returns size of column names and values of given row, as read or
+     * written.
+     * 
+     * @param tr
+     *            the thrift row
+     * @return size in bytes
+     */
+    static long sizeOf(ThriftRow tr)
+    {
+        long bytes = sizeOf(tr.getColumns());
+        if (tr.getSuperColumns() != null)
+        {
+            for (SuperColumn superColumn : tr.getSuperColumns())
+            {
+                bytes += remaining(superColumn.name) + sizeOf(superColumn.getColumns());
+            }
+        }
+        if (tr.getCounterColumns() != null)
+        {
+            for (CounterColumn counterColumn : tr.getCounterColumns())
+            {
+                bytes += remaining(counterColumn.name) + 8;
+            }
+        }
+        if (tr.getCounterSuperColumns() != null)
+        {
+            for (CounterSuperColumn counterSuperColumn : tr.getCounterSuperColumns())
+            {
+                bytes += remaining(counterSuperColumn.name) + 8 * counterSuperColumn.getColumnsSize();
+                if (counterSuperColumn.getColumns() != null)
+                {
+                    for (CounterColumn counterColumn : counterSuperColumn.getColumns())
+                    {
+                        bytes += remaining(counterColumn.name);
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(List<Column> columns)
+    {
+        long bytes = 0;
+        if (columns != null)
+        {
+            for (Column column : columns)
+            {
+                if (column != null)
+                {
+                    bytes += remaining(column.name) + remaining(column.value);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long remaining(ByteBuffer buffer)
+    {
+        return buffer == null ? 0 : buffer.remaining();
     }
 
     /**
@@ -643,6 +721,98 @@ public abstract class CassandraDataHandlerBase
         return foreignKeys;
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.client.cassandra.datahandler.CassandraDataHandler#
+     * getDiscriminatorColumn(com.impetus.kundera.metadata.model.EntityMetadata)
+     */
+    public String getDiscriminatorColumn(EntityMetadata m)
+    {
+        if (!Type.COLUMN_FAMILY.equals(m.getType()) || m.isCounterColumnType())
+        {
+            return null;
+        }
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        List<AbstractManagedType> subManagedTypes = ((AbstractManagedType) metaModel.entity(m.getEntityClazz()))
+                .getSubManagedType();
+
+        // sub types of a SINGLE_TABLE hierarchy all share same column.
+        return subManagedTypes.isEmpty()
+                || !InheritanceType.SINGLE_TABLE.equals(subManagedTypes.get(0).getInheritenceType()) ? null
+                : subManagedTypes.get(0).getDiscriminatorColumn();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.client.cassandra.datahandler.CassandraDataHandler#
+     * getSubEntityMetadata(com.impetus.kundera.metadata.model.EntityMetadata,
+     * java.util.List)
+     */
+    public EntityMetadata getSubEntityMetadata(EntityMetadata m, List<Column> columns)
+    {
+        return getSubEntityMetadata(m, getDiscriminatorColumn(m), columns);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.client.cassandra.datahandler.CassandraDataHandler#
+     * getSubEntityMetadata(com.impetus.kundera.metadata.model.EntityMetadata,
+     * java.lang.String, java.util.List)
+     */
+    public EntityMetadata getSubEntityMetadata(EntityMetadata m, String discriminatorColumn, List<Column> columns)
+    {
+        if (discriminatorColumn == null)
+        {
+            return m;
+        }
+
+        for (Column column : columns)
+        {
+            if (column != null
+                    && column.getValue() != null
+                    && discriminatorColumn.equals(PropertyAccessorFactory.STRING.fromBytes(String.class,
+                            column.getName())))
+            {
+                MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                        m.getPersistenceUnit());
+                ManagedType subManagedType = ((AbstractManagedType) metaModel.entity(m.getEntityClazz()))
+                        .getSubManagedType(PropertyAccessorFactory.STRING.fromBytes(String.class, column.getValue()));
+
+                return subManagedType != null ? KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                        subManagedType.getJavaType()) : null;
+            }
+        }
+
+        // rows of root entity itself hold no discriminator value.
+        return Modifier.isAbstract(m.getEntityClazz().getModifiers()) ? null : m;
+    }
+
+    /**
+     * Returns secondary tables of entity, followed by its primary table.
+     * 
+     * @param m
+     *            the entity metadata
+     * @return the table names
+     */
+    protected List<String> getTableNames(EntityMetadata m)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+
+        AbstractManagedType managedType = (AbstractManagedType) metaModel.entity(m.getEntityClazz());
+
+        // For secondary tables.
+        List<String> secondaryTables = ((DefaultEntityAnnotationProcessor) managedType.getEntityAnnotation())
+                .getSecondaryTablesName();
+        secondaryTables.add(m.getTableName());
+        return secondaryTables;
+    }
+
     /**
      * Populate entity.
      * 
@@ -661,6 +831,10 @@ public abstract class CassandraDataHandlerBase
     public Object populateEntity(ThriftRow tr, EntityMetadata m, Object entity, List<String> relationNames,
             boolean isWrapReq)
     {
+        if (OperationTracer.isTracing())
+        {
+            OperationTracer.bytes(sizeOf(tr));
+        }
         Map<String, Object> relations = new HashMap<String, Object>();
         try
         {
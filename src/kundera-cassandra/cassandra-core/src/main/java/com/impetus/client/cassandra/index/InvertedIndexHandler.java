@@ -15,11 +15,13 @@
  */
 package com.impetus.client.cassandra.index;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.cassandra.thrift.ConsistencyLevel;
 import org.apache.cassandra.thrift.IndexClause;
+import org.apache.cassandra.thrift.Mutation;
 
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
 import com.impetus.kundera.db.SearchResult;
@@ -47,6 +49,18 @@ public interface InvertedIndexHandler
     void write(Node node, EntityMetadata entityMetadata, String persistenceUnit, ConsistencyLevel consistencyLevel,
             CassandraDataHandler cdHandler);
 
+    /**
+     * Adds mutations of inverted index table for an entity to given mutation
+     * map, to be written in same batch as entity.
+     * 
+     * @param entityMetadata
+     * @param entity
+     * @param cdHandler
+     * @param mutationMap
+     */
+    void prepareMutation(EntityMetadata entityMetadata, Object entity, CassandraDataHandler cdHandler,
+            Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap);
+
     /**
      * Searches records from Inverted index table.
      * 
@@ -20,8 +20,11 @@ import java.nio.ByteBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,15 +35,20 @@ import javax.persistence.metamodel.EntityType;
 
 import org.apache.cassandra.db.marshal.UTF8Type;
 import org.apache.cassandra.thrift.Column;
+import org.apache.cassandra.thrift.ColumnOrSuperColumn;
 import org.apache.cassandra.thrift.ConsistencyLevel;
 import org.apache.cassandra.thrift.IndexClause;
 import org.apache.cassandra.thrift.IndexExpression;
 import org.apache.cassandra.thrift.IndexOperator;
+import org.apache.cassandra.thrift.Mutation;
 import org.apache.cassandra.thrift.SuperColumn;
 import org.apache.cassandra.utils.ByteBufferUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
+import com.impetus.client.cassandra.datahandler.CassandraDataHandlerBase;
+import com.impetus.client.cassandra.thrift.ThriftRow;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.db.SearchResult;
 import com.impetus.kundera.metadata.model.EntityMetadata;
@@ -61,6 +69,9 @@ public abstract class InvertedIndexHandlerBase
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(InvertedIndexHandlerBase.class);
 
+    /** Super columns read per get_slice call while searching a range. */
+    protected static final int INDEX_PAGE_SIZE = 1000;
+
     protected boolean useSecondryIndex;
 
     /** For time stamp generation. */
@@ -178,12 +189,12 @@ public abstract class InvertedIndexHandlerBase
                 break;
             // Greater than-equals to operator
             case GTE:
-                searchSuperColumnsInRange(columnFamilyName, consistencyLevel, persistenceUnit, rowKey, superColumnName,
+                searchSuperColumnsInRange(columnFamilyName, consistencyLevel, persistenceUnit, rowKey, null,
                         thriftSuperColumns, superColumnName, new byte[0]);
                 break;
             // Less than equal to operator
             case LTE:
-                searchSuperColumnsInRange(columnFamilyName, consistencyLevel, persistenceUnit, rowKey, superColumnName,
+                searchSuperColumnsInRange(columnFamilyName, consistencyLevel, persistenceUnit, rowKey, null,
                         thriftSuperColumns, new byte[0], superColumnName);
                 break;
 
@@ -234,80 +245,209 @@ public abstract class InvertedIndexHandlerBase
         }
     }
 
+    /**
+     * Adds inverted index mutations of given entity to mutation map, one
+     * entry per index row, so that they are written in same batch_mutate as
+     * entity.
+     * 
+     * @param m
+     *            the entity metadata
+     * @param entity
+     *            the entity
+     * @param cdHandler
+     *            the data handler
+     * @param mutationMap
+     *            mutations by row key and column family
+     */
+    public void prepareMutation(EntityMetadata m, Object entity, CassandraDataHandler cdHandler,
+            Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap)
+    {
+        if (!CassandraIndexHelper.isInvertedIndexingApplicable(m, useSecondryIndex))
+        {
+            return;
+        }
+
+        String indexColumnFamily = CassandraIndexHelper.getInvertedIndexTableName(m.getTableName());
+        List<ThriftRow> indexThriftRows = ((CassandraDataHandlerBase) cdHandler).toIndexThriftRow(entity, m,
+                indexColumnFamily);
+
+        for (ThriftRow thriftRow : indexThriftRows)
+        {
+            ByteBuffer rowKey = ByteBuffer.wrap(PropertyAccessorHelper.toBytes(thriftRow.getId(), thriftRow.getId()
+                    .getClass()));
+            List<Mutation> mutations = getMutations(mutationMap, rowKey, indexColumnFamily);
+
+            if (thriftRow.getColumns() != null)
+            {
+                for (Column column : thriftRow.getColumns())
+                {
+                    mutations.add(new Mutation().setColumn_or_supercolumn(new ColumnOrSuperColumn().setColumn(column)));
+                }
+            }
+
+            if (thriftRow.getSuperColumns() != null)
+            {
+                for (SuperColumn superColumn : thriftRow.getSuperColumns())
+                {
+                    mutations.add(new Mutation().setColumn_or_supercolumn(new ColumnOrSuperColumn()
+                            .setSuper_column(superColumn)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns mutation list of given row and column family in mutation map,
+     * adding one if not present.
+     * 
+     * @param mutationMap
+     *            mutations by row key and column family
+     * @param rowKey
+     *            the row key
+     * @param columnFamily
+     *            the column family
+     * @return the mutations
+     */
+    public static List<Mutation> getMutations(Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap,
+            ByteBuffer rowKey, String columnFamily)
+    {
+        Map<String, List<Mutation>> columnFamilyValues = mutationMap.get(rowKey);
+        if (columnFamilyValues == null)
+        {
+            columnFamilyValues = new HashMap<String, List<Mutation>>();
+            mutationMap.put(rowKey, columnFamilyValues);
+        }
+        List<Mutation> mutations = columnFamilyValues.get(columnFamily);
+        if (mutations == null)
+        {
+            mutations = new ArrayList<Mutation>();
+            columnFamilyValues.put(columnFamily, mutations);
+        }
+        return mutations;
+    }
+
     public void delete(Object entity, EntityMetadata metadata, ConsistencyLevel consistencyLevel,
             final KunderaMetadata kunderaMetadata)
     {
-        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                metadata.getPersistenceUnit());
         if (CassandraIndexHelper.isInvertedIndexingApplicable(metadata, useSecondryIndex))
         {
-
             String indexColumnFamily = CassandraIndexHelper.getInvertedIndexTableName(metadata.getTableName());
-            Map<String, EmbeddableType> embeddables = metaModel.getEmbeddables(metadata.getEntityClazz());
-            EntityType entityType = metaModel.entity(metadata.getEntityClazz());
-
             byte[] columnName = PropertyAccessorHelper.get(entity, (Field) metadata.getIdAttribute().getJavaMember());
 
-            for (String fieldName : embeddables.keySet())
+            Map<String, List<byte[]>> superColumnNames = getIndexedValues(entity, metadata, kunderaMetadata);
+            if (!superColumnNames.isEmpty())
+            {
+                deleteColumns(indexColumnFamily, superColumnNames, metadata.getPersistenceUnit(), consistencyLevel,
+                        columnName);
+            }
+        }
+    }
+
+    /**
+     * Returns super column names entity is indexed under, by index row key.
+     */
+    private Map<String, List<byte[]>> getIndexedValues(Object entity, EntityMetadata metadata,
+            final KunderaMetadata kunderaMetadata)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+        Map<String, EmbeddableType> embeddables = metaModel.getEmbeddables(metadata.getEntityClazz());
+        EntityType entityType = metaModel.entity(metadata.getEntityClazz());
+
+        Map<String, List<byte[]>> superColumnNames = new LinkedHashMap<String, List<byte[]>>();
+        for (String fieldName : embeddables.keySet())
+        {
+            EmbeddableType embeddedColumn = embeddables.get(fieldName);
+            Attribute embeddedAttribute = entityType.getAttribute(fieldName);
+            Object embeddedObject = PropertyAccessorHelper.getObject(entity, (Field) embeddedAttribute.getJavaMember());
+
+            if (embeddedObject instanceof Collection)
+            {
+                for (Object obj : (Collection) embeddedObject)
+                {
+                    addIndexedValues(superColumnNames, embeddedAttribute, embeddedColumn, obj);
+                }
+            }
+            else if (embeddedObject != null)
             {
-                EmbeddableType embeddedColumn = embeddables.get(fieldName);
-                Attribute embeddedAttribute = entityType.getAttribute(fieldName);
-                Object embeddedObject = PropertyAccessorHelper.getObject(entity,
-                        (Field) embeddedAttribute.getJavaMember());
+                addIndexedValues(superColumnNames, embeddedAttribute, embeddedColumn, embeddedObject);
+            }
+        }
+        return superColumnNames;
+    }
 
-                if (embeddedObject != null)
+    private void addIndexedValues(Map<String, List<byte[]>> superColumnNames, Attribute embeddedAttribute,
+            EmbeddableType embeddedColumn, Object embeddedObject)
+    {
+        Iterator<Attribute> iter = embeddedColumn.getAttributes().iterator();
+        while (iter.hasNext())
+        {
+            Attribute attrib = iter.next();
+            String rowKey = embeddedAttribute.getName() + Constants.INDEX_TABLE_ROW_KEY_DELIMITER + attrib.getName();
+            byte[] superColumnName = PropertyAccessorHelper.get(embeddedObject, (Field) attrib.getJavaMember());
+            if (superColumnName != null)
+            {
+                List<byte[]> names = superColumnNames.get(rowKey);
+                if (names == null)
                 {
-                    if (embeddedObject instanceof Collection)
-                    {
-                        for (Object obj : (Collection) embeddedObject)
-                        {
-                            Iterator<Attribute> iter = embeddedColumn.getAttributes().iterator();
-                            while (iter.hasNext())
-                            {
-                                Attribute attrib = iter.next();
-                                String rowKey = embeddedAttribute.getName() + Constants.INDEX_TABLE_ROW_KEY_DELIMITER
-                                        + attrib.getName();
-                                byte[] superColumnName = PropertyAccessorHelper
-                                        .get(obj, (Field) attrib.getJavaMember());
-                                if (superColumnName != null)
-                                {
-                                    deleteColumn(indexColumnFamily, rowKey, superColumnName,
-                                            metadata.getPersistenceUnit(), consistencyLevel, columnName);
-                                }
-                            }
-                        }
-                    }
-                    else
-                    {
+                    names = new ArrayList<byte[]>();
+                    superColumnNames.put(rowKey, names);
+                }
+                names.add(superColumnName);
+            }
+        }
+    }
 
-                        Iterator<Attribute> iter = embeddedColumn.getAttributes().iterator();
-                        while (iter.hasNext())
-                        {
-                            Attribute attrib = iter.next();
-                            String rowKey = embeddedAttribute.getName() + Constants.INDEX_TABLE_ROW_KEY_DELIMITER
-                                    + attrib.getName();
-                            byte[] superColumnName = PropertyAccessorHelper.get(embeddedObject,
-                                    (Field) attrib.getJavaMember());
-                            if (superColumnName != null)
-                            {
-                                deleteColumn(indexColumnFamily, rowKey, superColumnName, metadata.getPersistenceUnit(),
-                                        consistencyLevel, columnName);
-                            }
-                        }
-                    }
+    /**
+     * Reads super columns of an index row between start and finish, page by
+     * page, and adds them to <code>thriftSuperColumns</code>.
+     * 
+     * @param excludedSuperColumnName
+     *            bound excluded from results, null if bounds are inclusive.
+     */
+    protected void searchSuperColumnsInRange(String columnFamilyName, ConsistencyLevel consistencyLevel,
+            String persistenceUnit, String rowKey, byte[] excludedSuperColumnName,
+            List<SuperColumn> thriftSuperColumns, byte[] start, byte[] finish)
+    {
+        byte[] from = start;
+        boolean isFirstPage = true;
+        while (true)
+        {
+            List<SuperColumn> page = getSuperColumnsInRange(columnFamilyName, consistencyLevel, persistenceUnit,
+                    rowKey, from, finish, INDEX_PAGE_SIZE);
+
+            // first super column of a following page is last of previous one.
+            for (int i = isFirstPage ? 0 : 1; i < page.size(); i++)
+            {
+                SuperColumn superColumn = page.get(i);
+                if (superColumn != null
+                        && (excludedSuperColumnName == null || !Arrays.equals(superColumn.getName(),
+                                excludedSuperColumnName)))
+                {
+                    thriftSuperColumns.add(superColumn);
                 }
             }
+
+            if (page.size() < INDEX_PAGE_SIZE || page.get(page.size() - 1) == null)
+            {
+                break;
+            }
+            from = page.get(page.size() - 1).getName();
+            isFirstPage = false;
         }
     }
 
     /**
+     * Deletes entity's column from given super columns of index rows, in one
+     * batch.
+     * 
      * @param indexColumnFamily
-     * @param rowKey
-     * @param superColumnName
+     * @param superColumnNames
+     *            super column names by index row key
      * @param columnName
-     *            TODO
+     *            entity's column, i.e. its row key
      */
-    protected abstract void deleteColumn(String indexColumnFamily, String rowKey, byte[] superColumnName,
+    protected abstract void deleteColumns(String indexColumnFamily, Map<String, List<byte[]>> superColumnNames,
             String persistenceUnit, ConsistencyLevel consistencyLevel, byte[] columnName);
 
     /**
@@ -320,8 +460,16 @@ public abstract class InvertedIndexHandlerBase
     protected abstract SuperColumn getSuperColumnForRow(ConsistencyLevel consistencyLevel, String columnFamilyName,
             String rowKey, byte[] superColumnName, String persistenceUnit);
 
-    protected abstract void searchSuperColumnsInRange(String columnFamilyName, ConsistencyLevel consistencyLevel,
-            String persistenceUnit, String rowKey, byte[] searchSuperColumnName, List<SuperColumn> thriftSuperColumns,
-            byte[] start, byte[] finish);
+    /**
+     * Reads a page of super columns of an index row between start and finish,
+     * both inclusive.
+     * 
+     * @param count
+     *            max super columns to read
+     * @return super columns in order
+     */
+    protected abstract List<SuperColumn> getSuperColumnsInRange(String columnFamilyName,
+            ConsistencyLevel consistencyLevel, String persistenceUnit, String rowKey, byte[] start, byte[] finish,
+            int count);
 
 }
@@ -58,6 +58,11 @@ public class CassandraHostConfiguration extends HostConfiguration
         {
             retryDelay = Integer.parseInt(property);
         }
+        property = csmd.getConnectionProperties().getProperty(Constants.MAX_RETRY_DELAY);
+        if (StringUtils.isNumeric(property))
+        {
+            maxRetryDelay = Integer.parseInt(property);
+        }
     }
 
     protected void buildHosts(List<Server> servers, List<Host> hostsList)
@@ -266,6 +271,15 @@ public class CassandraHostConfiguration extends HostConfiguration
         return retryDelay;
     }
 
+    /**
+     * 
+     * @return max delay between retries of a downed host.
+     */
+    public int getMaxRetryDelay()
+    {
+        return maxRetryDelay;
+    }
+
     /**
      * 
      * @param host
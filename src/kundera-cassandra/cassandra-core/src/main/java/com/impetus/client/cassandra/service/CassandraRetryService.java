@@ -15,8 +15,8 @@
  ******************************************************************************/
 package com.impetus.client.cassandra.service;
 
-import java.util.Iterator;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -30,8 +30,8 @@ import com.impetus.kundera.service.HostConfiguration;
 import com.impetus.kundera.service.policy.RetryService;
 
 /**
- * Cassandra retry service, retries for downed cassandra server with a fix
- * delay, and add it to hostspool map when it up.
+ * Cassandra retry service, retries downed cassandra servers with exponential
+ * backoff, and adds them back to hostspool map when they are up.
  * 
  * @author Kuldeep.Mishra
  * 
@@ -41,17 +41,17 @@ public class CassandraRetryService extends RetryService
     /** The logger. */
     private static Logger logger = LoggerFactory.getLogger(CassandraRetryService.class);
 
-    private LinkedBlockingQueue<CassandraHost> downedHostQueue;
+    /** Downed hosts and their failed retries so far. */
+    private ConcurrentMap<CassandraHost, Integer> downedHosts;
 
     private ClientFactory clientFactory;
 
     public CassandraRetryService(HostConfiguration configuration, ClientFactory clientFactory)
     {
-        super(((CassandraHostConfiguration) configuration).getRetryDelay());
-        downedHostQueue = new LinkedBlockingQueue<CassandraHost>();
+        super(((CassandraHostConfiguration) configuration).getRetryDelay(),
+                ((CassandraHostConfiguration) configuration).getMaxRetryDelay());
+        downedHosts = new ConcurrentHashMap<CassandraHost, Integer>();
         this.clientFactory = clientFactory;
-        sf = executor.scheduleWithFixedDelay(new RetryRunner(), this.retryDelayInSeconds, this.retryDelayInSeconds,
-                TimeUnit.SECONDS);
     }
 
     @Override
@@ -60,72 +60,88 @@ public class CassandraRetryService extends RetryService
         return CassandraUtilities.verifyConnection(host.getHost(), host.getPort());
     }
 
+    /**
+     * Retries a downed host, and reschedules itself with backoff until host is
+     * up.
+     */
     class RetryRunner implements Runnable
     {
+        private final CassandraHost host;
+
+        RetryRunner(CassandraHost host)
+        {
+            this.host = host;
+        }
 
         @Override
         public void run()
         {
-            if (!downedHostQueue.isEmpty())
+            Integer failedAttempts = downedHosts.get(host);
+            if (failedAttempts == null)
             {
-                try
-                {
-                    retryDownedHosts();
-                }
-                catch (Throwable t)
-                {
-                    logger.error("Error while retrying downed hosts caused by : ", t);
-                }
+                return;
             }
-        }
 
-        private void retryDownedHosts()
-        {
-            Iterator<CassandraHost> iter = downedHostQueue.iterator();
-            while (iter.hasNext())
+            boolean reconnected = false;
+            try
             {
-                CassandraHost host = iter.next();
-
-                if (host == null)
-                {
-                    continue;
-                }
+                reconnected = verifyConnection(host)
+                        && ((CassandraClientFactory) clientFactory).addCassandraHost(host);
+            }
+            catch (Throwable t)
+            {
+                logger.error("Error while retrying downed host {} caused by : ", host, t);
+            }
 
-                boolean reconnected = verifyConnection(host);
-                if (reconnected)
+            if (reconnected)
+            {
+                downedHosts.remove(host);
+                logger.info("Node {} is up after {} retries.", host.getHost(), failedAttempts + 1);
+            }
+            else if (!executor.isShutdown())
+            {
+                downedHosts.put(host, failedAttempts + 1);
+                long delay = getRetryDelay(failedAttempts);
+                if (logger.isDebugEnabled())
                 {
-                    ((CassandraClientFactory) clientFactory).addCassandraHost(host);
-                    iter.remove();
+                    logger.debug("Node {} is still down, retrying in {} seconds.", host.getHost(), delay);
                 }
+                executor.schedule(this, delay, TimeUnit.SECONDS);
             }
         }
     }
 
+    /**
+     * Marks given host down and schedules a check of it immediately, retries
+     * then back off until it is up. A host already marked down is ignored.
+     * 
+     * @param cassandraHost
+     *            the cassandra host
+     */
     public void add(final CassandraHost cassandraHost)
     {
-        downedHostQueue.add(cassandraHost);
-
-        // schedule a check of this host immediately,
-        executor.submit(new Runnable()
+        if (downedHosts.putIfAbsent(cassandraHost, 0) == null && !executor.isShutdown())
         {
-            @Override
-            public void run()
-            {
-                if (verifyConnection(cassandraHost))
-                {
-                    if (((CassandraClientFactory) clientFactory).addCassandraHost(cassandraHost))
-                    {
-                        downedHostQueue.remove(cassandraHost);
-                    }
-                }
-            }
-        });
+            executor.submit(new RetryRunner(cassandraHost));
+        }
+    }
+
+    /**
+     * Checks whether given host is marked down.
+     * 
+     * @param cassandraHost
+     *            the cassandra host
+     * @return true, if down
+     */
+    public boolean isDown(CassandraHost cassandraHost)
+    {
+        return downedHosts.containsKey(cassandraHost);
     }
 
     @Override
     public void shutdown()
     {
-        downedHostQueue.clear();
+        downedHosts.clear();
         if (sf != null)
         {
             sf.cancel(true);
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.dht.Token;
+import org.apache.cassandra.thrift.Cassandra;
+import org.apache.cassandra.thrift.TokenRange;
+import org.apache.cassandra.utils.FBUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.service.policy.LoadBalancingPolicy;
+import com.impetus.kundera.service.policy.RoutingLoadBalancingPolicy;
+
+/**
+ * Token aware balancing policy, routes an operation on a row to a pool of a
+ * replica owning the row's partition, as per ring described by cluster.
+ * Among replicas, and for operations without a row key or before ring is
+ * known, pool is picked by child policy. Client factories extend it to map
+ * their pools to hosts.
+ *
+ */
+public abstract class TokenAwareBalancingPolicy implements RoutingLoadBalancingPolicy
+{
+    /** The logger. */
+    private static Logger logger = LoggerFactory.getLogger(TokenAwareBalancingPolicy.class);
+
+    private final LoadBalancingPolicy childPolicy;
+
+    /** Latest ring, null until described. */
+    private volatile Ring ring;
+
+    /** Resolved addresses of hosts. */
+    private final Map<String, String> addresses = new ConcurrentHashMap<String, String>();
+
+    public TokenAwareBalancingPolicy(LoadBalancingPolicy childPolicy)
+    {
+        this.childPolicy = childPolicy;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * com.impetus.kundera.service.policy.LoadBalancingPolicy#getPool(java.util
+     * .Collection)
+     */
+    @Override
+    public Object getPool(Collection<Object> pools)
+    {
+        return childPolicy.getPool(pools);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * com.impetus.kundera.service.policy.RoutingLoadBalancingPolicy#getPool
+     * (java.util.Collection, java.lang.Object)
+     */
+    @Override
+    public Object getPool(Collection<Object> pools, Object routingKey)
+    {
+        Ring current = ring;
+        ByteBuffer key = toByteBuffer(routingKey);
+        if (current == null || key == null)
+        {
+            return childPolicy.getPool(pools);
+        }
+
+        Set<String> replicas = current.getReplicas(key);
+        List<Object> candidates = new ArrayList<Object>(replicas.size());
+        for (Object pool : pools)
+        {
+            if (replicas.contains(getAddress(getHost(pool))))
+            {
+                candidates.add(pool);
+            }
+        }
+        return childPolicy.getPool(candidates.isEmpty() ? pools : candidates);
+    }
+
+    /**
+     * Describes ring of given keyspace, to be called once pools are created
+     * and whenever a host is added.
+     *
+     * @param client
+     *            client connected to cluster.
+     * @param keyspace
+     *            the keyspace
+     */
+    public void refresh(Cassandra.Client client, String keyspace)
+    {
+        try
+        {
+            IPartitioner partitioner = FBUtilities.newPartitioner(client.describe_partitioner());
+            TreeMap<Token, Set<String>> replicas = new TreeMap<Token, Set<String>>();
+            for (TokenRange range : client.describe_ring(keyspace))
+            {
+                Set<String> endpoints = new HashSet<String>();
+                for (String endpoint : range.getEndpoints())
+                {
+                    endpoints.add(getAddress(endpoint));
+                }
+                replicas.put(partitioner.getTokenFactory().fromString(range.getEnd_token()), endpoints);
+            }
+            ring = replicas.isEmpty() ? null : new Ring(partitioner, replicas);
+        }
+        catch (Exception e)
+        {
+            logger.warn("Error while describing ring of keyspace {}, routing by {}, Caused by {} .", keyspace,
+                    childPolicy.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns host given pool connects to.
+     *
+     * @param pool
+     *            the pool
+     * @return host name or address.
+     */
+    protected abstract String getHost(Object pool);
+
+    private String getAddress(String host)
+    {
+        String address = addresses.get(host);
+        if (address == null)
+        {
+            try
+            {
+                address = InetAddress.getByName(host).getHostAddress();
+            }
+            catch (UnknownHostException e)
+            {
+                address = host;
+            }
+            addresses.put(host, address);
+        }
+        return address;
+    }
+
+    private static ByteBuffer toByteBuffer(Object routingKey)
+    {
+        if (routingKey instanceof ByteBuffer)
+        {
+            return (ByteBuffer) routingKey;
+        }
+        else if (routingKey instanceof byte[])
+        {
+            return ByteBuffer.wrap((byte[]) routingKey);
+        }
+        return null;
+    }
+
+    /**
+     * Replicas by end token of ranges they own.
+     */
+    private static final class Ring
+    {
+        private final IPartitioner partitioner;
+
+        private final TreeMap<Token, Set<String>> replicas;
+
+        private Ring(IPartitioner partitioner, TreeMap<Token, Set<String>> replicas)
+        {
+            this.partitioner = partitioner;
+            this.replicas = replicas;
+        }
+
+        private Set<String> getReplicas(ByteBuffer key)
+        {
+            Map.Entry<Token, Set<String>> range = replicas.ceilingEntry(partitioner.getToken(key));
+
+            // token past last range wraps around to first one.
+            return range != null ? range.getValue() : replicas.firstEntry().getValue();
+        }
+    }
+}
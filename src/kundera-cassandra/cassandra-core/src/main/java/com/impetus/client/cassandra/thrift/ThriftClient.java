@@ -182,7 +182,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
     @Override
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
-        Connection conn = getConnection();
+        Connection conn = null;
         try
         {
             // if entity is embeddable...call cql translator to get cql string!
@@ -190,6 +190,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
 
             if (isCql3Enabled(entityMetadata))
             {
+                conn = getConnection();
                 cqlClient.persist(entityMetadata, entity, conn.getClient(), rlHolders,
                         getTtlValues().get(entityMetadata.getTableName()));
             }
@@ -197,6 +198,11 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
             {
                 Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
                 prepareMutation(entityMetadata, entity, id, rlHolders, mutationMap);
+                conn = mutationMap.size() == 1 ? getRoutedConnection(mutationMap.keySet().iterator().next())
+                        : getConnection();
+
+                // inverted index rows are written in same batch as entity.
+                prepareIndexMutation(entityMetadata, entity, mutationMap);
                 // Write Mutation map to database
                 conn.getClient().batch_mutate(mutationMap, getConsistencyLevel());
 
@@ -222,7 +228,10 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
         }
         finally
         {
-            releaseConnection(conn);
+            if (conn != null)
+            {
+                releaseConnection(conn);
+            }
 
             if (isTtlPerRequest())
             {
@@ -331,8 +340,27 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
     {
         super.indexNode(node, entityMetadata);
 
-        // Write to inverted index table if applicable
-        invertedIndexHandler.write(node, entityMetadata, getPersistenceUnit(), getConsistencyLevel(), dataHandler);
+        // Write to inverted index table if applicable, for thrift entities it
+        // is written along with entity itself.
+        if (isCql3Enabled(entityMetadata))
+        {
+            invertedIndexHandler.write(node, entityMetadata, getPersistenceUnit(), getConsistencyLevel(), dataHandler);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.cassandra.CassandraClientBase#prepareIndexMutation
+     * (com.impetus.kundera.metadata.model.EntityMetadata, java.lang.Object,
+     * java.util.Map)
+     */
+    @Override
+    protected void prepareIndexMutation(EntityMetadata entityMetadata, Object entity,
+            Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap)
+    {
+        invertedIndexHandler.prepareMutation(entityMetadata, entity, dataHandler, mutationMap);
     }
 
     /**
@@ -450,7 +478,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
         Connection conn = null;
         try
         {
-            conn = getConnection();
+            conn = getRoutedConnection(ByteBuffer.wrap(rowKey));
 
             coscList = conn.getClient().get_slice(ByteBuffer.wrap(rowKey), parent, predicate, getConsistencyLevel());
 
@@ -533,7 +561,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
                 Connection conn = null;
                 try
                 {
-                    conn = getConnection();
+                    conn = getRoutedConnection(ByteBuffer.wrap(rowKey));
                     results = conn.getClient().get_slice(ByteBuffer.wrap(rowKey), parent, predicate,
                             getConsistencyLevel());
                 }
@@ -1287,10 +1315,23 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
      */
     protected Connection getConnection()
     {
-        Connection connection = clientFactory.getConnection(pool);
+        Connection connection = clientFactory.getConnection(pool, null);
         return connection;
     }
 
+    /**
+     * Returns a connection for an operation on given row, routed to a replica
+     * of the row if token aware load balancing policy is configured.
+     * 
+     * @param rowKey
+     *            the row key
+     * @return the connection
+     */
+    protected Connection getRoutedConnection(ByteBuffer rowKey)
+    {
+        return clientFactory.getConnection(pool, rowKey);
+    }
+
     /**
      * Return cassandra client instance.
      * 
@@ -1318,7 +1359,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
      */
     protected void releaseConnection(Object conn)
     {
-        clientFactory.releaseConnection(((Connection) conn).getPool(), ((Connection) conn).getClient());
+        clientFactory.releaseConnection((Connection) conn);
     }
 
     /*
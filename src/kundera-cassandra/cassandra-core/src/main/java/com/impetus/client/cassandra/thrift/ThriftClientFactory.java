@@ -41,6 +41,7 @@ import com.impetus.client.cassandra.schemamanager.CassandraSchemaManager;
 import com.impetus.client.cassandra.service.CassandraHost;
 import com.impetus.client.cassandra.service.CassandraHostConfiguration;
 import com.impetus.client.cassandra.service.CassandraRetryService;
+import com.impetus.client.cassandra.service.TokenAwareBalancingPolicy;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.PersistenceProperties;
@@ -48,10 +49,15 @@ import com.impetus.kundera.client.Client;
 import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Gauge;
 import com.impetus.kundera.service.Host;
 import com.impetus.kundera.service.HostConfiguration;
+import com.impetus.kundera.service.policy.LatencyAwareBalancingPolicy;
 import com.impetus.kundera.service.policy.LeastActiveBalancingPolicy;
+import com.impetus.kundera.service.policy.LoadBalancingPolicy;
 import com.impetus.kundera.service.policy.RoundRobinBalancingPolicy;
+import com.impetus.kundera.service.policy.RoutingLoadBalancingPolicy;
 
 /**
  * A factory of {@link ThriftClient} Currently it uses Pelops for Connection
@@ -68,6 +74,9 @@ public class ThriftClientFactory extends CassandraClientFactory
     /** The configuration. */
     protected HostConfiguration configuration;
 
+    /** The keyspace pools connect to. */
+    private String keyspace;
+
     /* (non-Javadoc)
      * @see com.impetus.kundera.loader.ClientFactory#getSchemaManager(java.util.Map)
      */
@@ -153,7 +162,7 @@ public class ThriftClientFactory extends CassandraClientFactory
                 .getPersistenceUnitMetadata(getPersistenceUnit());
 
         Properties props = persistenceUnitMetadata.getProperties();
-        String keyspace = null;
+        keyspace = null;
 
         if (externalProperties != null)
         {
@@ -188,6 +197,9 @@ public class ThriftClientFactory extends CassandraClientFactory
                 }
             }
         }
+        refreshRing();
+        registerPoolGauges(new PoolGauge(KunderaMetrics.POOL_ACTIVE), new PoolGauge(KunderaMetrics.POOL_IDLE),
+                new PoolGauge(KunderaMetrics.POOL_MAX));
         return null;
     }
 
@@ -234,7 +246,11 @@ public class ThriftClientFactory extends CassandraClientFactory
     private ConnectionPool getNewPool(String host, int port)
     {
         CassandraHost cassandraHost = ((CassandraHostConfiguration) configuration).getCassandraHost(host, port);
-        hostPools.remove(cassandraHost);
+        Object downedPool = hostPools.remove(cassandraHost);
+        if (downedPool != null && loadBalancingPolicy instanceof LatencyAwareBalancingPolicy)
+        {
+            ((LatencyAwareBalancingPolicy) loadBalancingPolicy).remove(downedPool);
+        }
 
         if (cassandraHost.isRetryHost())
         {
@@ -261,12 +277,74 @@ public class ThriftClientFactory extends CassandraClientFactory
             case LEASTACTIVE:
                 loadBalancingPolicy = new ThriftLeastActiveBalancingPolcy();
                 break;
+            case LATENCYAWARE:
+                loadBalancingPolicy = new ThriftLatencyAwareBalancingPolicy();
+                break;
+            case TOKENAWARE:
+                loadBalancingPolicy = new ThriftTokenAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+                break;
             default:
                 loadBalancingPolicy = new RoundRobinBalancingPolicy();
                 break;
             }
         }
-        loadBalancingPolicy = new RoundRobinBalancingPolicy();
+        else
+        {
+            loadBalancingPolicy = new RoundRobinBalancingPolicy();
+        }
+    }
+
+    /**
+     * Describes ring to token aware policy, if configured.
+     */
+    private void refreshRing()
+    {
+        if (loadBalancingPolicy instanceof TokenAwareBalancingPolicy && !hostPools.isEmpty() && keyspace != null)
+        {
+            Connection conn = null;
+            try
+            {
+                conn = getConnection(getPoolUsingPolicy());
+                ((TokenAwareBalancingPolicy) loadBalancingPolicy).refresh(conn.getClient(), keyspace);
+            }
+            catch (KunderaException e)
+            {
+                logger.warn("Error while describing ring, Caused by {} .", e.getMessage());
+            }
+            finally
+            {
+                if (conn != null)
+                {
+                    releaseConnection(conn.getPool(), conn.getClient());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a connection for an operation routed by given key. With a latency
+     * aware policy, or a token aware policy and a key, pool is picked per
+     * operation rather than per client.
+     *
+     * @param pool the pool of client
+     * @param routingKey the row key operation is on, may be null
+     * @return the connection
+     */
+    Connection getConnection(ConnectionPool pool, Object routingKey)
+    {
+        if (!hostPools.isEmpty())
+        {
+            if (routingKey != null && loadBalancingPolicy instanceof RoutingLoadBalancingPolicy)
+            {
+                pool = (ConnectionPool) ((RoutingLoadBalancingPolicy) loadBalancingPolicy).getPool(
+                        hostPools.values(), routingKey);
+            }
+            else if (loadBalancingPolicy instanceof LatencyAwareBalancingPolicy)
+            {
+                pool = getPoolUsingPolicy();
+            }
+        }
+        return getConnection(pool);
     }
 
     /**
@@ -320,6 +398,25 @@ public class ThriftClientFactory extends CassandraClientFactory
         }
     }
 
+    /**
+     * Release connection, recording how long it was held as latency of its
+     * pool for latency aware policy.
+     *
+     * @param conn the conn
+     */
+    void releaseConnection(Connection conn)
+    {
+        if (conn != null && loadBalancingPolicy instanceof LatencyAwareBalancingPolicy)
+        {
+            ((LatencyAwareBalancingPolicy) loadBalancingPolicy).recordLatency(conn.getPool(), System.nanoTime()
+                    - conn.startTime);
+        }
+        if (conn != null)
+        {
+            releaseConnection(conn.getPool(), conn.getClient());
+        }
+    }
+
     /**
      * Adds a pool in hostPools map for given host.
      *
@@ -345,6 +442,7 @@ public class ThriftClientFactory extends CassandraClientFactory
             }
             ConnectionPool pool = new ConnectionPool(prop);
             hostPools.put(cassandraHost, pool);
+            refreshRing();
             return true;
         }
         catch (TException e)
@@ -408,6 +506,73 @@ public class ThriftClientFactory extends CassandraClientFactory
         }
     }
 
+    /**
+     * Extends LatencyAwareBalancingPolicy class to provide active connections
+     * of a pool.
+     */
+    private class ThriftLatencyAwareBalancingPolicy extends LatencyAwareBalancingPolicy
+    {
+        @Override
+        protected int getActive(Object pool)
+        {
+            return ((ConnectionPool) pool).getActive();
+        }
+    }
+
+    /**
+     * Extends TokenAwareBalancingPolicy class to provide host of a pool.
+     */
+    private class ThriftTokenAwareBalancingPolicy extends TokenAwareBalancingPolicy
+    {
+        ThriftTokenAwareBalancingPolicy(LoadBalancingPolicy childPolicy)
+        {
+            super(childPolicy);
+        }
+
+        @Override
+        protected String getHost(Object pool)
+        {
+            return ((ConnectionPool) pool).getPoolProperties().getHost();
+        }
+    }
+
+    /**
+     * Gauge of connections summed over pools of all hosts.
+     */
+    private final class PoolGauge implements Gauge
+    {
+        /** One of pool gauge names of {@link KunderaMetrics}. */
+        private final String name;
+
+        private PoolGauge(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public Number getValue()
+        {
+            int value = 0;
+            for (Object pool : hostPools.values())
+            {
+                ConnectionPool connectionPool = (ConnectionPool) pool;
+                if (KunderaMetrics.POOL_ACTIVE.equals(name))
+                {
+                    value += connectionPool.getActive();
+                }
+                else if (KunderaMetrics.POOL_IDLE.equals(name))
+                {
+                    value += connectionPool.getIdle();
+                }
+                else
+                {
+                    value += connectionPool.getPoolProperties().getMaxActive();
+                }
+            }
+            return value;
+        }
+    }
+
     /**
      * Connection class holds client and related pool.
      * 
@@ -423,6 +588,9 @@ public class ThriftClientFactory extends CassandraClientFactory
         /** The pool. */
         private ConnectionPool pool;
 
+        /** When connection was borrowed, in nanos. */
+        private final long startTime = System.nanoTime();
+
         /**
          * Instantiates a new connection.
          *
@@ -17,10 +17,14 @@ package com.impetus.client.cassandra.thrift;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.cassandra.thrift.Column;
 import org.apache.cassandra.thrift.ColumnOrSuperColumn;
 import org.apache.cassandra.thrift.ColumnParent;
 import org.apache.cassandra.thrift.ConsistencyLevel;
@@ -33,11 +37,9 @@ import com.impetus.client.cassandra.common.CassandraUtilities;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandlerBase;
 import com.impetus.client.cassandra.thrift.ThriftClientFactory.Connection;
+import com.impetus.client.cassandra.thrift.ThriftDataResultHelper.ColumnFamilyType;
 import com.impetus.kundera.db.DataRow;
 import com.impetus.kundera.metadata.model.EntityMetadata;
-import com.impetus.kundera.metadata.model.MetamodelImpl;
-import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
-import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.KunderaCoreUtils;
@@ -91,20 +93,10 @@ public final class ThriftDataHandler extends CassandraDataHandlerBase implements
                 true, 10000));
 
         ByteBuffer key = ByteBuffer.wrap(PropertyAccessorHelper.toBytes(rowKey, m.getIdAttribute().getJavaType()));
-        Connection conn = thriftClient.getConnection();
+        Connection conn = thriftClient.getRoutedConnection(key);
         try
         {
-            MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                    m.getPersistenceUnit());
-
-            AbstractManagedType managedType = (AbstractManagedType) metaModel.entity(m.getEntityClazz());
-
-            // For secondary tables.
-            List<String> secondaryTables = ((DefaultEntityAnnotationProcessor) managedType.getEntityAnnotation())
-                    .getSecondaryTablesName();
-            secondaryTables.add(m.getTableName());
-
-            for (String tableName : secondaryTables)
+            for (String tableName : getTableNames(m))
             {
                 List<ColumnOrSuperColumn> columnOrSuperColumns = conn.getClient().get_slice(key,
                         new ColumnParent(tableName), predicate, consistencyLevel);
@@ -125,6 +117,98 @@ public final class ThriftDataHandler extends CassandraDataHandlerBase implements
         }
     }
 
+    /**
+     * Reads rows with one multiget_slice call per table and chunk of
+     * {@link ThriftClient#getMultiGetChunkSize()} row keys, rather than one
+     * get_slice call per table and row. Entities are returned in order of
+     * given row ids, missing rows being skipped. Rows of an entity having sub
+     * types are populated as sub type their discriminator column holds.
+     * 
+     * @see com.impetus.client.cassandra.datahandler.CassandraDataHandlerBase#fromThriftRow(java.lang.Class,
+     *      com.impetus.kundera.metadata.model.EntityMetadata, java.util.List,
+     *      boolean, org.apache.cassandra.thrift.ConsistencyLevel,
+     *      java.lang.Object[])
+     */
+    @Override
+    public List<Object> fromThriftRow(Class<?> clazz, EntityMetadata m, List<String> relationNames, boolean isWrapReq,
+            ConsistencyLevel consistencyLevel, Object... rowIds) throws Exception
+    {
+        List<Object> entities = new ArrayList<Object>();
+        if (rowIds == null || rowIds.length == 0)
+        {
+            return entities;
+        }
+
+        SlicePredicate predicate = new SlicePredicate();
+        predicate.setSlice_range(new SliceRange(ByteBufferUtil.EMPTY_BYTE_BUFFER, ByteBufferUtil.EMPTY_BYTE_BUFFER,
+                true, 10000));
+
+        List<String> tableNames = getTableNames(m);
+        String discriminatorColumn = getDiscriminatorColumn(m);
+        int chunkSize = thriftClient.getMultiGetChunkSize();
+        Connection conn = thriftClient.getConnection();
+        try
+        {
+            for (int from = 0; from < rowIds.length; from += chunkSize)
+            {
+                int to = Math.min(from + chunkSize, rowIds.length);
+                List<ByteBuffer> keys = new ArrayList<ByteBuffer>(to - from);
+                for (int i = from; i < to; i++)
+                {
+                    keys.add(ByteBuffer.wrap(PropertyAccessorHelper.toBytes(rowIds[i], m.getIdAttribute()
+                            .getJavaType())));
+                }
+
+                Map<String, Map<ByteBuffer, List<ColumnOrSuperColumn>>> slices = new HashMap<String, Map<ByteBuffer, List<ColumnOrSuperColumn>>>();
+                for (String tableName : tableNames)
+                {
+                    slices.put(tableName, conn.getClient().multiget_slice(
+                            new ArrayList<ByteBuffer>(new LinkedHashSet<ByteBuffer>(keys)),
+                            new ColumnParent(tableName), predicate, consistencyLevel));
+                }
+
+                for (ByteBuffer key : keys)
+                {
+                    // Sub type of row, if any, is told by its discriminator.
+                    EntityMetadata rowMetadata = m;
+                    List<String> rowRelationNames = relationNames;
+                    if (discriminatorColumn != null)
+                    {
+                        List<ColumnOrSuperColumn> columnOrSuperColumns = slices.get(m.getTableName()).get(key);
+                        rowMetadata = columnOrSuperColumns == null ? null : getSubEntityMetadata(m, discriminatorColumn,
+                                ThriftDataResultHelper.<Column> transformThriftResult(columnOrSuperColumns,
+                                        ColumnFamilyType.COLUMN, null));
+                        if (rowMetadata == null)
+                        {
+                            continue;
+                        }
+                        rowRelationNames = rowMetadata.getRelationNames();
+                    }
+
+                    Object e = null;
+                    for (String tableName : tableNames)
+                    {
+                        List<ColumnOrSuperColumn> columnOrSuperColumns = slices.get(tableName).get(key);
+                        if (columnOrSuperColumns != null && !columnOrSuperColumns.isEmpty())
+                        {
+                            e = populateEntityFromSlice(rowMetadata, rowRelationNames, isWrapReq,
+                                    KunderaCoreUtils.getEntity(e), Collections.singletonMap(key, columnOrSuperColumns));
+                        }
+                    }
+                    if (e != null)
+                    {
+                        entities.add(e);
+                    }
+                }
+            }
+            return entities;
+        }
+        finally
+        {
+            thriftClient.releaseConnection(conn);
+        }
+    }
+
     /* (non-Javadoc)
      * @see com.impetus.client.cassandra.datahandler.CassandraDataHandlerBase#fromThriftRow(java.lang.Class, com.impetus.kundera.metadata.model.EntityMetadata, com.impetus.kundera.db.DataRow)
      */
@@ -16,16 +16,16 @@
 package com.impetus.client.cassandra.thrift;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.cassandra.thrift.Column;
 import org.apache.cassandra.thrift.ColumnOrSuperColumn;
 import org.apache.cassandra.thrift.ColumnParent;
 import org.apache.cassandra.thrift.ColumnPath;
 import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.cassandra.thrift.Deletion;
 import org.apache.cassandra.thrift.IndexClause;
 import org.apache.cassandra.thrift.InvalidRequestException;
 import org.apache.cassandra.thrift.Mutation;
@@ -50,7 +50,6 @@ import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexingException;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
-import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.TimestampGenerator;
 
 
@@ -93,58 +92,18 @@ public class ThriftInvertedIndexHandler extends InvertedIndexHandlerBase impleme
 
         if (invertedIndexingApplicable)
         {
-            String indexColumnFamily = CassandraIndexHelper.getInvertedIndexTableName(entityMetadata.getTableName());
-
-            ThriftDataHandler thriftDataHandler = (ThriftDataHandler) cdHandler;
+            Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+            prepareMutation(entityMetadata, node.getData(), cdHandler, mutationMap);
+            if (mutationMap.isEmpty())
+            {
+                return;
+            }
 
-            List<ThriftRow> indexThriftyRows = thriftDataHandler.toIndexThriftRow(node.getData(), entityMetadata,
-                    indexColumnFamily);
             Connection conn = thriftClient.getConnection();
             try
             {
-                for (ThriftRow thriftRow : indexThriftyRows)
-                {
-                    byte[] rowKey = PropertyAccessorHelper.toBytes(thriftRow.getId(), thriftRow.getId().getClass());
-
-                    // Create Insertion List
-                    List<Mutation> insertion_list = new ArrayList<Mutation>();
-
-                    List<Column> thriftColumns = thriftRow.getColumns();
-                    List<SuperColumn> thriftSuperColumns = thriftRow.getSuperColumns();
-                    if (thriftColumns != null && !thriftColumns.isEmpty())
-                    {
-                        for (Column column : thriftColumns)
-                        {
-                            Mutation mut = new Mutation();
-                            mut.setColumn_or_supercolumn(new ColumnOrSuperColumn().setColumn(column));
-                            insertion_list.add(mut);
-                        }
-                    }
-
-                    if (thriftSuperColumns != null && !thriftSuperColumns.isEmpty())
-                    {
-                        for (SuperColumn superColumn : thriftSuperColumns)
-                        {
-                            Mutation mut = new Mutation();
-                            mut.setColumn_or_supercolumn(new ColumnOrSuperColumn().setSuper_column(superColumn));
-                            insertion_list.add(mut);
-                        }
-                    }
-
-                    // Create Mutation Map
-                    Map<String, List<Mutation>> columnFamilyValues = new HashMap<String, List<Mutation>>();
-                    columnFamilyValues.put(indexColumnFamily, insertion_list);
-                    Map<ByteBuffer, Map<String, List<Mutation>>> mulationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
-                    mulationMap.put(ByteBuffer.wrap(rowKey), columnFamilyValues);
-
-                    // Write Mutation map to database
-                    conn.getClient().batch_mutate(mulationMap, consistencyLevel);
-                }
-            }
-            catch (IllegalStateException e)
-            {
-                log.error("Unable to insert records into inverted index, Caused by: .", e);
-                throw new IndexingException(e);
+                // Write Mutation map to database
+                conn.getClient().batch_mutate(mutationMap, consistencyLevel);
             }
             catch (InvalidRequestException e)
             {
@@ -175,19 +134,15 @@ public class ThriftInvertedIndexHandler extends InvertedIndexHandlerBase impleme
     }
 
     /* (non-Javadoc)
-     * @see com.impetus.client.cassandra.index.InvertedIndexHandlerBase#searchSuperColumnsInRange(java.lang.String, org.apache.cassandra.thrift.ConsistencyLevel, java.lang.String, java.lang.String, byte[], java.util.List, byte[], byte[])
+     * @see com.impetus.client.cassandra.index.InvertedIndexHandlerBase#getSuperColumnsInRange(java.lang.String, org.apache.cassandra.thrift.ConsistencyLevel, java.lang.String, java.lang.String, byte[], byte[], int)
      */
     @Override
-    protected void searchSuperColumnsInRange(String columnFamilyName, ConsistencyLevel consistencyLevel,
-            String persistenceUnit, String rowKey, byte[] searchSuperColumnName, List<SuperColumn> thriftSuperColumns,
-            byte[] start, byte[] finish)
+    protected List<SuperColumn> getSuperColumnsInRange(String columnFamilyName, ConsistencyLevel consistencyLevel,
+            String persistenceUnit, String rowKey, byte[] start, byte[] finish, int count)
     {
         SlicePredicate colPredicate = new SlicePredicate();
-        SliceRange sliceRange = new SliceRange();
-        sliceRange.setStart(start);
-        sliceRange.setFinish(finish);
-        colPredicate.setSlice_range(sliceRange);
-        Connection conn = thriftClient.getConnection();
+        colPredicate.setSlice_range(new SliceRange(ByteBuffer.wrap(start), ByteBuffer.wrap(finish), false, count));
+        Connection conn = thriftClient.getRoutedConnection(ByteBuffer.wrap(rowKey.getBytes()));
 
         List<ColumnOrSuperColumn> coscList = null;
         try
@@ -219,19 +174,7 @@ public class ThriftInvertedIndexHandler extends InvertedIndexHandlerBase impleme
         {
             thriftClient.releaseConnection(conn);
         }
-        List<SuperColumn> allThriftSuperColumns = ThriftDataResultHelper.transformThriftResult(coscList,
-                ColumnFamilyType.SUPER_COLUMN, null);
-
-        for (SuperColumn superColumn : allThriftSuperColumns)
-        {
-            if (superColumn == null)
-                continue;
-
-            if (superColumn.getName() == searchSuperColumnName)
-            {
-                thriftSuperColumns.add(superColumn);
-            }
-        }
+        return ThriftDataResultHelper.transformThriftResult(coscList, ColumnFamilyType.SUPER_COLUMN, null);
     }
 
     /* (non-Javadoc)
@@ -294,37 +237,36 @@ public class ThriftInvertedIndexHandler extends InvertedIndexHandlerBase impleme
 
     }
 
-    /* (non-Javadoc)
-     * @see com.impetus.client.cassandra.index.InvertedIndexHandlerBase#deleteColumn(java.lang.String, java.lang.String, byte[], java.lang.String, org.apache.cassandra.thrift.ConsistencyLevel, byte[])
+    /**
+     * Deletes entity's column from all super columns it is indexed under with
+     * one batch_mutate, rather than reading and removing each of them.
+     *
+     * @see com.impetus.client.cassandra.index.InvertedIndexHandlerBase#deleteColumns(java.lang.String, java.util.Map, java.lang.String, org.apache.cassandra.thrift.ConsistencyLevel, byte[])
      */
     @Override
-    protected void deleteColumn(String indexColumnFamily, String rowKey, byte[] superColumnName,
+    protected void deleteColumns(String indexColumnFamily, Map<String, List<byte[]>> superColumnNames,
             String persistenceUnit, ConsistencyLevel consistencyLevel, byte[] columnName)
     {
-        ColumnPath cp = new ColumnPath(indexColumnFamily);
-        cp.setSuper_column(superColumnName);
-        Connection conn = thriftClient.getConnection();
-        try
+        long timestamp = generator.getTimestamp();
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        for (String rowKey : superColumnNames.keySet())
         {
-            ColumnOrSuperColumn cosc;
-            try
+            List<Mutation> mutations = getMutations(mutationMap, ByteBuffer.wrap(rowKey.getBytes()), indexColumnFamily);
+            for (byte[] superColumnName : superColumnNames.get(rowKey))
             {
-                cosc = conn.getClient().get(ByteBuffer.wrap(rowKey.getBytes()), cp, consistencyLevel);
+                Deletion deletion = new Deletion();
+                deletion.setTimestamp(timestamp);
+                deletion.setSuper_column(superColumnName);
+                deletion.setPredicate(new SlicePredicate().setColumn_names(Collections.singletonList(ByteBuffer
+                        .wrap(columnName))));
+                mutations.add(new Mutation().setDeletion(deletion));
             }
-            catch (NotFoundException e)
-            {
-                return;
-            }
-            SuperColumn thriftSuperColumn = ThriftDataResultHelper.transformThriftResult(cosc,
-                    ColumnFamilyType.SUPER_COLUMN, null);
+        }
 
-            if (thriftSuperColumn != null && thriftSuperColumn.getColumns() != null
-                    && thriftSuperColumn.getColumns().size() > 1)
-            {
-                cp.setColumn(columnName);
-            }
-            conn.getClient().remove(ByteBuffer.wrap(rowKey.getBytes()), cp, generator.getTimestamp(),
-                    consistencyLevel);
+        Connection conn = thriftClient.getConnection();
+        try
+        {
+            conn.getClient().batch_mutate(mutationMap, consistencyLevel);
         }
         catch (InvalidRequestException e)
         {
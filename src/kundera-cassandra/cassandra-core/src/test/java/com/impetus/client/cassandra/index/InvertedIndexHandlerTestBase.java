@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.index;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.Query;
+
+import junit.framework.Assert;
+
+import org.apache.cassandra.thrift.CfDef;
+import org.apache.cassandra.thrift.Column;
+import org.apache.cassandra.thrift.ColumnOrSuperColumn;
+import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.cassandra.thrift.Mutation;
+import org.apache.cassandra.thrift.SuperColumn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.twitter.entities.TweetCassandra;
+import com.impetus.client.twitter.entities.UserCassandra;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.cassandra.persistence.CassandraCli;
+
+/**
+ * Base test case for inverted index handlers: range searches over index rows
+ * wider than one page, exclusion of GT/LT bounds and index rows shared among
+ * entities written in one batch.
+ */
+public abstract class InvertedIndexHandlerTestBase
+{
+    protected static final String PU = "twissandraTest";
+
+    private static final String KEYSPACE = "KunderaExamples";
+
+    private static final String INDEX_COLUMN_FAMILY = "PAGED_INVRTD_IDX";
+
+    private static final String INDEX_ROW_KEY = "tweets.device";
+
+    /** Spans three pages of index reads. */
+    private static final int SUPER_COLUMNS = 2 * InvertedIndexHandlerBase.INDEX_PAGE_SIZE + 500;
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private InvertedIndexHandlerBase handler;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        CassandraCli.cassandraSetUp();
+        CassandraCli.createKeySpace(KEYSPACE);
+        Map<String, String> propertyMap = new HashMap<String, String>();
+        propertyMap.put(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE, "create");
+        propertyMap.put(PersistenceProperties.KUNDERA_BATCH_SIZE, "2");
+        propertyMap.put(PersistenceProperties.KUNDERA_CLIENT_FACTORY, getClientFactory());
+        emf = Persistence.createEntityManagerFactory(PU, propertyMap);
+        em = emf.createEntityManager();
+        handler = getInvertedIndexHandler(((Map<String, Client>) em.getDelegate()).get(PU));
+    }
+
+    /**
+     * Returns client factory of persistence unit.
+     */
+    protected abstract String getClientFactory();
+
+    /**
+     * Returns inverted index handler reading via given client.
+     */
+    protected abstract InvertedIndexHandlerBase getInvertedIndexHandler(Client client);
+
+    /**
+     * All super columns of a range wider than a page are read, none twice.
+     */
+    @Test
+    public void testRangeOverPages() throws Exception
+    {
+        createIndexRow();
+
+        assertRange(search(null, new byte[0], new byte[0]), 0, SUPER_COLUMNS - 1);
+        assertRange(search(null, name(500), name(2100)), 500, 2100);
+
+        // range ending exactly at a page boundary.
+        assertRange(search(null, name(0), name(InvertedIndexHandlerBase.INDEX_PAGE_SIZE - 1)), 0,
+                InvertedIndexHandlerBase.INDEX_PAGE_SIZE - 1);
+    }
+
+    /**
+     * GT and LT exclude their bound, GTE and LTE include it.
+     */
+    @Test
+    public void testBoundExclusion() throws Exception
+    {
+        createIndexRow();
+
+        // GT and GTE
+        assertRange(search(name(500), name(500), new byte[0]), 501, SUPER_COLUMNS - 1);
+        assertRange(search(null, name(500), new byte[0]), 500, SUPER_COLUMNS - 1);
+
+        // LT and LTE
+        assertRange(search(name(2100), new byte[0], name(2100)), 0, 2099);
+        assertRange(search(null, new byte[0], name(2100)), 0, 2100);
+
+        // bound not present in index row.
+        assertRange(search(name(5000), name(5000), new byte[0]), 0, -1);
+    }
+
+    /**
+     * Entities indexed under same index row in one batch are all found.
+     */
+    @Test
+    public void testSharedIndexRowInBatch()
+    {
+        UserCassandra user1 = new UserCassandra("0001", "Amresh", "password1", "married", 25);
+        user1.addTweet(new TweetCassandra("Here it goes, my first tweet", "Android"));
+        UserCassandra user2 = new UserCassandra("0002", "Saurabh", "password2", "single", 25);
+        user2.addTweet(new TweetCassandra("Hello world", "Android"));
+        user2.addTweet(new TweetCassandra("Second tweet", "Web"));
+
+        // batch of two is written on second persist.
+        em.persist(user1);
+        em.persist(user2);
+        em.clear();
+
+        Query q = em.createQuery("select u from UserCassandra u where u.tweets.device =:device");
+        q.setParameter("device", "Android");
+        List<UserCassandra> users = q.getResultList();
+        Assert.assertEquals(2, users.size());
+        Set<String> userIds = new HashSet<String>();
+        for (UserCassandra user : users)
+        {
+            userIds.add(user.getUserId());
+        }
+        Assert.assertTrue(userIds.contains("0001"));
+        Assert.assertTrue(userIds.contains("0002"));
+
+        q.setParameter("device", "Web");
+        users = q.getResultList();
+        Assert.assertEquals(1, users.size());
+        Assert.assertEquals("0002", users.get(0).getUserId());
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+        CassandraCli.dropKeySpace(KEYSPACE);
+    }
+
+    private List<SuperColumn> search(byte[] excludedSuperColumnName, byte[] start, byte[] finish)
+    {
+        List<SuperColumn> superColumns = new ArrayList<SuperColumn>();
+        handler.searchSuperColumnsInRange(INDEX_COLUMN_FAMILY, ConsistencyLevel.ONE, PU, INDEX_ROW_KEY,
+                excludedSuperColumnName, superColumns, start, finish);
+        return superColumns;
+    }
+
+    /**
+     * Asserts super columns are exactly those named from first to last, in
+     * order.
+     */
+    private static void assertRange(List<SuperColumn> superColumns, int first, int last)
+    {
+        Assert.assertEquals(last - first + 1, superColumns.size());
+        for (int i = first; i <= last; i++)
+        {
+            Assert.assertEquals(new String(name(i)), new String(superColumns.get(i - first).getName()));
+        }
+    }
+
+    /**
+     * Creates an index row holding super columns 0000 to 2499, each one
+     * pointing to one entity row.
+     */
+    private static void createIndexRow() throws Exception
+    {
+        CassandraCli.client.set_keyspace(KEYSPACE);
+        CfDef cfDef = new CfDef(KEYSPACE, INDEX_COLUMN_FAMILY);
+        cfDef.setColumn_type("Super");
+        cfDef.setKey_validation_class("UTF8Type");
+        CassandraCli.client.system_add_column_family(cfDef);
+
+        List<Mutation> mutations = new ArrayList<Mutation>();
+        long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < SUPER_COLUMNS; i++)
+        {
+            Column column = new Column(ByteBuffer.wrap(("user" + i).getBytes())).setValue("".getBytes())
+                    .setTimestamp(timestamp);
+            SuperColumn superColumn = new SuperColumn(ByteBuffer.wrap(name(i)), new ArrayList<Column>());
+            superColumn.addToColumns(column);
+            mutations.add(new Mutation().setColumn_or_supercolumn(new ColumnOrSuperColumn()
+                    .setSuper_column(superColumn)));
+        }
+        Map<String, List<Mutation>> columnFamilyValues = new HashMap<String, List<Mutation>>();
+        columnFamilyValues.put(INDEX_COLUMN_FAMILY, mutations);
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        mutationMap.put(ByteBuffer.wrap(INDEX_ROW_KEY.getBytes()), columnFamilyValues);
+        CassandraCli.client.batch_mutate(mutationMap, ConsistencyLevel.ONE);
+    }
+
+    /**
+     * Zero padded super column name, sorting as its number does.
+     */
+    private static byte[] name(int i)
+    {
+        return String.format("%04d", i).getBytes();
+    }
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.apache.cassandra.dht.Murmur3Partitioner;
+import org.apache.cassandra.thrift.Cassandra;
+import org.apache.cassandra.thrift.InvalidRequestException;
+import org.apache.cassandra.thrift.TokenRange;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.apache.thrift.TException;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.service.policy.LoadBalancingPolicy;
+
+/**
+ * Test case for {@link TokenAwareBalancingPolicy}, over a ring described by a
+ * fake client: (5e18, -5e18] owned by 127.0.0.1, (-5e18, 0] by 127.0.0.2 and
+ * (0, 5e18] by 127.0.0.3 and 127.0.0.1.
+ */
+public class TokenAwareBalancingPolicyTest
+{
+    private static final long LOWEST = -5000000000000000000L;
+
+    private static final long HIGHEST = 5000000000000000000L;
+
+    private static final List<Object> POOLS = Arrays.<Object> asList("127.0.0.1", "127.0.0.2", "127.0.0.3");
+
+    private RecordingPolicy childPolicy;
+
+    private TokenAwareBalancingPolicy policy;
+
+    @Before
+    public void setUp()
+    {
+        childPolicy = new RecordingPolicy();
+        policy = new TokenAwareBalancingPolicy(childPolicy)
+        {
+            @Override
+            protected String getHost(Object pool)
+            {
+                return (String) pool;
+            }
+        };
+    }
+
+    /**
+     * Before ring is known, or without a row key, child policy picks among
+     * all pools.
+     */
+    @Test
+    public void testChildPolicyFallback()
+    {
+        Assert.assertEquals("127.0.0.1", policy.getPool(POOLS, keyInRange(LOWEST, 0)));
+        Assert.assertEquals(POOLS, childPolicy.candidates);
+
+        policy.refresh(new FakeClient(false), "KunderaExamples");
+        policy.getPool(POOLS, null);
+        Assert.assertEquals(POOLS, childPolicy.candidates);
+        policy.getPool(POOLS);
+        Assert.assertEquals(POOLS, childPolicy.candidates);
+
+        // no pool to a replica.
+        List<Object> others = Arrays.<Object> asList("127.0.0.4", "127.0.0.5");
+        Assert.assertEquals("127.0.0.4", policy.getPool(others, keyInRange(LOWEST, 0)));
+        Assert.assertEquals(others, childPolicy.candidates);
+    }
+
+    /**
+     * A ring that can not be described leaves routing to child policy.
+     */
+    @Test
+    public void testRefreshFailure()
+    {
+        policy.refresh(new FakeClient(true), "KunderaExamples");
+        policy.getPool(POOLS, keyInRange(LOWEST, 0));
+        Assert.assertEquals(POOLS, childPolicy.candidates);
+    }
+
+    /**
+     * Row is routed to pools of replicas of range holding its token.
+     */
+    @Test
+    public void testReplicas()
+    {
+        policy.refresh(new FakeClient(false), "KunderaExamples");
+
+        Assert.assertEquals("127.0.0.2", policy.getPool(POOLS, keyInRange(LOWEST, 0)));
+        Assert.assertEquals(Arrays.<Object> asList("127.0.0.2"), childPolicy.candidates);
+
+        // given as byte[] as well.
+        Assert.assertEquals("127.0.0.1", policy.getPool(POOLS, ByteBufferUtil.getArray(keyInRange(0, HIGHEST))));
+        Assert.assertEquals(Arrays.<Object> asList("127.0.0.1", "127.0.0.3"), childPolicy.candidates);
+    }
+
+    /**
+     * Token past last range wraps around to first one.
+     */
+    @Test
+    public void testWrapAround()
+    {
+        policy.refresh(new FakeClient(false), "KunderaExamples");
+
+        policy.getPool(POOLS, keyInRange(HIGHEST, Long.MAX_VALUE));
+        Assert.assertEquals(Arrays.<Object> asList("127.0.0.1"), childPolicy.candidates);
+
+        policy.getPool(POOLS, keyInRange(Long.MIN_VALUE, LOWEST));
+        Assert.assertEquals(Arrays.<Object> asList("127.0.0.1"), childPolicy.candidates);
+    }
+
+    /**
+     * Returns a row key whose token is in (from, to].
+     */
+    private static ByteBuffer keyInRange(long from, long to)
+    {
+        for (int i = 0;; i++)
+        {
+            ByteBuffer key = ByteBufferUtil.bytes("key" + i);
+            long token = (Long) Murmur3Partitioner.instance.getToken(key).getTokenValue();
+            if (token > from && token <= to)
+            {
+                return key;
+            }
+        }
+    }
+
+    /**
+     * Child policy picking first pool, keeping pools it picked from.
+     */
+    private static class RecordingPolicy implements LoadBalancingPolicy
+    {
+        private List<Object> candidates;
+
+        @Override
+        public Object getPool(Collection<Object> pools)
+        {
+            candidates = new ArrayList<Object>(pools);
+            return candidates.get(0);
+        }
+    }
+
+    /**
+     * Client describing a three node ring, not connected to any.
+     */
+    private static class FakeClient extends Cassandra.Client
+    {
+        private final boolean failing;
+
+        private FakeClient(boolean failing)
+        {
+            super(null);
+            this.failing = failing;
+        }
+
+        @Override
+        public String describe_partitioner() throws TException
+        {
+            return Murmur3Partitioner.class.getName();
+        }
+
+        @Override
+        public List<TokenRange> describe_ring(String keyspace) throws InvalidRequestException, TException
+        {
+            if (failing)
+            {
+                throw new InvalidRequestException("Keyspace " + keyspace + " does not exist");
+            }
+            List<TokenRange> ring = new ArrayList<TokenRange>();
+            ring.add(new TokenRange("" + HIGHEST, "" + LOWEST, Arrays.asList("127.0.0.1")));
+            ring.add(new TokenRange("" + LOWEST, "0", Arrays.asList("127.0.0.2")));
+            ring.add(new TokenRange("0", "" + HIGHEST, Arrays.asList("127.0.0.3", "127.0.0.1")));
+            return ring;
+        }
+    }
+}
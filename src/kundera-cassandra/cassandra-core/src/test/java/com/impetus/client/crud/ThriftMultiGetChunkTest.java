@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.crud;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.cassandra.common.CassandraConstants;
+import com.impetus.client.cassandra.thrift.ThriftClient;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.cassandra.persistence.CassandraCli;
+
+/**
+ * Test case for multi row find of {@link ThriftClient}, reading rows with
+ * multiget_slice in chunks.
+ */
+public class ThriftMultiGetChunkTest
+{
+    private static final String PU = "genericCassandraTest";
+
+    private static final int ROWS = 7;
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        CassandraCli.cassandraSetUp();
+        CassandraCli.createKeySpace("KunderaExamples");
+        Map<String, String> propertyMap = new HashMap<String, String>();
+        propertyMap.put(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE, "create");
+        emf = Persistence.createEntityManagerFactory(PU, propertyMap);
+        em = emf.createEntityManager();
+    }
+
+    /**
+     * Rows spread over more than one chunk are all returned, in order of
+     * requested ids, missing ones skipped.
+     */
+    @Test
+    public void testFindAllOverChunks()
+    {
+        Object[] ids = new Object[ROWS + 1];
+        for (int i = 0; i < ROWS; i++)
+        {
+            PersonCassandra person = new PersonCassandra();
+            person.setPersonId("" + i);
+            person.setPersonName("vivek" + i);
+            person.setAge(i);
+            em.persist(person);
+            ids[ROWS - 1 - i] = "" + i;
+        }
+        ids[ROWS] = "missing";
+        em.clear();
+
+        // 7 rows and a missing one over chunks of 3.
+        em.setProperty(CassandraConstants.MULTIGET_CHUNK_SIZE, "3");
+        ThriftClient client = (ThriftClient) ((Map<String, Client>) em.getDelegate()).get(PU);
+        Assert.assertEquals(3, client.getMultiGetChunkSize());
+
+        List<PersonCassandra> persons = client.findAll(PersonCassandra.class, null, ids);
+        Assert.assertEquals(ROWS, persons.size());
+        for (int i = 0; i < ROWS; i++)
+        {
+            PersonCassandra person = persons.get(i);
+            Assert.assertEquals(ids[i], person.getPersonId());
+            Assert.assertEquals("vivek" + ids[i], person.getPersonName());
+            Assert.assertEquals(Integer.valueOf((String) ids[i]), person.getAge());
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+        CassandraCli.dropKeySpace("KunderaExamples");
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.client.crud.inheritence;
+
+import javax.persistence.Column;
+import javax.persistence.DiscriminatorValue;
+import javax.persistence.Entity;
+
+/**
+ * Car entity, sub type of {@link Vehicle}.
+ */
+@Entity
+@DiscriminatorValue("car")
+public class Car extends Vehicle
+{
+    @Column(name = "seats")
+    private Integer seats;
+
+    public Integer getSeats()
+    {
+        return seats;
+    }
+
+    public void setSeats(Integer seats)
+    {
+        this.seats = seats;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.client.crud.inheritence;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.apache.cassandra.thrift.Column;
+import org.apache.cassandra.thrift.ColumnParent;
+import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.cassandra.common.CassandraConstants;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.cassandra.persistence.CassandraCli;
+
+/**
+ * Test case for find of a single table hierarchy, rows being populated as
+ * type their discriminator value tells, or as root entity if they hold none.
+ */
+public class PolymorphicFindTest
+{
+    private static final String PU = "twissandraTest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        CassandraCli.cassandraSetUp();
+        CassandraCli.createKeySpace("KunderaExamples");
+    }
+
+    /**
+     * Polymorphic find via thrift.
+     */
+    @Test
+    public void testFindViaThrift() throws Exception
+    {
+        createEmf(null);
+        assertFind();
+    }
+
+    /**
+     * Polymorphic find via CQL 3.
+     */
+    @Test
+    public void testFindViaCQL() throws Exception
+    {
+        createEmf(CassandraConstants.CQL_VERSION_3_0);
+        assertFind();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        if (em != null)
+        {
+            em.close();
+        }
+        if (emf != null)
+        {
+            emf.close();
+        }
+        CassandraCli.dropKeySpace("KunderaExamples");
+    }
+
+    private void createEmf(String cqlVersion)
+    {
+        Map<String, String> propertyMap = new HashMap<String, String>();
+        if (cqlVersion != null)
+        {
+            propertyMap.put(CassandraConstants.CQL_VERSION, cqlVersion);
+        }
+        emf = Persistence.createEntityManagerFactory(PU, propertyMap);
+        em = emf.createEntityManager();
+    }
+
+    private void assertFind() throws Exception
+    {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId("v1");
+        vehicle.setMake("tata");
+        em.persist(vehicle);
+
+        Car car = new Car();
+        car.setId("c1");
+        car.setMake("maruti");
+        car.setSeats(5);
+        em.persist(car);
+
+        // written before entity got sub types, without discriminator.
+        CassandraCli.client.set_keyspace("KunderaExamples");
+        CassandraCli.client.insert(ByteBuffer.wrap("v2".getBytes()), new ColumnParent("vehicle"),
+                new Column(ByteBuffer.wrap("make".getBytes())).setValue("ford".getBytes()).setTimestamp(
+                        System.currentTimeMillis()), ConsistencyLevel.ONE);
+        em.clear();
+
+        Vehicle foundVehicle = em.find(Vehicle.class, "v1");
+        Assert.assertNotNull(foundVehicle);
+        Assert.assertEquals(Vehicle.class, foundVehicle.getClass());
+        Assert.assertEquals("tata", foundVehicle.getMake());
+
+        Vehicle foundCar = em.find(Vehicle.class, "c1");
+        Assert.assertNotNull(foundCar);
+        Assert.assertEquals(Car.class, foundCar.getClass());
+        Assert.assertEquals("maruti", foundCar.getMake());
+        Assert.assertEquals(Integer.valueOf(5), ((Car) foundCar).getSeats());
+
+        Car car1 = em.find(Car.class, "c1");
+        Assert.assertNotNull(car1);
+        Assert.assertEquals(Integer.valueOf(5), car1.getSeats());
+
+        Vehicle legacyVehicle = em.find(Vehicle.class, "v2");
+        Assert.assertNotNull(legacyVehicle);
+        Assert.assertEquals(Vehicle.class, legacyVehicle.getClass());
+        Assert.assertEquals("ford", legacyVehicle.getMake());
+        em.clear();
+
+        Client client = ((Map<String, Client>) em.getDelegate()).get(PU);
+        List<Vehicle> vehicles = client.findAll(Vehicle.class, null, "v1", "c1", "v2");
+        Assert.assertEquals(3, vehicles.size());
+        Assert.assertEquals(Vehicle.class, vehicles.get(0).getClass());
+        Assert.assertEquals(Car.class, vehicles.get(1).getClass());
+        Assert.assertEquals(Vehicle.class, vehicles.get(2).getClass());
+        Assert.assertEquals("ford", vehicles.get(2).getMake());
+    }
+}
@@ -41,6 +41,7 @@ import org.apache.cassandra.thrift.IndexOperator;
 import org.apache.cassandra.thrift.InvalidRequestException;
 import org.apache.cassandra.thrift.KeyRange;
 import org.apache.cassandra.thrift.KeySlice;
+import org.apache.cassandra.thrift.Mutation;
 import org.apache.cassandra.thrift.SlicePredicate;
 import org.apache.cassandra.thrift.SuperColumn;
 import org.apache.cassandra.thrift.TimedOutException;
@@ -61,7 +62,6 @@ import com.impetus.client.cassandra.CassandraIdGenerator;
 import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.common.CassandraUtilities;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
-import com.impetus.client.cassandra.index.InvertedIndexHandler;
 import com.impetus.client.cassandra.query.CassQuery;
 import com.impetus.client.cassandra.thrift.ThriftRow;
 import com.impetus.kundera.Constants;
@@ -107,7 +107,7 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
     private PelopsDataHandler dataHandler;
 
     /** Handler for Inverted indexing. */
-    private InvertedIndexHandler invertedIndexHandler;
+    private PelopsInvertedIndexHandler invertedIndexHandler;
 
     /** The reader. */
     private EntityReader reader;
@@ -608,6 +608,9 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
                 log.error("Error during persist, Caused by: .", e);
                 throw new KunderaException(e);
             }
+            // entity rows and their inverted index are written in one batch.
+            Mutator mutator = clientFactory.getMutator(pool,
+                    CassandraUtilities.toBytes(id, metadata.getIdAttribute().getBindableJavaType()));
             for (ThriftRow tf : tfRows)
             {
 
@@ -615,7 +618,6 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
                 {
                     addRelationsToThriftRow(metadata, tf, rlHolders);
                 }
-                Mutator mutator = clientFactory.getMutator(pool);
                 if (metadata.isCounterColumnType())
                 {
                     if (log.isInfoEnabled())
@@ -670,8 +672,9 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
                         }
                     }
                 }
-                mutator.execute(getConsistencyLevel());
             }
+            invertedIndexHandler.prepareMutation(mutator, metadata, entity, dataHandler);
+            mutator.execute(getConsistencyLevel());
             tfRows = null;
             if (isTtlPerRequest())
             {
@@ -695,9 +698,27 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
         // Index to lucene if applicable
         super.indexNode(node, entityMetadata);
 
-        // Write to inverted index table if applicable
-        // Delete from Inverted Index if applicable
-        invertedIndexHandler.write(node, entityMetadata, getPersistenceUnit(), getConsistencyLevel(), dataHandler);
+        // Write to inverted index table if applicable, for thrift entities it
+        // is written along with entity itself.
+        if (isCql3Enabled(entityMetadata))
+        {
+            invertedIndexHandler.write(node, entityMetadata, getPersistenceUnit(), getConsistencyLevel(), dataHandler);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.cassandra.CassandraClientBase#prepareIndexMutation
+     * (com.impetus.kundera.metadata.model.EntityMetadata, java.lang.Object,
+     * java.util.Map)
+     */
+    @Override
+    protected void prepareIndexMutation(EntityMetadata entityMetadata, Object entity,
+            Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap)
+    {
+        invertedIndexHandler.prepareMutation(entityMetadata, entity, dataHandler, mutationMap);
     }
 
     /**
@@ -720,9 +741,9 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
     {
         if (!isOpen())
             throw new PersistenceException("PelopsClient is closed.");
-        Selector selector = clientFactory.getSelector(pool);
         List<ByteBuffer> rowKeys = new ArrayList<ByteBuffer>();
         rowKeys.add(ByteBuffer.wrap(rowId.getBytes()));
+        Selector selector = clientFactory.getSelector(pool, rowKeys.get(0));
 
         if (log.isInfoEnabled())
         {
@@ -1066,6 +1087,19 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
         return clientFactory.getSelector(pool);
     }
 
+    /**
+     * Gets the selector for an operation on given row, routed to a replica of
+     * the row if token aware load balancing policy is configured.
+     * 
+     * @param rowKey
+     *            the row key
+     * @return the selector
+     */
+    Selector getRoutedSelector(ByteBuffer rowKey)
+    {
+        return clientFactory.getSelector(pool, rowKey);
+    }
+
     /**
      * Gets the row deletor.
      * 
@@ -47,6 +47,7 @@ import com.impetus.client.cassandra.schemamanager.CassandraSchemaManager;
 import com.impetus.client.cassandra.service.CassandraHost;
 import com.impetus.client.cassandra.service.CassandraHostConfiguration;
 import com.impetus.client.cassandra.service.CassandraRetryService;
+import com.impetus.client.cassandra.service.TokenAwareBalancingPolicy;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.PersistenceProperties;
@@ -54,10 +55,14 @@ import com.impetus.kundera.client.Client;
 import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Gauge;
 import com.impetus.kundera.service.Host;
 import com.impetus.kundera.service.HostConfiguration;
 import com.impetus.kundera.service.policy.LeastActiveBalancingPolicy;
+import com.impetus.kundera.service.policy.LoadBalancingPolicy;
 import com.impetus.kundera.service.policy.RoundRobinBalancingPolicy;
+import com.impetus.kundera.service.policy.RoutingLoadBalancingPolicy;
 
 /**
  * A factory for creating PelopsCliobjects.
@@ -69,6 +74,9 @@ public class PelopsClientFactory extends CassandraClientFactory
 
     private HostConfiguration configuration;
 
+    /** The keyspace pools connect to. */
+    private String keyspace;
+
     @Override
     public void initialize(Map<String, Object> externalProperty)
     {
@@ -94,7 +102,7 @@ public class PelopsClientFactory extends CassandraClientFactory
                 .getPersistenceUnitMetadata(getPersistenceUnit());
 
         Properties props = persistenceUnitMetadata.getProperties();
-        String keyspace = null;
+        keyspace = null;
         if (externalProperties != null)
         {
             keyspace = (String) externalProperties.get(PersistenceProperties.KUNDERA_KEYSPACE);
@@ -137,6 +145,9 @@ public class PelopsClientFactory extends CassandraClientFactory
                 }
             }
         }
+        refreshRing();
+        registerPoolGauges(new PoolGauge(KunderaMetrics.POOL_ACTIVE), new PoolGauge(KunderaMetrics.POOL_IDLE),
+                new PoolGauge(KunderaMetrics.POOL_MAX));
         // TODO return a thrift pool
         return null;
     }
@@ -216,6 +227,9 @@ public class PelopsClientFactory extends CassandraClientFactory
         case LEASTACTIVE:
             loadBalancingPolicy = new PelopsLeastActiveBalancingPolcy();
             break;
+        case TOKENAWARE:
+            loadBalancingPolicy = new PelopsTokenAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+            break;
         default:
             loadBalancingPolicy = new RoundRobinBalancingPolicy();
             break;
@@ -236,6 +250,50 @@ public class PelopsClientFactory extends CassandraClientFactory
         throw new KunderaException("All hosts are down. please check servers manully.");
     }
 
+    /**
+     * Describes ring to token aware policy, if configured.
+     */
+    private void refreshRing()
+    {
+        if (loadBalancingPolicy instanceof TokenAwareBalancingPolicy && !hostPools.isEmpty() && keyspace != null)
+        {
+            IPooledConnection conn = null;
+            try
+            {
+                conn = getConnection(getPoolUsingPolicy());
+                ((TokenAwareBalancingPolicy) loadBalancingPolicy).refresh(conn.getAPI(), keyspace);
+            }
+            catch (KunderaException e)
+            {
+                logger.warn("Error while describing ring, Caused by {} .", e.getMessage());
+            }
+            finally
+            {
+                releaseConnection(conn);
+            }
+        }
+    }
+
+    /**
+     * Returns pool an operation routed by given key is to use, that of client
+     * unless a token aware policy is configured.
+     * 
+     * @param pool
+     *            pool of client
+     * @param routingKey
+     *            the row key operation is on, may be null
+     * @return the pool
+     */
+    private IThriftPool getPool(IThriftPool pool, Object routingKey)
+    {
+        if (routingKey != null && loadBalancingPolicy instanceof RoutingLoadBalancingPolicy && !hostPools.isEmpty())
+        {
+            return (IThriftPool) ((RoutingLoadBalancingPolicy) loadBalancingPolicy).getPool(hostPools.values(),
+                    routingKey);
+        }
+        return pool;
+    }
+
     IPooledConnection getConnection(IThriftPool pool)
     {
         IThriftPool iThriftPool = pool;
@@ -275,6 +333,11 @@ public class PelopsClientFactory extends CassandraClientFactory
         throw new KunderaException("All hosts are down. please check servers manully.");
     }
 
+    Mutator getMutator(IThriftPool pool, Object routingKey)
+    {
+        return getMutator(getPool(pool, routingKey));
+    }
+
     Mutator getMutator(IThriftPool pool)
     {
         IThriftPool iThriftPool = pool;
@@ -311,6 +374,11 @@ public class PelopsClientFactory extends CassandraClientFactory
         throw new KunderaException("All hosts are down. please check servers manully.");
     }
 
+    Selector getSelector(IThriftPool pool, Object routingKey)
+    {
+        return getSelector(getPool(pool, routingKey));
+    }
+
     Selector getSelector(IThriftPool pool)
     {
         IThriftPool iThriftPool = pool;
@@ -419,6 +487,7 @@ public class PelopsClientFactory extends CassandraClientFactory
         {
             Pelops.addPool(poolName, cluster, keyspace, policy, null);
             hostPools.put(cassandraHost, Pelops.getDbConnPool(poolName));
+            refreshRing();
             return true;
         }
         catch (TransportException e)
@@ -442,6 +511,67 @@ public class PelopsClientFactory extends CassandraClientFactory
         CassandraHost cassandraHost = ((CassandraHostConfiguration) configuration).getCassandraHost(
                 nodes[0].getAddress(), ((CommonsBackedPool) pool).getCluster().getConnectionConfig().getThriftPort());
         hostPools.remove(cassandraHost);
+        if (cassandraHost != null && cassandraHost.isRetryHost())
+        {
+            logger.warn("Scheduling node for future retry");
+            ((CassandraRetryService) hostRetryService).add(cassandraHost);
+        }
+    }
+
+    /**
+     * Gauge of connections summed over pools of all hosts.
+     */
+    private final class PoolGauge implements Gauge
+    {
+        /** One of pool gauge names of {@link KunderaMetrics}. */
+        private final String name;
+
+        private PoolGauge(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public Number getValue()
+        {
+            int value = 0;
+            for (Object pool : hostPools.values())
+            {
+                CommonsBackedPool connectionPool = (CommonsBackedPool) pool;
+                if (KunderaMetrics.POOL_ACTIVE.equals(name))
+                {
+                    value += connectionPool.getConnectionsActive();
+                }
+                else if (KunderaMetrics.POOL_IDLE.equals(name))
+                {
+                    // pooled connections not borrowed.
+                    value += connectionPool.getConnectionsCreated() - connectionPool.getConnectionsDestroyed()
+                            - connectionPool.getConnectionsActive();
+                }
+                else
+                {
+                    value += connectionPool.getPolicy().getMaxActivePerNode();
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Extends TokenAwareBalancingPolicy class to provide host of a pool.
+     */
+    private class PelopsTokenAwareBalancingPolicy extends TokenAwareBalancingPolicy
+    {
+        PelopsTokenAwareBalancingPolicy(LoadBalancingPolicy childPolicy)
+        {
+            super(childPolicy);
+        }
+
+        @Override
+        protected String getHost(Object pool)
+        {
+            return ((CommonsBackedPool) pool).getCluster().getNodes()[0].getAddress();
+        }
     }
 
     /**
@@ -17,9 +17,13 @@ package com.impetus.client.cassandra.pelops;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.cassandra.thrift.Column;
 import org.apache.cassandra.thrift.ColumnOrSuperColumn;
 import org.apache.cassandra.thrift.ColumnParent;
 import org.apache.cassandra.thrift.ConsistencyLevel;
@@ -28,12 +32,11 @@ import org.scale7.cassandra.pelops.Selector;
 
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandlerBase;
+import com.impetus.client.cassandra.thrift.ThriftDataResultHelper;
+import com.impetus.client.cassandra.thrift.ThriftDataResultHelper.ColumnFamilyType;
 import com.impetus.client.cassandra.thrift.ThriftRow;
 import com.impetus.kundera.db.DataRow;
 import com.impetus.kundera.metadata.model.EntityMetadata;
-import com.impetus.kundera.metadata.model.MetamodelImpl;
-import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
-import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.KunderaCoreUtils;
@@ -63,23 +66,12 @@ final class PelopsDataHandler extends CassandraDataHandlerBase implements Cassan
     public Object fromThriftRow(Class<?> clazz, EntityMetadata m, Object rowKey, List<String> relationNames,
             boolean isWrapReq, ConsistencyLevel consistencyLevel) throws Exception
     {
-        Selector selector = pelopsClient.getSelector();
-
         List<ByteBuffer> rowKeys = new ArrayList<ByteBuffer>(1);
         rowKeys.add(ByteBuffer.wrap(PropertyAccessorHelper.toBytes(rowKey, m.getIdAttribute().getJavaType())));
-
-        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                m.getPersistenceUnit());
-
-        AbstractManagedType managedType = (AbstractManagedType) metaModel.entity(m.getEntityClazz());
-
-        // For secondary tables.
-        List<String> secondaryTables = ((DefaultEntityAnnotationProcessor) managedType.getEntityAnnotation())
-                .getSecondaryTablesName();
-        secondaryTables.add(m.getTableName());
+        Selector selector = pelopsClient.getRoutedSelector(rowKeys.get(0));
         Object e = null;
 
-        for (String tableName : secondaryTables)
+        for (String tableName : getTableNames(m))
         {
             Map<ByteBuffer, List<ColumnOrSuperColumn>> thriftColumnOrSuperColumns = selector
                     .getColumnOrSuperColumnsFromRows(new ColumnParent(tableName), rowKeys,
@@ -106,11 +98,88 @@ final class PelopsDataHandler extends CassandraDataHandlerBase implements Cassan
 
     /** Translation Methods */
 
+    /**
+     * Reads rows with one multiget call per table and chunk of
+     * {@link PelopsClient#getMultiGetChunkSize()} row keys, returning entities
+     * in order of given row ids, as sub type their discriminator column holds
+     * if entity has sub types.
+     */
     @Override
     public List<Object> fromThriftRow(Class<?> clazz, EntityMetadata m, List<String> relationNames, boolean isWrapReq,
             ConsistencyLevel consistencyLevel, Object... rowIds) throws Exception
     {
-        return super.fromThriftRow(clazz, m, relationNames, isWrapReq, consistencyLevel, rowIds);
+        List<Object> entities = new ArrayList<Object>();
+        if (rowIds == null || rowIds.length == 0)
+        {
+            return entities;
+        }
+
+        Selector selector = pelopsClient.getSelector();
+        List<String> tableNames = getTableNames(m);
+        String discriminatorColumn = getDiscriminatorColumn(m);
+        int chunkSize = pelopsClient.getMultiGetChunkSize();
+
+        for (int from = 0; from < rowIds.length; from += chunkSize)
+        {
+            int to = Math.min(from + chunkSize, rowIds.length);
+            List<ByteBuffer> rowKeys = new ArrayList<ByteBuffer>(to - from);
+            for (int i = from; i < to; i++)
+            {
+                rowKeys.add(ByteBuffer.wrap(PropertyAccessorHelper.toBytes(rowIds[i], m.getIdAttribute().getJavaType())));
+            }
+
+            Map<String, Map<ByteBuffer, List<ColumnOrSuperColumn>>> slices = new HashMap<String, Map<ByteBuffer, List<ColumnOrSuperColumn>>>();
+            for (String tableName : tableNames)
+            {
+                slices.put(tableName, selector.getColumnOrSuperColumnsFromRows(new ColumnParent(tableName),
+                        new ArrayList<ByteBuffer>(new LinkedHashSet<ByteBuffer>(rowKeys)),
+                        Selector.newColumnsPredicateAll(true, 10000), consistencyLevel));
+            }
+
+            for (int i = from; i < to; i++)
+            {
+                ByteBuffer key = rowKeys.get(i - from);
+
+                // Sub type of row, if any, is told by its discriminator.
+                EntityMetadata rowMetadata = m;
+                List<String> rowRelationNames = relationNames;
+                if (discriminatorColumn != null)
+                {
+                    List<ColumnOrSuperColumn> columnOrSuperColumns = slices.get(m.getTableName()).get(key);
+                    rowMetadata = columnOrSuperColumns == null ? null : getSubEntityMetadata(m, discriminatorColumn,
+                            ThriftDataResultHelper.<Column> transformThriftResult(columnOrSuperColumns,
+                                    ColumnFamilyType.COLUMN, null));
+                    if (rowMetadata == null)
+                    {
+                        continue;
+                    }
+                    rowRelationNames = rowMetadata.getRelationNames();
+                }
+
+                Object e = null;
+                for (String tableName : tableNames)
+                {
+                    List<ColumnOrSuperColumn> columnOrSuperColumns = slices.get(tableName).get(key);
+                    if (columnOrSuperColumns != null && !columnOrSuperColumns.isEmpty())
+                    {
+                        ThriftRow tr = new ThriftRow();
+                        tr.setId(rowIds[i]);
+                        tr.setColumnFamilyName(tableName);
+
+                        tr = thriftTranslator.translateToThriftRow(Collections.singletonMap(key, columnOrSuperColumns),
+                                rowMetadata.isCounterColumnType(), rowMetadata.getType(), tr);
+
+                        e = populateEntity(tr, rowMetadata, KunderaCoreUtils.getEntity(e), rowRelationNames,
+                                isWrapReq);
+                    }
+                }
+                if (e != null)
+                {
+                    entities.add(e);
+                }
+            }
+        }
+        return entities;
     }
 
     @Override
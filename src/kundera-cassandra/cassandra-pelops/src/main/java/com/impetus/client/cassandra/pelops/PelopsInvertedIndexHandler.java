@@ -76,38 +76,56 @@ public class PelopsInvertedIndexHandler extends InvertedIndexHandlerBase impleme
 
         if (invertedIndexingApplicable)
         {
-            String indexColumnFamily = CassandraIndexHelper.getInvertedIndexTableName(entityMetadata.getTableName());
-
             Mutator mutator = pelopsClient.getMutator();
+            prepareMutation(mutator, entityMetadata, node.getData(), cdHandler);
+            mutator.execute(consistencyLevel);
+        }
+    }
+
+    /**
+     * Adds writes of inverted index rows of given entity to mutator, so that
+     * they are executed along with entity.
+     * 
+     * @param mutator
+     *            the mutator
+     * @param entityMetadata
+     *            the entity metadata
+     * @param entity
+     *            the entity
+     * @param cdHandler
+     *            the data handler
+     */
+    void prepareMutation(Mutator mutator, EntityMetadata entityMetadata, Object entity, CassandraDataHandler cdHandler)
+    {
+        if (!CassandraIndexHelper.isInvertedIndexingApplicable(entityMetadata, useSecondryIndex))
+        {
+            return;
+        }
 
-            List<ThriftRow> indexThriftyRows = ((PelopsDataHandler) cdHandler).toIndexThriftRow(node.getData(),
-                    entityMetadata, indexColumnFamily);
+        String indexColumnFamily = CassandraIndexHelper.getInvertedIndexTableName(entityMetadata.getTableName());
+        List<ThriftRow> indexThriftyRows = ((PelopsDataHandler) cdHandler).toIndexThriftRow(entity, entityMetadata,
+                indexColumnFamily);
 
-            for (ThriftRow thriftRow : indexThriftyRows)
+        for (ThriftRow thriftRow : indexThriftyRows)
+        {
+            List<Column> thriftColumns = thriftRow.getColumns();
+            List<SuperColumn> thriftSuperColumns = thriftRow.getSuperColumns();
+            if (thriftColumns != null && !thriftColumns.isEmpty())
             {
+                mutator.writeColumns(thriftRow.getColumnFamilyName(), Bytes.fromByteBuffer(CassandraUtilities.toBytes(
+                        thriftRow.getId(), thriftRow.getId().getClass())), Arrays.asList(thriftRow.getColumns()
+                        .toArray(new Column[0])));
+            }
 
-                List<Column> thriftColumns = thriftRow.getColumns();
-                List<SuperColumn> thriftSuperColumns = thriftRow.getSuperColumns();
-                if (thriftColumns != null && !thriftColumns.isEmpty())
-                {
-                    // Bytes.fromL
-                    mutator.writeColumns(thriftRow.getColumnFamilyName(), Bytes.fromByteBuffer(CassandraUtilities
-                            .toBytes(thriftRow.getId(), thriftRow.getId().getClass())), Arrays.asList(thriftRow
-                            .getColumns().toArray(new Column[0])));
-                }
-
-                if (thriftSuperColumns != null && !thriftSuperColumns.isEmpty())
+            if (thriftSuperColumns != null && !thriftSuperColumns.isEmpty())
+            {
+                for (SuperColumn sc : thriftSuperColumns)
                 {
-                    for (SuperColumn sc : thriftSuperColumns)
-                    {
-                        mutator.writeSubColumns(thriftRow.getColumnFamilyName(), Bytes
-                                .fromByteBuffer(CassandraUtilities.toBytes(thriftRow.getId(), thriftRow.getId()
-                                        .getClass())), Bytes.fromByteArray(sc.getName()), sc.getColumns());
-                    }
+                    mutator.writeSubColumns(thriftRow.getColumnFamilyName(), Bytes.fromByteBuffer(CassandraUtilities
+                            .toBytes(thriftRow.getId(), thriftRow.getId().getClass())), Bytes.fromByteArray(sc
+                            .getName()), sc.getColumns());
                 }
             }
-            mutator.execute(consistencyLevel);
-            indexThriftyRows = null;
         }
     }
 
@@ -124,43 +142,27 @@ public class PelopsInvertedIndexHandler extends InvertedIndexHandlerBase impleme
         return super.search(m, persistenceUnit, consistencyLevel, indexClauseMap);
     }
 
-    /**
-     * Searches <code>searchString</code> into <code>columnFamilyName</code>
-     * (usually a wide row column family) for a given <code>rowKey</code> from
-     * start to finish columns. Adds matching thrift columns into
-     * <code>thriftColumns</code>
+    /*
+     * (non-Javadoc)
      * 
-     * @param columnFamilyName
-     * @param consistencyLevel
-     * @param selector
-     * @param rowKey
-     * @param searchString
-     * @param thriftSuperColumns
+     * @see com.impetus.client.cassandra.index.InvertedIndexHandlerBase#
+     * getSuperColumnsInRange(java.lang.String,
+     * org.apache.cassandra.thrift.ConsistencyLevel, java.lang.String,
+     * java.lang.String, byte[], byte[], int)
      */
     @Override
-    public void searchSuperColumnsInRange(String columnFamilyName, ConsistencyLevel consistencyLevel,
-            String persistenceUnit, String rowKey, byte[] searchSuperColumnName, List<SuperColumn> thriftSuperColumns,
-            byte[] start, byte[] finish)
+    protected List<SuperColumn> getSuperColumnsInRange(String columnFamilyName, ConsistencyLevel consistencyLevel,
+            String persistenceUnit, String rowKey, byte[] start, byte[] finish, int count)
     {
         SlicePredicate colPredicate = new SlicePredicate();
         SliceRange sliceRange = new SliceRange();
         sliceRange.setStart(start);
         sliceRange.setFinish(finish);
+        sliceRange.setCount(count);
         colPredicate.setSlice_range(sliceRange);
 
         Selector selector = pelopsClient.getSelector();
-        List<SuperColumn> allThriftSuperColumns = selector.getSuperColumnsFromRow(columnFamilyName, rowKey,
-                colPredicate, consistencyLevel);
-
-        for (SuperColumn superColumn : allThriftSuperColumns)
-        {
-            if (superColumn == null)
-                continue;
-            if (superColumn.getName() == searchSuperColumnName)
-            {
-                thriftSuperColumns.add(superColumn);
-            }
-        }
+        return selector.getSuperColumnsFromRow(columnFamilyName, rowKey, colPredicate, consistencyLevel);
     }
 
     /**
@@ -202,17 +204,26 @@ public class PelopsInvertedIndexHandler extends InvertedIndexHandlerBase impleme
         return thriftSuperColumn;
     }
 
-    /**
-     * @param indexColumnFamily
-     * @param rowKey
-     * @param superColumnName
-     * @param mutator
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.cassandra.index.InvertedIndexHandlerBase#deleteColumns
+     * (java.lang.String, java.util.Map, java.lang.String,
+     * org.apache.cassandra.thrift.ConsistencyLevel, byte[])
      */
-    public void deleteColumn(String indexColumnFamily, String rowKey, byte[] superColumnName, String persistenceUnit,
-            ConsistencyLevel consistencyLevel, byte[] columnName)
+    @Override
+    protected void deleteColumns(String indexColumnFamily, Map<String, List<byte[]>> superColumnNames,
+            String persistenceUnit, ConsistencyLevel consistencyLevel, byte[] columnName)
     {
         Mutator mutator = pelopsClient.getMutator();
-        mutator.deleteColumn(indexColumnFamily, rowKey, Bytes.fromByteArray(superColumnName));
+        for (String rowKey : superColumnNames.keySet())
+        {
+            for (byte[] superColumnName : superColumnNames.get(rowKey))
+            {
+                mutator.deleteColumn(indexColumnFamily, rowKey, Bytes.fromByteArray(superColumnName));
+            }
+        }
         mutator.execute(consistencyLevel);
     }
 }
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.index;
+
+import com.impetus.client.cassandra.pelops.PelopsClient;
+import com.impetus.client.cassandra.pelops.PelopsClientFactory;
+import com.impetus.client.cassandra.pelops.PelopsInvertedIndexHandler;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.utils.DefaultTimestampGenerator;
+
+/**
+ * Test case for {@link PelopsInvertedIndexHandler}.
+ */
+public class PelopsInvertedIndexHandlerTest extends InvertedIndexHandlerTestBase
+{
+    @Override
+    protected String getClientFactory()
+    {
+        return PelopsClientFactory.class.getName();
+    }
+
+    @Override
+    protected InvertedIndexHandlerBase getInvertedIndexHandler(Client client)
+    {
+        return new PelopsInvertedIndexHandler((PelopsClient) client, true, new DefaultTimestampGenerator());
+    }
+}
@@ -53,6 +53,7 @@ import com.impetus.client.couchdb.utils.CouchDBTestUtils;
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.lifecycle.states.TransientState;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
 import com.impetus.kundera.persistence.api.Batcher;
@@ -245,7 +246,6 @@ public class CouchDBClientTest
      */
     private void onInsert(CouchDBClient client)
     {
-        final String nodeId = "node1";
         final String originalName = "vivek";
         PersonCouchDB object = new PersonCouchDB();
         object.setAge(32);
@@ -254,7 +254,8 @@ public class CouchDBClientTest
         object.setDay(Day.TUESDAY);
         object.setMonth(Month.JAN);
 
-        Node node = new Node(nodeId, PersonCouchDB.class, new TransientState(), null, ROW_KEY, null);
+        Node node = new Node(new NodeKey(PersonCouchDB.class, ROW_KEY), PersonCouchDB.class, new TransientState(), null,
+                ROW_KEY, null);
         node.setData(object);
         client.persist(node);
 
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.es.index;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionRequestBuilder;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+
+/**
+ * Iterates over ids of hits of a search, reading them page by page.
+ *
+ * Windows within maxWindow hits are read with a single from/size
+ * request; larger or unbounded ones are read through a scroll, skipping first
+ * hits on client side, as scrolls do not support from. Scroll is cleared once
+ * iterator is exhausted.
+ */
+class ESIdIterator implements Iterator<Object>
+{
+    /** the log used by this class. */
+    private static Log log = LogFactory.getLog(ESIdIterator.class);
+
+    private final Client client;
+
+    private final Class<?> idClass;
+
+    private final TimeValue keepAlive;
+
+    /** Hits still to skip. */
+    private int skip;
+
+    /** Ids still to return, negative if unbounded. */
+    private int remaining;
+
+    private String scrollId;
+
+    private SearchHit[] hits;
+
+    private int position;
+
+    /** Whether no more pages are to be read. */
+    private boolean lastPage;
+
+    /**
+     * Instantiates a new id iterator and reads first page.
+     *
+     * @param client
+     *            the client
+     * @param builder
+     *            search, without from and size
+     * @param idClass
+     *            id type ids are converted to
+     * @param from
+     *            number of hits to skip
+     * @param size
+     *            maximum number of ids, negative if unbounded
+     * @param pageSize
+     *            number of hits read at a time
+     * @param maxWindow
+     *            largest window read with from/size
+     * @param keepAlive
+     *            time scroll is kept between pages
+     */
+    ESIdIterator(Client client, SearchRequestBuilder builder, Class<?> idClass, int from, int size, int pageSize,
+            int maxWindow, TimeValue keepAlive)
+    {
+        this.client = client;
+        this.idClass = idClass;
+        this.keepAlive = keepAlive;
+        this.remaining = size;
+
+        builder.setNoFields();
+        if (size >= 0 && (long) from + size <= maxWindow)
+        {
+            builder.setFrom(from).setSize(size);
+            lastPage = true;
+            read(builder);
+        }
+        else
+        {
+            this.skip = from;
+            builder.setScroll(keepAlive).setSize(pageSize);
+            read(builder);
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        while (remaining != 0)
+        {
+            while (position < hits.length)
+            {
+                if (skip == 0)
+                {
+                    return true;
+                }
+                position++;
+                skip--;
+            }
+            if (lastPage)
+            {
+                break;
+            }
+            read(client.prepareSearchScroll(scrollId).setScroll(keepAlive));
+        }
+        clearScroll();
+        return false;
+    }
+
+    @Override
+    public Object next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+        if (remaining > 0)
+        {
+            remaining--;
+        }
+        return PropertyAccessorHelper.fromSourceToTargetClass(idClass, String.class, hits[position++].getId());
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    private void read(ActionRequestBuilder<?, SearchResponse, ?> request)
+    {
+        SearchResponse response;
+        try
+        {
+            response = request.execute().actionGet();
+        }
+        catch (ElasticsearchException e)
+        {
+            clearScroll();
+            log.error("Exception occured while reading ids from Elasticsearch.", e);
+            throw new KunderaException("Exception occured while reading ids from Elasticsearch.", e);
+        }
+        if (response.getScrollId() != null)
+        {
+            scrollId = response.getScrollId();
+        }
+        hits = response.getHits().getHits();
+        position = 0;
+        lastPage |= hits.length == 0;
+    }
+
+    private void clearScroll()
+    {
+        if (scrollId != null)
+        {
+            client.prepareClearScroll().addScrollId(scrollId).execute();
+            scrollId = null;
+        }
+    }
+}
@@ -3,11 +3,15 @@ package com.impetus.client.es.index;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -17,14 +21,25 @@ import org.eclipse.persistence.jpa.jpql.parser.OrderByItem;
 import org.eclipse.persistence.jpa.jpql.parser.WhereClause;
 import org.eclipse.persistence.jpa.jpql.utility.iterable.ListIterable;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.ListenableActionFuture;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.transport.TransportClient;
 import org.elasticsearch.common.transport.InetSocketTransportAddress;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.FilteredQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -40,7 +55,8 @@ import com.impetus.client.es.ESQuery;
 import com.impetus.client.es.utils.ESResponseWrapper;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
-import com.impetus.kundera.index.Indexer;
+import com.impetus.kundera.index.BufferedIndexer;
+import com.impetus.kundera.index.IdStreamingIndexer;
 import com.impetus.kundera.index.IndexerProperties;
 import com.impetus.kundera.index.IndexerProperties.Node;
 import com.impetus.kundera.index.IndexingException;
@@ -58,9 +74,21 @@ import com.thoughtworks.xstream.XStream;
 /**
  * The Class ESIndexer.
  * 
+ * Index and unindex operations are queued in a {@link BulkProcessor}, unless
+ * "bulk.enabled" is set to false in indexer wide properties of esindexer.xml.
+ * Queued operations are sent once any of "bulk.actions" (default 1000),
+ * "bulk.size.mb" (default 5) or "bulk.flush.interval.ms" (default 1000) is
+ * reached, with up to "bulk.concurrent.requests" (default 1) in flight, and
+ * are drained on {@link #flush()} and before every search. Failed operations
+ * are reported by flush of the thread that queued them only.
+ * 
+ * Ids are searched "scroll.page.size" (default 1000) hits at a time; result
+ * windows beyond "max.result.window" (default 10000, as in Elasticsearch) are
+ * read through a scroll kept for "scroll.keep.alive.ms" (default 60000).
+ * 
  * @author vivek.mishra
  */
-public class ESIndexer implements Indexer
+public class ESIndexer implements BufferedIndexer, IdStreamingIndexer
 {
 
     /** The client. */
@@ -79,6 +107,34 @@ public class ESIndexer implements Indexer
     /** the log used by this class. */
     private static Log log = LogFactory.getLog(ESIndexer.class);
 
+    /** Maximum number of failures listed in exception raised on flush. */
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    /** The bulk processor, null if bulk indexing is disabled. */
+    private BulkProcessor bulkProcessor;
+
+    /** Indexer wide properties of esindexer.xml. */
+    private Properties settings = new Properties();
+
+    /** Time in milliseconds flush waits for in flight bulk requests. */
+    private long bulkFlushTimeout = 60000;
+
+    /** Lock guarding queued operations and their trackers. */
+    private final Object bulkLock = new Object();
+
+    /** Tracker of operations queued by current thread. */
+    private final ThreadLocal<BulkTracker> bulkTrackers = new ThreadLocal<BulkTracker>()
+    {
+        @Override
+        protected BulkTracker initialValue()
+        {
+            return new BulkTracker();
+        }
+    };
+
+    /** Tracker of each queued operation, until its bulk request completes. */
+    private final Map<ActionRequest, BulkTracker> queuedRequests = new IdentityHashMap<ActionRequest, BulkTracker>();
+
     /**
      * Instantiates a new ES indexer.
      */
@@ -96,6 +152,12 @@ public class ESIndexer implements Indexer
     public void setClient(Client client)
     {
         this.client = client;
+        if (bulkProcessor != null)
+        {
+            // queued operations go to previous client.
+            bulkProcessor.close();
+            initBulkProcessor();
+        }
     }
 
     /*
@@ -126,10 +188,18 @@ public class ESIndexer implements Indexer
             Object id = PropertyAccessorHelper.fromSourceToTargetClass(String.class,
                     ((AbstractAttribute) metadata.getIdAttribute()).getBindableJavaType(), values.get(idColumnName));
 
-            ListenableActionFuture<IndexResponse> listenableActionFuture = client
+            IndexRequestBuilder indexRequest = client
                     .prepareIndex(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(), id.toString())
-                    .setSource(json).execute();
-            IndexResponse response = listenableActionFuture.actionGet();
+                    .setSource(json);
+            if (bulkProcessor != null)
+            {
+                addToBulk(indexRequest.request());
+            }
+            else
+            {
+                ListenableActionFuture<IndexResponse> listenableActionFuture = indexRequest.execute();
+                IndexResponse response = listenableActionFuture.actionGet();
+            }
         }
         catch (JsonGenerationException e)
         {
@@ -168,21 +238,80 @@ public class ESIndexer implements Indexer
             log.info("Executing lucene query " + luceneQuery);
         }
 
-        ListenableActionFuture<SearchResponse> listenableActionFuture = client
-                .prepareSearch(m.getSchema().toLowerCase()).setQuery(QueryBuilders.queryStringQuery(luceneQuery))
-                .setSize(40000).execute();
-        SearchResponse response = listenableActionFuture.actionGet();
-
         Map<String, Object> results = new HashMap<String, Object>();
-        for (SearchHit hit : response.getHits())
+        Iterator<Object> ids = searchIds(clazz, m, luceneQuery, start, count);
+        while (ids.hasNext())
         {
-            Object id = PropertyAccessorHelper.fromSourceToTargetClass(
-                    ((AbstractAttribute) m.getIdAttribute()).getBindableJavaType(), String.class, hit.getId());
-            results.put(hit.getId(), id);
+            Object id = ids.next();
+            results.put(id.toString(), id);
         }
         return results;
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.index.IdStreamingIndexer#searchIds(java.lang.Class,
+     * com.impetus.kundera.metadata.model.EntityMetadata, java.lang.String, int,
+     * int)
+     */
+    @Override
+    public Iterator<Object> searchIds(Class<?> clazz, EntityMetadata m, String luceneQuery, int start, int count)
+    {
+        // queued operations must be visible to search.
+        flush();
+
+        SearchRequestBuilder builder = client.prepareSearch(m.getSchema().toLowerCase()).setQuery(
+                QueryBuilders.queryStringQuery(luceneQuery));
+        return newIdIterator(builder, m, Math.max(start, 0), count);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.index.IdStreamingIndexer#searchIds(com.impetus.kundera
+     * .persistence.EntityManagerFactoryImpl.KunderaMetadata,
+     * com.impetus.kundera.query.KunderaQuery,
+     * com.impetus.kundera.persistence.PersistenceDelegator,
+     * com.impetus.kundera.metadata.model.EntityMetadata, int, int)
+     */
+    @Override
+    public Iterator<Object> searchIds(KunderaMetadata kunderaMetadata, KunderaQuery kunderaQuery,
+            PersistenceDelegator persistenceDelegator, EntityMetadata m, int firstResult, int maxResults)
+    {
+        flush();
+        ESQuery query = new ESQuery<>(kunderaQuery, persistenceDelegator, kunderaMetadata);
+        Expression whereExpression = KunderaQueryUtils.getWhereClause(kunderaQuery.getJpqlExpression());
+        QueryBuilder filter = whereExpression != null ? query.getEsFilterBuilder()
+                .populateFilterBuilder(((WhereClause) whereExpression).getConditionalExpression(), m) : null;
+
+        SearchRequestBuilder builder = client.prepareSearch(m.getSchema().toLowerCase())
+                .setTypes(m.getEntityClazz().getSimpleName()).setQuery(QueryBuilders.filteredQuery(null, filter));
+        addSortOrder(builder, kunderaQuery, m, kunderaMetadata);
+        return newIdIterator(builder, m, Math.max(firstResult, 0), maxResults);
+    }
+
+    /**
+     * Creates iterator over ids of hits of given search.
+     */
+    private Iterator<Object> newIdIterator(SearchRequestBuilder builder, EntityMetadata m, int from, int size)
+    {
+        try
+        {
+            return new ESIdIterator(client, builder,
+                    ((AbstractAttribute) m.getIdAttribute()).getBindableJavaType(), from, size,
+                    Integer.parseInt(settings.getProperty("scroll.page.size", "1000")),
+                    Integer.parseInt(settings.getProperty("max.result.window", "10000")),
+                    TimeValue.timeValueMillis(Long.parseLong(settings.getProperty("scroll.keep.alive.ms", "60000"))));
+        }
+        catch (NumberFormatException e)
+        {
+            log.error("Scroll settings should be numeric", e);
+            throw new IllegalArgumentException("Scroll settings should be numeric", e);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -197,6 +326,7 @@ public class ESIndexer implements Indexer
     public Map<String, Object> search(KunderaMetadata kunderaMetadata, KunderaQuery kunderaQuery,
             PersistenceDelegator persistenceDelegator, EntityMetadata m, int firstResult, int maxResults)
     {
+        flush();
         ESQuery query = new ESQuery<>(kunderaQuery, persistenceDelegator, kunderaMetadata);
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata()
                 .getMetamodel(m.getPersistenceUnit());
@@ -323,9 +453,97 @@ public class ESIndexer implements Indexer
     public void unIndex(Class entityClazz, Object entity, EntityMetadata metadata, MetamodelImpl metamodelImpl)
     {
         Object id = PropertyAccessorHelper.getId(entity, metadata);
-        DeleteResponse response = client
-                .prepareDelete(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(), id.toString()).execute()
-                .actionGet();
+        if (bulkProcessor != null)
+        {
+            addToBulk(client.prepareDelete(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(),
+                    id.toString()).request());
+        }
+        else
+        {
+            DeleteResponse response = client
+                    .prepareDelete(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(), id.toString())
+                    .execute().actionGet();
+        }
+    }
+
+    /**
+     * Queues given index or delete request in bulk processor, tracked as
+     * issued by current thread.
+     * 
+     * @param request
+     *            the request
+     */
+    void addToBulk(ActionRequest request)
+    {
+        BulkTracker tracker = bulkTrackers.get();
+        synchronized (bulkLock)
+        {
+            queuedRequests.put(request, tracker);
+            tracker.pending++;
+        }
+        try
+        {
+            bulkProcessor.add(request);
+        }
+        catch (RuntimeException e)
+        {
+            synchronized (bulkLock)
+            {
+                queuedRequests.remove(request);
+                tracker.pending--;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sends queued operations and waits for those queued by current thread to
+     * complete, failing if any of them failed.
+     * 
+     * @see com.impetus.kundera.index.BufferedIndexer#flush()
+     */
+    @Override
+    public void flush()
+    {
+        if (bulkProcessor == null)
+        {
+            return;
+        }
+
+        bulkProcessor.flush();
+        BulkTracker tracker = bulkTrackers.get();
+        List<String> failures;
+        synchronized (bulkLock)
+        {
+            long deadline = System.currentTimeMillis() + bulkFlushTimeout;
+            while (tracker.pending > 0)
+            {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                {
+                    throw new IndexingException("Timed out waiting for " + tracker.pending
+                            + " queued index operations to complete");
+                }
+                try
+                {
+                    bulkLock.wait(remaining);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IndexingException("Interrupted while waiting for bulk index requests", e);
+                }
+            }
+            failures = new ArrayList<String>(tracker.failures);
+            tracker.failures.clear();
+        }
+
+        if (!failures.isEmpty())
+        {
+            throw new IndexingException("Indexing failed for " + failures.size() + " entities: "
+                    + StringUtils.join(failures.subList(0, Math.min(failures.size(), MAX_REPORTED_FAILURES)), ", ")
+                    + (failures.size() > MAX_REPORTED_FAILURES ? ", ..." : ""));
+        }
     }
 
     /*
@@ -336,12 +554,152 @@ public class ESIndexer implements Indexer
     @Override
     public void close()
     {
+        if (bulkProcessor != null)
+        {
+            try
+            {
+                bulkProcessor.awaitClose(bulkFlushTimeout, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while closing bulk processor", e);
+            }
+            bulkProcessor = null;
+        }
         if (client != null)
         {
             client.close();
         }
     }
 
+    /**
+     * Builds bulk processor from indexer wide properties, unless bulk indexing
+     * is disabled.
+     */
+    private void initBulkProcessor()
+    {
+        Properties properties = settings;
+        if (!Boolean.parseBoolean(properties.getProperty("bulk.enabled", "true")))
+        {
+            return;
+        }
+
+        try
+        {
+            bulkFlushTimeout = Long.parseLong(properties.getProperty("bulk.flush.timeout.ms", "60000"));
+            bulkProcessor = BulkProcessor
+                    .builder(client, new BulkListener())
+                    .setBulkActions(Integer.parseInt(properties.getProperty("bulk.actions", "1000")))
+                    .setBulkSize(
+                            new ByteSizeValue(Long.parseLong(properties.getProperty("bulk.size.mb", "5")),
+                                    ByteSizeUnit.MB))
+                    .setFlushInterval(
+                            TimeValue.timeValueMillis(Long.parseLong(properties.getProperty(
+                                    "bulk.flush.interval.ms", "1000"))))
+                    .setConcurrentRequests(Integer.parseInt(properties.getProperty("bulk.concurrent.requests", "1")))
+                    .build();
+        }
+        catch (NumberFormatException e)
+        {
+            log.error("Bulk settings should be numeric", e);
+            throw new IllegalArgumentException("Bulk settings should be numeric", e);
+        }
+    }
+
+    /**
+     * Describes entity an index or delete request is for.
+     */
+    private static String describe(ActionRequest request)
+    {
+        if (request instanceof IndexRequest)
+        {
+            return ((IndexRequest) request).type() + "/" + ((IndexRequest) request).id();
+        }
+        else if (request instanceof DeleteRequest)
+        {
+            return ((DeleteRequest) request).type() + "/" + ((DeleteRequest) request).id();
+        }
+        return String.valueOf(request);
+    }
+
+    /**
+     * Operations queued by a thread, not yet completed, and failed ones not
+     * yet reported to it, as type/id: reason. Guarded by bulk lock.
+     */
+    private static class BulkTracker
+    {
+        private int pending;
+
+        private final List<String> failures = new ArrayList<String>();
+    }
+
+    /**
+     * Completes queued operations of bulk requests, recording failed ones with
+     * tracker of thread that queued them.
+     */
+    private class BulkListener implements BulkProcessor.Listener
+    {
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request)
+        {
+            // nothing to do, operations are tracked since queued.
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response)
+        {
+            List<ActionRequest> requests = request.requests();
+            String[] failures = new String[requests.size()];
+            for (BulkItemResponse item : response.getItems())
+            {
+                if (item.isFailed())
+                {
+                    failures[item.getItemId()] = item.getType() + "/" + item.getId() + ": "
+                            + item.getFailureMessage();
+                }
+            }
+            onBulkCompleted(requests, failures);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure)
+        {
+            log.error("Error while executing bulk index request", failure);
+            List<ActionRequest> requests = request.requests();
+            String[] failures = new String[requests.size()];
+            for (int i = 0; i < failures.length; i++)
+            {
+                failures[i] = describe(requests.get(i)) + ": " + failure.getMessage();
+            }
+            onBulkCompleted(requests, failures);
+        }
+
+        private void onBulkCompleted(List<ActionRequest> requests, String[] failures)
+        {
+            synchronized (bulkLock)
+            {
+                for (int i = 0; i < failures.length; i++)
+                {
+                    BulkTracker tracker = queuedRequests.remove(requests.get(i));
+                    if (failures[i] != null)
+                    {
+                        log.error("Error while indexing " + failures[i]);
+                    }
+                    if (tracker != null)
+                    {
+                        if (failures[i] != null)
+                        {
+                            tracker.failures.add(failures[i]);
+                        }
+                        tracker.pending--;
+                    }
+                }
+                bulkLock.notifyAll();
+            }
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -401,6 +759,11 @@ public class ESIndexer implements Indexer
                                         Integer.parseInt(properties.getProperty("port")))));
                     }
                 }
+                if (indexerProperties.getProperties() != null)
+                {
+                    settings = indexerProperties.getProperties();
+                }
+                initBulkProcessor();
             }
         }
         else
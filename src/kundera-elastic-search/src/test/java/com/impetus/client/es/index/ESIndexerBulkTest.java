@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.es.index;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.Assert;
+
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.client.transport.TransportClient;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.settings.Settings.Builder;
+import org.elasticsearch.common.transport.InetSocketTransportAddress;
+import org.elasticsearch.node.Node;
+import org.elasticsearch.node.NodeBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.index.IndexingException;
+
+/**
+ * Test case for bulk indexing of {@link ESIndexer}.
+ */
+public class ESIndexerBulkTest
+{
+    private static final String INDEX = "esbulktest";
+
+    private Node node = null;
+
+    private Client client;
+
+    private ESIndexer indexer;
+
+    @Before
+    public void setup() throws Exception
+    {
+        if (!checkIfServerRunning())
+        {
+            Builder builder = Settings.settingsBuilder();
+            builder.put("path.home", "target/data");
+            node = new NodeBuilder().settings(builder).node();
+        }
+        client = TransportClient.builder().build()
+                .addTransportAddress(new InetSocketTransportAddress(new InetSocketAddress("localhost", 9300)));
+        indexer = new ESIndexer();
+        indexer.setClient(client);
+    }
+
+    /**
+     * Queued operations are sent on flush.
+     */
+    @Test
+    public void testFlushSendsQueuedOperations()
+    {
+        indexer.addToBulk(new IndexRequest(INDEX, "Person", "1").source("{\"name\":\"kuldeep\"}"));
+        indexer.addToBulk(new IndexRequest(INDEX, "Person", "2").source("{\"name\":\"amresh\"}"));
+        indexer.flush();
+
+        Assert.assertTrue(client.prepareGet(INDEX, "Person", "1").get().isExists());
+        Assert.assertTrue(client.prepareGet(INDEX, "Person", "2").get().isExists());
+
+        indexer.addToBulk(new DeleteRequest(INDEX, "Person", "1"));
+        indexer.flush();
+
+        Assert.assertFalse(client.prepareGet(INDEX, "Person", "1").get().isExists());
+        Assert.assertTrue(client.prepareGet(INDEX, "Person", "2").get().isExists());
+    }
+
+    /**
+     * Failed operations are reported, once, to thread that queued them only.
+     */
+    @Test
+    public void testFailuresReportedToIssuingThread() throws InterruptedException
+    {
+        final CountDownLatch queued = new CountDownLatch(1);
+        final CountDownLatch flushed = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final AtomicReference<Throwable> failureOnRetry = new AtomicReference<Throwable>();
+
+        Thread writer = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                indexer.addToBulk(new IndexRequest(INDEX, "Person", "3").source("not json"));
+                queued.countDown();
+                try
+                {
+                    flushed.await();
+                    indexer.flush();
+                }
+                catch (Throwable t)
+                {
+                    failure.set(t);
+                }
+                try
+                {
+                    indexer.flush();
+                }
+                catch (Throwable t)
+                {
+                    failureOnRetry.set(t);
+                }
+            }
+        });
+        writer.start();
+        queued.await();
+
+        // other thread's failure is not reported here.
+        indexer.addToBulk(new IndexRequest(INDEX, "Person", "4").source("{\"name\":\"vivek\"}"));
+        indexer.flush();
+        flushed.countDown();
+        writer.join();
+
+        Assert.assertTrue(failure.get() instanceof IndexingException);
+        Assert.assertTrue(failure.get().getMessage().contains("Person/3"));
+        Assert.assertNull(failureOnRetry.get());
+        Assert.assertTrue(client.prepareGet(INDEX, "Person", "4").get().isExists());
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        if (client.admin().indices().prepareExists(INDEX).get().isExists())
+        {
+            client.admin().indices().prepareDelete(INDEX).get();
+        }
+        indexer.close();
+        if (checkIfServerRunning() && node != null)
+        {
+            node.close();
+        }
+    }
+
+    /**
+     * Check if server running.
+     *
+     * @return true, if successful
+     */
+    private static boolean checkIfServerRunning()
+    {
+        try
+        {
+            Socket socket = new Socket("127.0.0.1", 9300);
+            return socket.getInetAddress() != null;
+        }
+        catch (UnknownHostException e)
+        {
+            return false;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+}
@@ -18,7 +18,9 @@ package com.impetus.client.hbase;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +56,7 @@ import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
 import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.ClientMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
@@ -260,6 +263,68 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
         }
     }
 
+    /**
+     * Find data matching a comparison on an indexed column, through native
+     * index table of entity.
+     * 
+     * @param <E>
+     *            the element type
+     * @param m
+     *            the m
+     * @param columnName
+     *            indexed column
+     * @param operator
+     *            comparison operator
+     * @param value
+     *            value compared with
+     * @param columnsToOutput
+     *            the columns to output
+     * @param filters
+     *            filters checked against each row found
+     * @param maxResults
+     *            max rows to find
+     * @return the list
+     */
+    public <E> List<E> findDataByIndex(EntityMetadata m, String columnName, CompareOp operator, byte[] value,
+            List<Map<String, Object>> columnsToOutput, Filter filters, int maxResults)
+    {
+        String tableName = HBaseUtils.getHTableName(m.getSchema(), m.getTableName());
+        try
+        {
+            return ((HBaseDataHandler) handler).readDataByIndex(tableName, m, columnName, operator, value,
+                    columnsToOutput, getFilterList(filters), maxResults);
+        }
+        catch (IOException ioex)
+        {
+            log.error("Error during find by index, Caused by: .", ioex);
+            throw new KunderaException("Error during find by index, Caused by: .", ioex);
+        }
+    }
+
+    /**
+     * Gets columns of given entity kept in a native index table.
+     * 
+     * @param m
+     *            the m
+     * @return indexed column names, empty unless native index is enabled.
+     */
+    public Set<String> getIndexedColumns(EntityMetadata m)
+    {
+        return ((HBaseDataHandler) handler).getIndexedColumns(m).keySet();
+    }
+
+    /**
+     * Sets whether @Index columns are kept in native index tables, which
+     * applies only when no Lucene or ES indexer is configured.
+     * 
+     * @param nativeIndex
+     *            the native index
+     */
+    public void setNativeIndex(boolean nativeIndex)
+    {
+        ((HBaseDataHandler) handler).setNativeIndex(nativeIndex && MetadataUtils.useSecondryIndex(clientMetadata));
+    }
+
     /**
      * Gets the filter list.
      * 
@@ -453,6 +518,25 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
         {
             rowKey = KunderaCoreUtils.prepareCompositeKey(m, rowKey);
         }
+        if (((HBaseDataHandler) handler).isIndexed(m))
+        {
+            // row goes first, an index entry left behind is dropped on read.
+            Map<String, List<Row>> batchData = new LinkedHashMap<String, List<Row>>();
+            try
+            {
+                List<Row> indexMutations = ((HBaseDataHandler) handler).prepareIndexMutations(m, rowKey, null);
+                batchData.put(HBaseUtils.getHTableName(m.getSchema(), m.getTableName()),
+                        Collections.singletonList(handler.prepareDelete(rowKey)));
+                batchData.put(((HBaseDataHandler) handler).getIndexTableName(m), indexMutations);
+            }
+            catch (IOException ioex)
+            {
+                log.error("Error during delete, Caused by: .", ioex);
+                throw new PersistenceException(ioex);
+            }
+            ((HBaseDataHandler) handler).batchProcess(batchData);
+            return;
+        }
         deleteByColumn(m.getSchema(), m.getTableName(), null, rowKey);
     }
 
@@ -594,21 +678,41 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
                 if (node.isDirty())
                 {
                     Row action = null;
+                    List<Row> indexMutations = null;
                     node.handlePreEvent();
                     Object rowKey = node.getEntityId();
                     Object entity = node.getData();
                     EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, node.getDataClass());
                     String tableName = HBaseUtils.getHTableName(m.getSchema(), m.getTableName());
+                    boolean isIndexed = ((HBaseDataHandler) handler).isIndexed(m);
                     if (node.isInState(RemovedState.class))
                     {
                         action = handler.prepareDelete(rowKey);
+                        if (isIndexed)
+                        {
+                            indexMutations = ((HBaseDataHandler) handler).prepareIndexMutations(m, rowKey, null);
+                        }
                     }
                     else
                     {
                         HBaseRow hbaseRow = ((HBaseDataHandler) handler).createHbaseRow(m, entity, rowKey, null);
                         action = handler.preparePut(hbaseRow);
+                        if (isIndexed)
+                        {
+                            indexMutations = ((HBaseDataHandler) handler).prepareIndexMutations(m,
+                                    hbaseRow.getRowKey(), hbaseRow);
+                        }
                     }
                     node.handlePostEvent();
+                    if (indexMutations != null)
+                    {
+                        String indexTableName = ((HBaseDataHandler) handler).getIndexTableName(m);
+                        if (!batchData.containsKey(indexTableName))
+                        {
+                            batchData.put(indexTableName, new ArrayList<Row>());
+                        }
+                        batchData.get(indexTableName).addAll(indexMutations);
+                    }
                     if (!batchData.containsKey(tableName))
                     {
                         batchData.put(tableName, new ArrayList<Row>());
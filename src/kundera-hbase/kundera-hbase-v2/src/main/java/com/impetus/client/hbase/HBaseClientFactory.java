@@ -146,8 +146,10 @@ public class HBaseClientFactory extends GenericClientFactory
     @Override
     protected Client instantiateClient(String persistenceUnit)
     {
-        return new HBaseClient(indexManager, conf, connection, reader, persistenceUnit, externalProperties,
-                clientMetadata, kunderaMetadata);
+        HBaseClient client = new HBaseClient(indexManager, conf, connection, reader, persistenceUnit,
+                externalProperties, clientMetadata, kunderaMetadata);
+        client.setNativeIndex(HBasePropertyReader.hsmd.isNativeIndex());
+        return client;
     }
 
     /*
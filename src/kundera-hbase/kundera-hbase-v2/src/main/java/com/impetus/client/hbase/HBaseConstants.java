@@ -31,4 +31,7 @@ public final class HBaseConstants
 
     /** The Constant ZOOKEEPER_HOST. */
     public static final String ZOOKEEPER_HOST = "zookeeper.host";
+
+    /** The Constant NATIVE_INDEX, enables index tables for @Index columns. */
+    public static final String NATIVE_INDEX = "hbase.native.index";
 }
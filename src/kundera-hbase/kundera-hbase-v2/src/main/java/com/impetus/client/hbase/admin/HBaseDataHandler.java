@@ -18,10 +18,14 @@ package com.impetus.client.hbase.admin;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
@@ -33,14 +37,21 @@ import org.apache.hadoop.hbase.MasterNotRunningException;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.HBaseAdmin;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
 import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
 import org.jboss.netty.util.internal.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +61,7 @@ import com.impetus.client.hbase.Reader;
 import com.impetus.client.hbase.Writer;
 import com.impetus.client.hbase.service.HBaseReader;
 import com.impetus.client.hbase.service.HBaseWriter;
+import com.impetus.client.hbase.utils.HBaseIndexUtils;
 import com.impetus.client.hbase.utils.HBaseUtils;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
@@ -58,6 +70,7 @@ import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.PropertyIndex;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
@@ -75,6 +88,9 @@ public class HBaseDataHandler implements DataHandler
     /** the log used by this class. */
     private static Logger logger = LoggerFactory.getLogger(HBaseDataHandler.class);
 
+    /** Max rows got in one batch while reading through native index. */
+    static final int INDEX_GET_BATCH_SIZE = 100;
+
     /** The admin. */
     private HBaseAdmin admin;
 
@@ -96,6 +112,9 @@ public class HBaseDataHandler implements DataHandler
     /** The kundera metadata. */
     private KunderaMetadata kunderaMetadata;
 
+    /** Whether @Index columns are kept in native index tables. */
+    private boolean nativeIndex;
+
     /**
      * Instantiates a new hBase data handler.
      * 
@@ -230,7 +249,251 @@ public class HBaseDataHandler implements DataHandler
             List<RelationHolder> relations, boolean showQuery) throws IOException
     {
         HBaseRow hbaseRow = createHbaseRow(m, entity, rowId, relations);
-        writeHbaseRowInATable(tableName, hbaseRow);
+        if (isIndexed(m))
+        {
+            // index entries are written in same batch as row.
+            Map<String, List<Row>> batchData = new LinkedHashMap<String, List<Row>>();
+            batchData.put(getIndexTableName(m), prepareIndexMutations(m, hbaseRow.getRowKey(), hbaseRow));
+            batchData.put(tableName, Collections.<Row> singletonList(preparePut(hbaseRow)));
+            batchProcess(batchData);
+        }
+        else
+        {
+            writeHbaseRowInATable(tableName, hbaseRow);
+        }
+    }
+
+    /**
+     * Sets whether @Index columns are kept in native index tables.
+     * 
+     * @param nativeIndex
+     *            the native index
+     */
+    public void setNativeIndex(boolean nativeIndex)
+    {
+        this.nativeIndex = nativeIndex;
+    }
+
+    /**
+     * Checks whether rows of given entity have entries in a native index
+     * table.
+     * 
+     * @param m
+     *            the m
+     * @return true, if is indexed
+     */
+    public boolean isIndexed(EntityMetadata m)
+    {
+        return !getIndexedColumns(m).isEmpty();
+    }
+
+    /**
+     * Gets columns of given entity kept in its native index table, with their
+     * column family. Only basic, non id columns are indexed.
+     * 
+     * @param m
+     *            the m
+     * @return indexed columns, empty unless native index is enabled.
+     */
+    public Map<String, String> getIndexedColumns(EntityMetadata m)
+    {
+        Map<String, String> indexedColumns = new HashMap<String, String>();
+        if (!nativeIndex || m.getIndexProperties().isEmpty())
+        {
+            return indexedColumns;
+        }
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(m.getEntityClazz());
+        for (Map.Entry<String, PropertyIndex> index : m.getIndexProperties().entrySet())
+        {
+            Field field = index.getValue().getProperty();
+            if (field != null && !isIdCol(m, index.getKey()) && !metaModel.isEmbeddable(field.getType())
+                    && !Collection.class.isAssignableFrom(field.getType())
+                    && !Map.class.isAssignableFrom(field.getType()))
+            {
+                AbstractAttribute attribute = (AbstractAttribute) entityType.getAttribute(field.getName());
+                indexedColumns.put(index.getKey(), attribute.getTableName() != null ? attribute.getTableName() : m
+                        .getTableName());
+            }
+        }
+        return indexedColumns;
+    }
+
+    /**
+     * Gets the native index table of given entity.
+     * 
+     * @param m
+     *            the m
+     * @return the index table name
+     */
+    public String getIndexTableName(EntityMetadata m)
+    {
+        return HBaseUtils.getHTableName(m.getSchema(), HBaseIndexUtils.getIndexTableName(m.getTableName()));
+    }
+
+    /**
+     * Prepares index table mutations bringing index entries of a row in line
+     * with given row: entries of stored values which changed are deleted and
+     * entries of new values are put. Stored values are read with a single get
+     * of indexed columns.
+     * 
+     * @param m
+     *            the m
+     * @param rowKey
+     *            the row key
+     * @param hbaseRow
+     *            row to be written, null if row is to be deleted.
+     * @return the index mutations
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public List<Row> prepareIndexMutations(EntityMetadata m, Object rowKey, HBaseRow hbaseRow) throws IOException
+    {
+        Map<String, String> indexedColumns = getIndexedColumns(m);
+        byte[] rowKeyBytes = HBaseUtils.getBytes(rowKey);
+
+        Set<byte[]> newEntries = new TreeSet<byte[]>(Bytes.BYTES_COMPARATOR);
+        if (hbaseRow != null)
+        {
+            for (HBaseCell cell : hbaseRow.getRowCells())
+            {
+                String columnFamily = indexedColumns.get(cell.getColumnName());
+                if (columnFamily != null && columnFamily.equals(cell.getColumnFamily()) && cell.getValue() != null)
+                {
+                    newEntries.add(HBaseIndexUtils.getIndexRowKey(cell.getColumnName(),
+                            HBaseUtils.getBytes(cell.getValue()), rowKeyBytes));
+                }
+            }
+        }
+
+        Set<byte[]> storedEntries = new TreeSet<byte[]>(Bytes.BYTES_COMPARATOR);
+        Get get = new Get(rowKeyBytes);
+        for (Map.Entry<String, String> column : indexedColumns.entrySet())
+        {
+            get.addColumn(Bytes.toBytes(column.getValue()), Bytes.toBytes(column.getKey()));
+        }
+        Table hTable = gethTable(HBaseUtils.getHTableName(m.getSchema(), m.getTableName()));
+        try
+        {
+            Result result = hTable.get(get);
+            for (Map.Entry<String, String> column : indexedColumns.entrySet())
+            {
+                byte[] value = result.getValue(Bytes.toBytes(column.getValue()), Bytes.toBytes(column.getKey()));
+                if (value != null)
+                {
+                    storedEntries.add(HBaseIndexUtils.getIndexRowKey(column.getKey(), value, rowKeyBytes));
+                }
+            }
+        }
+        finally
+        {
+            closeHTable(hTable);
+        }
+
+        List<Row> mutations = new ArrayList<Row>();
+        for (byte[] entry : newEntries)
+        {
+            if (!storedEntries.contains(entry))
+            {
+                Put put = new Put(entry);
+                put.addColumn(Bytes.toBytes(HBaseIndexUtils.INDEX_FAMILY),
+                        Bytes.toBytes(HBaseIndexUtils.ROW_KEY_QUALIFIER), rowKeyBytes);
+                mutations.add(put);
+            }
+        }
+        for (byte[] entry : storedEntries)
+        {
+            if (!newEntries.contains(entry))
+            {
+                mutations.add(new Delete(entry));
+            }
+        }
+        return mutations;
+    }
+
+    /**
+     * Reads rows of given entity matching a comparison on an indexed column,
+     * by scanning row range of matching entries in native index table and
+     * getting referred rows in batches of {@link #INDEX_GET_BATCH_SIZE}.
+     * Filters apply to each get, so that remaining conditions are checked and
+     * entries of values no longer stored are dropped. Scan stops once
+     * maxResults rows passed them.
+     * 
+     * @param tableName
+     *            the table name
+     * @param m
+     *            the m
+     * @param columnName
+     *            indexed column
+     * @param operator
+     *            comparison operator
+     * @param value
+     *            value compared with
+     * @param columnsToOutput
+     *            the columns to output
+     * @param filterList
+     *            the filter list
+     * @param maxResults
+     *            max rows to read
+     * @return the list
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public List readDataByIndex(String tableName, EntityMetadata m, String columnName, CompareOp operator,
+            byte[] value, List<Map<String, Object>> columnsToOutput, FilterList filterList, int maxResults)
+            throws IOException
+    {
+        List<HBaseDataWrapper> results = new ArrayList<HBaseDataWrapper>();
+        if (maxResults <= 0)
+        {
+            return new ArrayList();
+        }
+        Scan scan = new Scan(HBaseIndexUtils.getStartRow(columnName, operator, value), HBaseIndexUtils.getStopRow(
+                columnName, operator, value));
+        byte[] indexFamily = Bytes.toBytes(HBaseIndexUtils.INDEX_FAMILY);
+        byte[] rowKeyQualifier = Bytes.toBytes(HBaseIndexUtils.ROW_KEY_QUALIFIER);
+        scan.addColumn(indexFamily, rowKeyQualifier);
+        scan.setCaching(Math.min(maxResults, INDEX_GET_BATCH_SIZE));
+
+        Table hTable = gethTable(tableName);
+        filterList = getExtPropertyFilters(m, filterList);
+        boolean isFindKeyOnly = HBaseUtils.isFindKeyOnly(m, columnsToOutput);
+        filterList = onFindKeyOnly(filterList, isFindKeyOnly);
+        Table indexTable = gethTable(getIndexTableName(m));
+        try
+        {
+            ResultScanner scanner = indexTable.getScanner(scan);
+            try
+            {
+                List<Object> rowKeys = new ArrayList<Object>();
+                Result result;
+                while (results.size() < maxResults && (result = scanner.next()) != null)
+                {
+                    rowKeys.add(result.getValue(indexFamily, rowKeyQualifier));
+
+                    // batch never gets more rows than still wanted.
+                    if (rowKeys.size() == Math.min(maxResults - results.size(), INDEX_GET_BATCH_SIZE))
+                    {
+                        results.addAll(((HBaseReader) hbaseReader).loadAll(hTable, rowKeys, null, null, filterList));
+                        rowKeys.clear();
+                    }
+                }
+                if (!rowKeys.isEmpty())
+                {
+                    results.addAll(((HBaseReader) hbaseReader).loadAll(hTable, rowKeys, null, null, filterList));
+                }
+            }
+            finally
+            {
+                scanner.close();
+            }
+        }
+        finally
+        {
+            closeHTable(indexTable);
+        }
+        return onRead(m, columnsToOutput, hTable, results);
     }
 
     /**
@@ -1054,7 +1317,30 @@ public class HBaseDataHandler implements DataHandler
     }
 
     /**
-     * Gets the handle.
+     * Returns start and end row keys of all regions of given table.
+     * 
+     * @param tableName
+     *            the table name
+     * @return start and end keys, one pair of entries per region
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public Pair<byte[][], byte[][]> getStartEndKeys(String tableName) throws IOException
+    {
+        RegionLocator locator = connection.getRegionLocator(TableName.valueOf(tableName));
+        try
+        {
+            return locator.getStartEndKeys();
+        }
+        finally
+        {
+            locator.close();
+        }
+    }
+
+    /**
+     * Gets a new handle, with a reader of its own, so that scans through it
+     * neither share nor reset scanner of any other handle.
      * 
      * @return the handle
      */
@@ -1062,7 +1348,8 @@ public class HBaseDataHandler implements DataHandler
     {
         HBaseDataHandler handler = new HBaseDataHandler(this.kunderaMetadata, this.connection);
         handler.filter = this.filter;
-        handler.filters = this.filters;
+        handler.filters = new ConcurrentHashMap<String, FilterList>(this.filters);
+        handler.nativeIndex = this.nativeIndex;
         return handler;
     }
 
@@ -1113,10 +1400,21 @@ public class HBaseDataHandler implements DataHandler
         for (String tableName : batchData.keySet())
         {
             List<Row> actions = batchData.get(tableName);
+            if (actions.isEmpty())
+            {
+                continue;
+            }
             try
             {
                 Table hTable = gethTable(tableName);
-                hTable.batch(actions, new Object[actions.size()]);
+                try
+                {
+                    hTable.batch(actions, new Object[actions.size()]);
+                }
+                finally
+                {
+                    closeHTable(hTable);
+                }
             }
             catch (IOException | InterruptedException e)
             {
@@ -168,6 +168,28 @@ public class HBasePropertyReader extends AbstractPropertyReader implements Prope
             return zookeeperHost;
         }
 
+        /**
+         * Checks whether @Index columns are kept in native index tables, as
+         * set by connection property or persistence unit property
+         * {@value HBaseConstants#NATIVE_INDEX}.
+         * 
+         * @return true, if native index is enabled
+         */
+        public boolean isNativeIndex()
+        {
+            String nativeIndex = null;
+            DataStore ds = getDataStore();
+            if (ds != null && ds.getConnection() != null && ds.getConnection().getProperties() != null)
+            {
+                nativeIndex = ds.getConnection().getProperties().getProperty(HBaseConstants.NATIVE_INDEX);
+            }
+            if (nativeIndex == null && puMetadata != null)
+            {
+                nativeIndex = puMetadata.getProperty(HBaseConstants.NATIVE_INDEX);
+            }
+            return nativeIndex != null && Boolean.parseBoolean(nativeIndex.trim());
+        }
+
         /**
          * Gets the data store.
          * 
@@ -15,10 +15,12 @@
  ******************************************************************************/
 package com.impetus.client.hbase.query;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +38,7 @@ import org.apache.hadoop.hbase.filter.RegexStringComparator;
 import org.apache.hadoop.hbase.filter.RowFilter;
 import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
 import org.eclipse.persistence.jpa.jpql.parser.CollectionExpression;
 import org.eclipse.persistence.jpa.jpql.parser.ComparisonExpression;
 import org.eclipse.persistence.jpa.jpql.parser.Expression;
@@ -53,6 +56,7 @@ import org.slf4j.LoggerFactory;
 
 import com.impetus.client.hbase.HBaseClient;
 import com.impetus.client.hbase.HBaseEntityReader;
+import com.impetus.client.hbase.utils.HBaseIndexUtils;
 import com.impetus.client.hbase.utils.HBaseUtils;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
@@ -71,6 +75,7 @@ import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
 import com.impetus.kundera.query.KunderaQueryUtils;
 import com.impetus.kundera.query.QueryImpl;
+import com.impetus.kundera.query.QuerySplit;
 import com.impetus.kundera.utils.KunderaCoreUtils;
 import com.impetus.kundera.utils.ReflectUtils;
 
@@ -165,9 +170,21 @@ public class HBaseQuery extends QueryImpl
         boolean useLuceneOrES = !MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata());
         QueryTranslator translator = new QueryTranslator();
         List<Map<String, Object>> columnsToOutput = translator.getColumnsToOutput(m, getKunderaQuery(), useLuceneOrES);
+        if (!useLuceneOrES)
+        {
+            translator.setIndexedColumns(((HBaseClient) client).getIndexedColumns(m));
+        }
         translator.translate(getKunderaQuery(), m, useLuceneOrES);
         Filter filters = translator.getFilters();
-        if (!translator.isWhereOrAggregationQuery() || !useLuceneOrES)
+        if (translator.getIndexColumn() != null && translator.getStartRow() == null
+                && translator.getEndRow() == null)
+        {
+            // rows found through index are checked against all filters.
+            return ((HBaseClient) client).findDataByIndex(m, translator.getIndexColumn(),
+                    translator.getIndexOperator(), translator.getIndexValue(), columnsToOutput, filters,
+                    getMaxResults());
+        }
+        else if (!translator.isWhereOrAggregationQuery() || !useLuceneOrES)
         {
             return ((HBaseClient) client).findData(m, null, translator.getStartRow(), translator.getEndRow(),
                     columnsToOutput, filters);
@@ -210,6 +227,126 @@ public class HBaseQuery extends QueryImpl
                 getFetchSize() != null ? getFetchSize() : this.maxResult, translator, columns);
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.query.QueryImpl#getSplits(com.impetus.kundera.metadata
+     * .model.EntityMetadata, com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected List getSplits(EntityMetadata m, Client client)
+    {
+        boolean useLuceneOrES = !MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata());
+        QueryTranslator translator = new QueryTranslator();
+        translator.translate(getKunderaQuery(), m, useLuceneOrES);
+        byte[] startRow = translator.getStartRow();
+        byte[] endRow = translator.getEndRow();
+        if ((useLuceneOrES && translator.isWhereOrAggregationQuery())
+                || (startRow != null && Bytes.equals(startRow, endRow)))
+        {
+            return null;
+        }
+
+        Pair<byte[][], byte[][]> regionKeys;
+        try
+        {
+            regionKeys = ((HBaseClient) client).getHandle().getStartEndKeys(
+                    HBaseUtils.getHTableName(m.getSchema(), m.getTableName()));
+        }
+        catch (IOException e)
+        {
+            logger.error("Error while fetching regions of table {}, Caused by: .", m.getTableName(), e);
+            throw new KunderaException("Error while fetching regions of table " + m.getTableName(), e);
+        }
+
+        int fetchSize = getFetchSize() != null ? getFetchSize() : this.maxResult;
+        List<QuerySplit> splits = new ArrayList<QuerySplit>();
+        for (int i = 0; i < regionKeys.getFirst().length; i++)
+        {
+            // clip query row range to region boundaries.
+            byte[] regionStartRow = regionKeys.getFirst()[i];
+            byte[] regionEndRow = regionKeys.getSecond()[i];
+            byte[] splitStartRow = isUnbounded(startRow) || Bytes.compareTo(regionStartRow, startRow) > 0 ? regionStartRow
+                    : startRow;
+            byte[] splitEndRow = isUnbounded(endRow)
+                    || (!isUnbounded(regionEndRow) && Bytes.compareTo(regionEndRow, endRow) < 0) ? regionEndRow
+                    : endRow;
+            if (isUnbounded(splitStartRow) || isUnbounded(splitEndRow)
+                    || Bytes.compareTo(splitStartRow, splitEndRow) < 0)
+            {
+                // translator per split, as scan setup adds to its filters.
+                QueryTranslator splitTranslator = new QueryTranslator();
+                splitTranslator.translate(getKunderaQuery(), m, useLuceneOrES);
+                splits.add(new RegionSplit((HBaseClient) client, m, fetchSize, splitTranslator,
+                        splitTranslator.getColumnsToOutput(m, getKunderaQuery(), useLuceneOrES), splitStartRow,
+                        splitEndRow));
+            }
+        }
+        return splits;
+    }
+
+    /**
+     * Checks whether given row key leaves range open.
+     * 
+     * @param row
+     *            the row key
+     * @return true, if null or empty
+     */
+    private static boolean isUnbounded(byte[] row)
+    {
+        return row == null || row.length == 0;
+    }
+
+    /**
+     * Scan over part of a region, opened on a worker thread of parallel
+     * iteration. Each opened scan reads through a new handle, holding its own
+     * reader and scanner over the split's row range, so concurrent splits
+     * never share scan state.
+     */
+    private class RegionSplit implements QuerySplit
+    {
+        private final HBaseClient client;
+
+        private final EntityMetadata m;
+
+        private final int fetchSize;
+
+        private final QueryTranslator translator;
+
+        private final List<Map<String, Object>> columns;
+
+        private final byte[] startRow;
+
+        private final byte[] endRow;
+
+        RegionSplit(HBaseClient client, EntityMetadata m, int fetchSize, QueryTranslator translator,
+                List<Map<String, Object>> columns, byte[] startRow, byte[] endRow)
+        {
+            this.client = client;
+            this.m = m;
+            this.fetchSize = fetchSize;
+            this.translator = translator;
+            this.columns = columns;
+            this.startRow = startRow;
+            this.endRow = endRow;
+        }
+
+        @Override
+        public Iterator open()
+        {
+            return new ResultIterator(client, m, persistenceDelegeator, fetchSize, translator, columns, startRow,
+                    endRow);
+        }
+
+        @Override
+        public String toString()
+        {
+            return m.getTableName() + "[" + Bytes.toStringBinary(startRow) + ", " + Bytes.toStringBinary(endRow)
+                    + ")";
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -261,6 +398,25 @@ public class HBaseQuery extends QueryImpl
         /** The is where or aggregation. */
         private boolean isWhereOrAggregation = false;
 
+        /** Columns kept in native index table of entity. */
+        private Set<String> indexedColumns = new HashSet<String>();
+
+        /*
+         * Indexed column, operator and value of a comparison every row found
+         * must satisfy, null if there is none.
+         */
+        /** The index column. */
+        private String indexColumn = null;
+
+        /** The index operator. */
+        private CompareOp indexOperator = null;
+
+        /** The index value. */
+        private byte[] indexValue = null;
+
+        /** Depth of OR expressions being traversed. */
+        private int disjunctionDepth = 0;
+
         /**
          * Checks if is where or aggregation query.
          * 
@@ -452,6 +608,10 @@ public class HBaseQuery extends QueryImpl
             if (!isEmbeddable(map))
             {
                 byte[] valueInBytes = getValueInBytes(value, fieldClazz, isIdColumn, m);
+                if (!isIdColumn)
+                {
+                    onIndexedComparison(((ComparisonExpression) expression).getIdentifier(), columnName, valueInBytes);
+                }
                 return createNewFilter(((ComparisonExpression) expression).getIdentifier(), Bytes.toBytes(colFamily),
                         Bytes.toBytes(columnName), valueInBytes, isIdColumn);
             }
@@ -462,6 +622,33 @@ public class HBaseQuery extends QueryImpl
             }
         }
 
+        /**
+         * Keeps comparison on an indexed column, reachable through AND only,
+         * as one rows are looked up by. Equality is preferred over a range.
+         * 
+         * @param condition
+         *            the condition
+         * @param columnName
+         *            the column name
+         * @param value
+         *            the value
+         */
+        private void onIndexedComparison(String condition, String columnName, byte[] value)
+        {
+            if (disjunctionDepth > 0 || !indexedColumns.contains(columnName))
+            {
+                return;
+            }
+            CompareOp operator = HBaseUtils.getOperator(condition, false, true).getOperator();
+            if (HBaseIndexUtils.isSupported(operator)
+                    && (indexColumn == null || (operator == CompareOp.EQUAL && indexOperator != CompareOp.EQUAL)))
+            {
+                indexColumn = columnName;
+                indexOperator = operator;
+                indexValue = value;
+            }
+        }
+
         private Filter onLikeExpression(Expression expression, EntityMetadata m, String idColumn, Boolean isIdColumn)
         {
 
@@ -627,6 +814,11 @@ public class HBaseQuery extends QueryImpl
         private Filter onLogicalExpression(Expression expression, EntityMetadata m, String idColumn)
         {
             FilterList filterList = checkOperationAndReturnFilter((LogicalExpression) expression);
+            boolean isDisjunction = ((LogicalExpression) expression).getIdentifier().equals(HBaseUtils.OR);
+            if (isDisjunction)
+            {
+                disjunctionDepth++;
+            }
             Filter f = traverse(((LogicalExpression) expression).getLeftExpression(), m, idColumn);
             if (f != null)
             {
@@ -637,6 +829,10 @@ public class HBaseQuery extends QueryImpl
             {
                 filterList.addFilter(f);
             }
+            if (isDisjunction)
+            {
+                disjunctionDepth--;
+            }
             return filterList.getFilters().size() == 0 ? null : filterList;
         }
 
@@ -904,6 +1100,47 @@ public class HBaseQuery extends QueryImpl
         {
             return endRow;
         }
+
+        /**
+         * Sets columns kept in native index table of entity.
+         * 
+         * @param indexedColumns
+         *            the indexed columns
+         */
+        void setIndexedColumns(Set<String> indexedColumns)
+        {
+            this.indexedColumns = indexedColumns;
+        }
+
+        /**
+         * Gets the index column.
+         * 
+         * @return the index column
+         */
+        String getIndexColumn()
+        {
+            return indexColumn;
+        }
+
+        /**
+         * Gets the index operator.
+         * 
+         * @return the index operator
+         */
+        CompareOp getIndexOperator()
+        {
+            return indexOperator;
+        }
+
+        /**
+         * Gets the index value.
+         * 
+         * @return the index value
+         */
+        byte[] getIndexValue()
+        {
+            return indexValue;
+        }
     }
 
 }
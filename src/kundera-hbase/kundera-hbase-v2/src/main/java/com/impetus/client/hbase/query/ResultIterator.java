@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.client.hbase.query;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -39,13 +40,14 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.query.IResultIterator;
 
 /**
- * The Class ResultIterator.
+ * The Class ResultIterator. Scans through a handle of its own, whose scanner
+ * is closed once scan is over or on {@link #close()}.
  * 
  * @author Pragalbh Garg
  * @param <E>
  *            the element type
  */
-class ResultIterator<E> implements IResultIterator<E>
+class ResultIterator<E> implements IResultIterator<E>, Closeable
 {
 
     /** The client. */
@@ -66,6 +68,12 @@ class ResultIterator<E> implements IResultIterator<E>
     /** The columns. */
     private List<Map<String, Object>> columns;
 
+    /** The start row. */
+    private byte[] startRow;
+
+    /** The end row. */
+    private byte[] endRow;
+
     /** The fetch size. */
     private int fetchSize;
 
@@ -75,6 +83,9 @@ class ResultIterator<E> implements IResultIterator<E>
     /** The scroll complete. */
     private boolean scrollComplete;
 
+    /** Whether scanner is closed. */
+    private boolean closed;
+
     /** the log used by this class. */
     private static Logger log = LoggerFactory.getLogger(ResultIterator.class);
 
@@ -96,6 +107,32 @@ class ResultIterator<E> implements IResultIterator<E>
      */
     public ResultIterator(HBaseClient client, EntityMetadata m, PersistenceDelegator pd, int fetchSize,
             QueryTranslator translator, List<Map<String, Object>> columns)
+    {
+        this(client, m, pd, fetchSize, translator, columns, translator.getStartRow(), translator.getEndRow());
+    }
+
+    /**
+     * Instantiates a new result iterator over given row range.
+     * 
+     * @param client
+     *            the client
+     * @param m
+     *            the entity metadata
+     * @param pd
+     *            the pd
+     * @param fetchSize
+     *            the fetch size
+     * @param translator
+     *            the translator
+     * @param columns
+     *            the columns
+     * @param startRow
+     *            the start row
+     * @param endRow
+     *            the end row
+     */
+    ResultIterator(HBaseClient client, EntityMetadata m, PersistenceDelegator pd, int fetchSize,
+            QueryTranslator translator, List<Map<String, Object>> columns, byte[] startRow, byte[] endRow)
     {
         this.entityMetadata = m;
         this.client = client;
@@ -105,6 +142,8 @@ class ResultIterator<E> implements IResultIterator<E>
         this.fetchSize = fetchSize;
         this.translator = translator;
         this.columns = columns;
+        this.startRow = startRow;
+        this.endRow = endRow;
         onQuery(m, client);
     }
 
@@ -116,16 +155,33 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public boolean hasNext()
     {
+        if (scrollComplete)
+        {
+            return false;
+        }
         boolean available = handler.hasNext();
         if (!available || fetchSize == 0)
         {
-            scrollComplete = true;
-            handler.reset();
+            close();
             return false;
         }
         return available;
     }
 
+    /**
+     * Closes scanner of this iterator.
+     */
+    @Override
+    public void close()
+    {
+        if (!closed)
+        {
+            closed = true;
+            scrollComplete = true;
+            handler.reset();
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -203,7 +259,7 @@ class ResultIterator<E> implements IResultIterator<E>
         String tableName = HBaseUtils.getHTableName(m.getSchema(), m.getTableName());
         try
         {
-            handler.readData(tableName, m, null, translator.getStartRow(), translator.getEndRow(), getColumnsToOuput(),
+            handler.readData(tableName, m, null, startRow, endRow, getColumnsToOuput(),
                     (FilterList) translator.getFilters());
         }
         catch (IOException e)
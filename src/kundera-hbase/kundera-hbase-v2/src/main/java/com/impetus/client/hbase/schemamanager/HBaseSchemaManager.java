@@ -41,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.client.hbase.config.HBasePropertyReader;
+import com.impetus.client.hbase.utils.HBaseIndexUtils;
 import com.impetus.client.hbase.utils.HBaseUtils;
 import com.impetus.kundera.configure.ClientProperties.DataStore.Schema;
 import com.impetus.kundera.configure.ClientProperties.DataStore.Schema.Table;
@@ -282,10 +283,39 @@ public class HBaseSchemaManager extends AbstractSchemaManager implements SchemaM
                 HTableDescriptor hTableDescriptor = getTableDescriptor(clazz, entityMap.get(clazz), tablename);
                 String hTableName = HBaseUtils.getHTableName(databaseName, tablename);
                 createOrUpdateTable(hTableName, hTableDescriptor);
+                if (HBasePropertyReader.hsmd.isNativeIndex() && !m.getIndexProperties().isEmpty())
+                {
+                    createIndexTable(tablename);
+                }
             }
         }
     }
 
+    /**
+     * Creates native index table of given entity table, if absent.
+     * 
+     * @param tableName
+     *            the table name
+     */
+    private void createIndexTable(String tableName)
+    {
+        String hTableName = HBaseUtils.getHTableName(databaseName, HBaseIndexUtils.getIndexTableName(tableName));
+        try
+        {
+            if (!admin.tableExists(TableName.valueOf(hTableName)))
+            {
+                HTableDescriptor tableDescriptor = new HTableDescriptor(TableName.valueOf(hTableName));
+                tableDescriptor.addFamily(new HColumnDescriptor(HBaseIndexUtils.INDEX_FAMILY));
+                admin.createTable(tableDescriptor);
+            }
+        }
+        catch (IOException ioex)
+        {
+            logger.error("Either table isn't in enabled state or some network problem, Caused by: ", ioex);
+            throw new SchemaGenerationException(ioex, "Either table isn't in enabled state or some network problem.");
+        }
+    }
+
     /**
      * Gets the table descriptor.
      * 
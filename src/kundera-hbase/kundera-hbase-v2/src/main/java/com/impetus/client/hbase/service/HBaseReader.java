@@ -34,6 +34,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 import com.impetus.client.hbase.HBaseDataWrapper;
 import com.impetus.client.hbase.Reader;
 import com.impetus.client.hbase.utils.HBaseUtils;
+import com.impetus.kundera.metrics.OperationTracer;
 
 /**
  * The Class HBaseReader.
@@ -89,9 +90,7 @@ public class HBaseReader implements Reader
             Result result = hTable.get(new Get(HBaseUtils.getBytes(rowKey)));
             if (result != null && !result.isEmpty())
             {
-                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-                data.setColumns(result.listCells());
-                results.add(data);
+                results.add(wrap(result));
             }
             return results;
         }
@@ -152,9 +151,7 @@ public class HBaseReader implements Reader
         {
             for (Result result : scanner)
             {
-                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-                data.setColumns(result.listCells());
-                results.add(data);
+                results.add(wrap(result));
             }
 
             scanner = null;
@@ -219,6 +216,29 @@ public class HBaseReader implements Reader
      */
     public List<HBaseDataWrapper> loadAll(final Table hTable, final List<Object> rows, final String columnFamily,
             final String[] columns) throws IOException
+    {
+        return loadAll(hTable, rows, columnFamily, columns, null);
+    }
+
+    /**
+     * Load all, applying given filter to each row.
+     * 
+     * @param hTable
+     *            the h table
+     * @param rows
+     *            the rows, row key objects or their bytes
+     * @param columnFamily
+     *            the column family
+     * @param columns
+     *            the columns
+     * @param filter
+     *            the filter, may be null
+     * @return the list
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public List<HBaseDataWrapper> loadAll(final Table hTable, final List<Object> rows, final String columnFamily,
+            final String[] columns, final Filter filter) throws IOException
     {
         setTableName(hTable);
         List<HBaseDataWrapper> results = new ArrayList<HBaseDataWrapper>();
@@ -227,25 +247,44 @@ public class HBaseReader implements Reader
         {
             if (rowKey != null)
             {
-                byte[] rowKeyBytes = HBaseUtils.getBytes(rowKey);
+                byte[] rowKeyBytes = rowKey instanceof byte[] ? (byte[]) rowKey : HBaseUtils.getBytes(rowKey);
                 Get request = new Get(rowKeyBytes);
+                if (filter != null)
+                {
+                    request.setFilter(filter);
+                }
                 getRequest.add(request);
             }
         }
         Result[] rawResult = hTable.get(getRequest);
         for (Result result : rawResult)
         {
-            List<Cell> cells = result.listCells();
-            if (cells != null)
+            if (result.listCells() != null)
             {
-                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-                data.setColumns(cells);
-                results.add(data);
+                results.add(wrap(result));
             }
         }
         return results;
     }
 
+    /**
+     * Wraps given result, reporting its size to operation being traced.
+     * 
+     * @param result
+     *            the result
+     * @return the h base data
+     */
+    private HBaseDataWrapper wrap(Result result)
+    {
+        if (OperationTracer.isTracing())
+        {
+            OperationTracer.bytes(Result.getTotalSizeOfCells(result));
+        }
+        HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
+        data.setColumns(result.listCells());
+        return data;
+    }
+
     /**
      * Sets the fetch size.
      * 
@@ -266,10 +305,7 @@ public class HBaseReader implements Reader
     {
         Result result = resultsIter.next();
         counter++;
-        List<Cell> cells = result.listCells();
-        HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-        data.setColumns(cells);
-        return data;
+        return wrap(result);
     }
 
     /**
@@ -301,10 +337,14 @@ public class HBaseReader implements Reader
     }
 
     /**
-     * Reset.
+     * Reset, closing open scanner if any.
      */
     public void reset()
     {
+        if (scanner != null)
+        {
+            scanner.close();
+        }
         scanner = null;
         fetchSize = null;
         resultsIter = null;
@@ -16,11 +16,15 @@
 package com.impetus.client.hbase.service;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 import javax.persistence.PersistenceException;
 
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValueUtil;
 import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -31,6 +35,7 @@ import com.impetus.client.hbase.Writer;
 import com.impetus.client.hbase.admin.HBaseCell;
 import com.impetus.client.hbase.admin.HBaseRow;
 import com.impetus.client.hbase.utils.HBaseUtils;
+import com.impetus.kundera.metrics.OperationTracer;
 
 /**
  * The Class HBaseWriter.
@@ -74,9 +79,32 @@ public class HBaseWriter implements Writer
             if (colFamily != null && colQualifier != null && colValue != null)
                 p.addColumn(Bytes.toBytes(colFamily), Bytes.toBytes(colQualifier), HBaseUtils.getBytes(colValue));
         }
+        traceBytes(p);
         return p;
     }
 
+    /**
+     * Reports size of cells of given mutation to operation being traced.
+     * 
+     * @param mutation
+     *            the mutation
+     */
+    private static void traceBytes(Mutation mutation)
+    {
+        if (OperationTracer.isTracing())
+        {
+            long bytes = 0;
+            for (List<Cell> cells : mutation.getFamilyCellMap().values())
+            {
+                for (Cell cell : cells)
+                {
+                    bytes += KeyValueUtil.length(cell);
+                }
+            }
+            OperationTracer.bytes(bytes);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -96,6 +124,7 @@ public class HBaseWriter implements Writer
                 p.addColumn(columnFamilyName.getBytes(), Bytes.toBytes(columnName),
                         HBaseUtils.getBytes(columns.get(columnName)));
             }
+            traceBytes(p);
             htable.put(p);
         }
     }
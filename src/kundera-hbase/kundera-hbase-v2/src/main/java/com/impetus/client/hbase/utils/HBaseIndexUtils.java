@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.hbase.utils;
+
+import java.util.Arrays;
+
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * Row keys of native index tables. An indexed column of an entity table is
+ * kept in companion table &lt;table&gt;_idx, with a row per entity whose key is
+ * column name, value and entity row key, separated by a zero byte, and whose
+ * only cell holds entity row key. Rows of an indexed column thereby sort by
+ * value, in same byte order as {@link org.apache.hadoop.hbase.filter.SingleColumnValueFilter}
+ * compares them, so that a predicate on it turns into a scan over a row range.
+ */
+public final class HBaseIndexUtils
+{
+    /** The Constant INDEX_TABLE_SUFFIX. */
+    public static final String INDEX_TABLE_SUFFIX = "_idx";
+
+    /** The Constant INDEX_FAMILY. */
+    public static final String INDEX_FAMILY = "idx";
+
+    /** The Constant ROW_KEY_QUALIFIER, of cell holding entity row key. */
+    public static final String ROW_KEY_QUALIFIER = "r";
+
+    /** The Constant SEPARATOR. */
+    private static final byte[] SEPARATOR = new byte[] { 0 };
+
+    private HBaseIndexUtils()
+    {
+    }
+
+    /**
+     * Gets name of index table of given entity table.
+     *
+     * @param tableName
+     *            the table name
+     * @return the index table name
+     */
+    public static String getIndexTableName(String tableName)
+    {
+        return tableName + INDEX_TABLE_SUFFIX;
+    }
+
+    /**
+     * Gets row key of index entry of an entity row.
+     *
+     * @param columnName
+     *            indexed column
+     * @param value
+     *            column value
+     * @param rowKey
+     *            entity row key
+     * @return the index row key
+     */
+    public static byte[] getIndexRowKey(String columnName, byte[] value, byte[] rowKey)
+    {
+        return Bytes.add(getValuePrefix(columnName, value), rowKey);
+    }
+
+    /**
+     * Gets start row of index scan over rows of given column matching given
+     * comparison, inclusive.
+     *
+     * @param columnName
+     *            indexed column
+     * @param operator
+     *            comparison operator
+     * @param value
+     *            value compared with
+     * @return the start row
+     */
+    public static byte[] getStartRow(String columnName, CompareOp operator, byte[] value)
+    {
+        switch (operator)
+        {
+        case EQUAL:
+        case GREATER_OR_EQUAL:
+            return getValuePrefix(columnName, value);
+        case GREATER:
+            return getStopRow(getValuePrefix(columnName, value));
+        case LESS:
+        case LESS_OR_EQUAL:
+            return getColumnPrefix(columnName);
+        default:
+            throw new UnsupportedOperationException("Operator " + operator + " is not supported over index.");
+        }
+    }
+
+    /**
+     * Gets stop row of index scan over rows of given column matching given
+     * comparison, exclusive.
+     *
+     * @param columnName
+     *            indexed column
+     * @param operator
+     *            comparison operator
+     * @param value
+     *            value compared with
+     * @return the stop row
+     */
+    public static byte[] getStopRow(String columnName, CompareOp operator, byte[] value)
+    {
+        switch (operator)
+        {
+        case EQUAL:
+        case LESS_OR_EQUAL:
+            return getStopRow(getValuePrefix(columnName, value));
+        case LESS:
+            return getValuePrefix(columnName, value);
+        case GREATER:
+        case GREATER_OR_EQUAL:
+            return getStopRow(getColumnPrefix(columnName));
+        default:
+            throw new UnsupportedOperationException("Operator " + operator + " is not supported over index.");
+        }
+    }
+
+    /**
+     * Checks whether given operator can be served by an index scan.
+     *
+     * @param operator
+     *            the operator
+     * @return true, if is supported
+     */
+    public static boolean isSupported(CompareOp operator)
+    {
+        switch (operator)
+        {
+        case EQUAL:
+        case GREATER:
+        case GREATER_OR_EQUAL:
+        case LESS:
+        case LESS_OR_EQUAL:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static byte[] getColumnPrefix(String columnName)
+    {
+        return Bytes.add(Bytes.toBytes(columnName), SEPARATOR);
+    }
+
+    private static byte[] getValuePrefix(String columnName, byte[] value)
+    {
+        return Bytes.add(getColumnPrefix(columnName), value, SEPARATOR);
+    }
+
+    /**
+     * Gets first row key after all keys starting with given prefix.
+     *
+     * @param prefix
+     *            the prefix
+     * @return the stop row, empty if there is none.
+     */
+    static byte[] getStopRow(byte[] prefix)
+    {
+        for (int i = prefix.length - 1; i >= 0; i--)
+        {
+            if (prefix[i] != (byte) 0xFF)
+            {
+                byte[] stopRow = Arrays.copyOf(prefix, i + 1);
+                stopRow[i]++;
+                return stopRow;
+            }
+        }
+        return new byte[0];
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2017 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.hbase.utils;
+
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test case for {@link HBaseIndexUtils}, row ranges being given as
+ * column\0value\0 prefixes.
+ */
+public class HBaseIndexUtilsTest
+{
+    private static final byte[] VALUE = Bytes.toBytes("b");
+
+    @Test
+    public void testIndexRowKey()
+    {
+        assertRow("AGE\0b\0p1", HBaseIndexUtils.getIndexRowKey("AGE", VALUE, Bytes.toBytes("p1")));
+        Assert.assertEquals("PERSON_idx", HBaseIndexUtils.getIndexTableName("PERSON"));
+    }
+
+    @Test
+    public void testStartRow()
+    {
+        assertRow("AGE\0b\0", HBaseIndexUtils.getStartRow("AGE", CompareOp.EQUAL, VALUE));
+        assertRow("AGE\0b\0", HBaseIndexUtils.getStartRow("AGE", CompareOp.GREATER_OR_EQUAL, VALUE));
+        assertRow("AGE\0b\1", HBaseIndexUtils.getStartRow("AGE", CompareOp.GREATER, VALUE));
+        assertRow("AGE\0", HBaseIndexUtils.getStartRow("AGE", CompareOp.LESS, VALUE));
+        assertRow("AGE\0", HBaseIndexUtils.getStartRow("AGE", CompareOp.LESS_OR_EQUAL, VALUE));
+    }
+
+    @Test
+    public void testStopRow()
+    {
+        assertRow("AGE\0b\1", HBaseIndexUtils.getStopRow("AGE", CompareOp.EQUAL, VALUE));
+        assertRow("AGE\0b\1", HBaseIndexUtils.getStopRow("AGE", CompareOp.LESS_OR_EQUAL, VALUE));
+        assertRow("AGE\0b\0", HBaseIndexUtils.getStopRow("AGE", CompareOp.LESS, VALUE));
+        assertRow("AGE\1", HBaseIndexUtils.getStopRow("AGE", CompareOp.GREATER, VALUE));
+        assertRow("AGE\1", HBaseIndexUtils.getStopRow("AGE", CompareOp.GREATER_OR_EQUAL, VALUE));
+    }
+
+    /**
+     * Entries of value compared with, and only those, fall in range of each
+     * operator.
+     */
+    @Test
+    public void testRangesAroundValue()
+    {
+        byte[] lower = HBaseIndexUtils.getIndexRowKey("AGE", Bytes.toBytes("a"), Bytes.toBytes("p1"));
+        byte[] equal = HBaseIndexUtils.getIndexRowKey("AGE", VALUE, Bytes.toBytes("p2"));
+        byte[] longer = HBaseIndexUtils.getIndexRowKey("AGE", Bytes.toBytes("ba"), Bytes.toBytes("p3"));
+        byte[] higher = HBaseIndexUtils.getIndexRowKey("AGE", Bytes.toBytes("c"), Bytes.toBytes("p4"));
+        byte[] otherColumn = HBaseIndexUtils.getIndexRowKey("AGF", VALUE, Bytes.toBytes("p5"));
+
+        assertInRange(CompareOp.EQUAL, equal);
+        assertNotInRange(CompareOp.EQUAL, lower, longer, higher, otherColumn);
+        assertInRange(CompareOp.LESS, lower);
+        assertNotInRange(CompareOp.LESS, equal, longer, higher, otherColumn);
+        assertInRange(CompareOp.LESS_OR_EQUAL, lower, equal);
+        assertNotInRange(CompareOp.LESS_OR_EQUAL, longer, higher, otherColumn);
+        assertInRange(CompareOp.GREATER, longer, higher);
+        assertNotInRange(CompareOp.GREATER, lower, equal, otherColumn);
+        assertInRange(CompareOp.GREATER_OR_EQUAL, equal, longer, higher);
+        assertNotInRange(CompareOp.GREATER_OR_EQUAL, lower, otherColumn);
+    }
+
+    /**
+     * Trailing 0xFF bytes are dropped and last byte before them is carried.
+     */
+    @Test
+    public void testStopRowOfPrefix()
+    {
+        Assert.assertArrayEquals(new byte[] { 1, 3 }, HBaseIndexUtils.getStopRow(new byte[] { 1, 2 }));
+        Assert.assertArrayEquals(new byte[] { 1, 3 }, HBaseIndexUtils.getStopRow(new byte[] { 1, 2, (byte) 0xFF }));
+        Assert.assertArrayEquals(new byte[] { 2 },
+                HBaseIndexUtils.getStopRow(new byte[] { 1, (byte) 0xFF, (byte) 0xFF }));
+        Assert.assertArrayEquals(new byte[] { 1, (byte) 0x80 }, HBaseIndexUtils.getStopRow(new byte[] { 1, 0x7F }));
+        Assert.assertArrayEquals(new byte[] { (byte) 0xFF }, HBaseIndexUtils.getStopRow(new byte[] { (byte) 0xFE }));
+
+        // no row follows all prefixed ones, scan runs to end of table.
+        Assert.assertArrayEquals(new byte[0], HBaseIndexUtils.getStopRow(new byte[] { (byte) 0xFF, (byte) 0xFF }));
+        Assert.assertArrayEquals(new byte[0], HBaseIndexUtils.getStopRow(new byte[0]));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnsupportedOperator()
+    {
+        Assert.assertFalse(HBaseIndexUtils.isSupported(CompareOp.NOT_EQUAL));
+        HBaseIndexUtils.getStartRow("AGE", CompareOp.NOT_EQUAL, VALUE);
+    }
+
+    private static void assertRow(String expected, byte[] row)
+    {
+        Assert.assertEquals(Bytes.toStringBinary(Bytes.toBytes(expected)), Bytes.toStringBinary(row));
+    }
+
+    private static void assertInRange(CompareOp operator, byte[]... rows)
+    {
+        for (byte[] row : rows)
+        {
+            Assert.assertTrue(operator + " " + Bytes.toStringBinary(row), isInRange(operator, row));
+        }
+    }
+
+    private static void assertNotInRange(CompareOp operator, byte[]... rows)
+    {
+        for (byte[] row : rows)
+        {
+            Assert.assertFalse(operator + " " + Bytes.toStringBinary(row), isInRange(operator, row));
+        }
+    }
+
+    private static boolean isInRange(CompareOp operator, byte[] row)
+    {
+        byte[] startRow = HBaseIndexUtils.getStartRow("AGE", operator, VALUE);
+        byte[] stopRow = HBaseIndexUtils.getStopRow("AGE", operator, VALUE);
+        return Bytes.compareTo(row, startRow) >= 0 && (stopRow.length == 0 || Bytes.compareTo(row, stopRow) < 0);
+    }
+}
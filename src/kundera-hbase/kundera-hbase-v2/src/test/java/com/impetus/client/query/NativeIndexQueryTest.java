@@ -0,0 +1,234 @@
+/**
+ * Copyright 2017 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.Query;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.impetus.client.hbase.testingutil.HBaseTestingUtils;
+
+/**
+ * Test case for queries served through native index table of
+ * {@link HBaseIndexedPerson}: persons p1 to p250, of age 1 to 250 and named
+ * name0 to name4 in turn.
+ */
+public class NativeIndexQueryTest
+{
+    private static final String SCHEMA = "HBaseNative";
+
+    private static final String HBASE_PU = "nativeIndexTest";
+
+    private static final int PERSONS = 250;
+
+    private static EntityManagerFactory emf;
+
+    /** Whether persons are persisted, once for all tests. */
+    private static boolean loaded;
+
+    private EntityManager em;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(HBASE_PU);
+    }
+
+    @Before
+    public void setUp() throws Exception
+    {
+        em = emf.createEntityManager();
+        if (!loaded)
+        {
+            for (int i = 1; i <= PERSONS; i++)
+            {
+                HBaseIndexedPerson person = new HBaseIndexedPerson();
+                person.setPersonId("p" + i);
+                person.setPersonName("name" + (i % 5));
+                person.setAge(i);
+                em.persist(person);
+            }
+            em.clear();
+            loaded = true;
+        }
+    }
+
+    @Test
+    public void testEqual()
+    {
+        assertAges(find("select p from HBaseIndexedPerson p where p.age = 15", 100), 15);
+        assertAges(find("select p from HBaseIndexedPerson p where p.age = 500", 100));
+
+        List<HBaseIndexedPerson> persons = find("select p from HBaseIndexedPerson p where p.personName = 'name3'",
+                100);
+        Assert.assertEquals(PERSONS / 5, persons.size());
+        for (HBaseIndexedPerson person : persons)
+        {
+            Assert.assertEquals("name3", person.getPersonName());
+            Assert.assertEquals(3, person.getAge() % 5);
+        }
+    }
+
+    @Test
+    public void testLess()
+    {
+        assertAges(find("select p from HBaseIndexedPerson p where p.age < 5", 100), 1, 2, 3, 4);
+        assertAges(find("select p from HBaseIndexedPerson p where p.age < 1", 100));
+    }
+
+    @Test
+    public void testLessOrEqual()
+    {
+        assertAges(find("select p from HBaseIndexedPerson p where p.age <= 5", 100), 1, 2, 3, 4, 5);
+        assertAges(find("select p from HBaseIndexedPerson p where p.age <= 1", 100), 1);
+    }
+
+    @Test
+    public void testGreater()
+    {
+        assertAges(find("select p from HBaseIndexedPerson p where p.age > 246", 100), 247, 248, 249, 250);
+        assertAges(find("select p from HBaseIndexedPerson p where p.age > 250", 100));
+    }
+
+    @Test
+    public void testGreaterOrEqual()
+    {
+        assertAges(find("select p from HBaseIndexedPerson p where p.age >= 246", 100), 246, 247, 248, 249, 250);
+        assertAges(find("select p from HBaseIndexedPerson p where p.age >= 250", 100), 250);
+    }
+
+    /**
+     * Rows found through index are checked against remaining conditions.
+     */
+    @Test
+    public void testAndWithOtherCondition()
+    {
+        assertAges(find("select p from HBaseIndexedPerson p where p.age >= 230 and p.personName = 'name0'", 100),
+                230, 235, 240, 245, 250);
+        assertAges(find("select p from HBaseIndexedPerson p where p.age < 8 and p.personId = 'p3'", 100), 3);
+    }
+
+    /**
+     * Index read stops at max results, over more than one batch of gets.
+     */
+    @Test
+    public void testMaxResults()
+    {
+        List<HBaseIndexedPerson> persons = find("select p from HBaseIndexedPerson p where p.age > 20", 150);
+        Assert.assertEquals(150, persons.size());
+        for (int i = 0; i < persons.size(); i++)
+        {
+            Assert.assertEquals(21 + i, persons.get(i).getAge());
+        }
+
+        persons = find("select p from HBaseIndexedPerson p where p.age > 20 and p.personName = 'name0'", 30);
+        Assert.assertEquals(30, persons.size());
+        for (HBaseIndexedPerson person : persons)
+        {
+            Assert.assertTrue(person.getAge() > 20);
+            Assert.assertEquals("name0", person.getPersonName());
+        }
+    }
+
+    /**
+     * Conditions joined by OR are served by a table scan, so they find a row
+     * written around index too.
+     */
+    @Test
+    public void testOrFallsBackToScan() throws Exception
+    {
+        assertAges(find("select p from HBaseIndexedPerson p where p.age = 3 or p.age = 247", 100), 3, 247);
+
+        byte[] family = Bytes.toBytes("INDEXED_PERSON");
+        byte[] rowKey = Bytes.toBytes("p300");
+        Connection connection = ConnectionFactory.createConnection();
+        Table table = connection.getTable(TableName.valueOf(SCHEMA, "INDEXED_PERSON"));
+        try
+        {
+            table.put(new Put(rowKey).addColumn(family, Bytes.toBytes("PERSON_NAME"), Bytes.toBytes("name0"))
+                    .addColumn(family, Bytes.toBytes("AGE"), Bytes.toBytes(300)));
+
+            assertAges(find("select p from HBaseIndexedPerson p where p.age = 300", 100));
+            assertAges(find("select p from HBaseIndexedPerson p where p.age = 300 or p.age = 1", 100), 1, 300);
+        }
+        finally
+        {
+            table.delete(new Delete(rowKey));
+            table.close();
+            connection.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception
+    {
+        emf.close();
+        emf = null;
+        loaded = false;
+        HBaseTestingUtils.dropSchema(SCHEMA);
+    }
+
+    private List<HBaseIndexedPerson> find(String jpaQuery, int maxResults)
+    {
+        Query query = em.createQuery(jpaQuery);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+
+    /**
+     * Asserts persons found are those of given ages, in any order.
+     */
+    private static void assertAges(List<HBaseIndexedPerson> persons, int... ages)
+    {
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int age : ages)
+        {
+            expected.add(age);
+        }
+        List<Integer> found = new ArrayList<Integer>();
+        for (HBaseIndexedPerson person : persons)
+        {
+            Assert.assertEquals("p" + person.getAge(), person.getPersonId());
+            found.add(person.getAge());
+        }
+        Assert.assertEquals(expected.size(), found.size());
+        Assert.assertTrue(found.containsAll(expected));
+    }
+}
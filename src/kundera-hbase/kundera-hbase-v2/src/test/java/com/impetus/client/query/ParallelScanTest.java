@@ -0,0 +1,170 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.query;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.Persistence;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.impetus.client.hbase.testingutil.HBaseTestingUtils;
+import com.impetus.kundera.query.CloseableResultIterator;
+import com.impetus.kundera.query.Query;
+
+/**
+ * Test case for parallel scan of a table spread over several regions.
+ */
+public class ParallelScanTest extends BookBaseTest
+{
+    private static final int BOOKS = 300;
+
+    private static final TableName TABLE = TableName.valueOf(SCHEMA, "BOOKS");
+
+    /** Whether books are persisted and table split, once for all tests. */
+    private static boolean loaded;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(HBASE_PU);
+    }
+
+    @Before
+    public void setUp() throws Exception
+    {
+        em = emf.createEntityManager();
+        if (!loaded)
+        {
+            for (int i = 1; i <= BOOKS; i++)
+            {
+                em.persist(prepareData(i, "book" + i, "author" + (i % 7), 1900 + (i % 100), i));
+            }
+            em.clear();
+            splitTable(100, 200);
+            loaded = true;
+        }
+    }
+
+    @Test
+    public void testSplitsScannedConcurrently() throws Exception
+    {
+        Query query = (Query) em.createQuery("Select b from Book b", Book.class);
+        ((javax.persistence.Query) query).setMaxResults(BOOKS * 2);
+
+        // every region scanned at same time, each through its own scanner.
+        Set<Integer> ids = new HashSet<Integer>();
+        CloseableResultIterator<Book> books = query.iterate(3);
+        while (books.hasNext())
+        {
+            Book book = books.next();
+            Assert.assertTrue("Book " + book.getBookId() + " returned twice", ids.add(book.getBookId()));
+            Assert.assertEquals("book" + book.getBookId(), book.getTitle());
+        }
+        Assert.assertEquals(BOOKS, ids.size());
+    }
+
+    @Test
+    public void testSplitsWithRowRange() throws Exception
+    {
+        Query query = (Query) em.createQuery("Select b from Book b where b.bookId >= 50 and b.bookId < 250",
+                Book.class);
+        ((javax.persistence.Query) query).setMaxResults(BOOKS * 2);
+
+        Set<Integer> ids = new HashSet<Integer>();
+        CloseableResultIterator<Book> books = query.iterate(3);
+        while (books.hasNext())
+        {
+            Assert.assertTrue(ids.add(books.next().getBookId()));
+        }
+        Assert.assertEquals(200, ids.size());
+        for (int i = 50; i < 250; i++)
+        {
+            Assert.assertTrue(ids.contains(i));
+        }
+    }
+
+    @Test
+    public void testCloseBeforeEnd() throws Exception
+    {
+        Query query = (Query) em.createQuery("Select b from Book b", Book.class);
+        ((javax.persistence.Query) query).setMaxResults(BOOKS * 2);
+
+        CloseableResultIterator<Book> books = query.iterate(3);
+        Assert.assertEquals(10, books.next(10).size());
+        books.close();
+        Assert.assertFalse(books.hasNext());
+
+        // scanners of closed iteration do not affect a new one.
+        Assert.assertEquals(BOOKS, query.iterate(3).next(BOOKS * 2).size());
+    }
+
+    /**
+     * Splits books table at given ids and waits for regions to be online.
+     */
+    private void splitTable(int... splitIds) throws Exception
+    {
+        Connection connection = ConnectionFactory.createConnection();
+        try
+        {
+            Admin admin = connection.getAdmin();
+            RegionLocator locator = connection.getRegionLocator(TABLE);
+            for (int splitId : splitIds)
+            {
+                admin.split(TABLE, Bytes.toBytes(splitId));
+            }
+            long deadline = System.currentTimeMillis() + 60000;
+            while (locator.getStartKeys().length <= splitIds.length && System.currentTimeMillis() < deadline)
+            {
+                Thread.sleep(500);
+            }
+            Assert.assertTrue(locator.getStartKeys().length > splitIds.length);
+            locator.close();
+            admin.close();
+        }
+        finally
+        {
+            connection.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception
+    {
+        emf.close();
+        emf = null;
+        loaded = false;
+        HBaseTestingUtils.dropSchema(SCHEMA);
+    }
+}
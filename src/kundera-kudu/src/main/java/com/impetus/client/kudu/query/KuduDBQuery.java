@@ -15,19 +15,24 @@
  ******************************************************************************/
 package com.impetus.client.kudu.query;
 
+import java.io.Closeable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
 
 import org.apache.kudu.ColumnSchema;
 import org.apache.kudu.Type;
+import org.apache.kudu.client.AbstractKuduScannerBuilder;
 import org.apache.kudu.client.KuduClient;
 import org.apache.kudu.client.KuduPredicate;
+import org.apache.kudu.client.KuduScanToken;
+import org.apache.kudu.client.KuduScanToken.KuduScanTokenBuilder;
 import org.apache.kudu.client.KuduScanner;
 import org.apache.kudu.client.KuduScanner.KuduScannerBuilder;
 import org.apache.kudu.client.KuduTable;
@@ -59,6 +64,7 @@ import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQueryUtils;
 import com.impetus.kundera.query.Query;
 import com.impetus.kundera.query.QueryImpl;
+import com.impetus.kundera.query.QuerySplit;
 import com.impetus.kundera.utils.KunderaCoreUtils;
 
 /**
@@ -133,20 +139,7 @@ public class KuduDBQuery extends QueryImpl implements Query
             }
 
             KuduScannerBuilder scannerBuilder = kuduClient.newScannerBuilder(table);
-            JPQLExpression jpqlExp = kunderaQuery.getJpqlExpression();
-            List<String> selectColumns = KunderaQueryUtils.getSelectColumns(jpqlExp);
-            if (!selectColumns.isEmpty())
-            {
-                // select by specific columns, set projection
-                scannerBuilder.setProjectedColumnNames(selectColumns);
-            }
-            if (KunderaQueryUtils.hasWhereClause(jpqlExp))
-            {
-                // add predicate filters
-                WhereClause whereClause = KunderaQueryUtils.getWhereClause(jpqlExp);
-                Expression whereExp = whereClause.getConditionalExpression();
-                parseAndBuildFilters(entityType, scannerBuilder, whereExp);
-            }
+            buildScan(entityType, scannerBuilder);
 
             KuduScanner scanner = scannerBuilder.build();
 
@@ -178,6 +171,76 @@ public class KuduDBQuery extends QueryImpl implements Query
         return results;
     }
 
+    /**
+     * Sets projection and predicate filters of this query on given scanner or
+     * scan token builder.
+     * 
+     * @param entityType
+     *            the entity type
+     * @param scannerBuilder
+     *            the scanner builder
+     */
+    private void buildScan(EntityType entityType, AbstractKuduScannerBuilder scannerBuilder)
+    {
+        JPQLExpression jpqlExp = kunderaQuery.getJpqlExpression();
+        List<String> selectColumns = KunderaQueryUtils.getSelectColumns(jpqlExp);
+        if (!selectColumns.isEmpty())
+        {
+            // select by specific columns, set projection
+            scannerBuilder.setProjectedColumnNames(selectColumns);
+        }
+        if (KunderaQueryUtils.hasWhereClause(jpqlExp))
+        {
+            // add predicate filters
+            WhereClause whereClause = KunderaQueryUtils.getWhereClause(jpqlExp);
+            Expression whereExp = whereClause.getConditionalExpression();
+            parseAndBuildFilters(entityType, scannerBuilder, whereExp);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.query.QueryImpl#getSplits(com.impetus.kundera.metadata
+     * .model.EntityMetadata, com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected List getSplits(EntityMetadata m, Client client)
+    {
+        if (!MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()))
+        {
+            return null;
+        }
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(m.getEntityClazz());
+
+        KuduClient kuduClient = ((KuduDBClient) client).getKuduClient();
+        KuduTable table;
+        try
+        {
+            table = kuduClient.openTable(m.getTableName());
+        }
+        catch (Exception e)
+        {
+            logger.error("Cannot open table : " + m.getTableName(), e);
+            throw new KunderaException("Cannot open table : " + m.getTableName(), e);
+        }
+
+        // one scan token per tablet.
+        KuduScanTokenBuilder tokenBuilder = kuduClient.newScanTokenBuilder(table);
+        buildScan(entityType, tokenBuilder);
+
+        List<QuerySplit> splits = new ArrayList<QuerySplit>();
+        for (KuduScanToken token : tokenBuilder.build())
+        {
+            splits.add(new ScanTokenSplit(token, (KuduDBClient) client, m, entityType, metaModel));
+        }
+        return splits;
+    }
+
     /**
      * Parses the and build filters.
      * 
@@ -188,7 +251,7 @@ public class KuduDBQuery extends QueryImpl implements Query
      * @param whereExp
      *            the where exp
      */
-    private void parseAndBuildFilters(EntityType entityType, KuduScannerBuilder scannerBuilder, Expression whereExp)
+    private void parseAndBuildFilters(EntityType entityType, AbstractKuduScannerBuilder scannerBuilder, Expression whereExp)
     {
         if (whereExp instanceof ComparisonExpression)
         {
@@ -235,7 +298,7 @@ public class KuduDBQuery extends QueryImpl implements Query
      * @param attribute
      *            the attribute
      */
-    private void addInPredicateToBuilder(KuduScannerBuilder scannerBuilder, ListIterator<Expression> inIter,
+    private void addInPredicateToBuilder(AbstractKuduScannerBuilder scannerBuilder, ListIterator<Expression> inIter,
             Attribute attribute)
     {
         List<Object> finalVals = new ArrayList<>();
@@ -264,7 +327,7 @@ public class KuduDBQuery extends QueryImpl implements Query
      * @param identifier
      *            the identifier
      */
-    private void addColumnRangePredicateToBuilder(Field field, KuduScannerBuilder scannerBuilder, String columnName,
+    private void addColumnRangePredicateToBuilder(Field field, AbstractKuduScannerBuilder scannerBuilder, String columnName,
             String value, String identifier)
     {
         Type type = KuduDBValidationClassMapper.getValidTypeForClass(field.getType());
@@ -373,8 +436,180 @@ public class KuduDBQuery extends QueryImpl implements Query
     @Override
     public Iterator iterate()
     {
-        // TODO Auto-generated method stub
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        Client client = persistenceDelegeator.getClient(m);
+        if (!MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()))
+        {
+            throw new UnsupportedOperationException("Scrolling over Lucene/ES results is not supported for Kudu.");
+        }
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(m.getEntityClazz());
+
+        KuduClient kuduClient = ((KuduDBClient) client).getKuduClient();
+        KuduTable table;
+        try
+        {
+            table = kuduClient.openTable(m.getTableName());
+        }
+        catch (Exception e)
+        {
+            logger.error("Cannot open table : " + m.getTableName(), e);
+            throw new KunderaException("Cannot open table : " + m.getTableName(), e);
+        }
+
+        KuduScannerBuilder scannerBuilder = kuduClient.newScannerBuilder(table);
+        buildScan(entityType, scannerBuilder);
+        int limit = getFetchSize() != null ? getFetchSize() : getMaxResults();
+        if (limit > 0)
+        {
+            scannerBuilder.limit(limit);
+        }
+        return new ScannerIterator(scannerBuilder.build(), (KuduDBClient) client, m, entityType, metaModel);
+    }
+
+    /**
+     * Iterator over entities of a scanner, fetching rows batch by batch as
+     * they are consumed. Scanner is closed once it runs out of rows, or on
+     * {@link #close()}.
+     */
+    private static class ScannerIterator implements Iterator, Closeable
+    {
+        private final KuduScanner scanner;
+
+        private final KuduDBClient client;
+
+        private final EntityMetadata m;
+
+        private final EntityType entityType;
+
+        private final MetamodelImpl metaModel;
+
+        private RowResultIterator rowResultIter;
+
+        private boolean closed;
+
+        ScannerIterator(KuduScanner scanner, KuduDBClient client, EntityMetadata m, EntityType entityType,
+                MetamodelImpl metaModel)
+        {
+            this.scanner = scanner;
+            this.client = client;
+            this.m = m;
+            this.entityType = entityType;
+            this.metaModel = metaModel;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!closed && (rowResultIter == null || !rowResultIter.hasNext()) && scanner.hasMoreRows())
+            {
+                try
+                {
+                    rowResultIter = scanner.nextRows();
+                }
+                catch (Exception e)
+                {
+                    close();
+                    logger.error("Cannot get results from table : " + m.getTableName(), e);
+                    throw new KunderaException("Cannot get results from table : " + m.getTableName(), e);
+                }
+            }
+            if (rowResultIter != null && rowResultIter.hasNext())
+            {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Object next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException("Nothing to scroll further for: " + m.getEntityClazz());
+            }
+            Object entity = KunderaCoreUtils.createNewInstance(m.getEntityClazz());
+            client.populateEntity(entity, rowResultIter.next(), entityType, metaModel);
+            return entity;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("remove method is not supported");
+        }
+
+        @Override
+        public void close()
+        {
+            if (!closed)
+            {
+                closed = true;
+                rowResultIter = null;
+                try
+                {
+                    scanner.close();
+                }
+                catch (Exception e)
+                {
+                    logger.warn("Cannot close scanner on table : " + m.getTableName(), e);
+                }
+            }
+        }
     }
 
+
+    /**
+     * Scan of a single tablet, as given by its scan token. Rows are fetched
+     * batch by batch as entities are consumed, and scanner is closed once
+     * scan is over or given up.
+     */
+    private static class ScanTokenSplit implements QuerySplit
+    {
+        private final KuduScanToken token;
+
+        private final KuduDBClient client;
+
+        private final EntityMetadata m;
+
+        private final EntityType entityType;
+
+        private final MetamodelImpl metaModel;
+
+        ScanTokenSplit(KuduScanToken token, KuduDBClient client, EntityMetadata m, EntityType entityType,
+                MetamodelImpl metaModel)
+        {
+            this.token = token;
+            this.client = client;
+            this.m = m;
+            this.entityType = entityType;
+            this.metaModel = metaModel;
+        }
+
+        @Override
+        public Iterator open()
+        {
+            final KuduScanner scanner;
+            try
+            {
+                scanner = token.intoScanner(client.getKuduClient());
+            }
+            catch (Exception e)
+            {
+                logger.error("Cannot open scanner on table : " + m.getTableName(), e);
+                throw new KunderaException("Cannot open scanner on table : " + m.getTableName(), e);
+            }
+
+            return new ScannerIterator(scanner, client, m, entityType, metaModel);
+        }
+
+        @Override
+        public String toString()
+        {
+            return m.getTableName() + token.getTablet();
+        }
+    }
 }
@@ -19,8 +19,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.sql.Blob;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -39,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.io.ByteStreams;
+import com.impetus.client.mongodb.query.gfs.LobHandle;
 import com.impetus.client.mongodb.utils.MongoDBUtils;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.db.RelationHolder;
@@ -47,6 +51,7 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
+import com.impetus.kundera.metrics.OperationTracer;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorHelper;
@@ -87,6 +92,7 @@ public final class DefaultMongoDBDataHandler implements MongoDBDataHandler
             DBObject document, List<String> relations, Map<String, Object> relationValue,
             final KunderaMetadata kunderaMetadata)
     {
+        MongoDBUtils.traceBytes(Collections.singletonList(document));
         // Map to hold property-name=>foreign-entity relations
         try
         {
@@ -218,6 +224,10 @@ public final class DefaultMongoDBDataHandler implements MongoDBDataHandler
     public Object getEntityFromGFSDBFile(Class<?> entityClazz, Object entity, EntityMetadata m, GridFSDBFile outputFile,
             KunderaMetadata kunderaMetadata)
     {
+        if (OperationTracer.isTracing())
+        {
+            OperationTracer.bytes(outputFile.getLength());
+        }
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata()
                 .getMetamodel(m.getPersistenceUnit());
         String id = ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName();
@@ -249,6 +259,12 @@ public final class DefaultMongoDBDataHandler implements MongoDBDataHandler
                                 "Error while converting inputstream from GridFSDBFile to byte array, Caused by: ", e);
                     }
                 }
+                else if (LobHandle.isStreamed(column.getJavaType()))
+                {
+                    // chunks are fetched once stream is read.
+                    PropertyAccessorHelper.set(entity, (Field) column.getJavaMember(),
+                            LobHandle.fromGridFSDBFile(column.getJavaType(), outputFile));
+                }
             }
             else if (!column.equals(m.getIdAttribute()))
                 DocumentObjectMapper.setFieldValue(outputFile, entity, column, true);
@@ -353,6 +369,7 @@ public final class DefaultMongoDBDataHandler implements MongoDBDataHandler
             }
             // dbObjects.put(m.getTableName(), dbObj);
         }
+        MongoDBUtils.traceBytes(dbObjects.values());
         return dbObjects;
     }
 
@@ -432,8 +449,22 @@ public final class DefaultMongoDBDataHandler implements MongoDBDataHandler
                         e);
             }
         }
+        else if (InputStream.class.isAssignableFrom(f.getType()) || Blob.class.isAssignableFrom(f.getType()))
+        {
+            // content is streamed into chunks on save.
+            try
+            {
+                gridFSInputFile = gfs.createFile(LobHandle.toInputStream(obj), true);
+            }
+            catch (SQLException e)
+            {
+                log.error("Error while creating GridFS file for \"" + f.getName() + "\". Caused by: ", e);
+                throw new KunderaException("Error while creating GridFS file for \"" + f.getName() + "\". Caused by: ",
+                        e);
+            }
+        }
         else
-            new UnsupportedOperationException(f.getType().getSimpleName() + " is unsupported Lob object");
+            throw new UnsupportedOperationException(f.getType().getSimpleName() + " is unsupported Lob object");
         return gridFSInputFile;
     }
 
@@ -664,6 +695,41 @@ public final class DefaultMongoDBDataHandler implements MongoDBDataHandler
         return null;
     }
 
+    /**
+     * Binds lob field of given entity to file it has just been written to,
+     * streamed values reading that file from then on.
+     * 
+     * @param m
+     *            the m
+     * @param entity
+     *            the entity
+     * @param storedFile
+     *            the file written
+     * @param kunderaMetadata
+     *            the kundera metadata
+     */
+    public void setLobToGFSEntity(EntityMetadata m, Object entity, GridFSDBFile storedFile,
+            KunderaMetadata kunderaMetadata)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata()
+                .getMetamodel(m.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(m.getEntityClazz());
+        Set<Attribute> columns = entityType.getAttributes();
+        for (Attribute column : columns)
+        {
+            Field f = (Field) column.getJavaMember();
+            if (f.getAnnotation(Lob.class) != null)
+            {
+                Object lob = PropertyAccessorHelper.getObject(entity, f);
+                Object storedLob = LobHandle.onStored(lob, f.getType(), storedFile);
+                if (storedLob != lob)
+                {
+                    PropertyAccessorHelper.set(entity, f, storedLob);
+                }
+            }
+        }
+    }
+
     /**
      * Gets the metadata from GFS entity.
      * 
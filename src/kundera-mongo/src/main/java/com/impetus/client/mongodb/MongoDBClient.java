@@ -35,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import com.impetus.client.mongodb.query.MongoDBQuery;
 import com.impetus.client.mongodb.query.gfs.KunderaGridFS;
+import com.impetus.client.mongodb.query.gfs.LobHandle;
 import com.impetus.client.mongodb.utils.MongoDBUtils;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.PersistenceProperties;
@@ -56,6 +57,7 @@ import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
+import com.impetus.kundera.metrics.OperationTracer;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.api.Batcher;
@@ -1125,6 +1127,10 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
             DBCollection coll = mongoDb.getCollection(m.getTableName() + MongoDBUtils.FILES);
             createUniqueIndexGFS(coll, ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName());
             gfsInputFile.save();
+            if (OperationTracer.isTracing())
+            {
+                OperationTracer.bytes(gfsInputFile.getLength());
+            }
             log.info("Input GridFS file: " + gfsInputFile.getFilename() + " is saved successfully in "
                     + m.getTableName() + MongoDBUtils.CHUNKS + " and metadata in " + m.getTableName()
                     + MongoDBUtils.FILES);
@@ -1169,15 +1175,20 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
             GridFSInputFile gfsInputFile = handler.getGFSInputFileFromEntity(gfs, entityMetadata, entity,
                     kunderaMetadata, isUpdate);
             saveGridFSFile(gfsInputFile, entityMetadata);
+
+            // streamed content is consumed, entity now reads written file.
+            handler.setLobToGFSEntity(entityMetadata, entity, gfs.findOne((ObjectId) gfsInputFile.getId()),
+                    kunderaMetadata);
         }
         else
         {
             Object val = handler.getLobFromGFSEntity(gfs, entityMetadata, entity, kunderaMetadata);
-            String md5 = MongoDBUtils.calculateMD5(val);
             GridFSDBFile outputFile = findGridFSDBFile(entityMetadata, entityId);
 
-            // checking MD5 of the file to be updated with the file saved in DB
-            if (md5.equals(outputFile.getMD5()))
+            // checking MD5 of the file to be updated with the file saved in
+            // DB, streamed content is unchanged if it still reads that file.
+            if (val instanceof byte[] ? MongoDBUtils.calculateMD5(val).equals(outputFile.getMD5()) : LobHandle
+                    .isStored(val, outputFile))
             {
                 DBObject metadata = handler.getMetadataFromGFSEntity(gfs, entityMetadata, entity, kunderaMetadata);
                 outputFile.setMetaData(metadata);
@@ -1209,6 +1220,9 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
 
                 // output file is updated
                 outputFile.save();
+
+                // streamed content is consumed, entity now reads written file.
+                handler.setLobToGFSEntity(entityMetadata, entity, outputFile, kunderaMetadata);
             }
         }
     }
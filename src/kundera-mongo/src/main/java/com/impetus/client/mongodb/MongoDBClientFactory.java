@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.client.mongodb;
 
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -24,6 +25,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.net.SocketFactory;
 
 import org.apache.commons.lang.StringUtils;
@@ -45,6 +49,8 @@ import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.loader.ClientLoaderException;
 import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Gauge;
 import com.impetus.kundera.utils.KunderaCoreUtils;
 import com.mongodb.DB;
 import com.mongodb.DBDecoderFactory;
@@ -93,6 +99,8 @@ public class MongoDBClientFactory extends GenericClientFactory
     protected Object createPoolOrConnection()
     {
         mongoDB = getConnection();
+        registerPoolGauges(new PoolGauge(KunderaMetrics.POOL_ACTIVE), new PoolGauge(KunderaMetrics.POOL_IDLE),
+                new PoolGauge(KunderaMetrics.POOL_MAX));
         return mongoDB;
     }
 
@@ -675,4 +683,61 @@ public class MongoDBClientFactory extends GenericClientFactory
         throw new UnsupportedOperationException("Load balancing feature is not supported in "
                 + this.getClass().getSimpleName());
     }
+
+    /**
+     * Gauge of connections summed over pools of all servers. Connections in
+     * use and idle ones are read off connection pool MBeans the driver
+     * registers per server.
+     */
+    private final class PoolGauge implements Gauge
+    {
+        /** One of pool gauge names of {@link KunderaMetrics}. */
+        private final String name;
+
+        private PoolGauge(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public Number getValue()
+        {
+            MongoClient mongo = (MongoClient) mongoDB.getMongo();
+            List<ServerAddress> servers = mongo.getAllAddress();
+            if (KunderaMetrics.POOL_MAX.equals(name))
+            {
+                return mongo.getMongoClientOptions().getConnectionsPerHost() * servers.size();
+            }
+
+            int value = 0;
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            for (ServerAddress server : servers)
+            {
+                try
+                {
+                    ObjectName pools = new ObjectName("org.mongodb.driver:type=ConnectionPool,host="
+                            + toObjectNameValue(server.getHost()) + ",port=" + server.getPort() + ",*");
+                    for (ObjectName pool : mBeanServer.queryNames(pools, null))
+                    {
+                        int checkedOut = ((Number) mBeanServer.getAttribute(pool, "CheckedOutCount")).intValue();
+                        value += KunderaMetrics.POOL_ACTIVE.equals(name) ? checkedOut : ((Number) mBeanServer
+                                .getAttribute(pool, "Size")).intValue() - checkedOut;
+                    }
+                }
+                catch (JMException e)
+                {
+                    logger.debug("Unable to read connection pool of {}, Caused by: {}.", server, e.getMessage());
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Quotes value the way driver does when naming its MBeans.
+         */
+        private String toObjectNameValue(String value)
+        {
+            return value.matches(".*[,:?*=\"\\\\].*") ? ObjectName.quote(value) : value;
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package com.impetus.client.mongodb.query.gfs;
 
 import com.mongodb.AggregationOutput;
+import com.mongodb.BasicDBObject;
 import com.mongodb.DB;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
@@ -24,7 +25,9 @@ import com.mongodb.gridfs.GridFS;
 import com.mongodb.gridfs.GridFSDBFile;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Extension over the native GridFS implementation to provide more efficient
@@ -63,7 +66,10 @@ public class KunderaGridFS extends GridFS
     }
 
     /**
-     * Finds a list of files matching the given query.
+     * Finds a list of files matching the given query. Only file documents are
+     * read, in two queries whatever the number of files: chunks are fetched
+     * once content of a file is read, e.g. through a
+     * {@link LobHandle}.
      * 
      * @param query
      *            the filter to apply
@@ -78,12 +84,12 @@ public class KunderaGridFS extends GridFS
     public List<GridFSDBFile> find(final DBObject query, final DBObject sort, final int firstResult,
             final int maxResult)
     {
-        List<GridFSDBFile> files = new ArrayList<GridFSDBFile>();
+        List<Object> ids = new ArrayList<Object>();
 
         DBCursor c = null;
         try
         {
-            c = getFilesCollection().find(query);
+            c = getFilesCollection().find(query, new BasicDBObject("_id", 1));
             if (sort != null)
             {
                 c.sort(sort);
@@ -91,7 +97,7 @@ public class KunderaGridFS extends GridFS
             c.skip(firstResult).limit(maxResult);
             while (c.hasNext())
             {
-                files.add(findOne(c.next()));
+                ids.add(c.next().get("_id"));
             }
         }
         finally
@@ -101,6 +107,26 @@ public class KunderaGridFS extends GridFS
                 c.close();
             }
         }
+
+        List<GridFSDBFile> files = new ArrayList<GridFSDBFile>(ids.size());
+        if (!ids.isEmpty())
+        {
+            Map<Object, GridFSDBFile> filesById = new HashMap<Object, GridFSDBFile>();
+            for (GridFSDBFile file : find(new BasicDBObject("_id", new BasicDBObject("$in", ids))))
+            {
+                filesById.put(file.getId(), file);
+            }
+
+            // keep order of paged query.
+            for (Object id : ids)
+            {
+                GridFSDBFile file = filesById.get(id);
+                if (file != null)
+                {
+                    files.add(file);
+                }
+            }
+        }
         return files;
     }
 
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ * *
+ * * Licensed under the Apache License, Version 2.0 (the "License");
+ * * you may not use this file except in compliance with the License.
+ * * You may obtain a copy of the License at
+ * *
+ * * http://www.apache.org/licenses/LICENSE-2.0
+ * *
+ * * Unless required by applicable law or agreed to in writing, software
+ * * distributed under the License is distributed on an "AS IS" BASIS,
+ * * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * * See the License for the specific language governing permissions and
+ * * limitations under the License.
+ ******************************************************************************/
+
+package com.impetus.client.mongodb.query.gfs;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import com.google.common.io.ByteStreams;
+import com.mongodb.gridfs.GridFSDBFile;
+
+/**
+ * Handle on content of a {@link javax.persistence.Lob} field stored in GridFS,
+ * which is streamed rather than held on heap.
+ *
+ * A handle created over an {@link InputStream} is written by streaming that
+ * stream into GridFS on persist, and then reads the written file. A handle read
+ * from GridFS holds file metadata only, chunks are fetched as its stream is
+ * read. It is handed out for @Lob
+ * fields of type LobHandle or {@link Blob}, the latter being read-only.
+ */
+public class LobHandle implements Blob
+{
+    /** Content to be written, null if read from GridFS. */
+    private InputStream source;
+
+    /** File holding content, null if not yet written. */
+    private GridFSDBFile file;
+
+    /**
+     * Creates a handle whose content is streamed from given stream on persist.
+     *
+     * @param source
+     *            the content, closed once written.
+     */
+    public LobHandle(InputStream source)
+    {
+        this.source = source;
+    }
+
+    /**
+     * Creates a handle over a file read from GridFS.
+     *
+     * @param file
+     *            the file
+     */
+    LobHandle(GridFSDBFile file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * Returns a stream over content. For a handle read from GridFS, each call
+     * opens a new stream, reading file chunk by chunk.
+     *
+     * @return the stream
+     */
+    public InputStream getInputStream()
+    {
+        return file != null ? new LobInputStream(file) : source;
+    }
+
+    /**
+     * Writes content to given stream, chunk by chunk.
+     *
+     * @param out
+     *            the out
+     * @return number of bytes written
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public long writeTo(OutputStream out) throws IOException
+    {
+        InputStream in = getInputStream();
+        try
+        {
+            return ByteStreams.copy(in, out);
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    /**
+     * Gets the length of content.
+     *
+     * @return the length, -1 if content is not yet written.
+     */
+    public long getLength()
+    {
+        return file != null ? file.getLength() : -1;
+    }
+
+    /**
+     * Gets the MD5 of content.
+     *
+     * @return the MD5, null if content is not yet written.
+     */
+    public String getMD5()
+    {
+        return file != null ? file.getMD5() : null;
+    }
+
+    /**
+     * Checks whether this handle reads given stored file, i.e. content is
+     * unchanged.
+     *
+     * @param storedFile
+     *            the stored file
+     * @return true, if stored
+     */
+    boolean isStoredAs(GridFSDBFile storedFile)
+    {
+        return file != null && storedFile != null && file.getId().equals(storedFile.getId());
+    }
+
+    /**
+     * Checks whether given lob value reads given stored file, i.e. its content
+     * is unchanged and need not be written again.
+     *
+     * @param lob
+     *            value of a @Lob field
+     * @param storedFile
+     *            the stored file
+     * @return true, if stored
+     */
+    public static boolean isStored(Object lob, GridFSDBFile storedFile)
+    {
+        if (lob instanceof LobHandle)
+        {
+            return ((LobHandle) lob).isStoredAs(storedFile);
+        }
+        return lob instanceof LobInputStream && storedFile != null && !((LobInputStream) lob).isRead
+                && ((LobInputStream) lob).file.getId().equals(storedFile.getId());
+    }
+
+    /**
+     * Returns value a @Lob field of given type holds once given value is
+     * written to given file: a LobHandle now reads that file, a consumed
+     * stream or blob is replaced by one reading it, so that content is known
+     * unchanged on merge.
+     *
+     * @param lob
+     *            value of a @Lob field, just written
+     * @param type
+     *            field type
+     * @param storedFile
+     *            the file written
+     * @return the value to set
+     */
+    public static Object onStored(Object lob, Class<?> type, GridFSDBFile storedFile)
+    {
+        if (lob instanceof LobHandle)
+        {
+            ((LobHandle) lob).file = storedFile;
+            ((LobHandle) lob).source = null;
+            return lob;
+        }
+        return isStreamed(type) ? fromGridFSDBFile(type, storedFile) : lob;
+    }
+
+    /**
+     * Returns a stream over content of given lob value, which may be an
+     * {@link InputStream}, a {@link Blob} or a LobHandle.
+     *
+     * @param lob
+     *            value of a @Lob field
+     * @return the stream
+     * @throws SQLException
+     *             if blob can not be read
+     */
+    public static InputStream toInputStream(Object lob) throws SQLException
+    {
+        if (lob instanceof LobHandle)
+        {
+            return ((LobHandle) lob).getInputStream();
+        }
+        else if (lob instanceof Blob)
+        {
+            return ((Blob) lob).getBinaryStream();
+        }
+        return (InputStream) lob;
+    }
+
+    /**
+     * Returns value of a @Lob field of given type over a file read from
+     * GridFS, without reading its content.
+     *
+     * @param type
+     *            field type, InputStream, Blob or LobHandle.
+     * @param file
+     *            the file
+     * @return the value, null if type is not streamed.
+     */
+    public static Object fromGridFSDBFile(Class<?> type, GridFSDBFile file)
+    {
+        if (type.isAssignableFrom(LobHandle.class))
+        {
+            return new LobHandle(file);
+        }
+        else if (type.equals(InputStream.class))
+        {
+            return new LobInputStream(file);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether @Lob fields of given type are streamed.
+     *
+     * @param type
+     *            field type
+     * @return true, if streamed
+     */
+    public static boolean isStreamed(Class<?> type)
+    {
+        return type.equals(InputStream.class) || type.isAssignableFrom(LobHandle.class);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#length()
+     */
+    @Override
+    public long length() throws SQLException
+    {
+        if (file == null)
+        {
+            throw new SQLException("Length of content is unknown until it is persisted.");
+        }
+        return getLength();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#getBytes(long, int)
+     */
+    @Override
+    public byte[] getBytes(long pos, int length) throws SQLException
+    {
+        InputStream in = getBinaryStream(pos, length);
+        try
+        {
+            return ByteStreams.toByteArray(in);
+        }
+        catch (IOException e)
+        {
+            throw new SQLException("Error while reading GridFS file, Caused by: ", e);
+        }
+        finally
+        {
+            close(in);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#getBinaryStream()
+     */
+    @Override
+    public InputStream getBinaryStream() throws SQLException
+    {
+        return getInputStream();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#getBinaryStream(long, long)
+     */
+    @Override
+    public InputStream getBinaryStream(long pos, long length) throws SQLException
+    {
+        if (pos < 1 || length < 0)
+        {
+            throw new SQLException("Invalid position " + pos + " or length " + length + ".");
+        }
+
+        InputStream in = getInputStream();
+        try
+        {
+            ByteStreams.skipFully(in, pos - 1);
+        }
+        catch (IOException e)
+        {
+            close(in);
+            throw new SQLException("Error while reading GridFS file, Caused by: ", e);
+        }
+        return ByteStreams.limit(in, length);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#position(byte[], long)
+     */
+    @Override
+    public long position(byte[] pattern, long start) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException("Search is not supported over GridFS content.");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#position(java.sql.Blob, long)
+     */
+    @Override
+    public long position(Blob pattern, long start) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException("Search is not supported over GridFS content.");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#setBytes(long, byte[])
+     */
+    @Override
+    public int setBytes(long pos, byte[] bytes) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException("GridFS content is replaced by setting a new LobHandle.");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#setBytes(long, byte[], int, int)
+     */
+    @Override
+    public int setBytes(long pos, byte[] bytes, int offset, int len) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException("GridFS content is replaced by setting a new LobHandle.");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#setBinaryStream(long)
+     */
+    @Override
+    public OutputStream setBinaryStream(long pos) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException("GridFS content is replaced by setting a new LobHandle.");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#truncate(long)
+     */
+    @Override
+    public void truncate(long len) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException("GridFS content is replaced by setting a new LobHandle.");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.sql.Blob#free()
+     */
+    @Override
+    public void free() throws SQLException
+    {
+        if (source != null)
+        {
+            close(source);
+            source = null;
+        }
+    }
+
+    private static void close(InputStream in)
+    {
+        try
+        {
+            in.close();
+        }
+        catch (IOException e)
+        {
+            // nothing to release.
+        }
+    }
+
+    /**
+     * Stream over a GridFS file, fetching chunks as it is read.
+     */
+    private static final class LobInputStream extends FilterInputStream
+    {
+        private final GridFSDBFile file;
+
+        /** Whether content was read, i.e. stream can not be written back. */
+        private boolean isRead;
+
+        private LobInputStream(GridFSDBFile file)
+        {
+            super(file.getInputStream());
+            this.file = file;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            isRead = true;
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            isRead = true;
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException
+        {
+            isRead = true;
+            return super.skip(n);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.security.NoSuchAlgorithmException;
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import javax.xml.bind.DatatypeConverter;
 
 import org.eclipse.persistence.jpa.jpql.parser.CollectionExpression;
 import org.eclipse.persistence.jpa.jpql.parser.Expression;
+import org.bson.io.BasicOutputBuffer;
 import org.eclipse.persistence.jpa.jpql.parser.StringLiteral;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,10 +35,13 @@ import com.impetus.kundera.loader.ClientLoaderException;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.OperationTracer;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.ReflectUtils;
 import com.mongodb.BasicDBObject;
+import com.mongodb.DBEncoder;
 import com.mongodb.DBObject;
+import com.mongodb.DefaultDBEncoder;
 import com.mongodb.MongoCredential;
 
 /**
@@ -241,6 +246,27 @@ public class MongoDBUtils
         return dbObj;
     }
 
+    /**
+     * Reports BSON size of given documents, as read or written, to operation
+     * being traced. Documents are not encoded unless tracing is enabled.
+     * 
+     * @param documents
+     *            the documents
+     */
+    public static void traceBytes(Collection<DBObject> documents)
+    {
+        if (OperationTracer.isTracing())
+        {
+            DBEncoder encoder = DefaultDBEncoder.FACTORY.create();
+            long bytes = 0;
+            for (DBObject document : documents)
+            {
+                bytes += encoder.writeObject(new BasicOutputBuffer(), document);
+            }
+            OperationTracer.bytes(bytes);
+        }
+    }
+
     /**
      * Calculate m d5.
      * 
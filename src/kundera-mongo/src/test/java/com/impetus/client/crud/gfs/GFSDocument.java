@@ -0,0 +1,73 @@
+/*******************************************************************************
+ *  * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.crud.gfs;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import com.impetus.client.mongodb.query.gfs.LobHandle;
+
+/**
+ * Entity whose content is streamed to GridFS through a {@link LobHandle}.
+ */
+@Entity
+@Table(name = "DOCUMENT", schema = "GFS@gfs_pu")
+public class GFSDocument
+{
+    @Id
+    @Column(name = "DOCUMENT_ID")
+    private int documentId;
+
+    @Column(name = "TITLE")
+    private String title;
+
+    @Lob
+    @Column(name = "CONTENT")
+    private LobHandle content;
+
+    public int getDocumentId()
+    {
+        return documentId;
+    }
+
+    public void setDocumentId(int documentId)
+    {
+        this.documentId = documentId;
+    }
+
+    public String getTitle()
+    {
+        return title;
+    }
+
+    public void setTitle(String title)
+    {
+        this.title = title;
+    }
+
+    public LobHandle getContent()
+    {
+        return content;
+    }
+
+    public void setContent(LobHandle content)
+    {
+        this.content = content;
+    }
+}
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.client.crud.gfs;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -33,6 +34,8 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.google.common.io.ByteStreams;
+import com.impetus.client.mongodb.query.gfs.LobHandle;
 import com.impetus.client.utils.MongoUtils;
 
 /**
@@ -128,6 +131,42 @@ public class GridFSTest
         testDelete();
     }
 
+    /**
+     * Test merge of an entity whose streamed content has been persisted: the
+     * handle then reads stored file, which is kept as is.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testMergeStreamedLob() throws Exception
+    {
+        byte[] content = createBinaryData("src/test/resources/pic.jpg", 3);
+
+        GFSDocument document = new GFSDocument();
+        document.setDocumentId(1);
+        document.setTitle("kundera");
+        document.setContent(new LobHandle(new ByteArrayInputStream(content)));
+        em.persist(document);
+
+        LobHandle stored = document.getContent();
+        Assert.assertEquals(content.length, stored.getLength());
+        String md5 = stored.getMD5();
+        Assert.assertNotNull(md5);
+
+        document.setTitle("kundera gridfs");
+        em.merge(document);
+        em.clear();
+
+        GFSDocument found = em.find(GFSDocument.class, 1);
+        Assert.assertNotNull(found);
+        Assert.assertEquals("kundera gridfs", found.getTitle());
+        Assert.assertEquals(md5, found.getContent().getMD5());
+        Assert.assertArrayEquals(content, ByteStreams.toByteArray(found.getContent().getInputStream()));
+
+        em.remove(found);
+    }
+
     /**
      * Test query.
      * 
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * * Copyright 2017 Impetus Infotech.
+ * *
+ * * Licensed under the Apache License, Version 2.0 (the "License");
+ * * you may not use this file except in compliance with the License.
+ * * You may obtain a copy of the License at
+ * *
+ * * http://www.apache.org/licenses/LICENSE-2.0
+ * *
+ * * Unless required by applicable law or agreed to in writing, software
+ * * distributed under the License is distributed on an "AS IS" BASIS,
+ * * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * * See the License for the specific language governing permissions and
+ * * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.crud.gfs;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.impetus.client.mongodb.query.gfs.LobHandle;
+
+/**
+ * Test case for {@link LobHandle} not yet persisted.
+ */
+public class LobHandleTest
+{
+    @Test
+    public void testStreamedTypes()
+    {
+        Assert.assertTrue(LobHandle.isStreamed(InputStream.class));
+        Assert.assertTrue(LobHandle.isStreamed(Blob.class));
+        Assert.assertTrue(LobHandle.isStreamed(LobHandle.class));
+        Assert.assertFalse(LobHandle.isStreamed(byte[].class));
+    }
+
+    @Test
+    public void testSourceContent() throws Exception
+    {
+        LobHandle handle = new LobHandle(new ByteArrayInputStream("kundera gridfs".getBytes("UTF-8")));
+        Assert.assertEquals(-1, handle.getLength());
+        Assert.assertNull(handle.getMD5());
+        Assert.assertEquals("gridfs", new String(handle.getBytes(9, 6), "UTF-8"));
+
+        try
+        {
+            handle.length();
+            Assert.fail("Length of content not yet persisted is unknown.");
+        }
+        catch (SQLException e)
+        {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testToInputStream() throws Exception
+    {
+        InputStream in = new ByteArrayInputStream(new byte[] { 1 });
+        Assert.assertSame(in, LobHandle.toInputStream(in));
+        Assert.assertSame(in, LobHandle.toInputStream(new LobHandle(in)));
+        Assert.assertFalse(LobHandle.isStored(in, null));
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.neo4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.unsafe.batchinsert.BatchInserter;
+import org.neo4j.unsafe.batchinsert.BatchInserterIndexProvider;
+import org.neo4j.unsafe.batchinsert.LuceneBatchInserterIndexProvider;
+
+/**
+ * Holds {@link BatchInserter} and its index provider for a bulk load into
+ * Neo4J. A session may span any number of batch executions, node ids created
+ * so far are kept in memory (per entity class and primary key) so that
+ * relationship end points inserted in earlier batches are resolved without
+ * any index lookup.
+ *
+ * While a session is open graph database service is shut down, as only one
+ * of them may hold lock on datastore files.
+ */
+class Neo4JBulkLoadSession
+{
+    /** Batch inserter. */
+    private final BatchInserter inserter;
+
+    /** Lucene index provider on top of inserter. */
+    private final BatchInserterIndexProvider indexProvider;
+
+    /** Whether node auto indexing was enabled on graph database. */
+    private final boolean nodeAutoIndexingEnabled;
+
+    /** Whether relationship auto indexing was enabled on graph database. */
+    private final boolean relationshipAutoIndexingEnabled;
+
+    /** Inserted node ids, per entity class and primary key. */
+    private final Map<Class<?>, Map<Object, Long>> pkToNodeIdMap = new HashMap<Class<?>, Map<Object, Long>>();
+
+    /** Number of nodes inserted in this session. */
+    private long nodeCount;
+
+    Neo4JBulkLoadSession(BatchInserter inserter, boolean nodeAutoIndexingEnabled,
+            boolean relationshipAutoIndexingEnabled)
+    {
+        this.inserter = inserter;
+        this.indexProvider = new LuceneBatchInserterIndexProvider(inserter);
+        this.nodeAutoIndexingEnabled = nodeAutoIndexingEnabled;
+        this.relationshipAutoIndexingEnabled = relationshipAutoIndexingEnabled;
+    }
+
+    /**
+     * Creates node and remembers its id against entity primary key.
+     *
+     * @param entityClass
+     *            entity class
+     * @param pk
+     *            entity primary key
+     * @param nodeProperties
+     *            node properties
+     * @return id of created node
+     */
+    long createNode(Class<?> entityClass, Object pk, Map<String, Object> nodeProperties)
+    {
+        long nodeId = inserter.createNode(nodeProperties);
+
+        Map<Object, Long> nodeIds = pkToNodeIdMap.get(entityClass);
+        if (nodeIds == null)
+        {
+            nodeIds = new HashMap<Object, Long>();
+            pkToNodeIdMap.put(entityClass, nodeIds);
+        }
+        nodeIds.put(pk, nodeId);
+        nodeCount++;
+
+        return nodeId;
+    }
+
+    /**
+     * Returns id of node inserted in this session for given entity, or null.
+     *
+     * @param entityClass
+     *            entity class
+     * @param pk
+     *            entity primary key
+     * @return node id
+     */
+    Long getNodeId(Class<?> entityClass, Object pk)
+    {
+        Map<Object, Long> nodeIds = pkToNodeIdMap.get(entityClass);
+        return nodeIds != null ? nodeIds.get(pk) : null;
+    }
+
+    /**
+     * Flushes and shuts down index provider and inserter.
+     */
+    void shutdown()
+    {
+        try
+        {
+            indexProvider.shutdown();
+        }
+        finally
+        {
+            inserter.shutdown();
+            pkToNodeIdMap.clear();
+        }
+    }
+
+    BatchInserter getInserter()
+    {
+        return inserter;
+    }
+
+    BatchInserterIndexProvider getIndexProvider()
+    {
+        return indexProvider;
+    }
+
+    boolean isNodeAutoIndexingEnabled()
+    {
+        return nodeAutoIndexingEnabled;
+    }
+
+    boolean isRelationshipAutoIndexingEnabled()
+    {
+        return relationshipAutoIndexingEnabled;
+    }
+
+    long getNodeCount()
+    {
+        return nodeCount;
+    }
+}
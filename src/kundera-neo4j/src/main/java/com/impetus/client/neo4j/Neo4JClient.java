@@ -38,7 +38,6 @@ import org.neo4j.graphdb.index.ReadableIndex;
 import org.neo4j.unsafe.batchinsert.BatchInserter;
 import org.neo4j.unsafe.batchinsert.BatchInserterIndexProvider;
 import org.neo4j.unsafe.batchinsert.BatchInserters;
-import org.neo4j.unsafe.batchinsert.LuceneBatchInserterIndexProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +81,9 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     /** The log. */
     private static Logger log = LoggerFactory.getLogger(Neo4JClient.class);
 
+    /** Client property to open (true) or close (false) a bulk load session. */
+    public static final String BULK_LOAD = "neo4j.bulk.load";
+
     /**
      * Reference to Neo4J client factory.
      */
@@ -99,6 +101,9 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     /** The indexer. */
     private Neo4JIndexManager indexer;
 
+    /** Open bulk load session, if any. */
+    private Neo4JBulkLoadSession bulkLoadSession;
+
     /**
      * Instantiates a new neo4 j client.
      * 
@@ -148,6 +153,17 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
                 Integer batchSize = (Integer) value;
                 ((Neo4JClient) client).setBatchSize(batchSize);
             }
+            else if (key.equals(BULK_LOAD) && value != null)
+            {
+                if (Boolean.valueOf(value.toString()))
+                {
+                    ((Neo4JClient) client).openBulkLoadSession();
+                }
+                else
+                {
+                    ((Neo4JClient) client).closeBulkLoadSession();
+                }
+            }
         }
     }
 
@@ -163,6 +179,8 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     @Override
     public Object find(Class entityClass, Object key)
     {
+        checkNoBulkLoadSession();
+
         GraphDatabaseService graphDb = null;
         if (resource != null)
         {
@@ -224,6 +242,7 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     public void close()
     {
         // Closure is internally handled by Neo4J
+        closeBulkLoadSession();
     }
 
     /**
@@ -521,121 +540,243 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     {
         if (batchSize > 0)
         {
-            boolean nodeAutoIndexingEnabled = indexer.isNodeAutoIndexingEnabled(factory.getConnection());
-            boolean relationshipAutoIndexingEnabled = indexer
-                    .isRelationshipAutoIndexingEnabled(factory.getConnection());
+            if (resource != null && resource.isActive())
+            {
+                log.error("Batch Insertion MUST not be executed in a transaction");
+                throw new PersistenceException("Batch Insertion MUST not be executed in a transaction");
+            }
 
-            BatchInserter inserter = getBatchInserter();
-            BatchInserterIndexProvider indexProvider = new LuceneBatchInserterIndexProvider(inserter);
+            // Outside of a bulk load session inserter lives for this batch only
+            boolean transientSession = bulkLoadSession == null;
+            Neo4JBulkLoadSession session = transientSession ? openSession() : bulkLoadSession;
 
-            if (inserter == null)
+            int inserted = 0;
+            try
             {
-                log.error("Unable to create instance of BatchInserter. Opertion will fail");
-                throw new PersistenceException("Unable to create instance of BatchInserter. Opertion will fail");
+                inserted = insertNodes(session);
             }
+            finally
+            {
+                if (transientSession)
+                {
+                    shutdownSession(session);
+                }
+                else
+                {
+                    nodes.clear();
+                }
+            }
+            return inserted;
+        }
+        else
+        {
+            return 0;
+        }
 
-            if (resource != null && resource.isActive())
+    }
+
+    /**
+     * Opens a bulk load session. Until it is closed (explicitly, by setting
+     * client property "neo4j.bulk.load" to false, or on client close) every
+     * batch execution reuses the same {@link BatchInserter} and index
+     * providers, and relationship end points are resolved from node ids
+     * inserted earlier in the session. Meanwhile graph database service is
+     * shut down, so finds, queries, updates, deletes and transactions fail.
+     */
+    public void openBulkLoadSession()
+    {
+        if (bulkLoadSession == null)
+        {
+            bulkLoadSession = openSession();
+            if (log.isInfoEnabled())
             {
-                log.error("Batch Insertion MUST not be executed in a transaction");
-                throw new PersistenceException("Batch Insertion MUST not be executed in a transaction");
+                log.info("Opened Neo4J bulk load session for persistence unit " + getPersistenceUnit());
             }
+        }
+    }
 
-            Map<Object, Long> pkToNodeIdMap = new HashMap<Object, Long>();
-            for (com.impetus.kundera.graph.Node graphNode : nodes)
+    /**
+     * Executes pending batch, shuts down inserter of bulk load session and
+     * restores graph database service.
+     */
+    public void closeBulkLoadSession()
+    {
+        if (bulkLoadSession != null)
+        {
+            Neo4JBulkLoadSession session = bulkLoadSession;
+            try
             {
-                if (graphNode.isDirty())
+                if (!nodes.isEmpty())
                 {
-                    graphNode.handlePreEvent();
-                    // Delete can not be executed in batch, deleting normally
-                    if (graphNode.isInState(RemovedState.class))
-                    {
-                        delete(graphNode.getData(), graphNode.getEntityId());
-                    }
-                    else if (graphNode.isUpdate())
-                    {
-                        // Neo4J allows only batch insertion, follow usual path
-                        // for normal updates
-                        persist(graphNode);
-                    }
-                    else
+                    executeBatch();
+                }
+            }
+            finally
+            {
+                bulkLoadSession = null;
+                shutdownSession(session);
+                if (log.isInfoEnabled())
+                {
+                    log.info("Closed Neo4J bulk load session for persistence unit " + getPersistenceUnit()
+                            + " after inserting " + session.getNodeCount() + " nodes");
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a bulk load session is open.
+     * 
+     * @return true, if bulk load session is open
+     */
+    public boolean isBulkLoadSessionOpen()
+    {
+        return bulkLoadSession != null;
+    }
+
+    /**
+     * Opens new session over a fresh {@link BatchInserter}.
+     * 
+     * @return the session
+     */
+    private Neo4JBulkLoadSession openSession()
+    {
+        // Auto indexing is read from graph database before it is shut down
+        boolean nodeAutoIndexingEnabled = indexer.isNodeAutoIndexingEnabled(factory.getConnection());
+        boolean relationshipAutoIndexingEnabled = indexer.isRelationshipAutoIndexingEnabled(factory.getConnection());
+
+        BatchInserter inserter = getBatchInserter();
+        if (inserter == null)
+        {
+            log.error("Unable to create instance of BatchInserter. Opertion will fail");
+            throw new PersistenceException("Unable to create instance of BatchInserter. Opertion will fail");
+        }
+
+        return new Neo4JBulkLoadSession(inserter, nodeAutoIndexingEnabled, relationshipAutoIndexingEnabled);
+    }
+
+    /**
+     * Shuts down session and restores graph database service.
+     * 
+     * @param session
+     *            the session
+     */
+    private void shutdownSession(Neo4JBulkLoadSession session)
+    {
+        try
+        {
+            session.shutdown();
+        }
+        finally
+        {
+            factory.setConnection((GraphDatabaseService) factory.createPoolOrConnection());
+        }
+    }
+
+    /**
+     * Inserts batched nodes, along with their relationships, using inserter of
+     * given session.
+     * 
+     * @param session
+     *            the session
+     * @return number of inserted nodes
+     */
+    private int insertNodes(Neo4JBulkLoadSession session)
+    {
+        BatchInserter inserter = session.getInserter();
+        BatchInserterIndexProvider indexProvider = session.getIndexProvider();
+
+        int inserted = 0;
+        for (com.impetus.kundera.graph.Node graphNode : nodes)
+        {
+            if (graphNode.isDirty())
+            {
+                graphNode.handlePreEvent();
+                // Delete can not be executed in batch, deleting normally
+                if (graphNode.isInState(RemovedState.class))
+                {
+                    delete(graphNode.getData(), graphNode.getEntityId());
+                }
+                else if (graphNode.isUpdate())
+                {
+                    // Neo4J allows only batch insertion, follow usual path
+                    // for normal updates
+                    persist(graphNode);
+                }
+                else
+                {
+                    // Insert node
+                    Object entity = graphNode.getData();
+                    EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
+                    Object pk = PropertyAccessorHelper.getId(entity, m);
+                    Map<String, Object> nodeProperties = mapper.createNodeProperties(entity, m);
+                    long nodeId = session.createNode(m.getEntityClazz(), pk, nodeProperties);
+                    inserted++;
+
+                    // Index Node
+                    indexer.indexNodeUsingBatchIndexer(indexProvider, m, nodeId, nodeProperties,
+                            session.isNodeAutoIndexingEnabled());
+
+                    // Insert relationships for this particular node
+                    if (!getRelationHolders(graphNode).isEmpty())
                     {
-                        // Insert node
-                        Object entity = graphNode.getData();
-                        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
-                        Object pk = PropertyAccessorHelper.getId(entity, m);
-                        Map<String, Object> nodeProperties = mapper.createNodeProperties(entity, m);
-                        long nodeId = inserter.createNode(nodeProperties);
-                        pkToNodeIdMap.put(pk, nodeId);
-
-                        // Index Node
-                        indexer.indexNodeUsingBatchIndexer(indexProvider, m, nodeId, nodeProperties,
-                                nodeAutoIndexingEnabled);
-
-                        // Insert relationships for this particular node
-                        if (!getRelationHolders(graphNode).isEmpty())
+                        for (RelationHolder rh : getRelationHolders(graphNode))
                         {
-                            for (RelationHolder rh : getRelationHolders(graphNode))
+                            // Search Node (to be connected to ) among nodes
+                            // inserted in this session
+                            EntityMetadata targetNodeMetadata = KunderaMetadataManager.getEntityMetadata(
+                                    kunderaMetadata, rh.getRelationValue().getClass());
+                            Object targetNodeKey = PropertyAccessorHelper.getId(rh.getRelationValue(),
+                                    targetNodeMetadata);
+                            Long targetNodeId = session.getNodeId(targetNodeMetadata.getEntityClazz(), targetNodeKey);
+
+                            if (targetNodeId != null)
                             {
-                                // Search Node (to be connected to ) in Neo4J
-                                // graph
-                                EntityMetadata targetNodeMetadata = KunderaMetadataManager.getEntityMetadata(
-                                        kunderaMetadata, rh.getRelationValue().getClass());
-                                Object targetNodeKey = PropertyAccessorHelper.getId(rh.getRelationValue(),
-                                        targetNodeMetadata);
-                                Long targetNodeId = pkToNodeIdMap.get(targetNodeKey);
-
-                                if (targetNodeId != null)
+                                /**
+                                 * Join this node (source node) to target node
+                                 * via relationship
+                                 */
+                                // Relationship Type
+                                DynamicRelationshipType relType = DynamicRelationshipType.withName(rh
+                                        .getRelationName());
+
+                                // Relationship Properties
+                                Map<String, Object> relationshipProperties = null;
+                                Object relationshipObj = rh.getRelationVia();
+                                if (relationshipObj != null)
                                 {
-                                    /**
-                                     * Join this node (source node) to target
-                                     * node via relationship
-                                     */
-                                    // Relationship Type
-                                    DynamicRelationshipType relType = DynamicRelationshipType.withName(rh
-                                            .getRelationName());
-
-                                    // Relationship Properties
-                                    Map<String, Object> relationshipProperties = null;
-                                    Object relationshipObj = rh.getRelationVia();
-                                    if (relationshipObj != null)
-                                    {
-                                        EntityMetadata relationMetadata = KunderaMetadataManager.getEntityMetadata(
-                                                kunderaMetadata, relationshipObj.getClass());
+                                    EntityMetadata relationMetadata = KunderaMetadataManager.getEntityMetadata(
+                                            kunderaMetadata, relationshipObj.getClass());
 
-                                        relationshipProperties = mapper.createRelationshipProperties(m,
-                                                targetNodeMetadata, relationshipObj);
+                                    relationshipProperties = mapper.createRelationshipProperties(m,
+                                            targetNodeMetadata, relationshipObj);
 
-                                        // Finally insert relationship
-                                        long relationshipId = inserter.createRelationship(nodeId, targetNodeId,
-                                                relType, relationshipProperties);
-
-                                        // Index this relationship
-                                        indexer.indexRelationshipUsingBatchIndexer(indexProvider, relationMetadata,
-                                                relationshipId, relationshipProperties, relationshipAutoIndexingEnabled);
-                                    }
+                                    // Finally insert relationship
+                                    long relationshipId = inserter.createRelationship(nodeId, targetNodeId,
+                                            relType, relationshipProperties);
 
+                                    // Index this relationship
+                                    indexer.indexRelationshipUsingBatchIndexer(indexProvider, relationMetadata,
+                                            relationshipId, relationshipProperties,
+                                            session.isRelationshipAutoIndexingEnabled());
                                 }
+
+                            }
+                            else
+                            {
+                                log.warn("Relationship " + rh.getRelationName() + " of "
+                                        + m.getEntityClazz().getSimpleName() + " " + pk
+                                        + " is not inserted, as its target "
+                                        + targetNodeMetadata.getEntityClazz().getSimpleName() + " " + targetNodeKey
+                                        + " was not inserted in this session");
                             }
                         }
                     }
-                    graphNode.handlePostEvent();
                 }
+                graphNode.handlePostEvent();
             }
-
-            // Shutdown Batch inserter
-            indexProvider.shutdown();
-            inserter.shutdown();
-
-            // Restore Graph Database service
-            factory.setConnection((GraphDatabaseService) factory.createPoolOrConnection());
-
-            return pkToNodeIdMap.size();
-        }
-        else
-        {
-            return 0;
         }
-
+        return inserted;
     }
 
     /**
@@ -830,6 +971,8 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     @Override
     public void bind(TransactionResource resource)
     {
+        checkNoBulkLoadSession();
+
         if (resource != null && resource instanceof Neo4JTransaction)
         {
             ((Neo4JTransaction) resource).setGraphDb(factory.getConnection());
@@ -955,6 +1098,20 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
         }
     }
 
+    /**
+     * Checks that no bulk load session is open, as graph database service is
+     * shut down until it is closed: only batch insertion of new nodes is
+     * possible meanwhile.
+     */
+    private void checkNoBulkLoadSession()
+    {
+        if (bulkLoadSession != null)
+        {
+            throw new PersistenceException("Neo4J bulk load session is open for persistence unit "
+                    + getPersistenceUnit() + ", only inserts are allowed until it is closed");
+        }
+    }
+
     /**
      * Gets the connection.
      * 
@@ -962,6 +1119,8 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
      */
     public GraphDatabaseService getConnection()
     {
+        checkNoBulkLoadSession();
+
         if (resource != null)
         {
             return ((Neo4JTransaction) resource).getGraphDb();
@@ -24,13 +24,22 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
+
+import junit.framework.Assert;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
 import org.neo4j.kernel.impl.util.FileUtils;
+import org.neo4j.tooling.GlobalGraphOperations;
 
+import com.impetus.client.neo4j.Neo4JClient;
 import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.Client;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
@@ -94,6 +103,68 @@ public class IMDBBatchInsertionTest
         }
     }
 
+    @Test
+    public void bulkLoadTest()
+    {
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        Neo4JClient client = (Neo4JClient) clients.get(IMDB_BATCH_PU);
+
+        em.setProperty(Neo4JClient.BULK_LOAD, "true");
+        Assert.assertTrue(client.isBulkLoadSessionOpen());
+
+        List<Actor> actors = prepareData(n);
+
+        for (Actor actor : actors)
+        {
+            if (actor != null)
+            {
+                em.persist(actor);
+            }
+        }
+
+        // graph database service is shut down until session is closed.
+        try
+        {
+            client.find(Actor.class, 1);
+            Assert.fail("Should have failed while bulk load session is open");
+        }
+        catch (PersistenceException e)
+        {
+            Assert.assertTrue(e.getMessage().contains("bulk load session"));
+        }
+
+        em.setProperty(Neo4JClient.BULK_LOAD, "false");
+        Assert.assertFalse(client.isBulkLoadSessionOpen());
+
+        // n actors and n + 1 movies, each actor acting in 2 movies.
+        int actorCount = 0;
+        int movieCount = 0;
+        GlobalGraphOperations graphOperations = GlobalGraphOperations.at(client.getConnection());
+        for (Node node : graphOperations.getAllNodes())
+        {
+            if (node.hasProperty("ACTOR_ID"))
+            {
+                actorCount++;
+            }
+            else if (node.hasProperty("MOVIE_ID"))
+            {
+                movieCount++;
+            }
+        }
+        Assert.assertEquals(n, actorCount);
+        Assert.assertEquals(n + 1, movieCount);
+
+        int relationshipCount = 0;
+        for (Relationship relationship : graphOperations.getAllRelationships())
+        {
+            if (relationship.isType(DynamicRelationshipType.withName("ACTS_IN")))
+            {
+                relationshipCount++;
+            }
+        }
+        Assert.assertEquals(2 * n, relationshipCount);
+    }
+
     /**
      * n = number of Actors
      * 
@@ -19,7 +19,9 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +35,7 @@ import javax.persistence.metamodel.EmbeddableType;
 import javax.persistence.metamodel.EntityType;
 
 import oracle.kv.Consistency;
+import oracle.kv.Direction;
 import oracle.kv.Durability;
 import oracle.kv.DurabilityException;
 import oracle.kv.FaultException;
@@ -40,15 +43,19 @@ import oracle.kv.KVStore;
 import oracle.kv.Key;
 import oracle.kv.impl.api.table.TableImpl;
 import oracle.kv.table.FieldDef;
+import oracle.kv.table.FieldRange;
 import oracle.kv.table.FieldValue;
 import oracle.kv.table.Index;
 import oracle.kv.table.IndexKey;
+import oracle.kv.table.MultiRowOptions;
 import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.ReadOptions;
 import oracle.kv.table.RecordValue;
 import oracle.kv.table.ReturnRow.Choice;
 import oracle.kv.table.Row;
 import oracle.kv.table.Table;
 import oracle.kv.table.TableAPI;
+import oracle.kv.table.TableIteratorOptions;
 import oracle.kv.table.TableOpExecutionException;
 import oracle.kv.table.TableOperation;
 
@@ -131,6 +138,12 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
     /** The consistency. */
     private Consistency consistency = OracleNOSQLConstants.DEFAULT_CONSISTENCY;
 
+    /** The max concurrent requests for table iterators, 0 lets store decide. */
+    private int maxConcurrentRequests;
+
+    /** The number of rows fetched per iterator batch, 0 lets store decide. */
+    private int iteratorBatchSize;
+
     /** The table api. */
     private TableAPI tableAPI;
 
@@ -511,7 +524,8 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
             Table schemaTable = tableAPI.getTable(entityMetadata.getTableName());
             // KunderaCoreUtils.showQuery("Get all records for " +
             // entityMetadata.getTableName(), showQuery);
-            Iterator<Row> rowsIter = tableAPI.tableIterator(schemaTable.createPrimaryKey(), null, null);
+            Iterator<Row> rowsIter = tableAPI.tableIterator(schemaTable.createPrimaryKey(), null,
+                    getIteratorOptions(Direction.UNORDERED));
 
             Map<String, Object> relationMap = initialize(entityMetadata);
 
@@ -528,14 +542,218 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         }
         else
         {
+            results = findByKeys(entityClass, Arrays.asList(columnsToSelect), keys);
+        }
+
+        return results;
+    }
+
+    /**
+     * Finds entities for given primary keys. Keys are grouped by the major
+     * (shard) part of their store key, every group sharing a shard is read
+     * with a single {@link TableAPI#multiGet} bounded to the range of given
+     * keys, and single key groups with a plain {@link TableAPI#get}. Rows of
+     * the range which are not asked for are dropped. Found entities are
+     * returned in the order of given keys.
+     * 
+     * @param entityClass
+     *            the entity class
+     * @param columnsToSelect
+     *            the columns to select
+     * @param keys
+     *            the primary keys
+     * @return the list
+     */
+    private <E> List<E> findByKeys(Class<E> entityClass, List<String> columnsToSelect, Object... keys)
+    {
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        MetamodelImpl metamodel = (MetamodelImpl) KunderaMetadataManager.getMetamodel(kunderaMetadata,
+                entityMetadata.getPersistenceUnit());
+
+        Table schemaTable = tableAPI.getTable(entityMetadata.getTableName());
+        TableImpl tableImpl = (TableImpl) schemaTable;
+        ReadOptions readOptions = new ReadOptions(consistency, timeout, timeUnit);
+
+        List<Key> storeKeys = new ArrayList<Key>(keys.length);
+        Map<Key, List<PrimaryKey>> shards = new LinkedHashMap<Key, List<PrimaryKey>>();
+
+        for (Object key : keys)
+        {
+            PrimaryKey rowKey = createPrimaryKey(entityMetadata, metamodel, schemaTable, key);
+            Key storeKey = tableImpl.createKey(rowKey, false);
+            storeKeys.add(storeKey);
 
-            for (Object key : keys)
+            Key shardKey = Key.createKey(storeKey.getMajorPath());
+            List<PrimaryKey> shard = shards.get(shardKey);
+            if (shard == null)
             {
-                results.add((E) find(entityClass, key, Arrays.asList(columnsToSelect)));
+                shard = new ArrayList<PrimaryKey>();
+                shards.put(shardKey, shard);
             }
+            shard.add(rowKey);
         }
 
-        return results;
+        KunderaCoreUtils.printQuery("Fetch data from " + entityMetadata.getTableName() + " for PKs "
+                + Arrays.toString(keys), showQuery);
+        if (log.isDebugEnabled())
+        {
+            log.debug("Fetching data from " + entityMetadata.getTableName() + " for " + keys.length + " PKs across "
+                    + shards.size() + " shards");
+        }
+
+        Set<Key> requestedKeys = new HashSet<Key>(storeKeys);
+        Map<Key, Row> fetchedRows = new HashMap<Key, Row>();
+
+        try
+        {
+            for (List<PrimaryKey> shard : shards.values())
+            {
+                if (shard.size() == 1)
+                {
+                    Row row = tableAPI.get(shard.get(0), readOptions);
+                    if (row != null)
+                    {
+                        fetchedRows.put(tableImpl.createKey(row, false), row);
+                    }
+                }
+                else
+                {
+                    for (Row row : tableAPI.multiGet(createShardKey(schemaTable, shard.get(0)),
+                            createKeyRange(schemaTable, shard), readOptions))
+                    {
+                        Key storeKey = tableImpl.createKey(row, false);
+                        if (requestedKeys.contains(storeKey))
+                        {
+                            fetchedRows.put(storeKey, row);
+                        }
+                    }
+                }
+            }
+
+            List<Row> rows = new ArrayList<Row>(storeKeys.size());
+            for (Key storeKey : storeKeys)
+            {
+                Row row = fetchedRows.get(storeKey);
+                if (row != null)
+                {
+                    rows.add(row);
+                }
+            }
+
+            return scrollAndPopulate(null, entityMetadata, metamodel, schemaTable, rows.iterator(),
+                    initialize(entityMetadata), columnsToSelect);
+        }
+        catch (Exception e)
+        {
+            log.error("Error while finding data for Keys " + Arrays.toString(keys) + ", Caused By :" + e + ".");
+            throw new PersistenceException(e);
+        }
+    }
+
+    /**
+     * Creates complete primary key for given entity id.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param metamodel
+     *            the metamodel
+     * @param schemaTable
+     *            the schema table
+     * @param key
+     *            the entity id
+     * @return the primary key
+     */
+    private PrimaryKey createPrimaryKey(EntityMetadata entityMetadata, MetamodelImpl metamodel, Table schemaTable,
+            Object key)
+    {
+        PrimaryKey rowKey = schemaTable.createPrimaryKey();
+        if (metamodel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            readEmbeddable(key, null, entityMetadata, metamodel, schemaTable, rowKey, entityMetadata.getIdAttribute());
+        }
+        else
+        {
+            String idColumnName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
+            NoSqlDBUtils.add(schemaTable.getField(idColumnName), rowKey, key, idColumnName);
+        }
+        return rowKey;
+    }
+
+    /**
+     * Creates partial primary key holding only shard key fields of given
+     * primary key.
+     * 
+     * @param schemaTable
+     *            the schema table
+     * @param rowKey
+     *            the complete primary key
+     * @return the shard key
+     */
+    private PrimaryKey createShardKey(Table schemaTable, PrimaryKey rowKey)
+    {
+        PrimaryKey shardKey = schemaTable.createPrimaryKey();
+        for (String shardField : schemaTable.getShardKey())
+        {
+            shardKey.put(shardField, rowKey.get(shardField));
+        }
+        return shardKey;
+    }
+
+    /**
+     * Creates multi row options bounding a shard read to given primary keys,
+     * i.e. to range between least and greatest value of first primary key
+     * field following shard key fields.
+     * 
+     * @param schemaTable
+     *            the schema table
+     * @param rowKeys
+     *            complete primary keys of a shard
+     * @return the multi row options, null if primary key is shard key only.
+     */
+    private MultiRowOptions createKeyRange(Table schemaTable, List<PrimaryKey> rowKeys)
+    {
+        List<String> primaryKeys = schemaTable.getPrimaryKey();
+        int shardKeySize = schemaTable.getShardKey().size();
+        if (primaryKeys.size() <= shardKeySize)
+        {
+            return null;
+        }
+
+        String rangeField = primaryKeys.get(shardKeySize);
+        FieldValue start = null;
+        FieldValue end = null;
+        for (PrimaryKey rowKey : rowKeys)
+        {
+            FieldValue value = rowKey.get(rangeField);
+            if (start == null || value.compareTo(start) < 0)
+            {
+                start = value;
+            }
+            if (end == null || value.compareTo(end) > 0)
+            {
+                end = value;
+            }
+        }
+
+        FieldRange range = schemaTable.createFieldRange(rangeField);
+        range.setStart(start, true);
+        range.setEnd(end, true);
+        return range.createMultiRowOptions();
+    }
+
+    /**
+     * Returns iterator options for table and index scans. Number of
+     * concurrent requests is decided by store unless configured via
+     * "max.concurrent.requests".
+     * 
+     * @param direction
+     *            the direction
+     * @return the table iterator options
+     */
+    private TableIteratorOptions getIteratorOptions(Direction direction)
+    {
+        return new TableIteratorOptions(direction, consistency, timeout, timeUnit, maxConcurrentRequests,
+                iteratorBatchSize);
     }
 
     /**
@@ -639,7 +857,7 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         KunderaCoreUtils.printQuery(
                 "Get columns by id from:" + tableName + " for column:" + columnName + " where value:" + pKeyColumnValue,
                 showQuery);
-        Iterator<Row> rowsIter = tableAPI.tableIterator(indexKey, null, null);
+        Iterator<Row> rowsIter = tableAPI.tableIterator(indexKey, null, getIteratorOptions(Direction.FORWARD));
 
         while (rowsIter.hasNext())
         {
@@ -980,6 +1198,48 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         this.consistency = consistency;
     }
 
+    /**
+     * Sets the max concurrent requests used by table iterators.
+     * 
+     * @param maxConcurrentRequests
+     *            the maxConcurrentRequests to set
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests)
+    {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Sets the number of rows fetched per table iterator batch.
+     * 
+     * @param iteratorBatchSize
+     *            the iteratorBatchSize to set
+     */
+    public void setIteratorBatchSize(int iteratorBatchSize)
+    {
+        this.iteratorBatchSize = iteratorBatchSize;
+    }
+
+    /**
+     * Gets the max concurrent requests used by table iterators.
+     * 
+     * @return the maxConcurrentRequests
+     */
+    public int getMaxConcurrentRequests()
+    {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Gets the number of rows fetched per table iterator batch.
+     * 
+     * @return the iteratorBatchSize
+     */
+    public int getIteratorBatchSize()
+    {
+        return iteratorBatchSize;
+    }
+
     /**
      * Gets the timeout.
      * 
@@ -1478,7 +1738,7 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
             NoSqlDBUtils.add(schemaTable.getField(indexName), indexKey, indexes.get(indexName).get(0), indexName);
         }
 
-        Iterator<Row> rowsIter = tableAPI.tableIterator(indexKey, null, null);
+        Iterator<Row> rowsIter = tableAPI.tableIterator(indexKey, null, getIteratorOptions(Direction.FORWARD));
 
         Map<String, Object> relationMap = initialize(entityMetadata);
 
@@ -47,6 +47,10 @@ public class OracleNoSQLClientProperties
 
     private static final String CONSISTENCY = "consistency";
 
+    private static final String MAX_CONCURRENT_REQUESTS = "max.concurrent.requests";
+
+    private static final String ITERATOR_BATCH_SIZE = "iterator.batch.size";
+
     private OracleNoSQLClient oracleNoSQLClient;
 
     public void populateClientProperties(Client client, Map<String, Object> properties)
@@ -80,6 +84,14 @@ public class OracleNoSQLClientProperties
                     {
                         setBatchSize(value);
                     }
+                    else if (key.equals(MAX_CONCURRENT_REQUESTS))
+                    {
+                        this.oracleNoSQLClient.setMaxConcurrentRequests(toInt(value));
+                    }
+                    else if (key.equals(ITERATOR_BATCH_SIZE))
+                    {
+                        this.oracleNoSQLClient.setIteratorBatchSize(toInt(value));
+                    }
                     // Add more properties as needed
                 }
             }
@@ -131,6 +143,14 @@ public class OracleNoSQLClientProperties
         }
     }
 
+    /**
+     * converts integer or string value to int
+     */
+    private int toInt(Object value)
+    {
+        return value instanceof Integer ? (Integer) value : Integer.valueOf(value.toString());
+    }
+
     /**
      * check key value map not null
      */
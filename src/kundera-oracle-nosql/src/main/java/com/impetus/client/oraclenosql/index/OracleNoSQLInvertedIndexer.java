@@ -15,14 +15,18 @@
  */
 package com.impetus.client.oraclenosql.index;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
@@ -49,6 +53,7 @@ import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
+import com.impetus.kundera.query.QueryHandlerException;
 
 /**
  * Inverted Index implementation of {@link Indexer}
@@ -130,102 +135,265 @@ public class OracleNoSQLInvertedIndexer implements Indexer
         return results;
     }
 
+    /**
+     * Evaluates filter clauses of given query over inverted index and returns
+     * matching primary keys. For conjunctions clauses are evaluated from most
+     * selective one (id equality, then value equality, then ranges) and each
+     * subsequent index stream is only probed against current candidate keys,
+     * so no more than smallest candidate set is held in memory.
+     * 
+     * @param interpreter
+     *            the interpreter
+     * @param entityClass
+     *            the entity class
+     * @param entityMetadata
+     *            the entity metadata
+     * @return matching primary keys
+     */
     public <E> Set<E> executeQuery(OracleNoSQLQueryInterpreter interpreter, Class<?> entityClass,
             EntityMetadata entityMetadata)
     {
-        String idColumnName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
-        String secIndexName = getIndexTableName(entityMetadata);
-
-        Set<Object> results = new HashSet<Object>();
-        Set<Object> foundKeys = new HashSet<Object>();
-        String interClauseOperator = null;
+        final String idColumnName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
 
-        Queue filterClauseQueue = interpreter.getClauseQueue();
+        List<FilterClause> clauses = new ArrayList<FilterClause>();
+        List<String> operators = new ArrayList<String>();
+        boolean conjunction = true;
 
-        for (Object clause : filterClauseQueue)
+        String interClauseOperator = null;
+        for (Object clause : interpreter.getClauseQueue())
         {
             if (clause instanceof FilterClause)
             {
-                foundKeys = new HashSet<Object>();
-
-                String columnName = ((FilterClause) clause).getProperty();
-                String condition = ((FilterClause) clause).getCondition();
-                Object value = ((FilterClause) clause).getValue();
+                clauses.add((FilterClause) clause);
+                operators.add(interClauseOperator);
+            }
+            else if (clause instanceof String)
+            {
+                interClauseOperator = clause.toString().trim();
+                conjunction = conjunction && interClauseOperator.equalsIgnoreCase("AND");
+            }
+        }
 
-                if (columnName.equals(((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName())
-                        && condition.equals("="))
+        if (conjunction)
+        {
+            Collections.sort(clauses, new Comparator<FilterClause>()
+            {
+                @Override
+                public int compare(FilterClause c1, FilterClause c2)
                 {
-                    Object idValue = PropertyAccessorHelper.fromSourceToTargetClass(
-                            entityMetadata.getIdAttribute().getJavaType(), String.class, value);
-                    foundKeys.add(idValue);
+                    return selectivity(c1, idColumnName) - selectivity(c2, idColumnName);
                 }
-                else
-                {
-                    List<String> majorComponents = new ArrayList<String>();
-                    majorComponents.add(secIndexName);
-                    majorComponents.add(columnName);
+            });
+        }
 
-                    KeyRange range = null;
-                    Iterator<KeyValueVersion> iterator = null;
+        SortedMap<String, byte[]> foundKeys = null;
+        for (int i = 0; i < clauses.size(); i++)
+        {
+            FilterClause clause = clauses.get(i);
+            String operator = conjunction ? "AND" : operators.get(i);
 
-                    if (condition.equals("="))
-                    {
-                        majorComponents.add(PropertyAccessorHelper.getString(value));
-                        Key majorKeyToFind = Key.createKey(majorComponents);
-                        iterator = kvStore.multiGetIterator(Direction.FORWARD, 0, majorKeyToFind, range, null);
-                    }
-                    else if (condition.equals(">"))
-                    {
-                        range = new KeyRange(value.toString(), false, null, true);
-                        Key majorKeyToFind = Key.createKey(majorComponents);
-                        iterator = kvStore.storeIterator(Direction.UNORDERED, 0, majorKeyToFind, range, null);
-                    }
-                    else if (condition.equals("<"))
-                    {
-                        range = new KeyRange(null, true, value.toString(), false);
-                        Key majorKeyToFind = Key.createKey(majorComponents);
-                        iterator = kvStore.storeIterator(Direction.UNORDERED, 0, majorKeyToFind, range, null);
-                    }
-                    else if (condition.equals(">="))
-                    {
-                        range = new KeyRange(value.toString(), true, null, true);
-                        Key majorKeyToFind = Key.createKey(majorComponents);
-                        iterator = kvStore.storeIterator(Direction.UNORDERED, 0, majorKeyToFind, range, null);
-                    }
-                    else if (condition.equals("<="))
-                    {
-                        range = new KeyRange(null, true, value.toString(), true);
-                        Key majorKeyToFind = Key.createKey(majorComponents);
-                        iterator = kvStore.storeIterator(Direction.UNORDERED, 0, majorKeyToFind, range, null);
-                    }
+            if (foundKeys == null)
+            {
+                foundKeys = collect(scan(clause, entityMetadata), new TreeMap<String, byte[]>());
+            }
+            else if (operator == null || operator.equalsIgnoreCase("OR"))
+            {
+                collect(scan(clause, entityMetadata), foundKeys);
+            }
+            else if (operator.equalsIgnoreCase("AND"))
+            {
+                foundKeys = intersect(foundKeys, scan(clause, entityMetadata), clause.getCondition().equals("="));
+            }
 
-                    while (iterator.hasNext())
-                    {
-                        KeyValueVersion keyValueVersion = iterator.next();
-                        String minorKey = keyValueVersion.getKey().getMinorPath().get(0);
+            if (conjunction && foundKeys.isEmpty())
+            {
+                break;
+            }
+        }
 
-                        PropertyAccessor accessor = PropertyAccessorFactory
-                                .getPropertyAccessor(entityMetadata.getIdAttribute().getBindableJavaType());
+        Set<Object> results = new LinkedHashSet<Object>();
+        if (foundKeys != null)
+        {
+            Class idClass = entityMetadata.getIdAttribute().getBindableJavaType();
+            PropertyAccessor accessor = PropertyAccessorFactory.getPropertyAccessor(idClass);
+            for (byte[] idByteArr : foundKeys.values())
+            {
+                results.add(accessor.fromBytes(idClass, idByteArr));
+            }
+        }
 
-                        byte[] idByteArr = keyValueVersion.getValue().getValue();
-                        Object keyObj = accessor.fromBytes(entityMetadata.getIdAttribute().getBindableJavaType(),
-                                idByteArr);
+        return (Set<E>) results;
+    }
 
-                        foundKeys.add(keyObj);
-                    }
+    /**
+     * Ranks filter clause by expected selectivity, lower is more selective.
+     * 
+     * @param clause
+     *            the clause
+     * @param idColumnName
+     *            the id column name
+     * @return the rank
+     */
+    private int selectivity(FilterClause clause, String idColumnName)
+    {
+        if (!clause.getCondition().equals("="))
+        {
+            return 2;
+        }
+        return clause.getProperty().equals(idColumnName) ? 0 : 1;
+    }
 
-                }
+    /**
+     * Opens index stream for given filter clause. Equality streams are sorted
+     * on primary key (minor key) as they read a single major key.
+     * 
+     * @param clause
+     *            the clause
+     * @param entityMetadata
+     *            the entity metadata
+     * @return the iterator
+     */
+    private Iterator<Map.Entry<String, byte[]>> scan(FilterClause clause, EntityMetadata entityMetadata)
+    {
+        String columnName = clause.getProperty();
+        String condition = clause.getCondition();
+        Object value = clause.getValue().get(0);
+
+        if (columnName.equals(((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName())
+                && condition.equals("="))
+        {
+            Object idValue = PropertyAccessorHelper.fromSourceToTargetClass(entityMetadata.getIdAttribute()
+                    .getBindableJavaType(), value.getClass(), value);
+            return Collections.singletonMap(PropertyAccessorHelper.getString(idValue),
+                    PropertyAccessorHelper.getBytes(idValue)).entrySet().iterator();
+        }
+
+        List<String> majorComponents = new ArrayList<String>();
+        majorComponents.add(getIndexTableName(entityMetadata));
+        majorComponents.add(columnName);
+
+        KeyRange range = null;
+        if (condition.equals("="))
+        {
+            majorComponents.add(PropertyAccessorHelper.getString(value));
+            return toEntries(kvStore.multiGetIterator(Direction.FORWARD, 0, Key.createKey(majorComponents), null,
+                    null));
+        }
+        else if (condition.equals(">"))
+        {
+            range = new KeyRange(value.toString(), false, null, true);
+        }
+        else if (condition.equals("<"))
+        {
+            range = new KeyRange(null, true, value.toString(), false);
+        }
+        else if (condition.equals(">="))
+        {
+            range = new KeyRange(value.toString(), true, null, true);
+        }
+        else if (condition.equals("<="))
+        {
+            range = new KeyRange(null, true, value.toString(), true);
+        }
+        else
+        {
+            throw new QueryHandlerException("Condition " + condition + " is not supported with oracle nosql index");
+        }
+        return toEntries(kvStore.storeIterator(Direction.UNORDERED, 0, Key.createKey(majorComponents), range, null));
+    }
+
+    /**
+     * Adapts index store iterator to minor key (primary key string) and
+     * primary key bytes entries.
+     * 
+     * @param iterator
+     *            the store iterator
+     * @return the iterator
+     */
+    private Iterator<Map.Entry<String, byte[]>> toEntries(final Iterator<KeyValueVersion> iterator)
+    {
+        return new Iterator<Map.Entry<String, byte[]>>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
             }
-            else if (clause instanceof String)
+
+            @Override
+            public Map.Entry<String, byte[]> next()
             {
-                interClauseOperator = clause.toString().trim();
+                KeyValueVersion keyValueVersion = iterator.next();
+                return new AbstractMap.SimpleImmutableEntry<String, byte[]>(keyValueVersion.getKey().getMinorPath()
+                        .get(0), keyValueVersion.getValue().getValue());
             }
 
-            addToResults(results, foundKeys, interClauseOperator);
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Adds every key of index stream into given keys.
+     * 
+     * @param stream
+     *            the index stream
+     * @param keys
+     *            minor key to primary key bytes
+     * @return the keys
+     */
+    private SortedMap<String, byte[]> collect(Iterator<Map.Entry<String, byte[]>> stream,
+            SortedMap<String, byte[]> keys)
+    {
+        while (stream.hasNext())
+        {
+            Map.Entry<String, byte[]> entry = stream.next();
+            keys.put(entry.getKey(), entry.getValue());
         }
+        return keys;
+    }
 
-        return (Set<E>) results;
+    /**
+     * Intersects candidate keys with index stream. Stream is consumed only
+     * until every candidate is matched, or for sorted streams once it passes
+     * the last candidate key.
+     * 
+     * @param candidates
+     *            the candidate keys
+     * @param stream
+     *            the index stream
+     * @param sorted
+     *            whether stream is sorted on minor key
+     * @return matched candidate keys
+     */
+    private SortedMap<String, byte[]> intersect(SortedMap<String, byte[]> candidates,
+            Iterator<Map.Entry<String, byte[]>> stream, boolean sorted)
+    {
+        SortedMap<String, byte[]> matched = new TreeMap<String, byte[]>();
+        if (candidates.isEmpty())
+        {
+            return matched;
+        }
 
+        String lastKey = candidates.lastKey();
+        while (stream.hasNext() && matched.size() < candidates.size())
+        {
+            String minorKey = stream.next().getKey();
+            if (sorted && minorKey.compareTo(lastKey) > 0)
+            {
+                break;
+            }
+
+            byte[] id = candidates.get(minorKey);
+            if (id != null)
+            {
+                matched.put(minorKey, id);
+            }
+        }
+        return matched;
     }
 
     @Override
@@ -278,36 +446,6 @@ public class OracleNoSQLInvertedIndexer implements Indexer
     {
     }
 
-    private void addToResults(Set results, Set resultsToAdd, String operation)
-    {
-        if (resultsToAdd == null || resultsToAdd.isEmpty())
-        {
-            return;
-        }
-
-        if (operation == null)
-        {
-            results.addAll(resultsToAdd);
-        }
-        else if (operation.equalsIgnoreCase("OR"))
-        {
-            results.addAll(resultsToAdd);
-        }
-        else if (operation.equalsIgnoreCase("AND"))
-        {
-            if (results.isEmpty())
-            {
-                results.addAll(resultsToAdd);
-            }
-            else
-            {
-                results.retainAll(resultsToAdd);
-            }
-        }
-
-        resultsToAdd.clear();
-    }
-
     /**
      * @return the kvStore
      */
@@ -21,6 +21,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,7 +56,9 @@ import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.generator.Generator;
+import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.ClientMetadata;
@@ -67,6 +70,7 @@ import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.EntityReaderException;
+import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessor;
@@ -80,9 +84,12 @@ import com.impetus.kundera.utils.KunderaCoreUtils;
  * 
  * @author vivek.mishra
  */
-public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
+public class HibernateClient extends ClientBase implements Client<RDBMSQuery>, Batcher
 {
 
+    /** Default JDBC fetch size for scrolled queries. */
+    private static final int DEFAULT_SCROLL_FETCH_SIZE = 100;
+
     /** The client factory. */
     private RDBMSClientFactory clientFactory;
 
@@ -95,6 +102,12 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
     /** The Constant log. */
     private static final Logger log = LoggerFactory.getLogger(HibernateClient.class);
 
+    /** list of nodes for batch processing. */
+    private List<Node> nodes = new ArrayList<Node>();
+
+    /** batch size. */
+    private int batchSize;
+
     /**
      * Instantiates a new hibernate client.
      * 
@@ -125,6 +138,7 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
         this.indexManager = indexManager;
         this.reader = reader;
         this.clientMetadata = clientMetadata;
+        this.batchSize = clientFactory.getBatchSize();
     }
 
     /*
@@ -136,6 +150,7 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
     public void close()
     {
         this.indexManager.flush();
+        nodes.clear();
         if (s != null)
         {
             s.close();
@@ -481,6 +496,167 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
         // tx.commit();
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.persistence.api.Batcher#addBatch(com.impetus.kundera
+     * .graph.Node)
+     */
+    @Override
+    public void addBatch(Node node)
+    {
+        if (node != null)
+        {
+            nodes.add(node);
+        }
+
+        if (batchSize > 0 && batchSize == nodes.size())
+        {
+            executeBatch();
+        }
+    }
+
+    /**
+     * Executes batched nodes within a single transaction. Inserts, updates and
+     * deletes go through JDBC statement batching (hibernate.jdbc.batch_size,
+     * defaulting to kundera batch size), consecutive statements on same entity
+     * type sharing one JDBC batch. Foreign key updates, for relations held by
+     * kundera proxies, are deferred till all batched statements are sent.
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#executeBatch()
+     */
+    @Override
+    public int executeBatch()
+    {
+        if (nodes.isEmpty())
+        {
+            return 0;
+        }
+
+        s = getStatelessSession();
+        Transaction tx = onBegin();
+
+        List<Node> processed = new ArrayList<Node>(nodes.size());
+        Map<Node, List<RelationHolder>> foreignKeys = new LinkedHashMap<Node, List<RelationHolder>>();
+        try
+        {
+            for (Node node : nodes)
+            {
+                if (node.isDirty())
+                {
+                    node.handlePreEvent();
+                    Object entity = node.getData();
+                    EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                            node.getDataClass());
+
+                    if (node.isInState(RemovedState.class))
+                    {
+                        s.delete(entity);
+                    }
+                    else
+                    {
+                        List<RelationHolder> relationHolders = getRelationHolders(node);
+                        boolean proxyRemoved = removeKunderaProxies(metadata, entity, relationHolders);
+                        if (node.isUpdate())
+                        {
+                            s.update(entity);
+                        }
+                        else
+                        {
+                            node.setEntityId(s.insert(entity));
+                        }
+
+                        if (!node.isUpdate() || proxyRemoved)
+                        {
+                            foreignKeys.put(node, relationHolders);
+                        }
+                    }
+                    processed.add(node);
+                }
+            }
+
+            for (Map.Entry<Node, List<RelationHolder>> entry : foreignKeys.entrySet())
+            {
+                Node node = entry.getKey();
+                updateForeignKeys(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, node.getDataClass()),
+                        node.getEntityId(), entry.getValue());
+            }
+
+            onCommit(tx);
+        }
+        catch (HibernateException e)
+        {
+            if (tx.isActive())
+            {
+                tx.rollback();
+            }
+            log.error("Error while executing batch of {} operations, Caused by {}.", nodes.size(), e);
+            throw new PersistenceException(e);
+        }
+
+        for (Node node : processed)
+        {
+            EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, node.getDataClass());
+            if (node.isInState(RemovedState.class))
+            {
+                unIndexNode(metadata, node.getData(), node.getEntityId());
+            }
+            else
+            {
+                indexNode(node, metadata);
+            }
+            node.handlePostEvent();
+        }
+
+        nodes.clear();
+        return processed.size();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#getBatchSize()
+     */
+    @Override
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#clear()
+     */
+    @Override
+    public void clear()
+    {
+        nodes.clear();
+    }
+
+    /**
+     * Sets the batch size.
+     * 
+     * @param batchSize
+     *            the new batch size
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns JDBC fetch size for scrolled queries, hibernate.jdbc.fetch_size
+     * if configured.
+     * 
+     * @return the fetch size
+     */
+    public int getScrollFetchSize()
+    {
+        return clientFactory.getFetchSize(DEFAULT_SCROLL_FETCH_SIZE);
+    }
+
     /**
      * Gets the session instance.
      * 
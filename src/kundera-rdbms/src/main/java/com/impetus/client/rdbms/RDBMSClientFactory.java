@@ -27,12 +27,14 @@ import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.StatelessSession;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.service.ServiceRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.client.rdbms.query.RDBMSEntityReader;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.loader.GenericClientFactory;
@@ -112,6 +114,14 @@ public class RDBMSClientFactory extends GenericClientFactory
             }
         }
 
+        // kundera batch size drives JDBC statement batching, unless given
+        // explicitly.
+        int batchSize = getBatchSize();
+        if (batchSize > 0 && conf.getProperty(AvailableSettings.STATEMENT_BATCH_SIZE) == null)
+        {
+            conf.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize));
+        }
+
         serviceRegistry = new StandardServiceRegistryBuilder().applySettings(conf.getProperties()).build();
 
         Iterator<Collection<Class<?>>> iter = classes.values().iterator();
@@ -193,6 +203,38 @@ public class RDBMSClientFactory extends GenericClientFactory
         this.conf = reader.load(getPersistenceUnit());
     }
 
+    /**
+     * Returns kundera batch size, from external properties or persistence
+     * unit.
+     * 
+     * @return the batch size
+     */
+    int getBatchSize()
+    {
+        Object batchSize = externalProperties != null ? externalProperties
+                .get(PersistenceProperties.KUNDERA_BATCH_SIZE) : null;
+        if (batchSize != null)
+        {
+            return Integer.valueOf(batchSize.toString());
+        }
+        return KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, getPersistenceUnit())
+                .getBatchSize();
+    }
+
+    /**
+     * Returns JDBC fetch size configured via hibernate.jdbc.fetch_size, or
+     * given default.
+     * 
+     * @param defaultFetchSize
+     *            the default fetch size
+     * @return the fetch size
+     */
+    int getFetchSize(int defaultFetchSize)
+    {
+        String fetchSize = conf != null ? conf.getProperty(AvailableSettings.STATEMENT_FETCH_SIZE) : null;
+        return fetchSize != null ? Integer.valueOf(fetchSize) : defaultFetchSize;
+    }
+
     Session getSession()
     {
         if (sf != null)
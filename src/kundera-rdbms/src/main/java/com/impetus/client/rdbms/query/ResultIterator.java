@@ -15,6 +15,7 @@
  */
 package com.impetus.client.rdbms.query;
 
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +25,8 @@ import java.util.NoSuchElementException;
 import javax.persistence.PersistenceException;
 
 import org.hibernate.SQLQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 
 import com.impetus.client.rdbms.HibernateClient;
 import com.impetus.kundera.client.Client;
@@ -36,11 +39,13 @@ import com.impetus.kundera.query.IResultIterator;
 /**
  * @author kuldeep.mishra .
  * 
- *         Implementation of RDBMS result iteration.
+ *         Implementation of RDBMS result iteration. Underlying cursor is
+ *         closed once iteration is over, or on {@link #close()} if caller
+ *         stops iterating early.
  * 
  * @param <E>
  */
-class ResultIterator<E> implements IResultIterator<E>
+class ResultIterator<E> implements IResultIterator<E>, Closeable
 {
     private EntityMetadata m;
 
@@ -50,50 +55,76 @@ class ResultIterator<E> implements IResultIterator<E>
 
     private PersistenceDelegator persistenceDelegator;
 
-    private SQLQuery sqlQuery;
+    /** Forward only cursor over query results. */
+    private ScrollableResults results;
 
-    private List result;
-
-    private int firstResultIndex;
-
-    private int maxResultIndex;
+    /** Whether cursor is positioned on a row not yet returned. */
+    private boolean hasRow;
 
     ResultIterator(HibernateClient client, EntityMetadata m, PersistenceDelegator pd, int fetchSize, String query)
     {
         this.m = m;
         this.client = client;
         this.fetchSize = fetchSize;
-        this.maxResultIndex = fetchSize;
         this.persistenceDelegator = pd;
-        this.sqlQuery = client.getQueryInstance(query, m);
+
+        SQLQuery sqlQuery = client.getQueryInstance(query, m);
+        if (fetchSize > 0)
+        {
+            sqlQuery.setMaxResults(fetchSize);
+        }
+        sqlQuery.setFetchSize(fetchSize > 0 ? Math.min(fetchSize, client.getScrollFetchSize()) : client
+                .getScrollFetchSize());
+        this.results = fetchSize != 0 ? sqlQuery.scroll(ScrollMode.FORWARD_ONLY) : null;
     }
 
     @Override
     public boolean hasNext()
     {
-        if (firstResultIndex < maxResultIndex)
+        if (fetchSize == 0)
         {
-            // TODO:namedquery, JPQL, HQL => iterate, native => then don't
-
-            result = sqlQuery.setFirstResult(firstResultIndex++).setMaxResults(1).list();
+            close();
+        }
+        else if (!hasRow && results != null)
+        {
+            hasRow = results.next();
+            if (!hasRow)
+            {
+                close();
+            }
         }
 
-        return result != null && !result.isEmpty() && fetchSize != 0;
+        return hasRow && fetchSize != 0;
+    }
+
+    /**
+     * Closes underlying cursor, to be called if iteration is given up before
+     * it is over.
+     */
+    @Override
+    public void close()
+    {
+        hasRow = false;
+        if (results != null)
+        {
+            results.close();
+            results = null;
+        }
     }
 
     @Override
     public E next()
     {
-        if (result == null || result.isEmpty() || fetchSize == 0)
+        if (!hasNext())
         {
             throw new NoSuchElementException("Nothing to scroll further for: " + m.getEntityClazz());
         }
 
         fetchSize--;
+        hasRow = false;
 
-        Object nextResult = result.get(0);
-
-        result = null;
+        Object[] row = results.get();
+        Object nextResult = row.length == 1 ? row[0] : row;
 
         Class clazz = m.getEntityClazz();
         E entity = null;
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,6 +64,7 @@ import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.SequenceGeneratorDiscriptor;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
+import com.impetus.kundera.metrics.OperationTracer;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.KunderaTransactionException;
@@ -109,8 +111,14 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     /** The Constant COMPOSITE_KEY_SEPERATOR. */
     private static final String COMPOSITE_KEY_SEPERATOR = "\001";
 
-    /** The connection. */
-    private Jedis connection;
+    /**
+     * Connections borrowed for ongoing operation, by node they are bound to,
+     * null key if data is not sharded.
+     */
+    private Map<String, Jedis> connections = new HashMap<String, Jedis>(1);
+
+    /** Indexer of this client, null unless indexer is RedisIndexer. */
+    private RedisIndexer redisIndexer;
 
     /**
      * Instantiates a new redis client.
@@ -131,7 +139,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         this.factory = factory;
         this.reader = new RedisEntityReader(kunderaMetadata);
         this.indexManager = factory.getIndexManager();
-        initializeIndexer();
+        if (this.indexManager.getIndexer() instanceof RedisIndexer)
+        {
+            this.redisIndexer = new RedisIndexer();
+        }
         this.clientMetadata = factory.getClientMetadata();
         setBatchSize(persistenceUnit, factory.getOverridenProperties());
     }
@@ -147,7 +158,9 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
-        Object connection = getConnection();
+        String shard = getShard(getRowKey(entityMetadata, id));
+        Object stored = isUpdate ? findStored(entityMetadata, id, shard) : null;
+        Object connection = getConnection(shard);
         // Create a hashset and populate data into it
         //
 
@@ -157,11 +170,11 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             if (isBoundTransaction())
             {
                 pipeLine = ((Jedis) connection).pipelined();
-                onPersist(entityMetadata, entity, id, rlHolders, pipeLine);
+                onPersist(entityMetadata, entity, id, rlHolders, pipeLine, stored);
             }
             else
             {
-                onPersist(entityMetadata, entity, id, rlHolders, connection);
+                onPersist(entityMetadata, entity, id, rlHolders, connection, stored);
             }
         }
         finally
@@ -179,16 +192,152 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     }
 
     /**
-     * Gets the double.
+     * Reads row as stored ahead of its update, through a connection of its
+     * own as pipeline or transaction of update can't be read from in between.
      * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param id
+     *            the id
+     * @param shard
+     *            the node holding row, null if not sharded
+     * @return stored entity, null if none
+     */
+    private Object findStored(EntityMetadata entityMetadata, Object id, String shard)
+    {
+        Jedis connection = factory.getConnection(shard);
+        try
+        {
+            String hashKey = getHashKey(entityMetadata.getTableName(), getRowKey(entityMetadata, id));
+            Map<byte[], byte[]> columns = connection.hgetAll(getEncodedBytes(hashKey));
+            if (columns == null || columns.isEmpty())
+            {
+                return null;
+            }
+            Object stored = unwrap(entityMetadata, columns, id);
+            return stored instanceof EnhanceEntity ? ((EnhanceEntity) stored).getEntity() : stored;
+        }
+        catch (InstantiationException e)
+        {
+            logger.error("Error during update, Caused by:", e);
+            throw new PersistenceException(e);
+        }
+        catch (IllegalAccessException e)
+        {
+            logger.error("Error during update, Caused by:", e);
+            throw new PersistenceException(e);
+        }
+        finally
+        {
+            factory.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Gets score of a member of a set where only membership matters, such as
+     * per value and row key sets.
+     *
      * @param valueAsStr
      *            the value as str
-     * @return the double
+     * @return value if numeric, else 0
      */
     private double getDouble(String valueAsStr)
     {
-        return StringUtils.isNumeric(valueAsStr) ? Double.parseDouble(valueAsStr) : Double
-                .parseDouble(((Integer) valueAsStr.hashCode()).toString());
+        try
+        {
+            double score = Double.parseDouble(valueAsStr);
+            return Double.isNaN(score) ? 0D : score;
+        }
+        catch (NumberFormatException e)
+        {
+            return 0D;
+        }
+    }
+
+    /**
+     * Adds inverted indexes of a column value: one over column, scored or
+     * lexicographic depending on column type, for range search and one per
+     * value for equality, UNION and INTERSECT.
+     *
+     * @param wrapper
+     *            the wrapper
+     * @param tableName
+     *            the table name
+     * @param columnName
+     *            the column name
+     * @param javaType
+     *            the column type
+     * @param value
+     *            the value
+     */
+    private void addColumnIndex(AttributeWrapper wrapper, String tableName, String columnName, Class<?> javaType,
+            Object value)
+    {
+        String valueAsStr = PropertyAccessorHelper.getString(value);
+        double score = 0D;
+        if (RedisIndexCodec.isScored(javaType))
+        {
+            score = RedisIndexCodec.score(javaType, value);
+            // NaN can't be scored, it is left for equality only.
+            if (!Double.isNaN(score))
+            {
+                wrapper.addIndex(getHashKey(tableName, columnName), score);
+            }
+            else
+            {
+                score = 0D;
+            }
+        }
+        else
+        {
+            wrapper.addLexIndex(getHashKey(tableName, columnName) + RedisIndexCodec.LEX_INDEX_SUFFIX, valueAsStr);
+        }
+
+        wrapper.addIndex(getHashKey(tableName, getHashKey(columnName, valueAsStr)), score);
+    }
+
+    /**
+     * Gets type a column is indexed with, looking up entity attributes and
+     * embedded ones, else type of given value(e.g. for relations).
+     *
+     * @param entityMetadata
+     *            the entity metadata
+     * @param columnName
+     *            the column name
+     * @param value
+     *            the value
+     * @return the column type
+     */
+    private Class<?> getIndexedType(EntityMetadata entityMetadata, String columnName, Object value)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+
+        EntityType entityType = metaModel.entity(entityMetadata.getEntityClazz());
+        for (Attribute attr : (Set<Attribute>) entityType.getAttributes())
+        {
+            if (attr.isAssociation())
+            {
+                continue;
+            }
+            Class<?> javaType = ((AbstractAttribute) attr).getBindableJavaType();
+            if (metaModel.isEmbeddable(javaType))
+            {
+                for (Attribute attrib : (Set<Attribute>) metaModel.embeddable(javaType).getAttributes())
+                {
+                    if (columnName.equals(((AbstractAttribute) attrib).getJPAColumnName()))
+                    {
+                        return ((AbstractAttribute) attrib).getBindableJavaType();
+                    }
+                }
+            }
+            else if (columnName.equals(((AbstractAttribute) attr).getJPAColumnName()))
+            {
+                return javaType;
+            }
+        }
+
+        return value != null ? value.getClass() : String.class;
     }
 
     /*
@@ -201,7 +350,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     public Object find(Class entityClass, Object key)
     {
         Object result = null;
-        Object connection = getConnection();
+        Object connection = getConnection(getShard(getRowKey(
+                KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass), key)));
         try
         {
             result = fetch(entityClass, key, connection, null);
@@ -248,25 +398,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
         EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, clazz);
 
-        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                entityMetadata.getPersistenceUnit());
-
-        String rowKey = null;
-        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
-        {
-            if(key instanceof String && ((String) key).indexOf(COMPOSITE_KEY_SEPERATOR)>0){
-                rowKey = (String) key;
-            }
-            else{
-            rowKey = KunderaCoreUtils.prepareCompositeKey(entityMetadata, key);
-            }
-        }
-        else
-        {
-            ObjectAccessor accessor = new ObjectAccessor();
-
-            rowKey = accessor.toString(key);
-        }
+        String rowKey = getRowKey(entityMetadata, key);
 
         String hashKey = getHashKey(entityMetadata.getTableName(), rowKey);
         KunderaCoreUtils
@@ -286,7 +418,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                     ((RedisTransaction) resource).onExecute(((Transaction) connection));
 
                     fieldValues = (List<byte[]>) response.get();
-                    connection = getConnection();
+                    connection = getConnection(getShard(rowKey));
 
                 }
                 else
@@ -307,7 +439,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             }
             else
             {
-                columns = getColumns(connection, hashKey, columns);
+                columns = getColumns(connection, getShard(rowKey), hashKey, columns);
             }
             // Map<byte[], byte[]>
             result = unwrap(entityMetadata, columns, key);
@@ -327,13 +459,16 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      * 
      * @param connection
      *            the connection
+     * @param shard
+     *            the node holding hash, null if not sharded
      * @param hashKey
      *            the hash key
      * @param columns
      *            the columns
      * @return the columns
      */
-    private Map<byte[], byte[]> getColumns(Object connection, String hashKey, Map<byte[], byte[]> columns)
+    private Map<byte[], byte[]> getColumns(Object connection, String shard, String hashKey,
+            Map<byte[], byte[]> columns)
     {
         if (resource != null && resource.isActive())
         {
@@ -342,7 +477,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             ((RedisTransaction) resource).onExecute(((Transaction) connection));
             // ((Transaction) connection).exec();
             Map<String, String> cols = (Map<String, String>) response.get();
-            connection = getConnection();
+            connection = getConnection(shard);
 
             if (cols != null)
             {
@@ -368,30 +503,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
-        Object connection = getConnection();
-        List results = new ArrayList();
-        try
-        {
-            for (Object key : keys)
-            {
-                Object result = fetch(entityClass, key, connection, null);
-                if (result != null)
-                {
-                    results.add(result);
-                }
-            }
-        }
-        catch (InstantiationException e)
-        {
-            logger.error("Error during find by key:", e);
-            throw new PersistenceException(e);
-        }
-        catch (IllegalAccessException e)
-        {
-            logger.error("Error during find by key:", e);
-            throw new PersistenceException(e);
-        }
-        return results;
+        return findAllColumns(entityClass, null, keys);
     }
 
     /*
@@ -420,11 +532,11 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             settings = null;
         }
 
-        if (connection != null)
+        for (Jedis connection : connections.values())
         {
             connection.disconnect();
-            connection = null;
         }
+        connections.clear();
 
         reader = null;
     }
@@ -439,7 +551,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     public void delete(Object entity, Object pKey)
     {
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
-        Object connection = getConnection();
+        Object connection = getConnection(getShard(getRowKey(metadata, pKey)));
         Pipeline pipeLine = null;
         try
         {
@@ -526,8 +638,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         String joinColumn = joinTableData.getJoinColumnName();
 
         Map<Object, Set<Object>> joinTableRecords = joinTableData.getJoinTableRecords();
-        Object connection = null;
-        Pipeline pipeline = null;
+        // a pipeline per node, if sharded.
+        Map<Object, Pipeline> pipeLines = new HashMap<Object, Pipeline>();
         /**
          * Example: join table : PERSON_ADDRESS join column : PERSON_ID (1_p)
          * inverse join column : ADDRESS_ID (1_a) store in REDIS:
@@ -536,11 +648,6 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         // String rowKey =
         try
         {
-            connection = getConnection();
-            if (isBoundTransaction())
-            {
-                pipeline = ((Jedis) connection).pipelined();
-            }
             Set<Object> joinKeys = joinTableRecords.keySet();
 
             for (Object joinKey : joinKeys)
@@ -553,7 +660,16 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                 {
                     Map<byte[], byte[]> redisFields = new HashMap<byte[], byte[]>(1);
                     String inverseJoinKeyAsStr = PropertyAccessorHelper.getString(inverseKey);
-                    String redisKey = getHashKey(tableName, joinKeyAsStr + "_" + inverseJoinKeyAsStr);
+                    String rowKey = joinKeyAsStr + "_" + inverseJoinKeyAsStr;
+                    String redisKey = getHashKey(tableName, rowKey);
+
+                    Object connection = getConnection(getShard(rowKey));
+                    Pipeline pipeLine = pipeLines.get(connection);
+                    if (pipeLine == null && isBoundTransaction())
+                    {
+                        pipeLine = ((Jedis) connection).pipelined();
+                        pipeLines.put(connection, pipeLine);
+                    }
                     redisFields.put(getEncodedBytes(joinColumn), getEncodedBytes(joinKeyAsStr)); // put
                                                                                                  // join
                                                                                                  // column
@@ -578,12 +694,11 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                     }
                     else
                     {
-                        ((Jedis) connection).hmset(getEncodedBytes(redisKey), redisFields);
+                        pipeLine.hmset(getEncodedBytes(redisKey), redisFields);
                         // add index
-                        ((Jedis) connection).zadd(getHashKey(tableName, inverseJoinKeyAsStr),
-                                getDouble(inverseJoinKeyAsStr), redisKey);
-                        ((Jedis) connection).zadd(getHashKey(tableName, joinKeyAsStr), getDouble(joinKeyAsStr),
+                        pipeLine.zadd(getHashKey(tableName, inverseJoinKeyAsStr), getDouble(inverseJoinKeyAsStr),
                                 redisKey);
+                        pipeLine.zadd(getHashKey(tableName, joinKeyAsStr), getDouble(joinKeyAsStr), redisKey);
 
                     }
                     redisFields.clear();
@@ -594,11 +709,11 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         }
         finally
         {
-            if (pipeline != null)
+            for (Pipeline pipeLine : pipeLines.values())
             {
-                pipeline.sync();
+                pipeLine.sync();
             }
-            onCleanup(connection);
+            onCleanup(null);
         }
 
     }
@@ -628,23 +743,49 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     public <E> List<E> getColumnsById(String schemaName, String tableName, String pKeyColumnName, String columnName,
             Object pKeyColumnValue, Class columnJavaType)
     {
-        Object connection = null;
-
         List results = new ArrayList();
 
+        // each node holds index of its own rows.
+        for (String shard : factory.getShards())
+        {
+            results = getColumnsById(shard, tableName, columnName, pKeyColumnValue, results);
+        }
+
+        KunderaCoreUtils.printQuery("Get columns by id from:" + tableName + " for column:" + columnName
+                + " where value:" + pKeyColumnValue, showQuery);
+        return results;
+    }
+
+    /**
+     * Gets the columns by id, held by given node.
+     * 
+     * @param shard
+     *            the node, null if not sharded
+     * @param tableName
+     *            the table name
+     * @param columnName
+     *            the column name
+     * @param pKeyColumnValue
+     *            the key column value
+     * @param results
+     *            the results
+     * @return the columns by id
+     */
+    private List getColumnsById(String shard, String tableName, String columnName, Object pKeyColumnValue,
+            List results)
+    {
+        Object connection = null;
+
         try
         {
-            connection = getConnection();
+            connection = getConnection(shard);
 
             String valueAsStr = PropertyAccessorHelper.getString(pKeyColumnValue);
 
-            Double score = getDouble(valueAsStr);
-
             Set<String> resultKeys = null;
             if (resource != null && resource.isActive())
             {
-                Response response = ((Transaction) connection).zrangeByScore(getHashKey(tableName, valueAsStr), score,
-                        score);
+                Response response = ((Transaction) connection).zrange(getHashKey(tableName, valueAsStr), 0, -1);
                 // ((Transaction) connection).exec();
                 ((RedisTransaction) resource).onExecute(((Transaction) connection));
 
@@ -656,15 +797,13 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             }
             else
             {
-                resultKeys = ((Jedis) connection).zrangeByScore(getHashKey(tableName, valueAsStr), score, score);
+                resultKeys = ((Jedis) connection).zrange(getHashKey(tableName, valueAsStr), 0, -1);
             }
 
             results = fetchColumn(columnName, connection, results, resultKeys);
 
             // return connection.hmget(getEncodedBytes(redisKey),
             // getEncodedBytes(columnName));
-            KunderaCoreUtils.printQuery("Get columns by id from:" + tableName + " for column:" + columnName
-                    + " where value:" + pKeyColumnValue, showQuery);
             return results;
         }
         finally
@@ -727,20 +866,47 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     public Object[] findIdsByColumn(String schemaName, String tableName, String pKeyName, String columnName,
             Object columnValue, Class entityClazz)
+    {
+        List returnResults = new ArrayList();
+
+        // each node holds index of its own rows.
+        for (String shard : factory.getShards())
+        {
+            returnResults = findIdsByColumn(shard, tableName, pKeyName, columnValue, returnResults);
+        }
+        return returnResults.toArray(new Object[0]);
+    }
+
+    /**
+     * Find ids by column, held by given node.
+     * 
+     * @param shard
+     *            the node, null if not sharded
+     * @param tableName
+     *            the table name
+     * @param pKeyName
+     *            the key column name
+     * @param columnValue
+     *            the column value
+     * @param returnResults
+     *            the results
+     * @return the results
+     */
+    private List findIdsByColumn(String shard, String tableName, String pKeyName, Object columnValue,
+            List returnResults)
     {
         Object connection = null;
 
         try
         {
-            connection = getConnection();
+            connection = getConnection(shard);
             String valueAsStr = PropertyAccessorHelper.getString(columnValue);
 
             Set<String> results = null;
 
             if (resource != null && resource.isActive())
             {
-                Response response = ((Transaction) connection).zrangeByScore(getHashKey(tableName, valueAsStr),
-                        getDouble(valueAsStr), getDouble(valueAsStr));
+                Response response = ((Transaction) connection).zrange(getHashKey(tableName, valueAsStr), 0, -1);
                 // ((Transaction) connection).exec();
                 ((RedisTransaction) resource).onExecute(((Transaction) connection));
 
@@ -748,26 +914,16 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             }
             else
             {
-                results = ((Jedis) connection).zrangeByScore(getHashKey(tableName, valueAsStr), getDouble(valueAsStr),
-                        getDouble(valueAsStr));
+                results = ((Jedis) connection).zrange(getHashKey(tableName, valueAsStr), 0, -1);
 
             }
 
-            List returnResults = new ArrayList();
-            returnResults = fetchColumn(pKeyName, connection, returnResults, results);
-            if (returnResults != null)
-            {
-
-                return returnResults.toArray(new Object[0]);
-            }
-
+            return fetchColumn(pKeyName, connection, returnResults, results);
         }
         finally
         {
             onCleanup(connection);
         }
-
-        return null;
     }
 
     /*
@@ -778,13 +934,32 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      */
     @Override
     public void deleteByColumn(String schemaName, String tableName, String columnName, Object columnValue)
+    {
+        // each node holds index of its own rows.
+        for (String shard : factory.getShards())
+        {
+            deleteByColumn(shard, tableName, columnValue);
+        }
+    }
+
+    /**
+     * Deletes rows indexed by given column value, held by given node.
+     * 
+     * @param shard
+     *            the node, null if not sharded
+     * @param tableName
+     *            the table name
+     * @param columnValue
+     *            the column value
+     */
+    private void deleteByColumn(String shard, String tableName, Object columnValue)
     {
         Object connection = null;
         Pipeline pipeLine = null;
         try
         {
 
-            connection = getConnection();
+            connection = getConnection(shard);
 
             if (isBoundTransaction())
             {
@@ -792,12 +967,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             }
 
             String valueAsStr = PropertyAccessorHelper.getString(columnValue);
-            Double score = getDouble(valueAsStr);
             Set<String> results = null;
             if (resource != null && resource.isActive())
             {
-                Response response = ((Transaction) connection).zrangeByScore(getHashKey(tableName, valueAsStr), score,
-                        score);
+                Response response = ((Transaction) connection).zrange(getHashKey(tableName, valueAsStr), 0, -1);
                 // ((Transaction) connection).exec();
                 ((RedisTransaction) resource).onExecute(((Transaction) connection));
 
@@ -805,7 +978,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             }
             else
             {
-                results = ((Jedis) connection).zrangeByScore(getHashKey(tableName, valueAsStr), score, score);
+                results = ((Jedis) connection).zrange(getHashKey(tableName, valueAsStr), 0, -1);
             }
             // Set<String> results =
             // connection.zrangeByScore(getHashKey(tableName, valueAsStr),
@@ -819,7 +992,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                     // rowKey));
 
                     Map<byte[], byte[]> columns = null;
-                    columns = getColumns(connection, rowKey, columns);
+                    columns = getColumns(connection, shard, rowKey, columns);
 
                     for (byte[] column : columns.keySet()) // delete each
                                                            // column(e.g.
@@ -947,13 +1120,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     public int executeBatch()
     {
-        Object connection = getConnection();
-        // Create a hashset and populate data into it
-        Pipeline pipeLine = null;
-        if (isBoundTransaction())
-        {
-            pipeLine = ((Jedis) connection).pipelined();
-        }
+        // a connection and a pipeline per node, if sharded.
+        Map<Object, Pipeline> pipeLines = new HashMap<Object, Pipeline>();
         try
         {
             for (Node node : nodes)
@@ -961,6 +1129,19 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                 if (node.isDirty())
                 {
                     node.handlePreEvent();
+                    EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                            node.getDataClass());
+                    String shard = getShard(getRowKey(metadata, node.getEntityId()));
+                    Object stored = node.isUpdate() && !node.isInState(RemovedState.class) ? findStored(metadata,
+                            node.getEntityId(), shard) : null;
+                    Object connection = getConnection(shard);
+                    Pipeline pipeLine = pipeLines.get(connection);
+                    if (pipeLine == null && isBoundTransaction())
+                    {
+                        pipeLine = ((Jedis) connection).pipelined();
+                        pipeLines.put(connection, pipeLine);
+                    }
+
                     // delete can not be executed in batch
                     if (node.isInState(RemovedState.class))
                     {
@@ -970,11 +1151,9 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                     {
 
                         List<RelationHolder> relationHolders = getRelationHolders(node);
-                        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
-                                node.getDataClass());
 
                         onPersist(metadata, node.getData(), node.getEntityId(), relationHolders,
-                                pipeLine != null ? pipeLine : connection);
+                                pipeLine != null ? pipeLine : connection, stored);
                     }
                     node.handlePostEvent();
                 }
@@ -983,13 +1162,13 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         finally
         {
             //
-            if (pipeLine != null)
+            for (Pipeline pipeLine : pipeLines.values())
             {
                 pipeLine.sync(); // send I/O.. as persist call. so no need to
                                  // read
                 // response?
             }
-            onCleanup(connection);
+            onCleanup(null);
         }
 
         return nodes.size();
@@ -1033,20 +1212,52 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      * @return the object[]
      */
     private Object[] findIdsByColumn(String tableName, String columnName, Object columnValue)
+    {
+        Set<String> results = new LinkedHashSet<String>();
+
+        // each node holds index of its own rows.
+        for (String shard : factory.getShards())
+        {
+            Object[] ids = findIdsByColumn(shard, tableName, columnName, columnValue);
+            if (ids != null)
+            {
+                for (Object id : ids)
+                {
+                    results.add((String) id);
+                }
+            }
+        }
+        return results.toArray(new Object[0]);
+    }
+
+    /**
+     * Find ids by column, held by given node.
+     * 
+     * @param shard
+     *            the node, null if not sharded
+     * @param tableName
+     *            the table name
+     * @param columnName
+     *            the column name
+     * @param columnValue
+     *            the column value
+     * @return the object[]
+     */
+    private Object[] findIdsByColumn(String shard, String tableName, String columnName, Object columnValue)
     {
         Object connection = null;
 
         try
         {
-            connection = getConnection();
+            connection = getConnection(shard);
             String valueAsStr = PropertyAccessorHelper.getString(columnValue);
 
             Set<String> results = null;
 
             if (resource != null && resource.isActive())
             {
-                Response response = ((Transaction) connection).zrangeByScore(getHashKey(tableName, columnName),
-                        getDouble(valueAsStr), getDouble(valueAsStr));
+                Response response = ((Transaction) connection).zrange(
+                        getHashKey(tableName, getHashKey(columnName, valueAsStr)), 0, -1);
                 // ((Transaction) connection).exec();
                 ((RedisTransaction) resource).onExecute(((Transaction) connection));
 
@@ -1054,8 +1265,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             }
             else
             {
-                results = ((Jedis) connection).zrangeByScore(getHashKey(tableName, columnName), getDouble(valueAsStr),
-                        getDouble(valueAsStr));
+                results = ((Jedis) connection).zrange(getHashKey(tableName, getHashKey(columnName, valueAsStr)), 0,
+                        -1);
 
             }
             if (results != null)
@@ -1096,8 +1307,11 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         /** The columns. */
         private Map<byte[], byte[]> columns;
 
-        /** The indexes. */
-        private Map<String, Double> indexes;
+        /**
+         * The indexes, score of row in scored sets or value of row in
+         * lexicographic ones.
+         */
+        private Map<String, Object> indexes;
 
         /**
          * Instantiates a new attribute wrapper.
@@ -1106,7 +1320,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         {
             columns = new HashMap<byte[], byte[]>();
 
-            indexes = new HashMap<String, Double>();
+            indexes = new HashMap<String, Object>();
         }
 
         /**
@@ -1119,7 +1333,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         {
             columns = new HashMap<byte[], byte[]>(size);
 
-            indexes = new HashMap<String, Double>(size);
+            indexes = new HashMap<String, Object>(size);
         }
 
         /**
@@ -1148,6 +1362,19 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             indexes.put(key, score);
         }
 
+        /**
+         * Adds the lexicographic index.
+         * 
+         * @param key
+         *            the key
+         * @param value
+         *            the value, prefix of member
+         */
+        private void addLexIndex(String key, String value)
+        {
+            indexes.put(key, value);
+        }
+
         /**
          * Gets the columns.
          * 
@@ -1163,7 +1390,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
          * 
          * @return the indexes
          */
-        Map getIndexes()
+        Map<String, Object> getIndexes()
         {
             return indexes;
         }
@@ -1244,7 +1471,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                             getHashKey(((AbstractAttribute) metadata.getIdAttribute()).getJPAColumnName(), rowKey)),
                     getDouble(rowKey));
 
-            indexer.index(metadata.getEntityClazz(), metadata, wrapper.getIndexes(), rowKey, null);
+            // written along with entity hash, through same pipeline or
+            // transaction.
+            redisIndexer.assignConnection(connection);
+            redisIndexer.index(metadata.getEntityClazz(), metadata, wrapper.getIndexes(), rowKey, null);
         }
     }
 
@@ -1261,17 +1491,19 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
     private void unIndex(final Object connection, final AttributeWrapper wrapper, final String member)
     {
-        Set<String> keys = wrapper.getIndexes().keySet();
-        for (String key : keys)
+        for (Map.Entry<String, Object> index : wrapper.getIndexes().entrySet())
         {
+            String key = index.getKey();
+            String indexMember = index.getValue() instanceof String ? RedisIndexCodec.lexMember(
+                    (String) index.getValue(), member) : member;
             if (resource != null && resource.isActive())
             {
-                ((Transaction) connection).zrem(key, member);
+                ((Transaction) connection).zrem(key, indexMember);
 
             }
             else
             {
-                ((Pipeline) connection).zrem(key, member);
+                ((Pipeline) connection).zrem(key, indexMember);
 
             }
         }
@@ -1286,16 +1518,16 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     private void onCleanup(Object connection)
     {
         // if not running within transaction boundary
-        if (this.connection != null)
+        for (Jedis conn : connections.values())
         {
             if (settings != null)
             {
-                ((Jedis) connection).configResetStat();
+                conn.configResetStat();
             }
-            factory.releaseConnection((Jedis) this.connection);
+            factory.releaseConnection(conn);
         }
 
-        this.connection = null;
+        connections.clear();
     }
 
     /*    *//**
@@ -1454,16 +1686,31 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             // selective indexing.
             if (entityMetadata.getIndexProperties().containsKey(((AbstractAttribute) attrib).getJPAColumnName()))
             {
-                String valueAsStr = PropertyAccessorHelper.getString(embeddedObject, (Field) attrib.getJavaMember());
-                wrapper.addIndex(
-                        getHashKey(entityMetadata.getTableName(), ((AbstractAttribute) attrib).getJPAColumnName()),
-                        getDouble(valueAsStr));
+                addColumnIndex(wrapper, entityMetadata.getTableName(),
+                        ((AbstractAttribute) attrib).getJPAColumnName(),
+                        ((AbstractAttribute) attrib).getBindableJavaType(),
+                        PropertyAccessorHelper.getObject(embeddedObject, (Field) attrib.getJavaMember()));
+            }
+        }
+    }
 
-                wrapper.addIndex(
-                        getHashKey(entityMetadata.getTableName(),
-                                getHashKey(((AbstractAttribute) attrib).getJPAColumnName(), valueAsStr)),
-                        getDouble(valueAsStr));
+    /**
+     * Reports size of given hash fields, as read or written, to operation
+     * being traced.
+     * 
+     * @param fields
+     *            the hash fields and values
+     */
+    private static void traceBytes(Map<byte[], byte[]> fields)
+    {
+        if (OperationTracer.isTracing() && fields != null)
+        {
+            long bytes = 0;
+            for (Map.Entry<byte[], byte[]> field : fields.entrySet())
+            {
+                bytes += field.getKey().length + (field.getValue() != null ? field.getValue().length : 0);
             }
+            OperationTracer.bytes(bytes);
         }
     }
 
@@ -1485,6 +1732,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     private Object unwrap(EntityMetadata entityMetadata, Map<byte[], byte[]> results, Object key)
             throws InstantiationException, IllegalAccessException
     {
+        traceBytes(results);
 
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 entityMetadata.getPersistenceUnit());
@@ -1613,17 +1861,42 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      * @return the list
      */
     List onExecuteQuery(RedisQueryInterpreter queryParameter, Class entityClazz)
+    {
+        List<Object> results = new ArrayList<Object>();
+
+        // each node holds index of its own rows, query runs over all.
+        for (String shard : factory.getShards())
+        {
+            results = onExecuteQuery(queryParameter, entityClazz, shard, results);
+        }
+        return results;
+    }
+
+    /**
+     * On execute query over rows held by given node.
+     * 
+     * @param queryParameter
+     *            the query parameter
+     * @param entityClazz
+     *            the entity clazz
+     * @param shard
+     *            the node, null if not sharded
+     * @param results
+     *            the results
+     * @return the list
+     */
+    private List onExecuteQuery(RedisQueryInterpreter queryParameter, Class entityClazz, String shard,
+            List<Object> results)
     {
         /**
          * Find a list of id's and then call findById for each!
          */
         Object connection = null;
-        List<Object> results = new ArrayList<Object>();
         try
         {
-            connection = getConnection();
-            Set<String> rowKeys = new HashSet<String>();
             EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClazz);
+            connection = getConnection(shard);
+            Set<String> rowKeys = new HashSet<String>();
             String printQuery = null;
 
             if (showQuery)
@@ -1709,28 +1982,50 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             }
             else if (queryParameter.isByRange())
             {
-                // means query over a single sorted set with range
-                Map<String, Double> minimum = queryParameter.getMin();
-                Map<String, Double> maximum = queryParameter.getMax();
+                // means query over a single sorted set with range, scored
+                // or lexicographic depending on column type.
+                Map<String, Object> minimum = queryParameter.getMin();
+                Map<String, Object> maximum = queryParameter.getMax();
+
+                String column = (minimum != null ? minimum : maximum).keySet().iterator().next();
+                Object min = minimum != null ? minimum.get(column) : null;
+                Object max = maximum != null ? maximum.get(column) : null;
+                Class<?> javaType = getIndexedType(entityMetadata, column, min != null ? min : max);
+                boolean scored = RedisIndexCodec.isScored(javaType);
+
+                String key = getHashKey(entityMetadata.getTableName(), column);
+                String from;
+                String to;
+                if (scored)
+                {
+                    from = RedisIndexCodec.scoreBound(javaType, min, true);
+                    to = RedisIndexCodec.scoreBound(javaType, max, false);
+                }
+                else
+                {
+                    key = key + RedisIndexCodec.LEX_INDEX_SUFFIX;
+                    from = RedisIndexCodec.lexBound(min, true);
+                    to = RedisIndexCodec.lexBound(max, false);
+                }
 
-                String column = minimum.keySet().iterator().next();
-                KunderaCoreUtils.printQuery(printQuery + column + " between " + minimum + " and " + maximum, showQuery);
+                KunderaCoreUtils.printQuery(printQuery + column + " between " + min + " and " + max, showQuery);
+                Set<String> members;
                 if (resource != null && resource.isActive())
                 {
-                    Response response = ((Transaction) connection)
-                            .zrangeByScore(getHashKey(entityMetadata.getTableName(), column), minimum.get(column),
-                                    maximum.get(column));
+                    Response response = scored ? ((Transaction) connection).zrangeByScore(key, from, to)
+                            : ((Transaction) connection).zrangeByLex(key, from, to);
                     // ((Transaction) connection).exec();
                     ((RedisTransaction) resource).onExecute(((Transaction) connection));
 
-                    rowKeys = (Set<String>) response.get();
+                    members = (Set<String>) response.get();
                     // connection = reInitialize(connection, rowKeys);
                 }
                 else
                 {
-                    rowKeys = ((Jedis) connection).zrangeByScore(getHashKey(entityMetadata.getTableName(), column),
-                            minimum.get(column), maximum.get(column));
+                    members = scored ? ((Jedis) connection).zrangeByScore(key, from, to) : ((Jedis) connection)
+                            .zrangeByLex(key, from, to);
                 }
+                rowKeys = scored ? members : new HashSet<String>(RedisIndexCodec.rowKeys(members));
             }
             else if (queryParameter.isById())
             {
@@ -1748,11 +2043,12 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                 {
                     // ideally it will always be 1 value in map, else it will go
                     // it queryParameter.getClause() will not be null!
-                    Double value = getDouble(PropertyAccessorHelper.getString(queryParameter.getFields().get(column)));
+                    // per value set holds exactly the rows holding value.
+                    String valueAsStr = PropertyAccessorHelper.getString(queryParameter.getFields().get(column));
+                    String key = getHashKey(entityMetadata.getTableName(), getHashKey(column, valueAsStr));
                     if (resource != null && resource.isActive())
                     {
-                        Response response = ((Transaction) connection).zrangeByScore(
-                                getHashKey(entityMetadata.getTableName(), column), value, value);
+                        Response response = ((Transaction) connection).zrange(key, 0, -1);
                         // ((Transaction) connection).exec();
                         ((RedisTransaction) resource).onExecute(((Transaction) connection));
 
@@ -1762,8 +2058,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                     }
                     else
                     {
-                        rowKeys = ((Jedis) connection).zrangeByScore(getHashKey(entityMetadata.getTableName(), column),
-                                value, value);
+                        rowKeys = ((Jedis) connection).zrange(key, 0, -1);
                     }
                 }
             }
@@ -1790,7 +2085,6 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
             for (String k : rowKeys)
             {
-                connection = reInitialize(connection, rowKeys);
                 Object record = fetch(entityClazz, k, connection, (queryParameter.getColumns() != null ? queryParameter
                         .getColumns().toArray(new byte[][] {}) : null));
                 if (record != null)
@@ -1824,25 +2118,6 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         return results;
     }
 
-    /**
-     * Re initialize.
-     * 
-     * @param connection
-     *            the connection
-     * @param rowKeys
-     *            the row keys
-     * @return the object
-     */
-    private Object reInitialize(Object connection, Set<String> rowKeys)
-    {
-        /*
-         * if(!rowKeys.isEmpty()) {
-         */
-        connection = getConnection();
-        // }
-        return connection;
-    }
-
     /**
      * Find all columns.
      * 
@@ -1858,13 +2133,14 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      */
     private <E> List<E> findAllColumns(Class<E> entityClass, byte[][] columns, Object... keys)
     {
-        Object connection = getConnection();
-        // connection.co
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
         List results = new ArrayList();
         try
         {
             for (Object key : keys)
             {
+                // a connection per node, reused by keys it holds.
+                Object connection = getConnection(getShard(getRowKey(entityMetadata, key)));
                 Object result = fetch(entityClass, key, connection, columns);
                 if (result != null)
                 {
@@ -1882,6 +2158,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             logger.error("Error during find by key:", e);
             throw new PersistenceException(e);
         }
+        finally
+        {
+            onCleanup(null);
+        }
         return results;
     }
 
@@ -1930,11 +2210,51 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     }
 
     /**
-     * Returns jedis connection.
+     * Returns row key of given entity id, as stored in REDIS.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param id
+     *            the id, or composite key already prepared
+     * @return the row key
+     */
+    private String getRowKey(EntityMetadata entityMetadata, Object id)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+
+        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            if (id instanceof String && ((String) id).indexOf(COMPOSITE_KEY_SEPERATOR) > 0)
+            {
+                return (String) id;
+            }
+            return KunderaCoreUtils.prepareCompositeKey(entityMetadata, id);
+        }
+        return new ObjectAccessor().toString(id);
+    }
+
+    /**
+     * Returns node holding given row, its hash and its entries of index sorted
+     * sets.
      * 
+     * @param rowKey
+     *            the row key
+     * @return node name, null if data is not sharded.
+     */
+    private String getShard(String rowKey)
+    {
+        return factory.getShard("{" + rowKey + "}");
+    }
+
+    /**
+     * Returns jedis connection to given node.
+     * 
+     * @param shard
+     *            the node, null if not sharded
      * @return jedis resource.
      */
-    private Object getConnection()
+    private Object getConnection(String shard)
     {
         /*
          * Jedis connection = factory.getConnection();
@@ -1951,9 +2271,9 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
          */
         // means either transaction resource is not bound or it is not active,
         // but connection has already by initialized
-        if (isBoundTransaction() && this.connection != null)
+        if (isBoundTransaction() && connections.get(shard) != null)
         {
-            return this.connection;
+            return connections.get(shard);
         }
 
         // if running within transaction boundary.
@@ -1961,20 +2281,20 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         {
             // no need to get a connection from pool, as nested MULTI is not yet
             // supported.
-            if (((RedisTransaction) resource).isResourceBound())
+            if (((RedisTransaction) resource).isResourceBound(shard))
             {
-                return ((RedisTransaction) resource).getResource();
+                return ((RedisTransaction) resource).getResource(shard);
             }
             else
             {
-                Jedis conn = getAndSetConnection();
-                return ((RedisTransaction) resource).bindResource(conn);
+                Jedis conn = getAndSetConnection(shard);
+                return ((RedisTransaction) resource).bindResource(shard, conn);
             }
 
         }
         else
         {
-            Jedis conn = getAndSetConnection();
+            Jedis conn = getAndSetConnection(shard);
             return conn;
         }
     }
@@ -1982,12 +2302,14 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     /**
      * Gets the and set connection.
      * 
+     * @param shard
+     *            the node, null if not sharded
      * @return the and set connection
      */
-    private Jedis getAndSetConnection()
+    private Jedis getAndSetConnection(String shard)
     {
-        Jedis conn = factory.getConnection();
-        this.connection = conn;
+        Jedis conn = factory.getConnection(shard);
+        connections.put(shard, conn);
         // If resource is not null means a transaction in progress.
 
         if (settings != null)
@@ -2052,9 +2374,11 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      *            the rl holders
      * @param connection
      *            the connection
+     * @param stored
+     *            the row as stored, if updated
      */
     private void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders,
-            Object connection)
+            Object connection, Object stored)
     {
         // first open a pipeline
         AttributeWrapper wrapper = wrap(entityMetadata, entity);
@@ -2069,15 +2393,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                 Object value = relation.getRelationValue();
                 byte[] valueInBytes = PropertyAccessorHelper.getBytes(value);
                 byte[] nameInBytes = getEncodedBytes(name);
-                String valueAsStr = PropertyAccessorHelper.getString(value);
                 wrapper.addColumn(nameInBytes, valueInBytes);
-                wrapper.addIndex(getHashKey(entityMetadata.getTableName(), name), getDouble(valueAsStr));
-
-                // this index is required to work for UNION/INTERSECT
-                // support.
-
-                wrapper.addIndex(getHashKey(entityMetadata.getTableName(), getHashKey(name, valueAsStr)),
-                        getDouble(valueAsStr));
+                addColumnIndex(wrapper, entityMetadata.getTableName(), name, value.getClass(), value);
             }
         }
 
@@ -2097,9 +2414,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             byte[] valueInBytes = PropertyAccessorHelper.getBytes(discrValue);
             byte[] nameInBytes = getEncodedBytes(discrColumn);
             wrapper.addColumn(nameInBytes, valueInBytes);
-            wrapper.addIndex(getHashKey(entityMetadata.getTableName(), discrColumn), getDouble(discrValue));
-            wrapper.addIndex(getHashKey(entityMetadata.getTableName(), getHashKey(discrColumn, discrValue)),
-                    getDouble(discrValue));
+            addColumnIndex(wrapper, entityMetadata.getTableName(), discrColumn, String.class, discrValue);
         }
 
         String rowKey = null;
@@ -2116,6 +2431,14 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         }
 
         String hashKey = getHashKey(entityMetadata.getTableName(), rowKey);
+        traceBytes(wrapper.getColumns());
+
+        // per value and lexicographic entries of stored values are not
+        // overwritten by update, unlike scored ones.
+        if (stored != null)
+        {
+            unIndex(connection, wrap(entityMetadata, stored), rowKey);
+        }
 
         if (resource != null && resource.isActive())
         {
@@ -2239,18 +2562,6 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         }
     }
 
-    /**
-     * Initialize indexer.
-     */
-    private void initializeIndexer()
-    {
-        if (this.indexManager.getIndexer() != null
-                && this.indexManager.getIndexer().getClass().getSimpleName().equals("RedisIndexer"))
-        {
-            ((RedisIndexer) this.indexManager.getIndexer()).assignConnection(getConnection());
-        }
-    }
-
     /**
      * Checks if is bound transaction.
      * 
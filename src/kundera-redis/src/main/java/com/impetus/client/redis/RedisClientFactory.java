@@ -16,6 +16,9 @@
 
 package com.impetus.client.redis;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 
@@ -33,10 +36,15 @@ import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.index.IndexManager;
 import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.KunderaMetrics;
+import com.impetus.kundera.metrics.MetricsRecorder.Gauge;
 
 /**
  * Default client factory implementation for REDIS <a>redis.io</a>
  * 
+ * Given a comma separated list of nodes(host or host:port) as kundera.nodes,
+ * data is sharded over them, see {@link RedisShardedPool}.
+ * 
  * @author vivek.mishra
  */
 public class RedisClientFactory extends GenericClientFactory
@@ -45,6 +53,9 @@ public class RedisClientFactory extends GenericClientFactory
     /** The logger. */
     private static Logger logger = LoggerFactory.getLogger(RedisClientFactory.class);
 
+    /** Maximum number of connections of pool of each node. */
+    private int maxTotalPerNode;
+
     /*
      * (non-Javadoc)
      * 
@@ -143,7 +154,16 @@ public class RedisClientFactory extends GenericClientFactory
 
         JedisPoolConfig poolConfig = onPoolConfig(WHEN_EXHAUSTED_FAIL, maxActivePerNode, maxIdlePerNode,
                 minIdlePerNode, maxTotal);
-        
+
+        // gauges sample pool(s) once created.
+        maxTotalPerNode = (poolConfig != null ? poolConfig : new JedisPoolConfig()).getMaxTotal();
+        registerPoolGauges(new PoolGauge(KunderaMetrics.POOL_ACTIVE), new PoolGauge(KunderaMetrics.POOL_IDLE),
+                new PoolGauge(KunderaMetrics.POOL_MAX));
+
+        if (contactNode != null && contactNode.indexOf(',') > 0)
+        {
+            return onShardedPool(contactNode, defaultPort, password, txTimeOut, poolConfig);
+        }
 
         JedisPool pool = null;
         onValidation(contactNode, defaultPort);
@@ -227,6 +247,10 @@ public class RedisClientFactory extends GenericClientFactory
         {
             ((JedisPool) getConnectionPoolOrConnection()).destroy();
         }
+        else if (getConnectionPoolOrConnection() instanceof RedisShardedPool)
+        {
+            ((RedisShardedPool) getConnectionPoolOrConnection()).destroy();
+        }
         else if (getConnectionPoolOrConnection() != null && getConnectionPoolOrConnection() instanceof Jedis)
         {
             ((Jedis) getConnectionPoolOrConnection()).disconnect();
@@ -234,20 +258,61 @@ public class RedisClientFactory extends GenericClientFactory
 
     }
 
+    /**
+     * Returns node holding keys of given shard key.
+     * 
+     * @param shardKey
+     *            shard key, e.g. a hash tag of row key
+     * @return node name, null if data is not sharded.
+     */
+    String getShard(String shardKey)
+    {
+        Object poolOrConnection = getConnectionPoolOrConnection();
+        return poolOrConnection instanceof RedisShardedPool && shardKey != null ? ((RedisShardedPool) poolOrConnection)
+                .getShard(shardKey) : null;
+    }
+
+    /**
+     * Returns all nodes, to run queries over index of each.
+     * 
+     * @return node names, a single null one if data is not sharded.
+     */
+    Collection<String> getShards()
+    {
+        Object poolOrConnection = getConnectionPoolOrConnection();
+        return poolOrConnection instanceof RedisShardedPool ? ((RedisShardedPool) poolOrConnection).getShards()
+                : Collections.<String> singletonList(null);
+    }
+
     /**
      * Retrieving connection from connection pool.
      * 
      * @return returns jedis instance.
      */
     Jedis getConnection()
+    {
+        return getConnection(null);
+    }
+
+    /**
+     * Retrieving connection to given node from connection pool.
+     * 
+     * @param shard
+     *            node, as returned by {@link #getShard(String)}
+     * @return returns jedis instance.
+     */
+    Jedis getConnection(String shard)
     {
         if (logger.isDebugEnabled())
             logger.info("borrowing connection from pool");
         Object poolOrConnection = getConnectionPoolOrConnection();
-        if (poolOrConnection != null && poolOrConnection instanceof JedisPool)
+        if (poolOrConnection != null
+                && (poolOrConnection instanceof JedisPool || poolOrConnection instanceof RedisShardedPool))
         {
 
-            Jedis connection = ((JedisPool) getConnectionPoolOrConnection()).getResource();
+            Jedis connection = poolOrConnection instanceof JedisPool ? ((JedisPool) poolOrConnection).getResource()
+                    : ((RedisShardedPool) poolOrConnection).getResource(shard != null ? shard
+                            : ((RedisShardedPool) poolOrConnection).getShard(""));
             connection.getClient().setTimeoutInfinite();
             Map props = RedisPropertyReader.rsmd.getProperties();
 
@@ -324,6 +389,11 @@ public class RedisClientFactory extends GenericClientFactory
         {
             ((JedisPool) poolOrConnection).returnResource(res);
         }
+        else if (poolOrConnection instanceof RedisShardedPool)
+        {
+            // returns it to pool of its node.
+            res.close();
+        }
     }
 
     IndexManager getIndexManager()
@@ -378,6 +448,46 @@ public class RedisClientFactory extends GenericClientFactory
         return null;
     }
 
+    /**
+     * Returns connection pools of all nodes, none if connections are not
+     * pooled.
+     */
+    private Collection<JedisPool> getPools()
+    {
+        Object poolOrConnection = getConnectionPoolOrConnection();
+        if (poolOrConnection instanceof JedisPool)
+        {
+            return Collections.singletonList((JedisPool) poolOrConnection);
+        }
+        return poolOrConnection instanceof RedisShardedPool ? ((RedisShardedPool) poolOrConnection).getPools()
+                : Collections.<JedisPool> emptyList();
+    }
+
+    /**
+     * Creates a pool per node of a comma separated list of host or host:port,
+     * data being sharded over them.
+     */
+    private RedisShardedPool onShardedPool(String contactNodes, String defaultPort, String password,
+            String txTimeOut, JedisPoolConfig poolConfig)
+    {
+        int timeout = txTimeOut != null && StringUtils.isNumeric(txTimeOut) ? Integer.parseInt(txTimeOut) : -1;
+        Map<String, JedisPool> pools = new LinkedHashMap<String, JedisPool>();
+        for (String node : contactNodes.split(","))
+        {
+            String host = node.trim();
+            String port = defaultPort;
+            if (host.lastIndexOf(':') > 0)
+            {
+                port = host.substring(host.lastIndexOf(':') + 1);
+                host = host.substring(0, host.lastIndexOf(':'));
+            }
+            onValidation(host, port);
+            pools.put(host + ":" + port, new JedisPool(poolConfig != null ? poolConfig : new JedisPoolConfig(), host,
+                    Integer.parseInt(port), timeout, password));
+        }
+        return new RedisShardedPool(pools);
+    }
+
     /**
      * 
      */
@@ -397,4 +507,40 @@ public class RedisClientFactory extends GenericClientFactory
         throw new UnsupportedOperationException("Load balancing feature is not supported in "
                 + this.getClass().getSimpleName());
     }
+
+    /**
+     * Gauge of connections summed over pools of all nodes.
+     */
+    private final class PoolGauge implements Gauge
+    {
+        /** One of pool gauge names of {@link KunderaMetrics}. */
+        private final String name;
+
+        private PoolGauge(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public Number getValue()
+        {
+            int value = 0;
+            for (JedisPool pool : getPools())
+            {
+                if (KunderaMetrics.POOL_ACTIVE.equals(name))
+                {
+                    value += pool.getNumActive();
+                }
+                else if (KunderaMetrics.POOL_IDLE.equals(name))
+                {
+                    value += pool.getNumIdle();
+                }
+                else
+                {
+                    value += maxTotalPerNode;
+                }
+            }
+            return value;
+        }
+    }
 }
\ No newline at end of file
@@ -40,9 +40,18 @@ public class RedisIdGenerator implements SequenceGenerator
     @Override
     public Object generate(SequenceGeneratorDiscriptor discriptor, Client<?> client, String dataType)
     {
-        Jedis jedis = ((RedisClient) client).factory.getConnection();
+        RedisClientFactory factory = ((RedisClient) client).factory;
+        Jedis jedis = factory.getConnection(factory.getShard(discriptor.getSequenceName()));
 
-        Long latestCount = jedis.incr(((RedisClient) client).getEncodedBytes(discriptor.getSequenceName()));
+        Long latestCount;
+        try
+        {
+            latestCount = jedis.incr(((RedisClient) client).getEncodedBytes(discriptor.getSequenceName()));
+        }
+        finally
+        {
+            factory.releaseConnection(jedis);
+        }
         if (latestCount == 1)
         {
             return discriptor.getInitialValue();
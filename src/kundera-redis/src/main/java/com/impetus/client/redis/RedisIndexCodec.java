@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.redis;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import com.impetus.kundera.property.PropertyAccessorHelper;
+
+/**
+ * Encodes column values into inverted index entries.
+ *
+ * Numeric and temporal columns are indexed in a sorted set scored by value
+ * itself (epoch millis for dates), queried with ZRANGEBYSCORE. Scores are
+ * doubles, so longs beyond 2^53 and decimals keep their order but not their
+ * precision. Any other column is indexed in a lexicographic sorted set, all
+ * scored 0, whose members are value and row key joined by
+ * {@link #LEX_SEPARATOR}, queried with ZRANGEBYLEX (Redis 2.8.9 onwards).
+ *
+ * Equality does not go through either, but through a per value sorted set.
+ */
+final class RedisIndexCodec
+{
+    /** Suffix of lexicographic index key, appended to table:column. */
+    static final String LEX_INDEX_SUFFIX = "\001lex";
+
+    /** Separates value and row key in lexicographic index members. */
+    static final String LEX_SEPARATOR = "\000";
+
+    /** Lower or upper bound of an unbounded score range. */
+    private static final String MIN_SCORE = "-inf";
+
+    private static final String MAX_SCORE = "+inf";
+
+    /** Lower or upper bound of an unbounded lexicographic range. */
+    private static final String MIN_LEX = "-";
+
+    private static final String MAX_LEX = "+";
+
+    private RedisIndexCodec()
+    {
+    }
+
+    /**
+     * @param javaType
+     *            column type
+     * @return true if column is indexed by score, false if lexicographically.
+     */
+    static boolean isScored(Class<?> javaType)
+    {
+        if (javaType.isPrimitive())
+        {
+            return !javaType.equals(boolean.class) && !javaType.equals(char.class);
+        }
+        return Number.class.isAssignableFrom(javaType) || Date.class.isAssignableFrom(javaType)
+                || Calendar.class.isAssignableFrom(javaType);
+    }
+
+    /**
+     * Returns score of a value of a scored column.
+     *
+     * @param javaType
+     *            column type
+     * @param value
+     *            value, converted to column type if needed, e.g. a query
+     *            parameter given as string.
+     * @return score, NaN if value has none.
+     */
+    static double score(Class<?> javaType, Object value)
+    {
+        if (!(value instanceof Number) && !(value instanceof Date) && !(value instanceof Calendar))
+        {
+            value = PropertyAccessorHelper.fromSourceToTargetClass(javaType, value.getClass(), value);
+        }
+
+        if (value instanceof Date)
+        {
+            return ((Date) value).getTime();
+        }
+        else if (value instanceof Calendar)
+        {
+            return ((Calendar) value).getTimeInMillis();
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    /**
+     * Returns range bound of a scored column.
+     *
+     * @param javaType
+     *            column type
+     * @param value
+     *            bound, inclusive, null if unbounded
+     * @param lower
+     *            whether it is lower bound
+     * @return bound for ZRANGEBYSCORE
+     */
+    static String scoreBound(Class<?> javaType, Object value, boolean lower)
+    {
+        if (value == null)
+        {
+            return lower ? MIN_SCORE : MAX_SCORE;
+        }
+        return String.valueOf(score(javaType, value));
+    }
+
+    /**
+     * Returns lexicographic index member of a row.
+     *
+     * @param value
+     *            column value as string
+     * @param rowKey
+     *            row key
+     * @return member
+     */
+    static String lexMember(String value, String rowKey)
+    {
+        return value + LEX_SEPARATOR + rowKey;
+    }
+
+    /**
+     * Returns range bound of a lexicographic column. Bounds are set around
+     * separator so that all rows holding bound value are included, and none
+     * holding value it is a prefix of.
+     *
+     * @param value
+     *            bound, inclusive, null if unbounded
+     * @param lower
+     *            whether it is lower bound
+     * @return bound for ZRANGEBYLEX
+     */
+    static String lexBound(Object value, boolean lower)
+    {
+        if (value == null)
+        {
+            return lower ? MIN_LEX : MAX_LEX;
+        }
+        String valueAsStr = PropertyAccessorHelper.getString(value);
+        return lower ? "[" + valueAsStr + LEX_SEPARATOR : "(" + valueAsStr + "\001";
+    }
+
+    /**
+     * Extracts row keys out of lexicographic index members.
+     *
+     * @param members
+     *            members
+     * @return row keys
+     */
+    static List<String> rowKeys(Collection<String> members)
+    {
+        List<String> rowKeys = new ArrayList<String>(members.size());
+        for (String member : members)
+        {
+            rowKeys.add(member.substring(member.lastIndexOf(LEX_SEPARATOR) + 1));
+        }
+        return rowKeys;
+    }
+}
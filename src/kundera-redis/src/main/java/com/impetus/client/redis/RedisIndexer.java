@@ -22,7 +22,6 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Transaction;
 
@@ -36,13 +35,18 @@ import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.query.KunderaQuery;
 
 /**
+ * Writes inverted indexes of REDIS entities into sorted sets. Each RedisClient
+ * holds an indexer of its own, bound to pipeline or transaction the entity is
+ * written with, so that index entries are sent along with entity hash.
+ * 
  * @author vivek.mishra
  * 
  */
 public class RedisIndexer implements Indexer
 {
 
-    private Object pipeLineOrConnection;
+    /** Pipeline or transaction of ongoing write. */
+    private Object pipeLineOrTransaction;
 
     private static Logger logger = LoggerFactory.getLogger(RedisIndexer.class);
 
@@ -59,27 +63,18 @@ public class RedisIndexer implements Indexer
         Set<String> indexNames = values.keySet();
         for (String idx_Name : indexNames)
         {
-            Double value = (Double) values.get(idx_Name);
-            Pipeline pipeLine = null;
-            try
+            // lexicographic indexes hold value of row, scored ones its score.
+            Object value = values.get(idx_Name);
+            double score = value instanceof String ? 0D : (Double) value;
+            String member = value instanceof String ? RedisIndexCodec.lexMember((String) value, parentId.toString())
+                    : parentId.toString();
+            if (this.pipeLineOrTransaction instanceof Transaction)
             {
-                if (this.pipeLineOrConnection.getClass().isAssignableFrom(Jedis.class))
-                {
-                    pipeLine = ((Jedis) this.pipeLineOrConnection).pipelined();
-                    pipeLine.zadd(idx_Name, value, parentId.toString());
-                    // pipeLine.sync();
-                }
-                else
-                {
-                    ((Transaction) this.pipeLineOrConnection).zadd(idx_Name, value, parentId.toString());
-                }
+                ((Transaction) this.pipeLineOrTransaction).zadd(idx_Name, score, member);
             }
-            finally
+            else
             {
-                if (pipeLine != null)
-                {
-                    pipeLine.sync();
-                }
+                ((Pipeline) this.pipeLineOrTransaction).zadd(idx_Name, score, member);
             }
         }
 
@@ -136,26 +131,33 @@ public class RedisIndexer implements Indexer
     {
     }
 
-    void assignConnection(Object connection)
+    /**
+     * Binds pipeline or transaction indexes are written with.
+     * 
+     * @param pipeLineOrTransaction
+     *            the pipeline or transaction
+     */
+    void assignConnection(Object pipeLineOrTransaction)
     {
-        this.pipeLineOrConnection = connection;
+        this.pipeLineOrTransaction = pipeLineOrTransaction;
     }
 
     private void unIndex(final AttributeWrapper wrapper, final String member)
     {
-        Set<String> keys = wrapper.getIndexes().keySet();
-
         // keys
-        for (String key : keys)
+        for (Map.Entry<String, Object> index : wrapper.getIndexes().entrySet())
         {
-            if (this.pipeLineOrConnection.getClass().isAssignableFrom(Transaction.class))
+            String key = index.getKey();
+            String indexMember = index.getValue() instanceof String ? RedisIndexCodec.lexMember(
+                    (String) index.getValue(), member) : member;
+            if (this.pipeLineOrTransaction instanceof Transaction)
             {
-                ((Transaction) this.pipeLineOrConnection).zrem(key, member);
+                ((Transaction) this.pipeLineOrTransaction).zrem(key, indexMember);
 
             }
             else
             {
-                ((Pipeline) this.pipeLineOrConnection).zrem(key, member);
+                ((Pipeline) this.pipeLineOrTransaction).zrem(key, indexMember);
 
             }
         }
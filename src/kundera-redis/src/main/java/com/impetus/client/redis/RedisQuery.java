@@ -199,22 +199,14 @@ public class RedisQuery extends QueryImpl
                  * }
                  */else if (condition.equals(">="))
                 {
+                    // upper bound, if not given, is left open.
                     validateClause(interpreter, condition, columnName);
                     interpreter.setMin(columnName, value);
-                    if (interpreter.getMax() == null)
-                    {
-                        interpreter.setMax(columnName, -1D);
-                    }
-                    // interp
                 }
                 else if (condition.equals("<="))
                 {
                     validateClause(interpreter, condition, columnName);
                     interpreter.setMax(columnName, value);
-                    if (interpreter.getMin() == null)
-                    {
-                        interpreter.setMin(columnName, 0D);
-                    }
                 }
                 else if (interpreter.getClause() != null)
                 {
@@ -20,8 +20,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang.StringUtils;
-
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
 /**
@@ -36,9 +34,11 @@ class RedisQueryInterpreter
 
     private boolean isById;
 
-    private Map<String, Double> min;
+    /** Inclusive lower bound of range, null if unbounded. */
+    private Map<String, Object> min;
 
-    private Map<String, Double> max;
+    /** Inclusive upper bound of range, null if unbounded. */
+    private Map<String, Object> max;
 
     private Clause clause;
 
@@ -114,32 +114,27 @@ class RedisQueryInterpreter
         }
     }
 
-    Map<String, Double> getMin()
+    Map<String, Object> getMin()
     {
         return min;
     }
 
     void setMin(String field, Object fieldValue)
     {
-        this.min = new HashMap<String, Double>(1);
-        this.min.put(
-                field,
-                !StringUtils.isNumeric(fieldValue.toString()) ? Double.valueOf(PropertyAccessorHelper.getString(
-                        fieldValue).hashCode()) : Double.valueOf(fieldValue.toString()));
+        // encoded by client, as per column type.
+        this.min = new HashMap<String, Object>(1);
+        this.min.put(field, fieldValue);
     }
 
-    Map<String, Double> getMax()
+    Map<String, Object> getMax()
     {
         return max;
     }
 
     void setMax(String field, Object fieldValue)
     {
-        this.max = new HashMap<String, Double>(1);
-        this.max.put(
-                field,
-                !StringUtils.isNumeric(fieldValue.toString()) ? Double.valueOf(PropertyAccessorHelper.getString(
-                        fieldValue).hashCode()) : Double.valueOf(fieldValue.toString()));
+        this.max = new HashMap<String, Object>(1);
+        this.max.put(field, fieldValue);
     }
 
     String getFieldName()
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.redis;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.util.Hashing;
+
+/**
+ * Connection pools to independent REDIS nodes, data being sharded over them
+ * by consistent hashing of a shard key.
+ *
+ * RedisClient shards by row key, given as a hash tag, e.g. {1001}: hash of an
+ * entity and its entries of index sorted sets live on same node, each node
+ * thus holding index of its own rows. Like ShardedJedis, a key holding a hash
+ * tag is hashed by tag only.
+ */
+class RedisShardedPool
+{
+    /** The logger. */
+    private static Logger logger = LoggerFactory.getLogger(RedisShardedPool.class);
+
+    /** Points per node on hash ring, as used by ShardedJedis. */
+    private static final int VIRTUAL_NODES = 160;
+
+    private static final Pattern HASH_TAG = Pattern.compile("\\{(.+?)\\}");
+
+    /** Pools, by node name(host:port). */
+    private final Map<String, JedisPool> pools;
+
+    private final TreeMap<Long, String> ring = new TreeMap<Long, String>();
+
+    /**
+     * @param pools
+     *            pools, by node name(host:port)
+     */
+    RedisShardedPool(Map<String, JedisPool> pools)
+    {
+        this.pools = Collections.unmodifiableMap(new LinkedHashMap<String, JedisPool>(pools));
+        int i = 0;
+        for (String node : this.pools.keySet())
+        {
+            for (int n = 0; n < VIRTUAL_NODES; n++)
+            {
+                ring.put(Hashing.MURMUR_HASH.hash("SHARD-" + i + "-NODE-" + n), node);
+            }
+            i++;
+        }
+        logger.info("Sharding over {} REDIS nodes {}", pools.size(), pools.keySet());
+    }
+
+    /**
+     * Returns node holding keys of given shard key.
+     *
+     * @param shardKey
+     *            shard key, e.g. a hash tag of row key
+     * @return node name
+     */
+    String getShard(String shardKey)
+    {
+        Matcher matcher = HASH_TAG.matcher(shardKey);
+        SortedMap<Long, String> tail = ring.tailMap(Hashing.MURMUR_HASH.hash(matcher.find() ? matcher.group(1)
+                : shardKey));
+        return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    /**
+     * Borrows a connection to given node, to be returned with
+     * {@link Jedis#close()}.
+     *
+     * @param shard
+     *            node name
+     * @return connection
+     */
+    Jedis getResource(String shard)
+    {
+        return pools.get(shard).getResource();
+    }
+
+    /**
+     * @return names of all nodes.
+     */
+    Collection<String> getShards()
+    {
+        return pools.keySet();
+    }
+
+    /**
+     * @return pools of all nodes.
+     */
+    Collection<JedisPool> getPools()
+    {
+        return pools.values();
+    }
+
+    /**
+     * Destroys pools of all nodes.
+     */
+    void destroy()
+    {
+        for (JedisPool pool : pools.values())
+        {
+            pool.destroy();
+        }
+    }
+}
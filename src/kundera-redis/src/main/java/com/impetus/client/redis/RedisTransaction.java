@@ -17,7 +17,11 @@
 package com.impetus.client.redis;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.ObjectUtils;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Transaction;
@@ -36,6 +40,9 @@ public class RedisTransaction implements TransactionResource
 
     private List<Transaction> resources = new ArrayList<Transaction>();
 
+    /** Node each resource is bound to, null if data is not sharded. */
+    private Map<Transaction, String> shards = new HashMap<Transaction, String>();
+
     private boolean isTransactionInProgress;
 
     /**
@@ -88,6 +95,7 @@ public class RedisTransaction implements TransactionResource
 
         resources.clear();
         resources = new ArrayList<Transaction>();
+        shards.clear();
         isTransactionInProgress = false;
 
     }
@@ -125,7 +133,7 @@ public class RedisTransaction implements TransactionResource
         return isTransactionInProgress;
     }
 
-    Transaction bindResource(Jedis resource)
+    Transaction bindResource(String shard, Jedis resource)
     {
         Transaction tx = null;
         // Multi not supported.
@@ -135,25 +143,34 @@ public class RedisTransaction implements TransactionResource
          */
         tx = resource.multi();
         resources.add(tx);
+        shards.put(tx, shard);
         /*
          * } else { // tx = resource.multi(); // resources.add(tx); tx =
          * resources.get(0); }
          */return tx;
     }
 
-    Transaction getResource()
+    Transaction getResource(String shard)
     {
-        return resources.get(0);
+        for (Transaction tx : resources)
+        {
+            if (ObjectUtils.equals(shards.get(tx), shard))
+            {
+                return tx;
+            }
+        }
+        return null;
     }
 
-    boolean isResourceBound()
+    boolean isResourceBound(String shard)
     {
-        return !resources.isEmpty();
+        return getResource(shard) != null;
     }
 
     synchronized void onExecute(Transaction tx)
     {
         tx.exec();
         resources.remove(tx);
+        shards.remove(tx);
     }
 }
@@ -100,9 +100,9 @@ public class RedisClientFactoryTest
             Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
             RedisClient redisClient = (RedisClient) clients.get(REDIS_PU);
             Assert.assertEquals(5, ((Batcher) redisClient).getBatchSize());
-            Field field=redisClient.getClass().getDeclaredField("connection");
+            Field field=redisClient.getClass().getDeclaredField("connections");
             field.setAccessible(true);
-            Jedis connection=(Jedis) field.get(redisClient);
+            Jedis connection=((Map<String, Jedis>) field.get(redisClient)).get(null);
             Assert.assertEquals(6379, connection.getClient().getPort());
             Assert.assertEquals("localhost", connection.getClient().getHost());
             Assert.assertEquals(20000, connection.getClient().getConnectionTimeout());
@@ -49,6 +49,7 @@ import com.impetus.client.redis.RedisClient;
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.NodeKey;
 import com.impetus.kundera.lifecycle.states.TransientState;
 import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
@@ -238,7 +239,6 @@ public class RedisClientTest
     private void onInsert(RedisClient client)
     {
         // RedisClient client = (RedisClient) clients.get(REDIS_PU);
-        final String nodeId = "node1";
         final String originalName = "vivek";
         PersonRedis object = new PersonRedis();
         object.setAge(32);
@@ -247,7 +247,8 @@ public class RedisClientTest
         object.setDay(Day.TUESDAY);
         object.setMonth(Month.JAN);
 
-        Node node = new Node(nodeId, PersonRedis.class, new TransientState(), null, ROW_KEY, null);
+        Node node = new Node(new NodeKey(PersonRedis.class, ROW_KEY), PersonRedis.class, new TransientState(), null,
+                ROW_KEY, null);
         node.setData(object);
         client.persist(node);
 
@@ -255,6 +255,52 @@ public class RedisQueryTest
         Assert.assertTrue(results.isEmpty());
     }
 
+    @Test
+    public void testQueryOnUpdatedValue()
+    {
+        purge();
+
+        PersonRedis object = new PersonRedis();
+        object.setAge(32);
+        object.setPersonId(ROW_KEY);
+        object.setPersonName("vivek");
+        em.persist(object);
+        em.clear();
+
+        object = em.find(PersonRedis.class, ROW_KEY);
+        object.setAge(33);
+        object.setPersonName("kuldeep");
+        em.merge(object);
+        em.clear();
+
+        // old values are no more indexed.
+        Query query = em.createQuery("Select p from PersonRedis p where p.age=:age");
+        query.setParameter("age", 32);
+        Assert.assertTrue(query.getResultList().isEmpty());
+
+        query = em.createQuery("Select p from PersonRedis p where p.personName=:personName");
+        query.setParameter("personName", "vivek");
+        Assert.assertTrue(query.getResultList().isEmpty());
+
+        query = em.createQuery("Select p from PersonRedis p where p.personName>=:min AND p.personName<=:max");
+        query.setParameter("min", "v");
+        query.setParameter("max", "w");
+        Assert.assertTrue(query.getResultList().isEmpty());
+
+        // new ones are.
+        query = em.createQuery("Select p from PersonRedis p where p.age=:age");
+        query.setParameter("age", 33);
+        List<PersonRedis> results = query.getResultList();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("kuldeep", results.get(0).getPersonName());
+
+        query = em.createQuery("Select p from PersonRedis p where p.personName=:personName");
+        query.setParameter("personName", "kuldeep");
+        results = query.getResultList();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(ROW_KEY, results.get(0).getPersonId());
+    }
+
     private void purge()
     {
         // Delete by query.
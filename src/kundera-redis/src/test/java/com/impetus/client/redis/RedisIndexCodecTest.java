@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.redis;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link RedisIndexCodec}, lexicographic ranges are checked
+ * against byte wise ordering ZRANGEBYLEX relies on.
+ */
+public class RedisIndexCodecTest
+{
+    @Test
+    public void testScoredTypes()
+    {
+        Assert.assertTrue(RedisIndexCodec.isScored(int.class));
+        Assert.assertTrue(RedisIndexCodec.isScored(Long.class));
+        Assert.assertTrue(RedisIndexCodec.isScored(BigDecimal.class));
+        Assert.assertTrue(RedisIndexCodec.isScored(Date.class));
+        Assert.assertFalse(RedisIndexCodec.isScored(String.class));
+        Assert.assertFalse(RedisIndexCodec.isScored(char.class));
+        Assert.assertFalse(RedisIndexCodec.isScored(boolean.class));
+    }
+
+    @Test
+    public void testScore()
+    {
+        Assert.assertEquals(-12.5d, RedisIndexCodec.score(double.class, "-12.5"));
+        Assert.assertEquals(-7d, RedisIndexCodec.score(Integer.class, -7));
+        Assert.assertEquals(1234d, RedisIndexCodec.score(Date.class, new Date(1234L)));
+        Assert.assertEquals("-inf", RedisIndexCodec.scoreBound(int.class, null, true));
+        Assert.assertEquals("+inf", RedisIndexCodec.scoreBound(int.class, null, false));
+        Assert.assertEquals("32.0", RedisIndexCodec.scoreBound(int.class, "32", false));
+    }
+
+    @Test
+    public void testLexRange()
+    {
+        List<String> members = Arrays.asList(RedisIndexCodec.lexMember("amresh", "1"),
+                RedisIndexCodec.lexMember("vivek", "2"), RedisIndexCodec.lexMember("vive", "3"),
+                RedisIndexCodec.lexMember("vivek", "4"), RedisIndexCodec.lexMember("vivekm", "5"),
+                RedisIndexCodec.lexMember("zzz", "6"));
+
+        Assert.assertEquals(Arrays.asList("2", "4"),
+                range(members, RedisIndexCodec.lexBound("vivek", true), RedisIndexCodec.lexBound("vivek", false)));
+        Assert.assertEquals(Arrays.asList("2", "4", "5", "6"),
+                range(members, RedisIndexCodec.lexBound("vivek", true), RedisIndexCodec.lexBound(null, false)));
+        Assert.assertEquals(Arrays.asList("1", "3", "2", "4"),
+                range(members, RedisIndexCodec.lexBound(null, true), RedisIndexCodec.lexBound("vivek", false)));
+    }
+
+    /**
+     * Mimics ZRANGEBYLEX over members, in their order.
+     */
+    private List<String> range(List<String> members, String min, String max)
+    {
+        List<String> selected = new ArrayList<String>();
+        for (String member : members)
+        {
+            if (isAbove(member, min) && isBelow(member, max))
+            {
+                selected.add(member);
+            }
+        }
+        java.util.Collections.sort(selected);
+        return RedisIndexCodec.rowKeys(selected);
+    }
+
+    private boolean isAbove(String member, String min)
+    {
+        if (min.equals("-"))
+        {
+            return true;
+        }
+        int cmp = member.compareTo(min.substring(1));
+        return min.charAt(0) == '[' ? cmp >= 0 : cmp > 0;
+    }
+
+    private boolean isBelow(String member, String max)
+    {
+        if (max.equals("+"))
+        {
+            return true;
+        }
+        int cmp = member.compareTo(max.substring(1));
+        return max.charAt(0) == '[' ? cmp <= 0 : cmp < 0;
+    }
+}
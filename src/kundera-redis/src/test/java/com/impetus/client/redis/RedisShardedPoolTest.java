@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * * Copyright 2016 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.redis;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.JedisPool;
+
+/**
+ * Test case for {@link RedisShardedPool}, pools are not connected.
+ */
+public class RedisShardedPoolTest
+{
+    private RedisShardedPool shardedPool;
+
+    @Before
+    public void setUp()
+    {
+        Map<String, JedisPool> pools = new LinkedHashMap<String, JedisPool>();
+        pools.put("localhost:6379", new JedisPool("localhost", 6379));
+        pools.put("localhost:6380", new JedisPool("localhost", 6380));
+        pools.put("localhost:6381", new JedisPool("localhost", 6381));
+        shardedPool = new RedisShardedPool(pools);
+    }
+
+    @After
+    public void tearDown()
+    {
+        shardedPool.destroy();
+    }
+
+    @Test
+    public void testShardingByRowKey()
+    {
+        Set<String> shards = new HashSet<String>();
+        for (int i = 0; i < 100; i++)
+        {
+            String shard = shardedPool.getShard("{" + i + "}");
+            Assert.assertEquals(shard, shardedPool.getShard("{" + i + "}"));
+            shards.add(shard);
+        }
+        Assert.assertEquals(3, shards.size());
+        Assert.assertEquals(shards, new HashSet<String>(shardedPool.getShards()));
+    }
+
+    @Test
+    public void testHashTag()
+    {
+        Assert.assertEquals(shardedPool.getShard("1001"), shardedPool.getShard("PERSON:{1001}"));
+        Assert.assertEquals(shardedPool.getShard("1001"), shardedPool.getShard("{1001}"));
+    }
+}
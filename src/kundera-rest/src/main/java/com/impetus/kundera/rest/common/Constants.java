@@ -51,6 +51,8 @@ public interface Constants
 
     public static final String META_DATA_RESOURCE_PATH = "/metadata";
 
+    public static final String TRACE_RESOURCE_PATH = "/trace";
+
     public static final String NAMED_QUERY_ALL = "all";
 
 }
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.rest.resources;
+
+import java.io.IOException;
+
+import javax.persistence.EntityManagerFactory;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.metrics.OperationTracer;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.rest.common.Constants;
+import com.impetus.kundera.rest.repository.EMFRepository;
+
+/**
+ * REST Resource for slow operation traces of an application, most recent
+ * first. Tracing is enabled by kundera.trace.threshold.ms or
+ * kundera.trace.sample.rate property.
+ */
+@Path("/" + Constants.KUNDERA_API_PATH + Constants.TRACE_RESOURCE_PATH)
+public class TraceResource {
+    private static Logger log = LoggerFactory.getLogger(TraceResource.class);
+
+    /**
+     * Handler for GET requests. Returns traces kept for given application.
+     *
+     * @param applicationToken
+     * @return
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getTraces(@HeaderParam(Constants.APPLICATION_TOKEN_HEADER_NAME) String applicationToken) {
+        if (log.isDebugEnabled())
+            log.debug("GET: Application Token:" + applicationToken);
+
+        OperationTracer tracer = getTracer(applicationToken);
+        if (tracer == null) {
+            return Response.noContent().build();
+        }
+
+        try {
+            String output = new ObjectMapper().writeValueAsString(tracer.getOperationTraces());
+            return Response.ok(output, MediaType.APPLICATION_JSON).build();
+        } catch (IOException e) {
+            log.error(e.getMessage());
+            return Response.serverError().build();
+        }
+    }
+
+    /**
+     * Handler for DELETE requests. Discards traces kept for given application.
+     *
+     * @param applicationToken
+     * @return
+     */
+    @DELETE
+    public Response clearTraces(@HeaderParam(Constants.APPLICATION_TOKEN_HEADER_NAME) String applicationToken) {
+        OperationTracer tracer = getTracer(applicationToken);
+        if (tracer == null) {
+            return Response.noContent().build();
+        }
+        tracer.clear();
+        return Response.ok().build();
+    }
+
+    private OperationTracer getTracer(String applicationToken) {
+        EntityManagerFactory emf =
+            applicationToken != null ? EMFRepository.INSTANCE.getEMF(applicationToken.replaceAll("^\"|\"$", ""))
+                : null;
+        if (emf == null) {
+            log.warn("Application Token:" + applicationToken + " doesn't exist");
+            return null;
+        }
+        return ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getMetrics().getTracer();
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.impetus.kundera.workload.chooser.KeyChooser;
+import com.impetus.kundera.workload.chooser.KeySpace;
+import com.impetus.kundera.workload.store.StoreSession;
+
+/**
+ * Drives one store session through load or run phase of a workload.
+ */
+class ClientThread implements Callable<Measurements>
+{
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"
+            .toCharArray();
+
+    private final Workload workload;
+
+    private final StoreSession session;
+
+    private final KeySpace keySpace;
+
+    /** Key chooser, null for load phase. */
+    private final KeyChooser chooser;
+
+    /** Number of operations to run, or highest key number to load. */
+    private final long operations;
+
+    /** Pause between operations for target throughput, zero for none. */
+    private final long intervalNanos;
+
+    private final Measurements measurements = new Measurements();
+
+    /**
+     * Creates a thread loading key numbers [0, records) out of given key
+     * space, along with other load threads.
+     */
+    static ClientThread load(Workload workload, StoreSession session, KeySpace keySpace)
+    {
+        return new ClientThread(workload, session, keySpace, null, workload.getRecordCount());
+    }
+
+    /**
+     * Creates a thread running given number of operations.
+     */
+    static ClientThread run(Workload workload, StoreSession session, KeySpace keySpace, KeyChooser chooser,
+            long operations)
+    {
+        return new ClientThread(workload, session, keySpace, chooser, operations);
+    }
+
+    private ClientThread(Workload workload, StoreSession session, KeySpace keySpace, KeyChooser chooser,
+            long operations)
+    {
+        this.workload = workload;
+        this.session = session;
+        this.keySpace = keySpace;
+        this.chooser = chooser;
+        this.operations = operations;
+        double perThread = workload.getTargetThroughput() / workload.getThreadCount();
+        this.intervalNanos = perThread > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / perThread) : 0;
+    }
+
+    @Override
+    public Measurements call()
+    {
+        try
+        {
+            long start = System.nanoTime();
+            if (chooser == null)
+            {
+                long keyNumber;
+                for (long i = 0; (keyNumber = keySpace.nextInsert()) < operations; i++)
+                {
+                    throttle(start, i);
+                    insert(keyNumber);
+                }
+            }
+            else
+            {
+                for (long i = 0; i < operations; i++)
+                {
+                    throttle(start, i);
+                    execute(workload.chooseOperation(ThreadLocalRandom.current().nextDouble()));
+                }
+            }
+            return measurements;
+        }
+        finally
+        {
+            session.close();
+        }
+    }
+
+    private void execute(Operation operation)
+    {
+        switch (operation)
+        {
+        case INSERT:
+            insert(keySpace.nextInsert());
+            break;
+        case READ:
+        {
+            String key = KeySpace.toKey(chooser.nextKey());
+            long start = System.nanoTime();
+            boolean succeeded = session.read(key);
+            record(operation, start, succeeded);
+            break;
+        }
+        case UPDATE:
+        {
+            String key = KeySpace.toKey(chooser.nextKey());
+            Map<String, String> values = updateValues();
+            long start = System.nanoTime();
+            boolean succeeded = session.update(key, values);
+            record(operation, start, succeeded);
+            break;
+        }
+        case SCAN:
+        {
+            String key = KeySpace.toKey(chooser.nextKey());
+            int count = 1 + ThreadLocalRandom.current().nextInt(workload.getMaxScanLength());
+            long start = System.nanoTime();
+            boolean succeeded = session.scan(key, count);
+            record(operation, start, succeeded);
+            break;
+        }
+        case READ_MODIFY_WRITE:
+        {
+            String key = KeySpace.toKey(chooser.nextKey());
+            Map<String, String> values = updateValues();
+            long start = System.nanoTime();
+            boolean succeeded = session.read(key) && session.update(key, values);
+            record(operation, start, succeeded);
+            break;
+        }
+        }
+    }
+
+    private void insert(long keyNumber)
+    {
+        String key = KeySpace.toKey(keyNumber);
+        Map<String, String> values = values(workload.getFieldCount());
+        long start = System.nanoTime();
+        boolean succeeded = session.insert(key, values);
+        record(Operation.INSERT, start, succeeded);
+        if (succeeded)
+        {
+            keySpace.acknowledge(keyNumber);
+        }
+    }
+
+    private void record(Operation operation, long startNanos, boolean succeeded)
+    {
+        measurements.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), succeeded);
+    }
+
+    /**
+     * Parks till given operation is due, if a target throughput is set.
+     */
+    private void throttle(long startNanos, long operation)
+    {
+        if (intervalNanos > 0)
+        {
+            long due = startNanos + operation * intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < due)
+            {
+                LockSupport.parkNanos(due - now);
+            }
+        }
+    }
+
+    private Map<String, String> updateValues()
+    {
+        if (workload.isWriteAllFields())
+        {
+            return values(workload.getFieldCount());
+        }
+        Map<String, String> values = new HashMap<String, String>(2);
+        values.put("field" + ThreadLocalRandom.current().nextInt(workload.getFieldCount()), randomString());
+        return values;
+    }
+
+    private Map<String, String> values(int fieldCount)
+    {
+        Map<String, String> values = new HashMap<String, String>(fieldCount * 2);
+        for (int i = 0; i < fieldCount; i++)
+        {
+            values.put("field" + i, randomString());
+        }
+        return values;
+    }
+
+    private String randomString()
+    {
+        Random random = ThreadLocalRandom.current();
+        char[] chars = new char[workload.getFieldLength()];
+        for (int i = 0; i < chars.length; i++)
+        {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms (in microseconds) and error counts per operation. Each
+ * client thread records into its own instance, instances are merged once run
+ * is over, so recording involves no synchronization.
+ */
+public class Measurements
+{
+    /** Significant value digits of histograms. */
+    private static final int PRECISION = 3;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<Operation, Histogram>(Operation.class);
+
+    private final Map<Operation, Long> errors = new EnumMap<Operation, Long>(Operation.class);
+
+    /**
+     * Records an operation.
+     * 
+     * @param operation
+     *            operation
+     * @param micros
+     *            latency in microseconds
+     * @param succeeded
+     *            whether operation succeeded, failed ones are counted but not
+     *            recorded in latency.
+     */
+    public void record(Operation operation, long micros, boolean succeeded)
+    {
+        if (succeeded)
+        {
+            histogram(operation).recordValue(micros);
+        }
+        else
+        {
+            Long count = errors.get(operation);
+            errors.put(operation, count == null ? 1 : count + 1);
+        }
+    }
+
+    /**
+     * Adds measurements of other into this.
+     * 
+     * @param other
+     *            measurements to add
+     */
+    public void merge(Measurements other)
+    {
+        for (Map.Entry<Operation, Histogram> latency : other.latencies.entrySet())
+        {
+            histogram(latency.getKey()).add(latency.getValue());
+        }
+        for (Map.Entry<Operation, Long> error : other.errors.entrySet())
+        {
+            errors.put(error.getKey(), getErrors(error.getKey()) + error.getValue());
+        }
+    }
+
+    /**
+     * @return latency histogram of given operation, null if none recorded.
+     */
+    public Histogram getLatency(Operation operation)
+    {
+        return latencies.get(operation);
+    }
+
+    public long getErrors(Operation operation)
+    {
+        Long count = errors.get(operation);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return number of operations recorded, failed ones included.
+     */
+    public long getOperationCount()
+    {
+        long count = 0;
+        for (Histogram histogram : latencies.values())
+        {
+            count += histogram.getTotalCount();
+        }
+        for (Long error : errors.values())
+        {
+            count += error;
+        }
+        return count;
+    }
+
+    private Histogram histogram(Operation operation)
+    {
+        Histogram histogram = latencies.get(operation);
+        if (histogram == null)
+        {
+            histogram = new Histogram(PRECISION);
+            latencies.put(operation, histogram);
+        }
+        return histogram;
+    }
+}
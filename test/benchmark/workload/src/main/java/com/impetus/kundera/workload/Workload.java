@@ -0,0 +1,263 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload;
+
+import java.util.Properties;
+
+/**
+ * Description of a workload, read from YCSB core workload properties
+ * (recordcount, operationcount, readproportion ...), so that existing workload
+ * files can be reused as is. Standard workloads A to F are available through
+ * <code>workload.preset</code>, any property given explicitly overrides
+ * preset.
+ */
+public final class Workload
+{
+    /** Request distributions. */
+    public enum Distribution
+    {
+        UNIFORM, ZIPFIAN, LATEST;
+    }
+
+    private long recordCount = 1000;
+
+    private long operationCount = 1000;
+
+    private double readProportion = 0.95;
+
+    private double updateProportion = 0.05;
+
+    private double insertProportion;
+
+    private double scanProportion;
+
+    private double readModifyWriteProportion;
+
+    private Distribution requestDistribution = Distribution.UNIFORM;
+
+    private int fieldCount = 10;
+
+    private int fieldLength = 100;
+
+    private boolean writeAllFields;
+
+    private int maxScanLength = 100;
+
+    private int threadCount = 1;
+
+    private double targetThroughput;
+
+    private Workload()
+    {
+    }
+
+    /**
+     * Creates workload out of given properties.
+     * 
+     * @param props
+     *            workload properties
+     * @return workload
+     */
+    public static Workload load(Properties props)
+    {
+        Workload workload = new Workload();
+        String preset = props.getProperty("workload.preset");
+        if (preset != null)
+        {
+            workload.applyPreset(preset.trim().toLowerCase());
+        }
+
+        workload.recordCount = Long.parseLong(props.getProperty("recordcount", String.valueOf(workload.recordCount)));
+        workload.operationCount = Long.parseLong(props.getProperty("operationcount",
+                String.valueOf(workload.operationCount)));
+        workload.readProportion = getDouble(props, "readproportion", workload.readProportion);
+        workload.updateProportion = getDouble(props, "updateproportion", workload.updateProportion);
+        workload.insertProportion = getDouble(props, "insertproportion", workload.insertProportion);
+        workload.scanProportion = getDouble(props, "scanproportion", workload.scanProportion);
+        workload.readModifyWriteProportion = getDouble(props, "readmodifywriteproportion",
+                workload.readModifyWriteProportion);
+        workload.requestDistribution = Distribution.valueOf(props.getProperty("requestdistribution",
+                workload.requestDistribution.name()).trim().toUpperCase());
+        workload.fieldCount = Integer.parseInt(props.getProperty("fieldcount", String.valueOf(workload.fieldCount)));
+        workload.fieldLength = Integer.parseInt(props.getProperty("fieldlength",
+                String.valueOf(workload.fieldLength)));
+        workload.writeAllFields = Boolean.parseBoolean(props.getProperty("writeallfields",
+                String.valueOf(workload.writeAllFields)));
+        workload.maxScanLength = Integer.parseInt(props.getProperty("maxscanlength",
+                String.valueOf(workload.maxScanLength)));
+        workload.threadCount = Integer.parseInt(props.getProperty("threadcount",
+                String.valueOf(workload.threadCount)));
+        workload.targetThroughput = getDouble(props, "target", workload.targetThroughput);
+
+        if (workload.readProportion + workload.updateProportion + workload.insertProportion
+                + workload.scanProportion + workload.readModifyWriteProportion <= 0)
+        {
+            throw new IllegalArgumentException("Workload must have at least one operation with positive proportion");
+        }
+        return workload;
+    }
+
+    /**
+     * Applies proportions and distribution of standard YCSB workloads.
+     */
+    private void applyPreset(String preset)
+    {
+        readProportion = updateProportion = insertProportion = scanProportion = readModifyWriteProportion = 0;
+        requestDistribution = Distribution.ZIPFIAN;
+        if ("a".equals(preset))
+        {
+            // update heavy.
+            readProportion = 0.5;
+            updateProportion = 0.5;
+        }
+        else if ("b".equals(preset))
+        {
+            // read mostly.
+            readProportion = 0.95;
+            updateProportion = 0.05;
+        }
+        else if ("c".equals(preset))
+        {
+            // read only.
+            readProportion = 1;
+        }
+        else if ("d".equals(preset))
+        {
+            // read latest.
+            readProportion = 0.95;
+            insertProportion = 0.05;
+            requestDistribution = Distribution.LATEST;
+        }
+        else if ("e".equals(preset))
+        {
+            // short ranges.
+            scanProportion = 0.95;
+            insertProportion = 0.05;
+        }
+        else if ("f".equals(preset))
+        {
+            // read-modify-write.
+            readProportion = 0.5;
+            readModifyWriteProportion = 0.5;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown workload preset " + preset + ", expected one of a to f");
+        }
+    }
+
+    private static double getDouble(Properties props, String name, double defaultValue)
+    {
+        String value = props.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    /**
+     * Picks an operation for given uniform random value in [0, 1).
+     * 
+     * @param random
+     *            uniform random value
+     * @return operation
+     */
+    public Operation chooseOperation(double random)
+    {
+        double total = readProportion + updateProportion + insertProportion + scanProportion
+                + readModifyWriteProportion;
+        double value = random * total;
+        if ((value -= readProportion) < 0)
+        {
+            return Operation.READ;
+        }
+        if ((value -= updateProportion) < 0)
+        {
+            return Operation.UPDATE;
+        }
+        if ((value -= insertProportion) < 0)
+        {
+            return Operation.INSERT;
+        }
+        if ((value -= scanProportion) < 0)
+        {
+            return Operation.SCAN;
+        }
+        return readModifyWriteProportion > 0 ? Operation.READ_MODIFY_WRITE : Operation.READ;
+    }
+
+    /**
+     * @return number of keys a run phase may insert, as per insert
+     *         proportion.
+     */
+    public long getExpectedInserts()
+    {
+        double total = readProportion + updateProportion + insertProportion + scanProportion
+                + readModifyWriteProportion;
+        return (long) Math.ceil(operationCount * insertProportion / total);
+    }
+
+    public long getRecordCount()
+    {
+        return recordCount;
+    }
+
+    public long getOperationCount()
+    {
+        return operationCount;
+    }
+
+    public Distribution getRequestDistribution()
+    {
+        return requestDistribution;
+    }
+
+    public int getFieldCount()
+    {
+        return fieldCount;
+    }
+
+    public int getFieldLength()
+    {
+        return fieldLength;
+    }
+
+    public boolean isWriteAllFields()
+    {
+        return writeAllFields;
+    }
+
+    public int getMaxScanLength()
+    {
+        return maxScanLength;
+    }
+
+    public int getThreadCount()
+    {
+        return threadCount;
+    }
+
+    public double getTargetThroughput()
+    {
+        return targetThroughput;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Workload [records=" + recordCount + ", operations=" + operationCount + ", read=" + readProportion
+                + ", update=" + updateProportion + ", insert=" + insertProportion + ", scan=" + scanProportion
+                + ", readModifyWrite=" + readModifyWriteProportion + ", distribution=" + requestDistribution
+                + ", threads=" + threadCount + "]";
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Measurements of load and run phase of a workload against one store.
+ */
+public class WorkloadResult
+{
+    private final String store;
+
+    private final Measurements load;
+
+    private final long loadNanos;
+
+    private final Measurements run;
+
+    private final long runNanos;
+
+    WorkloadResult(String store, Measurements load, long loadNanos, Measurements run, long runNanos)
+    {
+        this.store = store;
+        this.load = load;
+        this.loadNanos = loadNanos;
+        this.run = run;
+        this.runNanos = runNanos;
+    }
+
+    public String getStore()
+    {
+        return store;
+    }
+
+    public Measurements getLoad()
+    {
+        return load;
+    }
+
+    public Measurements getRun()
+    {
+        return run;
+    }
+
+    /**
+     * Prints throughput and latency percentiles of both phases. If a baseline
+     * is given, mean latency of each run operation is also printed relative to
+     * it, e.g. Kundera over native driver.
+     * 
+     * @param out
+     *            stream to print to
+     * @param baseline
+     *            result to compare with, may be null.
+     */
+    public void report(PrintStream out, WorkloadResult baseline)
+    {
+        out.println("[" + store + "]");
+        report(out, "LOAD", load, loadNanos, null);
+        report(out, "RUN", run, runNanos, baseline != null ? baseline.run : null);
+        if (baseline != null)
+        {
+            out.println("  relative to [" + baseline.store + "]");
+        }
+    }
+
+    private static void report(PrintStream out, String phase, Measurements measurements, long nanos,
+            Measurements baseline)
+    {
+        long operations = measurements.getOperationCount();
+        double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(1);
+        out.println(String.format("  %s: %d operations in %.3f s, %.1f ops/sec", phase, operations, seconds,
+                seconds > 0 ? operations / seconds : 0));
+        out.println(String.format("    %-18s %10s %8s %10s %8s %8s %8s %8s %10s%s", "operation (us)", "count",
+                "errors", "avg", "p50", "p95", "p99", "p99.9", "max", baseline != null ? "   avg ratio" : ""));
+        for (Operation operation : Operation.values())
+        {
+            Histogram latency = measurements.getLatency(operation);
+            long errors = measurements.getErrors(operation);
+            if (latency == null && errors == 0)
+            {
+                continue;
+            }
+            String ratio = "";
+            if (baseline != null && latency != null && baseline.getLatency(operation) != null)
+            {
+                ratio = String.format("   %10.2fx", latency.getMean() / baseline.getLatency(operation).getMean());
+            }
+            if (latency == null)
+            {
+                out.println(String.format("    %-18s %10d %8d", operation, 0, errors));
+            }
+            else
+            {
+                out.println(String.format("    %-18s %10d %8d %10.1f %8d %8d %8d %8d %10d%s", operation,
+                        latency.getTotalCount(), errors, latency.getMean(), latency.getValueAtPercentile(50),
+                        latency.getValueAtPercentile(95), latency.getValueAtPercentile(99),
+                        latency.getValueAtPercentile(99.9), latency.getMaxValue(), ratio));
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.workload.chooser.KeyChooser;
+import com.impetus.kundera.workload.chooser.KeySpace;
+import com.impetus.kundera.workload.chooser.LatestKeyChooser;
+import com.impetus.kundera.workload.chooser.UniformKeyChooser;
+import com.impetus.kundera.workload.chooser.ZipfianKeyChooser;
+import com.impetus.kundera.workload.server.EmbeddedServer;
+import com.impetus.kundera.workload.store.StoreSession;
+import com.impetus.kundera.workload.store.WorkloadStore;
+
+/**
+ * Runs a YCSB style workload (load phase, then run phase) against one or more
+ * stores, each one on a fresh data set, and reports throughput and latency
+ * percentiles per operation. Unlike YCSB runners it needs no external jars
+ * or shell scripts: datastores are either given or started in process.
+ * 
+ * Usage: <code>WorkloadRunner &lt;properties file&gt;...</code>, later files
+ * and system properties override earlier ones. Besides YCSB workload
+ * properties it reads
+ * <ul>
+ * <li><code>stores</code>: comma separated {@link WorkloadStore} classes, run
+ * in order, first one is baseline the others are compared with.</li>
+ * <li><code>servers</code>: comma separated {@link EmbeddedServer} classes,
+ * started before first store and stopped after last one.</li>
+ * </ul>
+ */
+public class WorkloadRunner
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(WorkloadRunner.class);
+
+    private final Workload workload;
+
+    private final Properties props;
+
+    public WorkloadRunner(Workload workload, Properties props)
+    {
+        this.workload = workload;
+        this.props = props;
+    }
+
+    /**
+     * Opens given store, loads records, runs operations and closes it.
+     * 
+     * @param store
+     *            store to run against
+     * @return result of run
+     * @throws Exception
+     *             if store could not be opened or a client thread failed.
+     */
+    public WorkloadResult run(WorkloadStore store) throws Exception
+    {
+        String name = store.getClass().getSimpleName();
+        store.open(props);
+        try
+        {
+            log.info("Loading {} records into {}.", workload.getRecordCount(), name);
+            KeySpace loadKeys = new KeySpace(0);
+            List<ClientThread> loaders = new ArrayList<ClientThread>();
+            for (int i = 0; i < workload.getThreadCount(); i++)
+            {
+                loaders.add(ClientThread.load(workload, store.newSession(), loadKeys));
+            }
+            long start = System.nanoTime();
+            Measurements load = execute(loaders);
+            long loadNanos = System.nanoTime() - start;
+
+            log.info("Running {} operations against {}.", workload.getOperationCount(), name);
+            KeySpace runKeys = new KeySpace(workload.getRecordCount());
+            KeyChooser chooser = newKeyChooser(runKeys);
+            List<ClientThread> clients = new ArrayList<ClientThread>();
+            long perThread = workload.getOperationCount() / workload.getThreadCount();
+            long remainder = workload.getOperationCount() % workload.getThreadCount();
+            for (int i = 0; i < workload.getThreadCount(); i++)
+            {
+                StoreSession session = store.newSession();
+                clients.add(ClientThread.run(workload, session, runKeys, chooser, perThread + (i < remainder ? 1 : 0)));
+            }
+            start = System.nanoTime();
+            Measurements run = execute(clients);
+            long runNanos = System.nanoTime() - start;
+
+            return new WorkloadResult(name, load, loadNanos, run, runNanos);
+        }
+        finally
+        {
+            store.close();
+        }
+    }
+
+    private KeyChooser newKeyChooser(KeySpace keySpace)
+    {
+        switch (workload.getRequestDistribution())
+        {
+        case ZIPFIAN:
+            return new ZipfianKeyChooser(keySpace, workload.getRecordCount() + workload.getExpectedInserts());
+        case LATEST:
+            return new LatestKeyChooser(keySpace);
+        default:
+            return new UniformKeyChooser(keySpace);
+        }
+    }
+
+    private Measurements execute(List<ClientThread> threads) throws InterruptedException, ExecutionException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads.size());
+        try
+        {
+            List<Future<Measurements>> futures = executor.invokeAll(threads);
+            Measurements total = new Measurements();
+            for (Future<Measurements> future : futures)
+            {
+                total.merge(future.get());
+            }
+            return total;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length == 0)
+        {
+            System.err.println("Usage: WorkloadRunner <properties file>...");
+            System.exit(1);
+        }
+        Properties props = new Properties();
+        for (String file : args)
+        {
+            InputStream in = new FileInputStream(file);
+            try
+            {
+                props.load(in);
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        props.putAll(System.getProperties());
+
+        Workload workload = Workload.load(props);
+        System.out.println(workload);
+
+        List<EmbeddedServer> servers = new ArrayList<EmbeddedServer>();
+        try
+        {
+            for (String server : split(props.getProperty("servers")))
+            {
+                EmbeddedServer embeddedServer = (EmbeddedServer) Class.forName(server).newInstance();
+                embeddedServer.start(props);
+                servers.add(embeddedServer);
+            }
+
+            WorkloadRunner runner = new WorkloadRunner(workload, props);
+            WorkloadResult baseline = null;
+            for (String store : split(props.getProperty("stores", "com.impetus.kundera.workload.store.InMemoryStore")))
+            {
+                WorkloadResult result = runner.run((WorkloadStore) Class.forName(store).newInstance());
+                result.report(System.out, baseline);
+                if (baseline == null)
+                {
+                    baseline = result;
+                }
+            }
+        }
+        finally
+        {
+            for (EmbeddedServer server : servers)
+            {
+                server.stop();
+            }
+        }
+    }
+
+    private static List<String> split(String value)
+    {
+        List<String> values = new ArrayList<String>();
+        if (value != null)
+        {
+            for (String part : value.split(","))
+            {
+                if (!part.trim().isEmpty())
+                {
+                    values.add(part.trim());
+                }
+            }
+        }
+        return values;
+    }
+}
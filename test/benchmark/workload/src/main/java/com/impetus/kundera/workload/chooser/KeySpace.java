@@ -0,0 +1,109 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.chooser;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Key numbers handed out for insertion, shared by all client threads. Keys
+ * become visible to choosers once acknowledged, so that a read never picks a
+ * key whose insert is still in flight (best effort: out of order
+ * acknowledgements may expose a few keys early).
+ */
+public final class KeySpace
+{
+    private static final long FNV_OFFSET_BASIS_64 = 0xCBF29CE484222325L;
+
+    private static final long FNV_PRIME_64 = 1099511628211L;
+
+    /** Next key number to insert. */
+    private final AtomicLong insertCursor;
+
+    /** Number of keys readable. */
+    private final AtomicLong acknowledged;
+
+    /**
+     * @param loaded
+     *            number of keys already loaded.
+     */
+    public KeySpace(long loaded)
+    {
+        this.insertCursor = new AtomicLong(loaded);
+        this.acknowledged = new AtomicLong(loaded);
+    }
+
+    /**
+     * @return key number for next insert.
+     */
+    public long nextInsert()
+    {
+        return insertCursor.getAndIncrement();
+    }
+
+    /**
+     * Marks insert of given key number complete.
+     * 
+     * @param keyNumber
+     *            inserted key number
+     */
+    public void acknowledge(long keyNumber)
+    {
+        long current;
+        while ((current = acknowledged.get()) <= keyNumber)
+        {
+            if (acknowledged.compareAndSet(current, keyNumber + 1))
+            {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return number of keys readable, key numbers are in [0, limit).
+     */
+    public long limit()
+    {
+        return acknowledged.get();
+    }
+
+    /**
+     * Returns record key for given key number. Numbers are hashed, so that
+     * inserts are spread over key range instead of appending to it.
+     * 
+     * @param keyNumber
+     *            key number
+     * @return record key
+     */
+    public static String toKey(long keyNumber)
+    {
+        return "user" + Math.abs(fnvHash64(keyNumber));
+    }
+
+    /**
+     * 64 bit FNV-1a hash of given value.
+     */
+    static long fnvHash64(long value)
+    {
+        long hash = FNV_OFFSET_BASIS_64;
+        for (int i = 0; i < 8; i++)
+        {
+            hash ^= value & 0xFF;
+            hash *= FNV_PRIME_64;
+            value >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.chooser;
+
+/**
+ * Zipfian over recency: most recently inserted key is the most popular.
+ */
+public class LatestKeyChooser implements KeyChooser
+{
+    private final KeySpace keySpace;
+
+    private final Zipfian zipfian;
+
+    public LatestKeyChooser(KeySpace keySpace)
+    {
+        this.keySpace = keySpace;
+        this.zipfian = new Zipfian(keySpace.limit());
+    }
+
+    @Override
+    public long nextKey()
+    {
+        long limit = keySpace.limit();
+        return limit - 1 - zipfian.next(limit);
+    }
+}
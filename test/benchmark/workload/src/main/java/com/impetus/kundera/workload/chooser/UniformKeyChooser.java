@@ -0,0 +1,37 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.chooser;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks any readable key with equal probability.
+ */
+public class UniformKeyChooser implements KeyChooser
+{
+    private final KeySpace keySpace;
+
+    public UniformKeyChooser(KeySpace keySpace)
+    {
+        this.keySpace = keySpace;
+    }
+
+    @Override
+    public long nextKey()
+    {
+        return ThreadLocalRandom.current().nextLong(keySpace.limit());
+    }
+}
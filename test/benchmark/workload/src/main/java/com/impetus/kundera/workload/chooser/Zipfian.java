@@ -0,0 +1,125 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.chooser;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipfian distribution over [0, items), after Gray et al, "Quickly Generating
+ * Billion-Record Synthetic Databases" as used by YCSB: item 0 is the most
+ * popular, popularity falls off as a power of rank.
+ * 
+ * Zeta constant is computed incrementally as item count grows, computation
+ * for a new count is done once and published to all threads.
+ */
+final class Zipfian
+{
+    /** YCSB default skew. */
+    static final double ZIPFIAN_CONSTANT = 0.99;
+
+    private final double theta;
+
+    private final double alpha;
+
+    private final double zeta2theta;
+
+    private volatile Zeta zeta;
+
+    Zipfian(long items)
+    {
+        this(items, ZIPFIAN_CONSTANT);
+    }
+
+    Zipfian(long items, double theta)
+    {
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zeta2theta = zeta(0, 2, 0);
+        this.zeta = new Zeta(Math.max(items, 1), zeta(0, Math.max(items, 1), 0));
+    }
+
+    /**
+     * @param items
+     *            number of items, may grow between calls.
+     * @return rank in [0, items).
+     */
+    long next(long items)
+    {
+        Zeta current = zetaFor(items);
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * current.zetan;
+        if (uz < 1.0)
+        {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta))
+        {
+            return 1;
+        }
+        long rank = (long) (current.items * Math.pow(current.eta * u - current.eta + 1, alpha));
+        return Math.min(rank, current.items - 1);
+    }
+
+    private Zeta zetaFor(long items)
+    {
+        Zeta current = zeta;
+        if (items <= current.items)
+        {
+            return current;
+        }
+        synchronized (this)
+        {
+            current = zeta;
+            if (items > current.items)
+            {
+                current = new Zeta(items, zeta(current.items, items, current.zetan));
+                zeta = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Adds terms (from, to] of zeta series to given partial sum.
+     */
+    private double zeta(long from, long to, double sum)
+    {
+        for (long i = from; i < to; i++)
+        {
+            sum += 1 / Math.pow(i + 1, theta);
+        }
+        return sum;
+    }
+
+    /**
+     * Zeta constant for a given item count.
+     */
+    private final class Zeta
+    {
+        private final long items;
+
+        private final double zetan;
+
+        private final double eta;
+
+        private Zeta(long items, double zetan)
+        {
+            this.items = items;
+            this.zetan = zetan;
+            this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.chooser;
+
+/**
+ * Zipfian key chooser. Popular ranks are hashed over key space, so hot keys
+ * are scattered rather than clustered at start of it.
+ */
+public class ZipfianKeyChooser implements KeyChooser
+{
+    private final KeySpace keySpace;
+
+    private final long items;
+
+    private final Zipfian zipfian;
+
+    /**
+     * @param keySpace
+     *            key space
+     * @param items
+     *            number of keys key space may grow to, loaded keys plus
+     *            expected inserts.
+     */
+    public ZipfianKeyChooser(KeySpace keySpace, long items)
+    {
+        this.keySpace = keySpace;
+        this.items = Math.max(items, 1);
+        this.zipfian = new Zipfian(this.items);
+    }
+
+    @Override
+    public long nextKey()
+    {
+        long limit = keySpace.limit();
+        long key;
+        do
+        {
+            key = Math.abs(KeySpace.fnvHash64(zipfian.next(items)) % items);
+        }
+        while (key >= limit);
+        return key;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.entities;
+
+import java.util.Map;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+
+/**
+ * YCSB usertable record: a key and ten string fields named field0 to field9.
+ * Each datastore gets its own entity bound to its persistence unit.
+ */
+@MappedSuperclass
+public abstract class WorkloadRecord
+{
+    /** Number of fields a record has. */
+    public static final int FIELD_COUNT = 10;
+
+    @Id
+    @Column(name = "ycsb_key")
+    private String key;
+
+    @Column(name = "field0")
+    private String field0;
+
+    @Column(name = "field1")
+    private String field1;
+
+    @Column(name = "field2")
+    private String field2;
+
+    @Column(name = "field3")
+    private String field3;
+
+    @Column(name = "field4")
+    private String field4;
+
+    @Column(name = "field5")
+    private String field5;
+
+    @Column(name = "field6")
+    private String field6;
+
+    @Column(name = "field7")
+    private String field7;
+
+    @Column(name = "field8")
+    private String field8;
+
+    @Column(name = "field9")
+    private String field9;
+
+    public String getKey()
+    {
+        return key;
+    }
+
+    public void setKey(String key)
+    {
+        this.key = key;
+    }
+
+    /**
+     * Sets fields out of given values, keyed on field name.
+     * 
+     * @param values
+     *            field values
+     */
+    public void setFields(Map<String, String> values)
+    {
+        for (Map.Entry<String, String> value : values.entrySet())
+        {
+            setField(value.getKey(), value.getValue());
+        }
+    }
+
+    private void setField(String name, String value)
+    {
+        switch (name)
+        {
+        case "field0":
+            field0 = value;
+            break;
+        case "field1":
+            field1 = value;
+            break;
+        case "field2":
+            field2 = value;
+            break;
+        case "field3":
+            field3 = value;
+            break;
+        case "field4":
+            field4 = value;
+            break;
+        case "field5":
+            field5 = value;
+            break;
+        case "field6":
+            field6 = value;
+            break;
+        case "field7":
+            field7 = value;
+            break;
+        case "field8":
+            field8 = value;
+            break;
+        case "field9":
+            field9 = value;
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown field " + name + ", record has field0 to field9 only");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.server;
+
+import java.util.Properties;
+
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfigBuilder;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+
+/**
+ * Mongod downloaded (once, then cached) and run as child process on
+ * <code>mongo.port</code>.
+ */
+public class EmbeddedMongoServer implements EmbeddedServer
+{
+    private MongodExecutable mongod;
+
+    @Override
+    public void start(Properties props) throws Exception
+    {
+        int port = Integer.parseInt(props.getProperty("mongo.port", "27017"));
+        mongod = MongodStarter.getDefaultInstance().prepare(
+                new MongodConfigBuilder().version(Version.Main.PRODUCTION)
+                        .net(new Net(port, Network.localhostIsIPv6())).build());
+        mongod.start();
+    }
+
+    @Override
+    public void stop()
+    {
+        if (mongod != null)
+        {
+            mongod.stop();
+        }
+    }
+}
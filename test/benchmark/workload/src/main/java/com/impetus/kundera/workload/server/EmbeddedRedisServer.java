@@ -0,0 +1,45 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.server;
+
+import java.util.Properties;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Redis server bundled with embedded-redis, run as child process on
+ * <code>redis.port</code>.
+ */
+public class EmbeddedRedisServer implements EmbeddedServer
+{
+    private RedisServer redis;
+
+    @Override
+    public void start(Properties props) throws Exception
+    {
+        redis = new RedisServer(Integer.parseInt(props.getProperty("redis.port", "6379")));
+        redis.start();
+    }
+
+    @Override
+    public void stop()
+    {
+        if (redis != null)
+        {
+            redis.stop();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.server;
+
+import java.util.Properties;
+
+/**
+ * Datastore started inside runner process (or as its child process), so that
+ * a run needs no cluster set up beforehand.
+ */
+public interface EmbeddedServer
+{
+    /**
+     * Starts server and waits till it accepts connections.
+     * 
+     * @param props
+     *            runner properties, host and port for server included.
+     * @throws Exception
+     *             if server could not be started.
+     */
+    void start(Properties props) throws Exception;
+
+    void stop();
+}
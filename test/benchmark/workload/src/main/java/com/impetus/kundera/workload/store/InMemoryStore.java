@@ -0,0 +1,106 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.store;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Store over a concurrent sorted map in the runner JVM. Measures harness
+ * overhead itself, a floor below which no datastore binding can go.
+ */
+public class InMemoryStore implements WorkloadStore
+{
+    private final ConcurrentNavigableMap<String, Map<String, String>> records = new ConcurrentSkipListMap<String, Map<String, String>>();
+
+    @Override
+    public void open(Properties props)
+    {
+    }
+
+    @Override
+    public StoreSession newSession()
+    {
+        return new StoreSession()
+        {
+            @Override
+            public boolean insert(String key, Map<String, String> values)
+            {
+                records.put(key, new HashMap<String, String>(values));
+                return true;
+            }
+
+            @Override
+            public boolean read(String key)
+            {
+                return records.get(key) != null;
+            }
+
+            @Override
+            public boolean update(String key, Map<String, String> values)
+            {
+                Map<String, String> record;
+                Map<String, String> updated;
+                do
+                {
+                    record = records.get(key);
+                    if (record == null)
+                    {
+                        return false;
+                    }
+                    updated = new HashMap<String, String>(record);
+                    updated.putAll(values);
+                }
+                while (!records.replace(key, record, updated));
+                return true;
+            }
+
+            @Override
+            public boolean scan(String startKey, int count)
+            {
+                Iterator<Map<String, String>> it = records.tailMap(startKey).values().iterator();
+                for (int i = 0; i < count && it.hasNext(); i++)
+                {
+                    it.next();
+                }
+                return true;
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+    }
+
+    @Override
+    public void close()
+    {
+        records.clear();
+    }
+
+    /**
+     * @return number of records held.
+     */
+    public int size()
+    {
+        return records.size();
+    }
+}
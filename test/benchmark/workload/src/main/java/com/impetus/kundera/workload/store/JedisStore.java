@@ -0,0 +1,158 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.store;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Protocol;
+
+/**
+ * Store over Jedis, baseline for Kundera over Redis. Records are hashes, keys
+ * are also kept in a sorted set scored on key hash to serve scans, the same
+ * way YCSB Redis binding does.
+ * 
+ * Database given by <code>redis.database</code> is flushed on close, point it
+ * to a database holding nothing but benchmark data.
+ */
+public class JedisStore implements WorkloadStore
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(JedisStore.class);
+
+    private static final String INDEX_KEY = "_indices";
+
+    private JedisPool pool;
+
+    @Override
+    public void open(Properties props)
+    {
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(Integer.parseInt(props.getProperty("threadcount", "1")) + 1);
+        pool = new JedisPool(config, props.getProperty("redis.host", "localhost"), Integer.parseInt(props
+                .getProperty("redis.port", String.valueOf(Protocol.DEFAULT_PORT))), Protocol.DEFAULT_TIMEOUT,
+                props.getProperty("redis.password"), Integer.parseInt(props.getProperty("redis.database", "0")));
+    }
+
+    @Override
+    public StoreSession newSession()
+    {
+        final Jedis jedis = pool.getResource();
+        return new StoreSession()
+        {
+            @Override
+            public boolean insert(String key, Map<String, String> values)
+            {
+                try
+                {
+                    if ("OK".equals(jedis.hmset(key, values)))
+                    {
+                        jedis.zadd(INDEX_KEY, hash(key), key);
+                        return true;
+                    }
+                    return false;
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while inserting {}, Caused by: .", key, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean read(String key)
+            {
+                try
+                {
+                    return !jedis.hgetAll(key).isEmpty();
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while reading {}, Caused by: .", key, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean update(String key, Map<String, String> values)
+            {
+                try
+                {
+                    return "OK".equals(jedis.hmset(key, values));
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while updating {}, Caused by: .", key, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean scan(String startKey, int count)
+            {
+                try
+                {
+                    for (String key : jedis.zrangeByScore(INDEX_KEY, hash(startKey), Double.POSITIVE_INFINITY, 0,
+                            count))
+                    {
+                        jedis.hgetAll(key);
+                    }
+                    return true;
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while scanning from {}, Caused by: .", startKey, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public void close()
+            {
+                jedis.close();
+            }
+        };
+    }
+
+    @Override
+    public void close()
+    {
+        if (pool != null)
+        {
+            Jedis jedis = pool.getResource();
+            try
+            {
+                jedis.flushDB();
+            }
+            finally
+            {
+                jedis.close();
+            }
+            pool.destroy();
+        }
+    }
+
+    private static double hash(String key)
+    {
+        return key.hashCode();
+    }
+}
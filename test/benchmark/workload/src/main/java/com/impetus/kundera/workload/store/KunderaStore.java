@@ -0,0 +1,177 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.store;
+
+import java.util.Map;
+import java.util.Properties;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.workload.entities.WorkloadRecord;
+
+/**
+ * Store going through Kundera entity manager. Runs against any persistence
+ * unit, given by <code>kundera.pu</code>, with records mapped by entity
+ * class given by <code>kundera.entity</code>.
+ * 
+ * Persistence context is cleared after every operation, so that each one
+ * reaches datastore instead of being served out of first level cache.
+ */
+public class KunderaStore implements WorkloadStore
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(KunderaStore.class);
+
+    private EntityManagerFactory emf;
+
+    private Class<? extends WorkloadRecord> entityClass;
+
+    private String scanQuery;
+
+    @Override
+    public void open(Properties props) throws Exception
+    {
+        String persistenceUnit = props.getProperty("kundera.pu");
+        String entity = props.getProperty("kundera.entity");
+        if (persistenceUnit == null || entity == null)
+        {
+            throw new IllegalArgumentException("Both kundera.pu and kundera.entity are required for Kundera store");
+        }
+        entityClass = Class.forName(entity).asSubclass(WorkloadRecord.class);
+        scanQuery = "select r from " + entityClass.getSimpleName() + " r where r.key >= :start";
+        emf = Persistence.createEntityManagerFactory(persistenceUnit);
+    }
+
+    @Override
+    public StoreSession newSession()
+    {
+        return new KunderaSession(emf.createEntityManager());
+    }
+
+    @Override
+    public void close()
+    {
+        if (emf != null)
+        {
+            emf.close();
+        }
+    }
+
+    private final class KunderaSession implements StoreSession
+    {
+        private final EntityManager em;
+
+        private KunderaSession(EntityManager em)
+        {
+            this.em = em;
+        }
+
+        @Override
+        public boolean insert(String key, Map<String, String> values)
+        {
+            try
+            {
+                WorkloadRecord record = entityClass.newInstance();
+                record.setKey(key);
+                record.setFields(values);
+                em.persist(record);
+                return true;
+            }
+            catch (Exception e)
+            {
+                log.warn("Error while inserting {}, Caused by: .", key, e);
+                return false;
+            }
+            finally
+            {
+                em.clear();
+            }
+        }
+
+        @Override
+        public boolean read(String key)
+        {
+            try
+            {
+                return em.find(entityClass, key) != null;
+            }
+            catch (Exception e)
+            {
+                log.warn("Error while reading {}, Caused by: .", key, e);
+                return false;
+            }
+            finally
+            {
+                em.clear();
+            }
+        }
+
+        @Override
+        public boolean update(String key, Map<String, String> values)
+        {
+            try
+            {
+                WorkloadRecord record = em.find(entityClass, key);
+                if (record == null)
+                {
+                    return false;
+                }
+                record.setFields(values);
+                em.merge(record);
+                return true;
+            }
+            catch (Exception e)
+            {
+                log.warn("Error while updating {}, Caused by: .", key, e);
+                return false;
+            }
+            finally
+            {
+                em.clear();
+            }
+        }
+
+        @Override
+        public boolean scan(String startKey, int count)
+        {
+            try
+            {
+                em.createQuery(scanQuery).setParameter("start", startKey).setMaxResults(count).getResultList();
+                return true;
+            }
+            catch (Exception e)
+            {
+                log.warn("Error while scanning from {}, Caused by: .", startKey, e);
+                return false;
+            }
+            finally
+            {
+                em.clear();
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.store;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Store over native MongoDB driver, baseline for Kundera over Mongo. Records
+ * are written in the same document shape Kundera uses, key as
+ * <code>_id</code> and one string attribute per field.
+ */
+public class MongoStore implements WorkloadStore
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(MongoStore.class);
+
+    private MongoClient mongo;
+
+    private MongoCollection<Document> collection;
+
+    @Override
+    public void open(Properties props)
+    {
+        mongo = new MongoClient(props.getProperty("mongo.host", "localhost"), Integer.parseInt(props.getProperty(
+                "mongo.port", "27017")));
+        collection = mongo.getDatabase(props.getProperty("mongo.database", "native_workload")).getCollection(
+                "usertable");
+    }
+
+    @Override
+    public StoreSession newSession()
+    {
+        // driver is thread safe and pools connections itself.
+        return new StoreSession()
+        {
+            @Override
+            public boolean insert(String key, Map<String, String> values)
+            {
+                try
+                {
+                    Document document = new Document("_id", key);
+                    document.putAll(values);
+                    collection.insertOne(document);
+                    return true;
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while inserting {}, Caused by: .", key, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean read(String key)
+            {
+                try
+                {
+                    return collection.find(eq("_id", key)).first() != null;
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while reading {}, Caused by: .", key, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean update(String key, Map<String, String> values)
+            {
+                try
+                {
+                    Document fields = new Document();
+                    fields.putAll(values);
+                    return collection.updateOne(eq("_id", key), new Document("$set", fields)).getMatchedCount() == 1;
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while updating {}, Caused by: .", key, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean scan(String startKey, int count)
+            {
+                try
+                {
+                    MongoCursor<Document> cursor = collection.find(gte("_id", startKey))
+                            .sort(new Document("_id", 1)).limit(count).iterator();
+                    try
+                    {
+                        while (cursor.hasNext())
+                        {
+                            cursor.next();
+                        }
+                    }
+                    finally
+                    {
+                        cursor.close();
+                    }
+                    return true;
+                }
+                catch (Exception e)
+                {
+                    log.warn("Error while scanning from {}, Caused by: .", startKey, e);
+                    return false;
+                }
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+    }
+
+    @Override
+    public void close()
+    {
+        if (mongo != null)
+        {
+            collection.drop();
+            mongo.close();
+        }
+    }
+}
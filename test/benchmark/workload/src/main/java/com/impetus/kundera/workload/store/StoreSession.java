@@ -0,0 +1,46 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.store;
+
+import java.util.Map;
+
+/**
+ * Single threaded access to a {@link WorkloadStore}. Each operation returns
+ * whether it succeeded, failures are counted by runner rather than aborting
+ * the run.
+ */
+public interface StoreSession
+{
+    boolean insert(String key, Map<String, String> values);
+
+    /**
+     * @return true if record was found.
+     */
+    boolean read(String key);
+
+    /**
+     * Updates given fields of an existing record, leaving others untouched.
+     */
+    boolean update(String key, Map<String, String> values);
+
+    /**
+     * Reads up to given number of records in key order, starting at given
+     * key.
+     */
+    boolean scan(String startKey, int count);
+
+    void close();
+}
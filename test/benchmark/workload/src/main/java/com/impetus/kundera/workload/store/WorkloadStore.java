@@ -0,0 +1,46 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.store;
+
+import java.util.Properties;
+
+/**
+ * Datastore binding a workload runs against, e.g. Kundera over a persistence
+ * unit or a native driver. A store is opened once per run and hands out one
+ * {@link StoreSession} per client thread.
+ */
+public interface WorkloadStore
+{
+    /**
+     * Connects to datastore.
+     * 
+     * @param props
+     *            runner properties, store specific ones included.
+     * @throws Exception
+     *             if datastore is not reachable.
+     */
+    void open(Properties props) throws Exception;
+
+    /**
+     * @return a new session, used by a single client thread.
+     */
+    StoreSession newSession();
+
+    /**
+     * Drops records written by a run and releases connections.
+     */
+    void close();
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload;
+
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.impetus.kundera.workload.store.InMemoryStore;
+
+/**
+ * Test case for {@link WorkloadRunner}, over in memory store.
+ */
+public class WorkloadRunnerTest
+{
+    @Test
+    public void testPresets() throws Exception
+    {
+        for (String preset : new String[] { "a", "b", "c", "d", "e", "f" })
+        {
+            Properties props = new Properties();
+            props.setProperty("workload.preset", preset);
+            props.setProperty("recordcount", "500");
+            props.setProperty("operationcount", "2000");
+            props.setProperty("threadcount", "4");
+            props.setProperty("fieldlength", "10");
+
+            WorkloadResult result = new WorkloadRunner(Workload.load(props), props).run(new InMemoryStore());
+
+            Assert.assertEquals(500, result.getLoad().getOperationCount());
+            Assert.assertEquals(0, result.getLoad().getErrors(Operation.INSERT));
+            Assert.assertEquals(2000, result.getRun().getOperationCount());
+            for (Operation operation : Operation.values())
+            {
+                Assert.assertEquals(preset + " " + operation, 0, result.getRun().getErrors(operation));
+            }
+        }
+    }
+
+    @Test
+    public void testOperationMix() throws Exception
+    {
+        Properties props = new Properties();
+        props.setProperty("workload.preset", "a");
+        props.setProperty("recordcount", "100");
+        props.setProperty("operationcount", "10000");
+
+        WorkloadResult result = new WorkloadRunner(Workload.load(props), props).run(new InMemoryStore());
+
+        long reads = result.getRun().getLatency(Operation.READ).getTotalCount();
+        long updates = result.getRun().getLatency(Operation.UPDATE).getTotalCount();
+        Assert.assertEquals(10000, reads + updates);
+        Assert.assertTrue(Math.abs(reads - updates) < 1000);
+        Assert.assertNull(result.getRun().getLatency(Operation.SCAN));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPreset()
+    {
+        Properties props = new Properties();
+        props.setProperty("workload.preset", "g");
+        Workload.load(props);
+    }
+}
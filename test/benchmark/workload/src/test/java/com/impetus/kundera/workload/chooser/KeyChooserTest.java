@@ -0,0 +1,108 @@
+/**
+ * Copyright 2016 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.workload.chooser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test case for key choosers.
+ */
+public class KeyChooserTest
+{
+    private static final int SAMPLES = 100000;
+
+    @Test
+    public void testUniformWithinKeySpace()
+    {
+        KeySpace keySpace = new KeySpace(100);
+        KeyChooser chooser = new UniformKeyChooser(keySpace);
+        int[] hits = new int[100];
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            hits[(int) chooser.nextKey()]++;
+        }
+        for (int hit : hits)
+        {
+            Assert.assertTrue(hit > 0);
+        }
+    }
+
+    @Test
+    public void testZipfianIsSkewed()
+    {
+        KeySpace keySpace = new KeySpace(1000);
+        KeyChooser chooser = new ZipfianKeyChooser(keySpace, 1000);
+        int[] hits = new int[1000];
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            long key = chooser.nextKey();
+            Assert.assertTrue(key >= 0 && key < 1000);
+            hits[(int) key]++;
+        }
+        int max = 0;
+        for (int hit : hits)
+        {
+            max = Math.max(max, hit);
+        }
+        // most popular key out of 1000 takes over a tenth of requests.
+        Assert.assertTrue(max > SAMPLES / 10);
+    }
+
+    @Test
+    public void testZipfianSkipsUnacknowledgedKeys()
+    {
+        KeySpace keySpace = new KeySpace(10);
+        KeyChooser chooser = new ZipfianKeyChooser(keySpace, 100);
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            Assert.assertTrue(chooser.nextKey() < 10);
+        }
+        long next = keySpace.nextInsert();
+        Assert.assertEquals(10, next);
+        keySpace.acknowledge(next);
+        Assert.assertEquals(11, keySpace.limit());
+    }
+
+    @Test
+    public void testLatestFavoursRecentInserts()
+    {
+        KeySpace keySpace = new KeySpace(1000);
+        KeyChooser chooser = new LatestKeyChooser(keySpace);
+        for (int i = 0; i < 100; i++)
+        {
+            keySpace.acknowledge(keySpace.nextInsert());
+        }
+        int recent = 0;
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            long key = chooser.nextKey();
+            Assert.assertTrue(key >= 0 && key < 1100);
+            if (key >= 1090)
+            {
+                recent++;
+            }
+        }
+        Assert.assertTrue(recent > SAMPLES / 4);
+    }
+
+    @Test
+    public void testKeysAreStable()
+    {
+        Assert.assertEquals(KeySpace.toKey(42), KeySpace.toKey(42));
+        Assert.assertFalse(KeySpace.toKey(42).equals(KeySpace.toKey(43)));
+    }
+}